@@ -24,6 +24,7 @@ import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
+import org.joda.time.DateTime;
 
 import java.util.List;
 
@@ -59,6 +60,8 @@ public abstract class ConsentDetails {
     private String clientName; // (tpp)
     private String serviceProviderName; // (aisp, aspsp)
     private List<FRAccountWithBalance> accounts;
+    // Time at which the accounts and their balances were retrieved, they may have been cached for a short time
+    private DateTime accountsRetrievedAt;
 
     public abstract IntentType getIntentType();
 
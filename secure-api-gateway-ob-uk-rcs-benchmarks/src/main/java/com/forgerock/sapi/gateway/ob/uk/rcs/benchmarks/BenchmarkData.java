@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.benchmarks;
+
+import java.util.UUID;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.configuration.RcsApplicationConfiguration;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.Payload;
+import com.nimbusds.jose.crypto.MACSigner;
+
+/**
+ * Test data shared by the benchmarks
+ */
+public final class BenchmarkData {
+
+    public static final String API_CLIENT_ID = "benchmark-api-client";
+    public static final String RESOURCE_OWNER = "benchmark-resource-owner";
+
+    private static final String AM_URI = "https://iam.dev.forgerock.financial:443/am/oauth2/realms/root/realms/alpha";
+
+    private static final byte[] HMAC_SECRET = UUID.randomUUID().toString().repeat(2).getBytes();
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates a JWS equivalent to the one sent by the RCS UI when requesting the consent details and submitting the
+     * consent decision.
+     */
+    public static String consentRequestJws(String clientId, String intentId, String username) {
+        final String payload = "{" +
+                "\"clientId\":\"" + clientId + "\"," +
+                "\"iss\":\"" + AM_URI + "\"," +
+                "\"csrf\":\"Tjgj3HTzRl2vn+TmIlPhizb9gqdfR7Zn2a/r5iH+syA=\"," +
+                "\"client_description\":\"\"," +
+                "\"aud\":\"forgerock-rcs\"," +
+                "\"save_consent_enabled\":true," +
+                "\"claims\":{" +
+                "\"id_token\":{" +
+                "\"acr\":{\"value\":\"urn:openbanking:psd2:sca\",\"essential\":true}," +
+                "\"openbanking_intent_id\":{\"value\":\"" + intentId + "\",\"essential\":true}" +
+                "}," +
+                "\"userinfo\":{" +
+                "\"openbanking_intent_id\":{\"value\":\"" + intentId + "\",\"essential\":true}" +
+                "}" +
+                "}," +
+                "\"scopes\":{\"accounts\":\"accounts\",\"openid\":\"openid\",\"payments\":\"payments\"}," +
+                "\"exp\":1614954054," +
+                "\"iat\":1614953874," +
+                "\"client_name\":\"benchmark-client\"," +
+                "\"consentApprovalRedirectUri\":\"" + AM_URI + "?response_type=code%20id_token&client_id=" + clientId +
+                "&redirect_uri=https://postman-echo.com/get&state=abc123\"," +
+                "\"username\":\"" + username + "\"" +
+                "}";
+        try {
+            final JWSObject jwsObject = new JWSObject(new JWSHeader(JWSAlgorithm.HS256), new Payload(payload));
+            jwsObject.sign(new MACSigner(HMAC_SECRET));
+            return jwsObject.serialize();
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Failed to sign consent request JWS", e);
+        }
+    }
+
+    /**
+     * @return ObjectMapper configured in the same way as the one used by the RCS server
+     */
+    public static ObjectMapper objectMapper() {
+        final Jackson2ObjectMapperBuilder objectMapperBuilder = new Jackson2ObjectMapperBuilder();
+        new RcsApplicationConfiguration().objectMapperBuilderCustomizer().customize(objectMapperBuilder);
+        return objectMapperBuilder.build();
+    }
+}
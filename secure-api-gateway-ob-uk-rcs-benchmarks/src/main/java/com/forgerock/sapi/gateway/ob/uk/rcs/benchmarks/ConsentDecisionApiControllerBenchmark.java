@@ -0,0 +1,144 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FRReadConsentConverter;
+import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorException;
+import com.forgerock.sapi.gateway.ob.uk.rcs.api.dto.RedirectionAction;
+import com.forgerock.sapi.gateway.ob.uk.rcs.api.dto.consent.decision.ConsentDecisionDeserialized;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.Constants;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.RCSServerApplication;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.api.decision.ConsentDecisionApiController;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.account.AccountAccessConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.account.AccountAccessConsentService;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.account.AccountAccessConsentStateModel;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBVersion;
+
+import uk.org.openbanking.datamodel.v3.account.OBReadConsent1;
+import uk.org.openbanking.datamodel.v3.account.OBReadConsent1Data;
+import uk.org.openbanking.datamodel.v3.account.OBRisk2;
+import uk.org.openbanking.datamodel.v3.common.OBExternalPermissions1Code;
+
+/**
+ * End-to-end cost of submitting a consent decision through the {@link ConsentDecisionApiController}.
+ * <p>
+ * The RCS server application is started once per fork using the "benchmark" profile, the consent store is backed by
+ * an embedded MongoDB. Account access consents do not call any of the RS or Cloud backends when a decision is made,
+ * so no backend stubs are required for this path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ConsentDecisionApiControllerBenchmark {
+
+    private static final List<String> ACCOUNT_IDS = List.of("01233243245676", "01233243245677");
+
+    private Path signingKeyPath;
+    private ConfigurableApplicationContext applicationContext;
+    private ConsentDecisionApiController consentDecisionApiController;
+    private AccountAccessConsentService accountAccessConsentService;
+    private ObjectMapper objectMapper;
+
+    private String authoriseDecision;
+    private String rejectDecision;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException {
+        signingKeyPath = Files.createTempFile("benchmark-jwt-signing-key", ".pem");
+        try (InputStream signingKey = getClass().getResourceAsStream("/benchmark-jwt-signing-key.pem")) {
+            Files.copy(signingKey, signingKeyPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+        applicationContext = new SpringApplicationBuilder(RCSServerApplication.class)
+                .profiles("benchmark")
+                .properties("rcs.consent.response.jwt.privateKeyPath=" + signingKeyPath)
+                .run();
+        consentDecisionApiController = applicationContext.getBean(ConsentDecisionApiController.class);
+        accountAccessConsentService = applicationContext.getBean("accountAccessConsentService",
+                AccountAccessConsentService.class);
+        objectMapper = applicationContext.getBean(ObjectMapper.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void createConsents() throws JsonProcessingException {
+        authoriseDecision = consentDecision(createAwaitingAuthorisationConsent(), Constants.ConsentDecisionStatus.AUTHORISED);
+        rejectDecision = consentDecision(createAwaitingAuthorisationConsent(), Constants.ConsentDecisionStatus.REJECTED);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws IOException {
+        if (applicationContext != null) {
+            applicationContext.close();
+        }
+        Files.deleteIfExists(signingKeyPath);
+    }
+
+    @Benchmark
+    public ResponseEntity<RedirectionAction> authoriseAccountAccessConsent() throws OBErrorException {
+        return consentDecisionApiController.submitConsentDecision(authoriseDecision);
+    }
+
+    @Benchmark
+    public ResponseEntity<RedirectionAction> rejectAccountAccessConsent() throws OBErrorException {
+        return consentDecisionApiController.submitConsentDecision(rejectDecision);
+    }
+
+    private String createAwaitingAuthorisationConsent() {
+        final AccountAccessConsentEntity consent = new AccountAccessConsentEntity();
+        consent.setApiClientId(BenchmarkData.API_CLIENT_ID);
+        consent.setRequestVersion(OBVersion.v3_1_10);
+        consent.setStatus(AccountAccessConsentStateModel.AWAITING_AUTHORISATION);
+        consent.setRequestObj(FRReadConsentConverter.toFRReadConsent(new OBReadConsent1().data(new OBReadConsent1Data()
+                .permissions(List.of(OBExternalPermissions1Code.READACCOUNTSBASIC))).risk(new OBRisk2())));
+        return accountAccessConsentService.createConsent(consent).getId();
+    }
+
+    private String consentDecision(String consentId, String decision) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(ConsentDecisionDeserialized.builder()
+                .consentJwt(BenchmarkData.consentRequestJws(BenchmarkData.API_CLIENT_ID, consentId, BenchmarkData.RESOURCE_OWNER))
+                .decision(decision)
+                .accountIds(ACCOUNT_IDS)
+                .build());
+    }
+}
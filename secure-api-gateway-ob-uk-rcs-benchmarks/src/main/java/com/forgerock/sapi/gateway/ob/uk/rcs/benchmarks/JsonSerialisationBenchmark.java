@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRExternalPermissionsCode;
+import com.forgerock.sapi.gateway.ob.uk.rcs.api.dto.consent.decision.ConsentDecisionDeserialized;
+import com.forgerock.sapi.gateway.ob.uk.rcs.api.dto.consent.details.AccountsConsentDetails;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.Constants;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
+
+/**
+ * Cost of the Jackson (de)serialisation done on the consent details and consent decision requests
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerialisationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private String consentDecisionJson;
+    private AccountsConsentDetails accountsConsentDetails;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = BenchmarkData.objectMapper();
+        final String intentId = IntentType.ACCOUNT_ACCESS_CONSENT.generateIntentId();
+        consentDecisionJson = objectMapper.writeValueAsString(ConsentDecisionDeserialized.builder()
+                .consentJwt(BenchmarkData.consentRequestJws(BenchmarkData.API_CLIENT_ID, intentId, BenchmarkData.RESOURCE_OWNER))
+                .decision(Constants.ConsentDecisionStatus.AUTHORISED)
+                .accountIds(List.of("01233243245676", "01233243245677", "01233243245678"))
+                .build());
+
+        final DateTime now = DateTime.now();
+        accountsConsentDetails = AccountsConsentDetails.builder()
+                .consentId(intentId)
+                .clientId(BenchmarkData.API_CLIENT_ID)
+                .clientName("benchmark-client")
+                .username(BenchmarkData.RESOURCE_OWNER)
+                .userId(BenchmarkData.RESOURCE_OWNER)
+                .serviceProviderName("Benchmark Bank")
+                .decisionApiUri("/rcs/api/consent/decision")
+                .permissions(List.of(FRExternalPermissionsCode.READACCOUNTSDETAIL,
+                        FRExternalPermissionsCode.READBALANCES, FRExternalPermissionsCode.READTRANSACTIONSDETAIL))
+                .fromTransaction(now.minusYears(1))
+                .toTransaction(now)
+                .expiredDate(now.plusDays(90))
+                .build();
+    }
+
+    @Benchmark
+    public ConsentDecisionDeserialized deserialiseConsentDecision() throws JsonProcessingException {
+        return objectMapper.readValue(consentDecisionJson, ConsentDecisionDeserialized.class);
+    }
+
+    @Benchmark
+    public String serialiseAccountsConsentDetails() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(accountsConsentDetails);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.Constants;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ExceptionClient;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ConsentRequestContext;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.utils.jwt.JwtUtil;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
+import com.forgerock.sapi.gateway.uk.common.shared.claim.Claims;
+import com.nimbusds.jwt.SignedJWT;
+
+/**
+ * Cost of parsing the consent request JWS sent by the RCS UI
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtParsingBenchmark {
+
+    private String consentRequestJws;
+
+    @Setup
+    public void setUp() {
+        consentRequestJws = BenchmarkData.consentRequestJws(BenchmarkData.API_CLIENT_ID,
+                IntentType.PAYMENT_DOMESTIC_CONSENT.generateIntentId(), BenchmarkData.RESOURCE_OWNER);
+    }
+
+    @Benchmark
+    public SignedJWT parseSignedJwt() throws ExceptionClient {
+        return JwtUtil.getSignedJWT(consentRequestJws);
+    }
+
+    /**
+     * Extracting the claims needed by the controllers, re-parsing the JWS for each claim
+     */
+    @Benchmark
+    public String extractClaimsPerCall() throws ExceptionClient {
+        final Claims claims = JwtUtil.getClaims(JwtUtil.getSignedJWT(consentRequestJws));
+        final String intentId = JwtUtil.getIdTokenClaim(claims, Constants.Claims.INTENT_ID);
+        final String clientId = JwtUtil.getClaimValue(consentRequestJws, Constants.Claims.CLIENT_ID);
+        final String username = JwtUtil.getClaimValue(consentRequestJws, Constants.Claims.USER_NAME);
+        return intentId + clientId + username;
+    }
+
+    /**
+     * Extracting the claims needed by the controllers, parsing the JWS once
+     */
+    @Benchmark
+    public ConsentRequestContext parseConsentRequestContext() throws ExceptionClient {
+        return ConsentRequestContext.parse(consentRequestJws);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import com.forgerock.sapi.gateway.ob.uk.common.error.OBRIErrorType;
+import com.forgerock.sapi.gateway.ob.uk.rcs.api.dto.RedirectionAction;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ErrorType;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ExceptionClient;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ConsentRequestContext;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.exception.InvalidConsentException;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.exception.RcsErrorService;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
+
+/**
+ * Cost of building the error redirect returned to the RCS UI when a consent is invalid
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RcsErrorServiceBenchmark {
+
+    private final RcsErrorService rcsErrorService = new RcsErrorService();
+
+    private InvalidConsentException jwtException;
+    private InvalidConsentException consentRequestContextException;
+
+    @Setup
+    public void setUp() throws ExceptionClient {
+        final String intentId = IntentType.PAYMENT_DOMESTIC_CONSENT.generateIntentId();
+        final String consentRequestJws = BenchmarkData.consentRequestJws(BenchmarkData.API_CLIENT_ID, intentId,
+                BenchmarkData.RESOURCE_OWNER);
+        jwtException = new InvalidConsentException(consentRequestJws, ErrorType.INVALID_REQUEST,
+                OBRIErrorType.REQUEST_BINDING_FAILED, "Invalid consent", BenchmarkData.API_CLIENT_ID, intentId);
+        consentRequestContextException = new InvalidConsentException(ConsentRequestContext.parse(consentRequestJws),
+                ErrorType.INVALID_REQUEST, OBRIErrorType.REQUEST_BINDING_FAILED, "Invalid consent",
+                BenchmarkData.API_CLIENT_ID, intentId);
+    }
+
+    /**
+     * The consent request JWS has to be parsed to build the redirect
+     */
+    @Benchmark
+    public ResponseEntity<RedirectionAction> invalidConsentErrorFromJwt() {
+        return rcsErrorService.invalidConsentError(jwtException);
+    }
+
+    /**
+     * The consent request parsed by the controller is reused to build the redirect
+     */
+    @Benchmark
+    public ResponseEntity<RedirectionAction> invalidConsentErrorFromConsentRequestContext() {
+        return rcsErrorService.invalidConsentError(consentRequestContextException);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.benchmarks;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.Param;
+
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.jwt.PooledJcaJwsSigner;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.jwt.RcsJwtSigner;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+
+/**
+ * Cost of signing the consent decision response JWT, using the Nimbus signers which initialise a new Signature per JWT
+ * and the {@link PooledJcaJwsSigner}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RcsJwtSignerBenchmark {
+
+    @Param({"PS256", "RS256", "ES256"})
+    private String signingAlgorithm;
+
+    @Param({"nimbus", "pooled"})
+    private String signerType;
+
+    private RcsJwtSigner jwtSigner;
+    private JWTClaimsSet claimsSet;
+
+    @Setup
+    public void setUp() throws JOSEException {
+        final JWSAlgorithm algorithm = JWSAlgorithm.parse(signingAlgorithm);
+        final JWK signingKey = JWSAlgorithm.Family.EC.contains(algorithm)
+                ? new ECKeyGenerator(Curve.P_256).keyID("benchmark-signing-key").generate()
+                : new RSAKeyGenerator(2048).keyID("benchmark-signing-key").generate();
+        final JWSSigner signer;
+        if (signerType.equals("pooled")) {
+            signer = PooledJcaJwsSigner.create(signingKey, 16);
+        } else if (signingKey instanceof ECKey ecKey) {
+            signer = new ECDSASigner(ecKey);
+        } else {
+            signer = new RSASSASigner((RSAKey) signingKey);
+        }
+        jwtSigner = new RcsJwtSigner(signingKey.getKeyID(), algorithm, signer);
+        claimsSet = new JWTClaimsSet.Builder()
+                .issuer("secure-open-banking-rcs")
+                .audience("https://iam.dev.forgerock.financial:443/am/oauth2/realms/root/realms/alpha")
+                .expirationTime(new Date(System.currentTimeMillis() + 300_000))
+                .claim("decision", true)
+                .claim("clientId", BenchmarkData.API_CLIENT_ID)
+                .claim("username", BenchmarkData.RESOURCE_OWNER)
+                .claim("scopes", new String[] {"openid", "accounts", "payments"})
+                .build();
+    }
+
+    @Benchmark
+    public String createSignedJwt() throws JOSEException {
+        return jwtSigner.createSignedJwt(claimsSet);
+    }
+}
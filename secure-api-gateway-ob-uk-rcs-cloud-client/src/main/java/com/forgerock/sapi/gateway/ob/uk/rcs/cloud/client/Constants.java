@@ -27,6 +27,7 @@ public class Constants {
         public static final String ID_TOKEN = "id_token";
         public static final String USER_INFO = "user_info";
         public static final String CLAIMS = "claims";
+        public static final String SCOPES = "scopes";
     }
 
     public static class ConsentDecisionStatus {
@@ -0,0 +1,108 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.configuration;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Configuration for the cache of {@link com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ApiClient} data
+ * retrieved from the platform, see {@link com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.services.CachingApiClientServiceClient}
+ */
+@Configuration
+@ConfigurationProperties(prefix = "cloud.client.api-client-cache")
+public class ApiClientCacheConfiguration {
+
+    /**
+     * Whether ApiClient lookups are cached, when disabled every lookup calls the platform
+     */
+    private boolean enabled = true;
+
+    /**
+     * Upper bound on the estimated size in bytes of all cached entries
+     */
+    private long maximumSizeBytes = 1024 * 1024;
+
+    /**
+     * How long an ApiClient is cached for before it is evicted
+     */
+    private Duration expireAfterWrite = Duration.ofHours(1);
+
+    /**
+     * How long after an ApiClient is loaded that the next lookup triggers an async reload, the stale value is served
+     * until the reload completes
+     */
+    private Duration refreshAfterWrite = Duration.ofMinutes(10);
+
+    /**
+     * How long a not found response from the platform is cached for
+     */
+    private Duration notFoundExpireAfterWrite = Duration.ofMinutes(1);
+
+    @PostConstruct
+    private void validateConfig() {
+        if (maximumSizeBytes <= 0) {
+            throw new IllegalStateException("cloud.client.api-client-cache.maximumSizeBytes must be greater than 0");
+        }
+        if (refreshAfterWrite.compareTo(expireAfterWrite) >= 0) {
+            throw new IllegalStateException("cloud.client.api-client-cache.refreshAfterWrite must be less than expireAfterWrite");
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaximumSizeBytes() {
+        return maximumSizeBytes;
+    }
+
+    public void setMaximumSizeBytes(long maximumSizeBytes) {
+        this.maximumSizeBytes = maximumSizeBytes;
+    }
+
+    public Duration getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+
+    public void setExpireAfterWrite(Duration expireAfterWrite) {
+        this.expireAfterWrite = expireAfterWrite;
+    }
+
+    public Duration getRefreshAfterWrite() {
+        return refreshAfterWrite;
+    }
+
+    public void setRefreshAfterWrite(Duration refreshAfterWrite) {
+        this.refreshAfterWrite = refreshAfterWrite;
+    }
+
+    public Duration getNotFoundExpireAfterWrite() {
+        return notFoundExpireAfterWrite;
+    }
+
+    public void setNotFoundExpireAfterWrite(Duration notFoundExpireAfterWrite) {
+        this.notFoundExpireAfterWrite = notFoundExpireAfterWrite;
+    }
+}
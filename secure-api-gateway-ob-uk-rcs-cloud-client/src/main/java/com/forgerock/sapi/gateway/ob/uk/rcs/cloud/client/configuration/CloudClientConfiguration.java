@@ -38,6 +38,18 @@ public class CloudClientConfiguration {
 
     private  UriComponents usersUri;
 
+    /**
+     * Connection pool used for calls to the Cloud Data repository
+     */
+    private HttpClientPoolSettings connectionPool = new HttpClientPoolSettings();
+
+    /**
+     * Maximum number of callers which wait for an identical in flight request to the Cloud Data repository rather than
+     * making their own request, 0 disables coalescing of requests.
+     * See {@link com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.utils.concurrent.SingleFlight}
+     */
+    private int singleFlightMaxWaiters = 100;
+
     @PostConstruct
     private void validateConfig() {
         if (!hasText(baseUri)) {
@@ -49,6 +61,10 @@ public class CloudClientConfiguration {
         if (!hasText(usersPath)) {
             throw new IllegalStateException("Required configuration: cloud.client.usersPath is missing");
         }
+        connectionPool.validate("cloud.client.connectionPool");
+        if (singleFlightMaxWaiters < 0) {
+            throw new IllegalStateException("cloud.client.singleFlightMaxWaiters must not be negative");
+        }
 
         apiClientUri = UriComponentsBuilder.fromUriString(baseUri).path(apiClientPath).encode().build();
         usersUri = UriComponentsBuilder.fromUriString(baseUri).path(usersPath).encode().build();
@@ -66,6 +82,22 @@ public class CloudClientConfiguration {
         this.usersPath = usersPath;
     }
 
+    public HttpClientPoolSettings getConnectionPool() {
+        return connectionPool;
+    }
+
+    public void setConnectionPool(HttpClientPoolSettings connectionPool) {
+        this.connectionPool = connectionPool;
+    }
+
+    public int getSingleFlightMaxWaiters() {
+        return singleFlightMaxWaiters;
+    }
+
+    public void setSingleFlightMaxWaiters(int singleFlightMaxWaiters) {
+        this.singleFlightMaxWaiters = singleFlightMaxWaiters;
+    }
+
     public UriComponents getApiClientUri() {
         return apiClientUri;
     }
@@ -0,0 +1,143 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.configuration;
+
+import java.time.Duration;
+
+/**
+ * Settings for a pool of HTTP connections to a single backend, see
+ * {@link com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.utils.http.PooledHttpClientFactory}
+ * <p>
+ * Each backend is configured with its own pool so that a slow backend can only exhaust its own connections.
+ */
+public class HttpClientPoolSettings {
+
+    /**
+     * Maximum number of connections in the pool
+     */
+    private int maxTotal = 50;
+
+    /**
+     * Maximum number of connections to a single route (scheme, host and port)
+     */
+    private int maxPerRoute = 50;
+
+    /**
+     * Timeout to establish a new TCP connection
+     */
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Timeout waiting for response data once the request has been sent
+     */
+    private Duration responseTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Timeout waiting to lease a connection from the pool when all connections are in use
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Maximum lifetime of a connection, connections are closed once this has elapsed regardless of activity
+     */
+    private Duration timeToLive = Duration.ofMinutes(5);
+
+    /**
+     * Connections which have been idle for longer than this are closed by the background evictor
+     */
+    private Duration idleEvictionTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Connections which have been idle for longer than this are checked before being reused
+     */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    public void validate(String poolName) {
+        if (maxTotal <= 0) {
+            throw new IllegalStateException(poolName + ".maxTotal must be greater than 0");
+        }
+        if (maxPerRoute <= 0 || maxPerRoute > maxTotal) {
+            throw new IllegalStateException(poolName + ".maxPerRoute must be greater than 0 and not exceed maxTotal");
+        }
+        if (connectTimeout.isNegative() || responseTimeout.isNegative() || connectionRequestTimeout.isNegative()) {
+            throw new IllegalStateException(poolName + " timeouts must not be negative");
+        }
+    }
+
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    public void setMaxTotal(int maxTotal) {
+        this.maxTotal = maxTotal;
+    }
+
+    public int getMaxPerRoute() {
+        return maxPerRoute;
+    }
+
+    public void setMaxPerRoute(int maxPerRoute) {
+        this.maxPerRoute = maxPerRoute;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getResponseTimeout() {
+        return responseTimeout;
+    }
+
+    public void setResponseTimeout(Duration responseTimeout) {
+        this.responseTimeout = responseTimeout;
+    }
+
+    public Duration getConnectionRequestTimeout() {
+        return connectionRequestTimeout;
+    }
+
+    public void setConnectionRequestTimeout(Duration connectionRequestTimeout) {
+        this.connectionRequestTimeout = connectionRequestTimeout;
+    }
+
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(Duration timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    public Duration getIdleEvictionTimeout() {
+        return idleEvictionTimeout;
+    }
+
+    public void setIdleEvictionTimeout(Duration idleEvictionTimeout) {
+        this.idleEvictionTimeout = idleEvictionTimeout;
+    }
+
+    public Duration getValidateAfterInactivity() {
+        return validateAfterInactivity;
+    }
+
+    public void setValidateAfterInactivity(Duration validateAfterInactivity) {
+        this.validateAfterInactivity = validateAfterInactivity;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.configuration;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.utils.jwt.JwtUtil;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.utils.jwt.JwtValidatorRegistry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Configuration for the JWK sets which are retrieved to validate JWT signatures, see
+ * {@link com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.utils.jwt.JwtValidatorRegistry}
+ */
+@Configuration
+@ConfigurationProperties(prefix = "cloud.client.jwks-cache")
+public class JwksCacheConfiguration {
+
+    /**
+     * How long a retrieved JWK set is cached for before it is retrieved again
+     */
+    private Duration timeToLive = Duration.ofMinutes(5);
+
+    /**
+     * How long to wait for another thread which is refreshing the cached JWK set
+     */
+    private Duration refreshTimeout = Duration.ofSeconds(15);
+
+    /**
+     * Minimum interval between JWK set retrievals triggered by a JWT signed with an unknown key id, a zero duration
+     * disables the rate limit
+     */
+    private Duration rateLimitMinInterval = Duration.ofSeconds(30);
+
+    /**
+     * How long the last retrieved JWK set continues to be used when the JWKS endpoint cannot be reached, a zero duration
+     * disables outage tolerance
+     */
+    private Duration outageTolerance = Duration.ofHours(1);
+
+    /**
+     * Timeout to establish the connection to the JWKS endpoint
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Timeout reading the JWK set from the JWKS endpoint
+     */
+    private Duration readTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Maximum size in bytes of a JWK set
+     */
+    private int sizeLimit = 50 * 1024;
+
+    @PostConstruct
+    public void validateConfig() {
+        if (!timeToLive.isPositive()) {
+            throw new IllegalStateException("cloud.client.jwks-cache.timeToLive must be greater than 0");
+        }
+        if (!refreshTimeout.isPositive() || refreshTimeout.compareTo(timeToLive) >= 0) {
+            throw new IllegalStateException("cloud.client.jwks-cache.refreshTimeout must be greater than 0 and less than timeToLive");
+        }
+        if (rateLimitMinInterval.isNegative() || outageTolerance.isNegative()) {
+            throw new IllegalStateException("cloud.client.jwks-cache.rateLimitMinInterval and outageTolerance must not be negative");
+        }
+        if (!connectTimeout.isPositive() || !readTimeout.isPositive()) {
+            throw new IllegalStateException("cloud.client.jwks-cache.connectTimeout and readTimeout must be greater than 0");
+        }
+        if (sizeLimit <= 0) {
+            throw new IllegalStateException("cloud.client.jwks-cache.sizeLimit must be greater than 0");
+        }
+    }
+
+    /**
+     * The registry is also installed as the one used by the static {@link JwtUtil#validateJWT} methods, so that they
+     * share the configured caches and publish their metrics to the application's MeterRegistry.
+     */
+    @Bean
+    public JwtValidatorRegistry jwtValidatorRegistry(ObjectProvider<MeterRegistry> meterRegistry) {
+        final JwtValidatorRegistry jwtValidatorRegistry = new JwtValidatorRegistry(this, meterRegistry.getIfAvailable());
+        JwtUtil.setValidatorRegistry(jwtValidatorRegistry);
+        return jwtValidatorRegistry;
+    }
+
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(Duration timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    public Duration getRefreshTimeout() {
+        return refreshTimeout;
+    }
+
+    public void setRefreshTimeout(Duration refreshTimeout) {
+        this.refreshTimeout = refreshTimeout;
+    }
+
+    public Duration getRateLimitMinInterval() {
+        return rateLimitMinInterval;
+    }
+
+    public void setRateLimitMinInterval(Duration rateLimitMinInterval) {
+        this.rateLimitMinInterval = rateLimitMinInterval;
+    }
+
+    public Duration getOutageTolerance() {
+        return outageTolerance;
+    }
+
+    public void setOutageTolerance(Duration outageTolerance) {
+        this.outageTolerance = outageTolerance;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(Duration readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    public int getSizeLimit() {
+        return sizeLimit;
+    }
+
+    public void setSizeLimit(int sizeLimit) {
+        this.sizeLimit = sizeLimit;
+    }
+}
@@ -15,7 +15,6 @@
  */
 package com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models;
 
-import com.nimbusds.jwt.SignedJWT;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -28,11 +27,14 @@ import lombok.Data;
 @AllArgsConstructor
 public class ConsentClientDetailsRequest {
     public String intentId;
-    protected SignedJWT consentRequestJwt;
+    protected ConsentRequestContext consentRequestContext;
     protected User user;
     protected String clientId;
 
+    /**
+     * @return the serialised consent request JWT, or null if the request was built without a consent request context
+     */
     public String getConsentRequestJwtString() {
-        return consentRequestJwt.getParsedString();
+        return consentRequestContext != null ? consentRequestContext.getConsentRequestJws() : null;
     }
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.Constants;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ExceptionClient;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.utils.jwt.JwtUtil;
+import com.forgerock.sapi.gateway.uk.common.shared.claim.Claims;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+/**
+ * Parsed representation of the consent request JWS sent by the RCS UI.
+ * <p>
+ * The JWS header, the claims set and the OIDC {@code claims} request are decoded exactly once when the context is
+ * created, all accessors then read from the decoded values. A single instance should be created per HTTP request and
+ * passed through the controllers, details services and error handling.
+ */
+public class ConsentRequestContext {
+
+    private final String consentRequestJws;
+    private final SignedJWT signedJWT;
+    private final JWSHeader header;
+    private final JWTClaimsSet claimsSet;
+    private final Claims claims;
+
+    private final String intentId;
+    private final String clientId;
+    private final String username;
+
+    private ConsentRequestContext(SignedJWT signedJWT, JWTClaimsSet claimsSet, Claims claims) throws ExceptionClient {
+        this.signedJWT = Objects.requireNonNull(signedJWT, "signedJWT must be provided");
+        this.consentRequestJws = signedJWT.getParsedString();
+        this.header = signedJWT.getHeader();
+        this.claimsSet = Objects.requireNonNull(claimsSet, "claimsSet must be provided");
+        this.claims = Objects.requireNonNull(claims, "claims must be provided");
+        this.intentId = claims.getIdTokenClaims().containsKey(Constants.Claims.INTENT_ID) ?
+                JwtUtil.getIdTokenClaim(claims, Constants.Claims.INTENT_ID) : null;
+        this.clientId = JwtUtil.getClaimValue(claimsSet, Constants.Claims.CLIENT_ID);
+        this.username = JwtUtil.getClaimValue(claimsSet, Constants.Claims.USER_NAME);
+    }
+
+    /**
+     * Parses the consent request JWS
+     *
+     * @param consentRequestJws the serialised JWS sent by the RCS UI
+     * @return the parsed context
+     * @throws ExceptionClient if the JWS or any of the claims required by the RCS cannot be parsed
+     */
+    public static ConsentRequestContext parse(String consentRequestJws) throws ExceptionClient {
+        return fromSignedJWT(JwtUtil.getSignedJWT(consentRequestJws));
+    }
+
+    public static ConsentRequestContext fromSignedJWT(SignedJWT signedJWT) throws ExceptionClient {
+        return new ConsentRequestContext(signedJWT, JwtUtil.getJWTClaimsSet(signedJWT), JwtUtil.getClaims(signedJWT));
+    }
+
+    public String getConsentRequestJws() {
+        return consentRequestJws;
+    }
+
+    public SignedJWT getSignedJWT() {
+        return signedJWT;
+    }
+
+    public JWSHeader getHeader() {
+        return header;
+    }
+
+    public JWTClaimsSet getClaimsSet() {
+        return claimsSet;
+    }
+
+    /**
+     * @return the OIDC {@code claims} request
+     */
+    public Claims getClaims() {
+        return claims;
+    }
+
+    public boolean hasIntentId() {
+        return intentId != null;
+    }
+
+    /**
+     * @return the {@code openbanking_intent_id} from the id_token claims request, or null if it was not requested
+     */
+    public String getIntentId() {
+        return intentId;
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getStringClaim(String claim) throws ExceptionClient {
+        return JwtUtil.getClaimValue(claimsSet, claim);
+    }
+
+    public List<String> getScopes() throws ExceptionClient {
+        final Map<String, Object> scopes = JwtUtil.getClaimValueMap(claimsSet, Constants.Claims.SCOPES);
+        return scopes.values().stream().map(o -> (String) o).collect(Collectors.toList());
+    }
+
+    @Override
+    public String toString() {
+        return "ConsentRequestContext{" +
+                "intentId='" + intentId + '\'' +
+                ", clientId='" + clientId + '\'' +
+                ", username='" + username + '\'' +
+                '}';
+    }
+}
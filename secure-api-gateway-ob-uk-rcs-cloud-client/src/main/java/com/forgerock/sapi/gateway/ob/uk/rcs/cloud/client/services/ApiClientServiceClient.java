@@ -29,21 +29,32 @@ import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.Constants.URLParameters
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.configuration.CloudClientConfiguration;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ExceptionClient;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ApiClient;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.utils.concurrent.SingleFlight;
 
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Specific service to retrieve the Api client data from the platform
+ * Specific service to retrieve the Api client data from the platform.
+ * <p>
+ * Concurrent requests for the same Api client are coalesced into a single request to the platform, see
+ * {@link SingleFlight}.
  */
 @Service
 @Slf4j
 public class ApiClientServiceClient extends BaseCloudClient {
 
+    private final SingleFlight<String, ApiClient> apiClientRequests;
+
     public ApiClientServiceClient(RestTemplate restTemplate, CloudClientConfiguration cloudClientConfiguration) {
         super(restTemplate, cloudClientConfiguration);
+        this.apiClientRequests = new SingleFlight<>(cloudClientConfiguration.getSingleFlightMaxWaiters());
     }
 
     public ApiClient getApiClient(String apiClientId) throws ExceptionClient {
+        return apiClientRequests.execute(apiClientId, () -> requestApiClient(apiClientId));
+    }
+
+    private ApiClient requestApiClient(String apiClientId) throws ExceptionClient {
         final URI apiClientUri = cloudClientConfiguration.getApiClientUri()
                                                          .expand(Map.of(URLParameters.API_CLIENT_ID, apiClientId))
                                                          .toUri();
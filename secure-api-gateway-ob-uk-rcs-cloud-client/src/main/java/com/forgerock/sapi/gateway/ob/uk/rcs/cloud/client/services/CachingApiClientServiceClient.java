@@ -0,0 +1,216 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.services;
+
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.configuration.ApiClientCacheConfiguration;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.configuration.CloudClientConfiguration;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ErrorClient;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ErrorType;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ExceptionClient;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ApiClient;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link ApiClientServiceClient} which caches the ApiClient data retrieved from the platform.
+ * <p>
+ * ApiClient data (name, logo etc.) rarely changes, so lookups are served from a bounded in memory cache. Entries are
+ * reloaded asynchronously once they are older than the configured refresh duration, the stale value continues to be
+ * returned while the reload is in flight and if the reload fails. Not found responses are cached for a shorter duration
+ * so that repeated requests for an unknown ApiClient do not reach the platform.
+ * <p>
+ * Cache metrics (hits, misses, evictions and load times) are published to the {@link MeterRegistry} if one is available.
+ */
+@Service
+@Primary
+@Slf4j
+@ConditionalOnProperty(prefix = "cloud.client.api-client-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CachingApiClientServiceClient extends ApiClientServiceClient {
+
+    static final String CACHE_NAME = "rcs.cloud.client.api.clients";
+
+    /**
+     * Estimate of the fixed cost of a cache entry: the node, entry wrapper and ApiClient object headers and references
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private final LoadingCache<String, ApiClientCacheEntry> apiClientCache;
+
+    public CachingApiClientServiceClient(RestTemplate restTemplate, CloudClientConfiguration cloudClientConfiguration,
+                                         ApiClientCacheConfiguration cacheConfiguration,
+                                         ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        super(restTemplate, cloudClientConfiguration);
+        this.apiClientCache = Caffeine.newBuilder()
+                                      .maximumWeight(cacheConfiguration.getMaximumSizeBytes())
+                                      .weigher((String apiClientId, ApiClientCacheEntry cacheEntry) -> weigh(apiClientId, cacheEntry))
+                                      .expireAfter(new ApiClientCacheExpiry(cacheConfiguration.getExpireAfterWrite().toNanos(),
+                                                                            cacheConfiguration.getNotFoundExpireAfterWrite().toNanos()))
+                                      .refreshAfterWrite(cacheConfiguration.getRefreshAfterWrite())
+                                      .recordStats()
+                                      .build(this::loadApiClient);
+        meterRegistryProvider.ifAvailable(meterRegistry -> CaffeineCacheMetrics.monitor(meterRegistry, apiClientCache, CACHE_NAME));
+    }
+
+    @Override
+    public ApiClient getApiClient(String apiClientId) throws ExceptionClient {
+        final ApiClientCacheEntry cacheEntry;
+        try {
+            cacheEntry = apiClientCache.get(apiClientId);
+        } catch (CompletionException e) {
+            // Checked exceptions raised by the loader are wrapped by the cache
+            if (e.getCause() instanceof ExceptionClient) {
+                throw (ExceptionClient) e.getCause();
+            }
+            throw e;
+        }
+        if (cacheEntry.isNotFound()) {
+            throw new ExceptionClient(ErrorClient.builder()
+                                                 .errorType(ErrorType.NOT_FOUND)
+                                                 .clientId(apiClientId)
+                                                 .build(),
+                                      cacheEntry.getNotFoundMessage());
+        }
+        return cacheEntry.getApiClient();
+    }
+
+    /**
+     * Removes the cached entry for an ApiClient, the next lookup will call the platform.
+     *
+     * @param apiClientId the id of the ApiClient to evict
+     */
+    public void invalidate(String apiClientId) {
+        apiClientCache.invalidate(apiClientId);
+    }
+
+    private ApiClientCacheEntry loadApiClient(String apiClientId) throws ExceptionClient {
+        try {
+            final ApiClient apiClient = super.getApiClient(apiClientId);
+            if (apiClient == null) {
+                log.debug("(CachingApiClientServiceClient#loadApiClient) apiClientId: {} returned an empty response, caching not found response", apiClientId);
+                return ApiClientCacheEntry.notFound(null);
+            }
+            return ApiClientCacheEntry.found(apiClient);
+        } catch (ExceptionClient e) {
+            if (e.getErrorClient() != null && e.getErrorClient().getErrorType() == ErrorType.NOT_FOUND) {
+                log.debug("(CachingApiClientServiceClient#loadApiClient) apiClientId: {} not found, caching not found response", apiClientId);
+                return ApiClientCacheEntry.notFound(e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    private static int weigh(String apiClientId, ApiClientCacheEntry cacheEntry) {
+        return ENTRY_OVERHEAD_BYTES + estimateSizeBytes(apiClientId) + cacheEntry.estimateSizeBytes();
+    }
+
+    private static int estimateSizeBytes(String value) {
+        // String header + backing array, assuming UTF-16 as the worst case
+        return value == null ? 0 : 40 + 2 * value.length();
+    }
+
+    /**
+     * Cache value, either the ApiClient returned by the platform or a record of a not found response.
+     */
+    static class ApiClientCacheEntry {
+        private final ApiClient apiClient;
+        private final boolean notFound;
+        private final String notFoundMessage;
+
+        private ApiClientCacheEntry(ApiClient apiClient, boolean notFound, String notFoundMessage) {
+            this.apiClient = apiClient;
+            this.notFound = notFound;
+            this.notFoundMessage = notFoundMessage;
+        }
+
+        static ApiClientCacheEntry found(ApiClient apiClient) {
+            Objects.requireNonNull(apiClient, "apiClient must be supplied");
+            return new ApiClientCacheEntry(apiClient, false, null);
+        }
+
+        /**
+         * @param message the message of the not found response, may be null
+         */
+        static ApiClientCacheEntry notFound(String message) {
+            return new ApiClientCacheEntry(null, true, message);
+        }
+
+        boolean isNotFound() {
+            return notFound;
+        }
+
+        ApiClient getApiClient() {
+            return apiClient;
+        }
+
+        String getNotFoundMessage() {
+            return notFoundMessage;
+        }
+
+        int estimateSizeBytes() {
+            if (notFound) {
+                return CachingApiClientServiceClient.estimateSizeBytes(notFoundMessage);
+            }
+            return CachingApiClientServiceClient.estimateSizeBytes(apiClient.getId())
+                    + CachingApiClientServiceClient.estimateSizeBytes(apiClient.getName())
+                    + CachingApiClientServiceClient.estimateSizeBytes(apiClient.getOfficialName())
+                    + CachingApiClientServiceClient.estimateSizeBytes(apiClient.getOauth2ClientId())
+                    + CachingApiClientServiceClient.estimateSizeBytes(apiClient.getLogoUri());
+        }
+    }
+
+    /**
+     * Expires ApiClient entries after the configured TTL and not found entries after the shorter not found TTL, the
+     * expiry is reset when an entry is refreshed.
+     */
+    private static class ApiClientCacheExpiry implements Expiry<String, ApiClientCacheEntry> {
+        private final long expireAfterWriteNanos;
+        private final long notFoundExpireAfterWriteNanos;
+
+        ApiClientCacheExpiry(long expireAfterWriteNanos, long notFoundExpireAfterWriteNanos) {
+            this.expireAfterWriteNanos = expireAfterWriteNanos;
+            this.notFoundExpireAfterWriteNanos = notFoundExpireAfterWriteNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String apiClientId, ApiClientCacheEntry cacheEntry, long currentTime) {
+            return cacheEntry.isNotFound() ? notFoundExpireAfterWriteNanos : expireAfterWriteNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String apiClientId, ApiClientCacheEntry cacheEntry, long currentTime, long currentDuration) {
+            return expireAfterCreate(apiClientId, cacheEntry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String apiClientId, ApiClientCacheEntry cacheEntry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -29,22 +29,31 @@ import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.Constants.URLParameters
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.configuration.CloudClientConfiguration;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ExceptionClient;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.User;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.utils.concurrent.SingleFlight;
 
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Specific service to retrieve the user data from the platform
+ * Specific service to retrieve the user data from the platform.
+ * <p>
+ * Concurrent requests for the same user are coalesced into a single request to the platform, see {@link SingleFlight}.
  */
 @Service
 @Slf4j
 public class UserServiceClient extends BaseCloudClient {
 
+    private final SingleFlight<String, User> userRequests;
 
     public UserServiceClient(RestTemplate restTemplate, CloudClientConfiguration cloudClientConfiguration) {
         super(restTemplate, cloudClientConfiguration);
+        this.userRequests = new SingleFlight<>(cloudClientConfiguration.getSingleFlightMaxWaiters());
     }
 
     public User getUser(String userId) throws ExceptionClient {
+        return userRequests.execute(userId, () -> requestUser(userId));
+    }
+
+    private User requestUser(String userId) throws ExceptionClient {
         final URI userUri = cloudClientConfiguration.getUsersUri()
                                                     .expand(Map.of(URLParameters.USER_ID, userId))
                                                     .toUri();
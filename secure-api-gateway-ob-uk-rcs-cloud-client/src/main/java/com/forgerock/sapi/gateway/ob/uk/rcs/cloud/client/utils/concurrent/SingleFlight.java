@@ -0,0 +1,132 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.utils.concurrent;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Coalesces concurrent calls for the same key into a single call to a backend.
+ * <p>
+ * The first caller for a key (the leader) makes the call on its own thread. Callers which arrive with the same key
+ * while that call is in flight wait for it to complete and share its result, or the exception it threw, instead of
+ * making their own call. Once the call completes the key is forgotten, so results are never served after the call
+ * which produced them has returned, callers which need that should cache the result as well.
+ * <p>
+ * The number of callers waiting on a single in flight call is bounded by maxWaiters. Callers beyond the bound make
+ * their own call to the backend, as they would without coalescing, so that a slow call cannot hold an unbounded number
+ * of request threads. Waiters are bounded in time by the timeouts of the leader's call.
+ *
+ * @param <K> type of the key identifying identical calls
+ * @param <V> type of the result of the call
+ */
+public class SingleFlight<K, V> {
+
+    /**
+     * A call to a backend, which may throw a checked exception
+     */
+    @FunctionalInterface
+    public interface Call<V, E extends Exception> {
+        V call() throws E;
+    }
+
+    private static class Flight<V> {
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private final AtomicInteger waiters = new AtomicInteger();
+    }
+
+    private final int maxWaiters;
+    private final ConcurrentMap<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxWaiters maximum number of callers which wait for a single in flight call, 0 disables coalescing
+     */
+    public SingleFlight(int maxWaiters) {
+        if (maxWaiters < 0) {
+            throw new IllegalArgumentException("maxWaiters must not be negative");
+        }
+        this.maxWaiters = maxWaiters;
+    }
+
+    /**
+     * Makes the call, or waits for the result of a call for the same key which is already in flight
+     *
+     * @param key  key identifying identical calls
+     * @param call the call to the backend
+     * @return the result of the call
+     * @throws E the exception thrown by the call
+     */
+    public <E extends Exception> V execute(K key, Call<V, E> call) throws E {
+        Objects.requireNonNull(key, "key must be provided");
+        if (maxWaiters == 0) {
+            return call.call();
+        }
+        final Flight<V> flight = new Flight<>();
+        final Flight<V> existingFlight = inFlight.putIfAbsent(key, flight);
+        if (existingFlight != null) {
+            if (existingFlight.waiters.incrementAndGet() > maxWaiters) {
+                existingFlight.waiters.decrementAndGet();
+                return call.call();
+            }
+            return this.<E>await(existingFlight);
+        }
+        try {
+            final V result = call.call();
+            flight.result.complete(result);
+            return result;
+        } catch (Exception | Error e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * @return the number of calls currently in flight
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    int getWaiterCount(K key) {
+        final Flight<V> flight = inFlight.get(key);
+        return flight != null ? flight.waiters.get() : 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E extends Exception> V await(Flight<V> flight) throws E {
+        try {
+            return flight.result.join();
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            // The leader's call can only throw E or unchecked exceptions
+            throw (E) cause;
+        } finally {
+            flight.waiters.decrementAndGet();
+        }
+    }
+}
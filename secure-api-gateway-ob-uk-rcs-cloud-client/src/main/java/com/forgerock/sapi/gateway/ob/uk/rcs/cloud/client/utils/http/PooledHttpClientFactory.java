@@ -0,0 +1,127 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.utils.http;
+
+import java.util.Objects;
+import java.util.function.ToDoubleFunction;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactoryBuilder;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.ssl.SSLContexts;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.configuration.HttpClientPoolSettings;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Creates Apache HttpClient instances backed by a dedicated, bounded connection pool.
+ * <p>
+ * Connections are reused on a LIFO basis so that the most recently used (and therefore TLS established) connections
+ * are preferred. Each pool has its own SSLContext, so new connections can resume TLS sessions from its session cache.
+ * <p>
+ * The pool statistics are published in the {@value #POOL_CONNECTIONS_METRIC} gauge, tagged with the pool name and the
+ * connection state (leased, available or pending).
+ */
+public final class PooledHttpClientFactory {
+
+    public static final String POOL_CONNECTIONS_METRIC = "rcs.http.client.pool.connections";
+    public static final String POOL_MAX_METRIC = "rcs.http.client.pool.max";
+
+    private static final Logger logger = LoggerFactory.getLogger(PooledHttpClientFactory.class);
+
+    private PooledHttpClientFactory() {
+    }
+
+    /**
+     * @param poolName      name of the backend the pool connects to, used in logs and metrics
+     * @param settings      the pool settings
+     * @param meterRegistry registry to publish the pool metrics to, may be null
+     * @return a new HttpClient, the caller is responsible for closing it
+     */
+    public static CloseableHttpClient createHttpClient(String poolName, HttpClientPoolSettings settings, MeterRegistry meterRegistry) {
+        Objects.requireNonNull(poolName, "poolName must be provided");
+        Objects.requireNonNull(settings, "settings must be provided");
+        settings.validate(poolName);
+        logger.info("Creating HTTP connection pool: {} - maxTotal: {}, maxPerRoute: {}, connectTimeout: {}, responseTimeout: {}",
+                poolName, settings.getMaxTotal(), settings.getMaxPerRoute(), settings.getConnectTimeout(), settings.getResponseTimeout());
+
+        final PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setSSLSocketFactory(SSLConnectionSocketFactoryBuilder.create()
+                                                                      .setSslContext(SSLContexts.createSystemDefault())
+                                                                      .build())
+                .setMaxConnTotal(settings.getMaxTotal())
+                .setMaxConnPerRoute(settings.getMaxPerRoute())
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+                .setConnPoolPolicy(PoolReusePolicy.LIFO)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                                                            .setConnectTimeout(Timeout.of(settings.getConnectTimeout()))
+                                                            .setSocketTimeout(Timeout.of(settings.getResponseTimeout()))
+                                                            .setTimeToLive(TimeValue.of(settings.getTimeToLive()))
+                                                            .setValidateAfterInactivity(TimeValue.of(settings.getValidateAfterInactivity()))
+                                                            .build())
+                .build();
+
+        if (meterRegistry != null) {
+            registerPoolMetrics(poolName, connectionManager, meterRegistry);
+        }
+
+        return HttpClients.custom()
+                          .setConnectionManager(connectionManager)
+                          .setDefaultRequestConfig(RequestConfig.custom()
+                                                                .setConnectionRequestTimeout(Timeout.of(settings.getConnectionRequestTimeout()))
+                                                                .setResponseTimeout(Timeout.of(settings.getResponseTimeout()))
+                                                                .build())
+                          // Connections are not bound to a user identity, without this TLS connections are tagged with
+                          // the client certificate principal and cannot be leased by requests which have no state
+                          .disableConnectionState()
+                          .evictExpiredConnections()
+                          .evictIdleConnections(TimeValue.of(settings.getIdleEvictionTimeout()))
+                          .build();
+    }
+
+    private static void registerPoolMetrics(String poolName, PoolingHttpClientConnectionManager connectionManager,
+                                            MeterRegistry meterRegistry) {
+        registerConnectionsGauge(poolName, "leased", connectionManager, PoolStats::getLeased, meterRegistry);
+        registerConnectionsGauge(poolName, "available", connectionManager, PoolStats::getAvailable, meterRegistry);
+        registerConnectionsGauge(poolName, "pending", connectionManager, PoolStats::getPending, meterRegistry);
+        Gauge.builder(POOL_MAX_METRIC, connectionManager, cm -> cm.getTotalStats().getMax())
+             .description("Maximum number of connections in the HTTP connection pool")
+             .tag("pool", poolName)
+             .register(meterRegistry);
+    }
+
+    private static void registerConnectionsGauge(String poolName, String state, PoolingHttpClientConnectionManager connectionManager,
+                                                 ToDoubleFunction<PoolStats> statsValue, MeterRegistry meterRegistry) {
+        Gauge.builder(POOL_CONNECTIONS_METRIC, connectionManager, cm -> statsValue.applyAsDouble(cm.getTotalStats()))
+             .description("Number of connections in the HTTP connection pool by state, pending is the number of requests waiting for a connection")
+             .tag("pool", poolName)
+             .tag("state", state)
+             .register(meterRegistry);
+    }
+}
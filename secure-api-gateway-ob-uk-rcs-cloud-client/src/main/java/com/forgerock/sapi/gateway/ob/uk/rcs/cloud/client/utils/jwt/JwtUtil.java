@@ -15,31 +15,23 @@
  */
 package com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.utils.jwt;
 
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.configuration.JwksCacheConfiguration;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ErrorClient;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ErrorType;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ExceptionClient;
 import com.forgerock.sapi.gateway.uk.common.shared.claim.Claims;
 import com.forgerock.sapi.gateway.uk.common.shared.claim.JwsClaimsUtils;
 import com.nimbusds.jose.JOSEException;
-import com.nimbusds.jose.JWSAlgorithm;
-import com.nimbusds.jose.jwk.source.JWKSource;
-import com.nimbusds.jose.jwk.source.RemoteJWKSet;
 import com.nimbusds.jose.proc.BadJOSEException;
-import com.nimbusds.jose.proc.JWSKeySelector;
-import com.nimbusds.jose.proc.JWSVerificationKeySelector;
-import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.JWTParser;
 import com.nimbusds.jwt.SignedJWT;
-import com.nimbusds.jwt.proc.ConfigurableJWTProcessor;
-import com.nimbusds.jwt.proc.DefaultJWTClaimsVerifier;
-import com.nimbusds.jwt.proc.DefaultJWTProcessor;
-import com.nimbusds.jwt.proc.JWTClaimsSetVerifier;
 import lombok.extern.slf4j.Slf4j;
 
 import java.net.MalformedURLException;
-import java.net.URL;
 import java.text.ParseException;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * Utility to handling the JWT's and JWS's and {@link ParseException}
@@ -47,6 +39,16 @@ import java.util.Map;
 @Slf4j
 public class JwtUtil {
 
+    /**
+     * Registry used by {@link #validateJWT}, replaced by the Spring managed registry when one is created, see
+     * {@link com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.configuration.JwksCacheConfiguration}
+     */
+    private static volatile JwtValidatorRegistry validatorRegistry = new JwtValidatorRegistry(new JwksCacheConfiguration(), null);
+
+    public static void setValidatorRegistry(JwtValidatorRegistry validatorRegistry) {
+        JwtUtil.validatorRegistry = Objects.requireNonNull(validatorRegistry, "validatorRegistry must be provided");
+    }
+
     public static final SignedJWT getSignedJWT(String jwt) throws ExceptionClient {
         try {
             log.debug("(JwtRcsUtil#getSignedJWT) Parsing the jws [{}]", jwt);
@@ -79,6 +81,22 @@ public class JwtUtil {
         }
     }
 
+    public static final JWTClaimsSet getJWTClaimsSet(SignedJWT signedJWT) throws ExceptionClient {
+        try {
+            log.debug("(JwtRcsUtil#getJWTClaimsSet) Parsing the jws [{}] to retrieve the claims set", signedJWT.getParsedString());
+            return signedJWT.getJWTClaimsSet();
+        } catch (ParseException exception) {
+            log.error("(JwtRcsUtil#getJWTClaimsSet) Could not parse the JWT to retrieve the claims set", exception);
+            throw new ExceptionClient(
+                    ErrorClient.builder()
+                            .errorType(ErrorType.JWT_INVALID)
+                            .build(),
+                    String.format(ErrorType.JWT_INVALID.getDescription(), exception.getMessage()),
+                    exception
+            );
+        }
+    }
+
     public static final String getIdTokenClaim(String jwt, String idTokenClaim) throws ExceptionClient {
         return getClaims(getSignedJWT(jwt)).getIdTokenClaims().get(idTokenClaim).getValue();
     }
@@ -143,6 +161,36 @@ public class JwtUtil {
         }
     }
 
+    public static final String getClaimValue(JWTClaimsSet claimsSet, String claim) throws ExceptionClient {
+        try {
+            return claimsSet.getStringClaim(claim);
+        } catch (ParseException exception) {
+            log.error("(JwtRcsUtil#getClaimValue) Could not retrieve the string claim '{}' value", claim, exception);
+            throw new ExceptionClient(
+                    ErrorClient.builder()
+                            .errorType(ErrorType.JWT_INVALID)
+                            .build(),
+                    String.format(ErrorType.JWT_INVALID.getDescription(), exception.getMessage()),
+                    exception
+            );
+        }
+    }
+
+    public static final Map<String, Object> getClaimValueMap(JWTClaimsSet claimsSet, String claim) throws ExceptionClient {
+        try {
+            return claimsSet.getJSONObjectClaim(claim);
+        } catch (ParseException exception) {
+            log.error("(JwtRcsUtil#getClaimValueMap) Could not retrieve the json claim '{}' value", claim, exception);
+            throw new ExceptionClient(
+                    ErrorClient.builder()
+                            .errorType(ErrorType.JWT_INVALID)
+                            .build(),
+                    String.format(ErrorType.JWT_INVALID.getDescription(), exception.getMessage()),
+                    exception
+            );
+        }
+    }
+
     public static final boolean validateJWT(String jwt, String jwkUri) throws ExceptionClient {
         log.debug("(JwtRcsUtil#validateJWT(string)) Validating the jwt [{}]", jwt);
         return validateJWT(getSignedJWT(jwt), jwkUri);
@@ -152,18 +200,7 @@ public class JwtUtil {
         log.debug("(JwtRcsUtil#validateJWT(signedJWT)) Validating the jwt [{}]", signedJWT.getParsedString());
         try {
             if (signedJWT.getHeader().getAlgorithm() != null && jwkUri != null) {
-                JWSAlgorithm expectedJWSAlg = JWSAlgorithm.parse(signedJWT.getHeader().getAlgorithm().getName());
-                JWKSource<SecurityContext> keySource = new RemoteJWKSet<>(new URL(jwkUri));
-                JWSKeySelector<SecurityContext> keySelector = new JWSVerificationKeySelector<>(expectedJWSAlg, keySource);
-
-                // Create a JWT processor
-                ConfigurableJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
-                jwtProcessor.setJWSKeySelector(keySelector);
-                JWTClaimsSetVerifier<SecurityContext> claimsVerifier = new DefaultJWTClaimsVerifier<>();
-                jwtProcessor.setJWTClaimsSetVerifier(claimsVerifier);
-
-                // Process the JWT
-                jwtProcessor.process(signedJWT, null);
+                validatorRegistry.process(signedJWT, jwkUri);
             }
             return true;
         } catch (BadJOSEException | JOSEException | MalformedURLException exception) {
@@ -0,0 +1,245 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.utils.jwt;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.configuration.JwksCacheConfiguration;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.BadJWSException;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.DefaultResourceRetriever;
+import com.nimbusds.jose.util.Resource;
+import com.nimbusds.jose.util.ResourceRetriever;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.ConfigurableJWTProcessor;
+import com.nimbusds.jwt.proc.DefaultJWTClaimsVerifier;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registry of long-lived JWT processors used to validate JWT signatures against the keys published at a JWKS URI.
+ * <p>
+ * A processor is created once per JWKS URI and signing algorithm, all processors for the same JWKS URI share a single
+ * JWK source. The JWK source caches the JWK set for the configured time to live and retrieves it again early when a JWT
+ * is signed with an unknown key id (i.e. the keys have been rotated), these retrievals are rate limited so that JWTs
+ * with bogus key ids cannot be used to flood the JWKS endpoint. If the JWKS endpoint cannot be reached then the last
+ * retrieved JWK set continues to be used for the configured outage tolerance.
+ * <p>
+ * The signing algorithm is read from the unauthenticated JWT header, so only the asymmetric signature algorithms in
+ * {@link #SUPPORTED_ALGORITHMS} are accepted. Any other algorithm is rejected before a processor is created, so that
+ * JWTs with arbitrary algorithm names cannot grow the processor cache or the number of metric series.
+ * <p>
+ * The JWK set retrievals are published in the {@value #JWKS_FETCH_METRIC} timer and the JWT validations in the
+ * {@value #JWT_VERIFICATION_METRIC} timer, if a {@link MeterRegistry} is available.
+ * <p>
+ * This class is thread-safe.
+ */
+@Slf4j
+public class JwtValidatorRegistry implements Closeable {
+
+    public static final String JWKS_FETCH_METRIC = "rcs.jwks.fetch";
+    public static final String JWT_VERIFICATION_METRIC = "rcs.jwt.verification";
+
+    /**
+     * The JWS algorithms that can be verified using the public keys published at a JWKS URI (RSA, EC and EdDSA).
+     */
+    public static final Set<JWSAlgorithm> SUPPORTED_ALGORITHMS = Set.copyOf(JWSAlgorithm.Family.SIGNATURE);
+
+    static final String UNSUPPORTED_ALGORITHM_TAG = "unsupported";
+
+    private record ProcessorKey(String jwkUri, JWSAlgorithm algorithm) {
+    }
+
+    private final JwksCacheConfiguration configuration;
+    private final ResourceRetriever resourceRetriever;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, JWKSource<SecurityContext>> jwkSources = new ConcurrentHashMap<>();
+    private final Map<ProcessorKey, ConfigurableJWTProcessor<SecurityContext>> processors = new ConcurrentHashMap<>();
+
+    /**
+     * @param configuration the JWK set cache configuration
+     * @param meterRegistry registry to publish the metrics to, may be null
+     */
+    public JwtValidatorRegistry(JwksCacheConfiguration configuration, MeterRegistry meterRegistry) {
+        this(configuration, new DefaultResourceRetriever((int) configuration.getConnectTimeout().toMillis(),
+                                                         (int) configuration.getReadTimeout().toMillis(),
+                                                         configuration.getSizeLimit()), meterRegistry);
+    }
+
+    JwtValidatorRegistry(JwksCacheConfiguration configuration, ResourceRetriever resourceRetriever, MeterRegistry meterRegistry) {
+        this.configuration = Objects.requireNonNull(configuration, "configuration must be provided");
+        this.resourceRetriever = new MeteredResourceRetriever(Objects.requireNonNull(resourceRetriever, "resourceRetriever must be provided"));
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Validates the signature and the time based claims (exp and nbf) of a JWT
+     *
+     * @param signedJWT the JWT to validate, the header must contain one of the {@link #SUPPORTED_ALGORITHMS}
+     * @param jwkUri    URI of the JWK set containing the key that the JWT was signed with
+     * @return the validated claims set
+     * @throws BadJOSEException      if the JWT is invalid or is signed with an unsupported algorithm
+     * @throws JOSEException         if the JWK set cannot be retrieved or the signature cannot be verified
+     * @throws MalformedURLException if the jwkUri is not a valid URL
+     */
+    public JWTClaimsSet process(SignedJWT signedJWT, String jwkUri) throws BadJOSEException, JOSEException, MalformedURLException {
+        Objects.requireNonNull(signedJWT, "signedJWT must be provided");
+        Objects.requireNonNull(jwkUri, "jwkUri must be provided");
+        final JWSAlgorithm algorithm = signedJWT.getHeader().getAlgorithm();
+        if (!SUPPORTED_ALGORITHMS.contains(algorithm)) {
+            log.debug("Rejecting JWT signed with unsupported algorithm");
+            recordVerification(UNSUPPORTED_ALGORITHM_TAG, "invalid", 0L);
+            throw new BadJWSException("Signed JWT rejected: Unsupported JWS algorithm");
+        }
+        final ConfigurableJWTProcessor<SecurityContext> processor = getProcessor(jwkUri, algorithm);
+
+        final long startTime = System.nanoTime();
+        String outcome = "error";
+        try {
+            final JWTClaimsSet claimsSet = processor.process(signedJWT, null);
+            outcome = "success";
+            return claimsSet;
+        } catch (BadJOSEException e) {
+            outcome = "invalid";
+            throw e;
+        } finally {
+            recordVerification(algorithm.getName(), outcome, System.nanoTime() - startTime);
+        }
+    }
+
+    private void recordVerification(String algorithmTag, String outcome, long durationNanos) {
+        if (meterRegistry != null) {
+            Timer.builder(JWT_VERIFICATION_METRIC)
+                 .description("Time taken to validate a JWT against the keys published at a JWKS URI")
+                 .tag("alg", algorithmTag)
+                 .tag("outcome", outcome)
+                 .register(meterRegistry)
+                 .record(durationNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private ConfigurableJWTProcessor<SecurityContext> getProcessor(String jwkUri, JWSAlgorithm algorithm) throws MalformedURLException {
+        final ProcessorKey key = new ProcessorKey(jwkUri, algorithm);
+        final ConfigurableJWTProcessor<SecurityContext> processor = processors.get(key);
+        if (processor != null) {
+            return processor;
+        }
+        final JWKSource<SecurityContext> jwkSource = getJwkSource(jwkUri);
+        return processors.computeIfAbsent(key, k -> {
+            final ConfigurableJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+            jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(algorithm, jwkSource));
+            jwtProcessor.setJWTClaimsSetVerifier(new DefaultJWTClaimsVerifier<>());
+            return jwtProcessor;
+        });
+    }
+
+    private JWKSource<SecurityContext> getJwkSource(String jwkUri) throws MalformedURLException {
+        final JWKSource<SecurityContext> jwkSource = jwkSources.get(jwkUri);
+        if (jwkSource != null) {
+            return jwkSource;
+        }
+        // Parse the URL outside computeIfAbsent so that the checked exception can be thrown to the caller
+        final URL jwkSetUrl = new URL(jwkUri);
+        return jwkSources.computeIfAbsent(jwkUri, uri -> createJwkSource(jwkSetUrl));
+    }
+
+    private JWKSource<SecurityContext> createJwkSource(URL jwkSetUrl) {
+        log.info("Creating JWK source for: {} - timeToLive: {}, rateLimitMinInterval: {}, outageTolerance: {}",
+                jwkSetUrl, configuration.getTimeToLive(), configuration.getRateLimitMinInterval(), configuration.getOutageTolerance());
+        final JWKSourceBuilder<SecurityContext> builder = JWKSourceBuilder.create(jwkSetUrl, resourceRetriever)
+                .cache(configuration.getTimeToLive().toMillis(), configuration.getRefreshTimeout().toMillis());
+        if (configuration.getRateLimitMinInterval().isZero()) {
+            builder.rateLimited(false);
+        } else {
+            builder.rateLimited(configuration.getRateLimitMinInterval().toMillis());
+        }
+        if (configuration.getOutageTolerance().isZero()) {
+            builder.outageTolerant(false);
+        } else {
+            builder.outageTolerant(configuration.getOutageTolerance().toMillis());
+        }
+        return builder.build();
+    }
+
+    @Override
+    public void close() {
+        processors.clear();
+        jwkSources.values().forEach(jwkSource -> {
+            if (jwkSource instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (IOException e) {
+                    log.warn("Failed to close JWK source", e);
+                }
+            }
+        });
+        jwkSources.clear();
+    }
+
+    /**
+     * Records the time taken and the outcome of each JWK set retrieval.
+     */
+    private class MeteredResourceRetriever implements ResourceRetriever {
+
+        private final ResourceRetriever delegate;
+
+        private MeteredResourceRetriever(ResourceRetriever delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Resource retrieveResource(URL url) throws IOException {
+            log.debug("Retrieving JWK set from: {}", url);
+            final long startTime = System.nanoTime();
+            String outcome = "failure";
+            try {
+                final Resource resource = delegate.retrieveResource(url);
+                outcome = "success";
+                return resource;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to retrieve JWK set from: {}", url, e);
+                throw e;
+            } finally {
+                if (meterRegistry != null) {
+                    Timer.builder(JWKS_FETCH_METRIC)
+                         .description("Time taken to retrieve a JWK set from a JWKS URI")
+                         .tag("outcome", outcome)
+                         .register(meterRegistry)
+                         .record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ErrorType;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ExceptionClient;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+/**
+ * Unit Test for {@link ConsentRequestContext}
+ */
+class ConsentRequestContextTest {
+
+    private static final String HMAC_SECRET = "a-test-secret-which-is-at-least-256-bits-long-for-HS256";
+
+    private static String createConsentRequestJws(String intentId, String clientId, String username) throws Exception {
+        final JWTClaimsSet.Builder claimsBuilder = new JWTClaimsSet.Builder()
+                .claim("clientId", clientId)
+                .claim("username", username)
+                .claim("scopes", Map.of("openid", "openid"))
+                .claim("consentApprovalRedirectUri", "https://am/authorize?client_id=" + clientId);
+        final Map<String, Object> acr = Map.of("value", "urn:openbanking:psd2:sca", "essential", true);
+        if (intentId != null) {
+            final Map<String, Object> intentIdClaim = Map.of("value", intentId, "essential", true);
+            claimsBuilder.claim("claims", Map.of("id_token", Map.of("acr", acr, "openbanking_intent_id", intentIdClaim),
+                                                 "userinfo", Map.of("openbanking_intent_id", intentIdClaim)));
+        } else {
+            claimsBuilder.claim("claims", Map.of("id_token", Map.of("acr", acr), "userinfo", Map.of()));
+        }
+        final SignedJWT signedJWT = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claimsBuilder.build());
+        signedJWT.sign(new MACSigner(HMAC_SECRET));
+        return signedJWT.serialize();
+    }
+
+    @Test
+    void shouldParseConsentRequest() throws Exception {
+        final String intentId = "PDC_" + UUID.randomUUID();
+        final String clientId = UUID.randomUUID().toString();
+        final String consentRequestJws = createConsentRequestJws(intentId, clientId, "psu4test");
+
+        final ConsentRequestContext consentRequestContext = ConsentRequestContext.parse(consentRequestJws);
+
+        assertThat(consentRequestContext.getConsentRequestJws()).isEqualTo(consentRequestJws);
+        assertThat(consentRequestContext.getHeader().getAlgorithm()).isEqualTo(JWSAlgorithm.HS256);
+        assertThat(consentRequestContext.hasIntentId()).isTrue();
+        assertThat(consentRequestContext.getIntentId()).isEqualTo(intentId);
+        assertThat(consentRequestContext.getClientId()).isEqualTo(clientId);
+        assertThat(consentRequestContext.getUsername()).isEqualTo("psu4test");
+        assertThat(consentRequestContext.getScopes()).containsExactly("openid");
+        assertThat(consentRequestContext.getStringClaim("consentApprovalRedirectUri")).endsWith(clientId);
+    }
+
+    @Test
+    void shouldParseConsentRequestWithoutIntentId() throws Exception {
+        final ConsentRequestContext consentRequestContext = ConsentRequestContext.parse(
+                createConsentRequestJws(null, "client-1", "psu4test"));
+
+        assertThat(consentRequestContext.hasIntentId()).isFalse();
+        assertThat(consentRequestContext.getIntentId()).isNull();
+    }
+
+    @Test
+    void failsToParseInvalidJws() {
+        assertThatThrownBy(() -> ConsentRequestContext.parse("not-a-jws"))
+                .isInstanceOf(ExceptionClient.class)
+                .satisfies(ex -> assertThat(((ExceptionClient) ex).getErrorClient().getErrorType()).isEqualTo(ErrorType.JWT_INVALID));
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.ExpectedCount.times;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.client.AutoConfigureWebClient;
+import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.client.MockRestServiceServer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.configuration.ApiClientCacheConfiguration;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.configuration.CloudClientConfiguration;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ErrorType;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ExceptionClient;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ApiClient;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.test.support.ApiClientTestDataFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit test for {@link CachingApiClientServiceClient}
+ */
+@ActiveProfiles("test")
+@RestClientTest(CachingApiClientServiceClient.class)
+@AutoConfigureWebClient(registerRestTemplate = true)
+@Import({CloudClientConfiguration.class, ApiClientCacheConfiguration.class, SimpleMeterRegistry.class})
+public class CachingApiClientServiceClientTest {
+
+    @Autowired
+    private CachingApiClientServiceClient apiClientServiceClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockRestServiceServer mockServer;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void shouldGetApiClientFromCache() throws ExceptionClient, JsonProcessingException {
+        // Given
+        ApiClient apiClient = ApiClientTestDataFactory.aValidApiClient(UUID.randomUUID().toString());
+        mockServer.expect(once(), requestTo("http://ig:80/repo/apiclients/" + apiClient.getOauth2ClientId()))
+                  .andRespond(withStatus(HttpStatus.OK)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body(objectMapper.writeValueAsString(apiClient)));
+
+        final double hitsBefore = cacheHits();
+
+        // When
+        ApiClient firstResponse = apiClientServiceClient.getApiClient(apiClient.getOauth2ClientId());
+        ApiClient secondResponse = apiClientServiceClient.getApiClient(apiClient.getOauth2ClientId());
+
+        // Then
+        mockServer.verify();
+        assertThat(firstResponse).isEqualTo(apiClient);
+        assertThat(secondResponse).isEqualTo(apiClient);
+        assertThat(cacheHits() - hitsBefore).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldCacheNotFoundApiClient() {
+        // Given
+        ApiClient apiClient = ApiClientTestDataFactory.aValidApiClient(UUID.randomUUID().toString());
+        mockServer.expect(once(), requestTo("http://ig:80/repo/apiclients/" + apiClient.getOauth2ClientId()))
+                  .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        // When
+        ExceptionClient firstException = catchThrowableOfType(() -> apiClientServiceClient.getApiClient(apiClient.getOauth2ClientId()), ExceptionClient.class);
+        ExceptionClient secondException = catchThrowableOfType(() -> apiClientServiceClient.getApiClient(apiClient.getOauth2ClientId()), ExceptionClient.class);
+
+        // Then
+        mockServer.verify();
+        assertThat(firstException.getErrorClient().getErrorType()).isEqualTo(ErrorType.NOT_FOUND);
+        assertThat(secondException.getErrorClient().getErrorType()).isEqualTo(ErrorType.NOT_FOUND);
+        assertThat(secondException.getErrorClient().getClientId()).isEqualTo(apiClient.getOauth2ClientId());
+    }
+
+    @Test
+    public void shouldCacheEmptyResponseAsNotFound() {
+        // Given
+        ApiClient apiClient = ApiClientTestDataFactory.aValidApiClient(UUID.randomUUID().toString());
+        mockServer.expect(once(), requestTo("http://ig:80/repo/apiclients/" + apiClient.getOauth2ClientId()))
+                  .andRespond(withStatus(HttpStatus.OK));
+
+        // When
+        ExceptionClient firstException = catchThrowableOfType(() -> apiClientServiceClient.getApiClient(apiClient.getOauth2ClientId()), ExceptionClient.class);
+        ExceptionClient secondException = catchThrowableOfType(() -> apiClientServiceClient.getApiClient(apiClient.getOauth2ClientId()), ExceptionClient.class);
+
+        // Then
+        mockServer.verify();
+        assertThat(firstException.getErrorClient().getErrorType()).isEqualTo(ErrorType.NOT_FOUND);
+        assertThat(secondException.getErrorClient().getErrorType()).isEqualTo(ErrorType.NOT_FOUND);
+    }
+
+    @Test
+    public void notFoundEntryWithoutMessageIsNotFound() {
+        CachingApiClientServiceClient.ApiClientCacheEntry cacheEntry = CachingApiClientServiceClient.ApiClientCacheEntry.notFound(null);
+
+        assertThat(cacheEntry.isNotFound()).isTrue();
+        assertThat(cacheEntry.getApiClient()).isNull();
+        assertThat(cacheEntry.estimateSizeBytes()).isZero();
+    }
+
+    @Test
+    public void shouldNotCacheServerErrors() {
+        // Given
+        ApiClient apiClient = ApiClientTestDataFactory.aValidApiClient(UUID.randomUUID().toString());
+        mockServer.expect(times(2), requestTo("http://ig:80/repo/apiclients/" + apiClient.getOauth2ClientId()))
+                  .andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        // When
+        ExceptionClient firstException = catchThrowableOfType(() -> apiClientServiceClient.getApiClient(apiClient.getOauth2ClientId()), ExceptionClient.class);
+        ExceptionClient secondException = catchThrowableOfType(() -> apiClientServiceClient.getApiClient(apiClient.getOauth2ClientId()), ExceptionClient.class);
+
+        // Then
+        mockServer.verify();
+        assertThat(firstException.getErrorClient().getErrorType()).isEqualTo(ErrorType.SERVER_ERROR);
+        assertThat(secondException.getErrorClient().getErrorType()).isEqualTo(ErrorType.SERVER_ERROR);
+    }
+
+    @Test
+    public void shouldReloadApiClientAfterInvalidate() throws ExceptionClient, JsonProcessingException {
+        // Given
+        ApiClient apiClient = ApiClientTestDataFactory.aValidApiClient(UUID.randomUUID().toString());
+        mockServer.expect(times(2), requestTo("http://ig:80/repo/apiclients/" + apiClient.getOauth2ClientId()))
+                  .andRespond(withStatus(HttpStatus.OK)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body(objectMapper.writeValueAsString(apiClient)));
+
+        // When
+        apiClientServiceClient.getApiClient(apiClient.getOauth2ClientId());
+        apiClientServiceClient.invalidate(apiClient.getOauth2ClientId());
+        ApiClient apiClientResponse = apiClientServiceClient.getApiClient(apiClient.getOauth2ClientId());
+
+        // Then
+        mockServer.verify();
+        assertThat(apiClientResponse).isEqualTo(apiClient);
+    }
+
+    private double cacheHits() {
+        return meterRegistry.get("cache.gets")
+                            .tag("cache", CachingApiClientServiceClient.CACHE_NAME)
+                            .tag("result", "hit")
+                            .functionCounter()
+                            .count();
+    }
+}
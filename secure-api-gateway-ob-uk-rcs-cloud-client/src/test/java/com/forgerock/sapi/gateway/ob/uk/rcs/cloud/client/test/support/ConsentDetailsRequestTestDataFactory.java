@@ -18,9 +18,6 @@ package com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.test.support;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ConsentClientDetailsRequest;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.User;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
-import com.nimbusds.jwt.SignedJWT;
-
-import java.text.ParseException;
 
 import static java.util.UUID.randomUUID;
 
@@ -30,47 +27,18 @@ import static java.util.UUID.randomUUID;
 public class ConsentDetailsRequestTestDataFactory {
 
     public static ConsentClientDetailsRequest aValidConsentDetailsRequest(IntentType intentType) {
-        try {
-            return ConsentClientDetailsRequest.builder()
-                    .intentId(intentType.generateIntentId())
-                    .consentRequestJwt(SignedJWT.parse("eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9." +
-                            "eyJzdWIiOiIxMjM0NTY3ODkwIiwibmFtZSI6IkpvaG4gRG9lIiwiaWF0IjoxNTE2MjM5MDIyfQ." +
-                            "SflKxwRJSMeKKF2QT4fwpMeJf36POk6yJV_adQssw5c"))
-                    .user(UserTestDataFactory.aValidUser(randomUUID().toString(), "testUserName"))
-                    .clientId(randomUUID().toString())
-                    .build();
-        } catch (ParseException e) {
-            throw new IllegalStateException("Invalid Signed JWT value");
-        }
+        return aValidConsentDetailsRequest(intentType.generateIntentId());
     }
 
     public static ConsentClientDetailsRequest aValidConsentDetailsRequest(String intentId) {
-        try {
-            return ConsentClientDetailsRequest.builder()
-                    .intentId(intentId)
-                    .consentRequestJwt(SignedJWT.parse("eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9." +
-                            "eyJzdWIiOiIxMjM0NTY3ODkwIiwibmFtZSI6IkpvaG4gRG9lIiwiaWF0IjoxNTE2MjM5MDIyfQ." +
-                            "SflKxwRJSMeKKF2QT4fwpMeJf36POk6yJV_adQssw5c"))
-                    .user(UserTestDataFactory.aValidUser(randomUUID().toString(), "testUserName"))
-                    .clientId(randomUUID().toString())
-                    .build();
-        } catch (ParseException e) {
-            throw new IllegalStateException("Invalid Signed JWT value");
-        }
+        return aValidConsentDetailsRequest(intentId, UserTestDataFactory.aValidUser(randomUUID().toString(), "testUserName"));
     }
 
     public static ConsentClientDetailsRequest aValidConsentDetailsRequest(String intentId, User user) {
-        try {
-            return ConsentClientDetailsRequest.builder()
-                    .intentId(intentId)
-                    .consentRequestJwt(SignedJWT.parse("eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9." +
-                            "eyJzdWIiOiIxMjM0NTY3ODkwIiwibmFtZSI6IkpvaG4gRG9lIiwiaWF0IjoxNTE2MjM5MDIyfQ." +
-                            "SflKxwRJSMeKKF2QT4fwpMeJf36POk6yJV_adQssw5c"))
-                    .user(user)
-                    .clientId(randomUUID().toString())
-                    .build();
-        } catch (ParseException e) {
-            throw new IllegalStateException("Invalid Signed JWT value");
-        }
+        return ConsentClientDetailsRequest.builder()
+                .intentId(intentId)
+                .user(user)
+                .clientId(randomUUID().toString())
+                .build();
     }
 }
@@ -0,0 +1,161 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.utils.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link SingleFlight}
+ */
+class SingleFlightTest {
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void shutdownExecutor() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void shouldShareResultOfInFlightCall() throws Exception {
+        final SingleFlight<String, String> singleFlight = new SingleFlight<>(10);
+        final AtomicInteger backendCalls = new AtomicInteger();
+        final CountDownLatch releaseCall = new CountDownLatch(1);
+
+        final Future<String> leader = executorService.submit(() -> singleFlight.execute("key", () -> {
+            backendCalls.incrementAndGet();
+            releaseCall.await();
+            return "result-" + backendCalls.get();
+        }));
+        awaitInFlight(singleFlight);
+
+        final List<Future<String>> waiters = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            waiters.add(executorService.submit(() -> singleFlight.execute("key", () -> "result-" + backendCalls.incrementAndGet())));
+        }
+        awaitWaiters(singleFlight, "key", 5);
+        releaseCall.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("result-1");
+        for (Future<String> waiter : waiters) {
+            assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("result-1");
+        }
+        assertThat(backendCalls).hasValue(1);
+        assertThat(singleFlight.getInFlightCount()).isZero();
+    }
+
+    @Test
+    void shouldShareExceptionOfInFlightCall() throws Exception {
+        final SingleFlight<String, String> singleFlight = new SingleFlight<>(10);
+        final CountDownLatch releaseCall = new CountDownLatch(1);
+
+        final Future<String> leader = executorService.submit(() -> singleFlight.execute("key", () -> {
+            releaseCall.await();
+            throw new IOException("backend unavailable");
+        }));
+        awaitInFlight(singleFlight);
+        final Future<String> waiter = executorService.submit(() -> singleFlight.execute("key", () -> "unexpected"));
+        awaitWaiters(singleFlight, "key", 1);
+        releaseCall.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasRootCauseInstanceOf(IOException.class);
+        assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).hasRootCauseInstanceOf(IOException.class)
+                                                                 .hasRootCauseMessage("backend unavailable");
+        assertThat(singleFlight.getInFlightCount()).isZero();
+    }
+
+    @Test
+    void shouldCallBackendWhenMaxWaitersReached() throws Exception {
+        final SingleFlight<String, String> singleFlight = new SingleFlight<>(1);
+        final CountDownLatch releaseCall = new CountDownLatch(1);
+
+        final Future<String> leader = executorService.submit(() -> singleFlight.execute("key", () -> {
+            releaseCall.await();
+            return "leader";
+        }));
+        awaitInFlight(singleFlight);
+        final Future<String> waiter = executorService.submit(() -> singleFlight.execute("key", () -> "unexpected"));
+        awaitWaiters(singleFlight, "key", 1);
+
+        assertThat(singleFlight.execute("key", () -> "overflow")).isEqualTo("overflow");
+
+        releaseCall.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("leader");
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("leader");
+    }
+
+    @Test
+    void shouldNotCoalesceCallsForDifferentKeys() throws Exception {
+        final SingleFlight<String, String> singleFlight = new SingleFlight<>(10);
+        final CountDownLatch releaseCall = new CountDownLatch(1);
+
+        final Future<String> leader = executorService.submit(() -> singleFlight.execute("key1", () -> {
+            releaseCall.await();
+            return "result1";
+        }));
+        awaitInFlight(singleFlight);
+
+        assertThat(singleFlight.execute("key2", () -> "result2")).isEqualTo("result2");
+
+        releaseCall.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("result1");
+    }
+
+    @Test
+    void shouldNotReuseResultOfCompletedCall() {
+        final SingleFlight<String, Integer> singleFlight = new SingleFlight<>(10);
+        final AtomicInteger backendCalls = new AtomicInteger();
+
+        assertThat(singleFlight.execute("key", backendCalls::incrementAndGet)).isEqualTo(1);
+        assertThat(singleFlight.execute("key", backendCalls::incrementAndGet)).isEqualTo(2);
+    }
+
+    @Test
+    void shouldFailToCreateWithNegativeMaxWaiters() {
+        assertThatThrownBy(() -> new SingleFlight<>(-1)).isInstanceOf(IllegalArgumentException.class)
+                                                        .hasMessage("maxWaiters must not be negative");
+    }
+
+    private static void awaitInFlight(SingleFlight<?, ?> singleFlight) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.getInFlightCount() == 0) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private static <K> void awaitWaiters(SingleFlight<K, ?> singleFlight, K key, int waiters) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.getWaiterCount(key) < waiters) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+}
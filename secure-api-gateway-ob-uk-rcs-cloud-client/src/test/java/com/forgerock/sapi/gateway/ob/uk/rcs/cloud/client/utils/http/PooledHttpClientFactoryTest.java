@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.utils.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.Test;
+
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.configuration.HttpClientPoolSettings;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit test for {@link PooledHttpClientFactory}
+ */
+class PooledHttpClientFactoryTest {
+
+    @Test
+    void shouldPublishPoolMetrics() throws Exception {
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final HttpClientPoolSettings settings = new HttpClientPoolSettings();
+        settings.setMaxTotal(20);
+        settings.setMaxPerRoute(10);
+
+        try (CloseableHttpClient ignored = PooledHttpClientFactory.createHttpClient("test-backend", settings, meterRegistry)) {
+            assertThat(meterRegistry.get(PooledHttpClientFactory.POOL_MAX_METRIC).tag("pool", "test-backend").gauge().value())
+                    .isEqualTo(20);
+            for (String state : new String[]{"leased", "available", "pending"}) {
+                assertThat(meterRegistry.get(PooledHttpClientFactory.POOL_CONNECTIONS_METRIC)
+                                        .tag("pool", "test-backend")
+                                        .tag("state", state)
+                                        .gauge().value()).isZero();
+            }
+        }
+    }
+
+    @Test
+    void shouldCreateHttpClientWithoutMeterRegistry() throws Exception {
+        try (CloseableHttpClient httpClient = PooledHttpClientFactory.createHttpClient("test-backend", new HttpClientPoolSettings(), null)) {
+            assertThat(httpClient).isNotNull();
+        }
+    }
+
+    @Test
+    void failsWhenMaxPerRouteExceedsMaxTotal() {
+        final HttpClientPoolSettings settings = new HttpClientPoolSettings();
+        settings.setMaxTotal(5);
+        settings.setMaxPerRoute(10);
+
+        assertThatThrownBy(() -> PooledHttpClientFactory.createHttpClient("test-backend", settings, null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("test-backend.maxPerRoute must be greater than 0 and not exceed maxTotal");
+    }
+
+    @Test
+    void failsWhenTimeoutIsNegative() {
+        final HttpClientPoolSettings settings = new HttpClientPoolSettings();
+        settings.setConnectTimeout(Duration.ofSeconds(-1));
+
+        assertThatThrownBy(() -> PooledHttpClientFactory.createHttpClient("test-backend", settings, null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("test-backend timeouts must not be negative");
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.utils.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.configuration.JwksCacheConfiguration;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ErrorType;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ExceptionClient;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jose.util.Resource;
+import com.nimbusds.jose.util.ResourceRetriever;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit test for {@link JwtValidatorRegistry}
+ */
+class JwtValidatorRegistryTest {
+
+    private static final String JWKS_URI = "https://jwks.example.com/jwks.json";
+
+    private static RSAKey signingKey;
+    private static RSAKey rotatedSigningKey;
+
+    private final AtomicReference<JWKSet> publishedJwks = new AtomicReference<>();
+    private final AtomicInteger fetchCount = new AtomicInteger();
+    private final List<URL> fetchedUrls = new CopyOnWriteArrayList<>();
+    private final ResourceRetriever stubResourceRetriever = url -> {
+        fetchCount.incrementAndGet();
+        fetchedUrls.add(url);
+        final JWKSet jwkSet = publishedJwks.get();
+        if (jwkSet == null) {
+            throw new IOException("JWKS endpoint unavailable");
+        }
+        return new Resource(jwkSet.toString(), "application/json");
+    };
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwksCacheConfiguration configuration;
+
+    @BeforeAll
+    static void generateKeys() throws Exception {
+        signingKey = new RSAKeyGenerator(2048).keyUse(KeyUse.SIGNATURE).keyID("key-1").generate();
+        rotatedSigningKey = new RSAKeyGenerator(2048).keyUse(KeyUse.SIGNATURE).keyID("key-2").generate();
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        configuration = new JwksCacheConfiguration();
+        publishedJwks.set(new JWKSet(signingKey.toPublicJWK()));
+    }
+
+    @AfterEach
+    void restoreDefaultRegistry() {
+        JwtUtil.setValidatorRegistry(new JwtValidatorRegistry(new JwksCacheConfiguration(), null));
+    }
+
+    private JwtValidatorRegistry createRegistry() {
+        return new JwtValidatorRegistry(configuration, stubResourceRetriever, meterRegistry);
+    }
+
+    private static SignedJWT createSignedJwt(RSAKey key, JWSAlgorithm algorithm, Date expirationTime) throws Exception {
+        final SignedJWT signedJWT = new SignedJWT(new JWSHeader.Builder(algorithm).keyID(key.getKeyID()).build(),
+                new JWTClaimsSet.Builder().subject("test-user").expirationTime(expirationTime).build());
+        signedJWT.sign(new RSASSASigner(key));
+        return signedJWT;
+    }
+
+    private static SignedJWT createSignedJwt(RSAKey key) throws Exception {
+        return createSignedJwt(key, JWSAlgorithm.PS256, new Date(System.currentTimeMillis() + 60_000));
+    }
+
+    @Test
+    void shouldRetrieveJwksOnceForManyValidations() throws Exception {
+        try (JwtValidatorRegistry registry = createRegistry()) {
+            for (int i = 0; i < 10; i++) {
+                assertThat(registry.process(createSignedJwt(signingKey), JWKS_URI).getSubject()).isEqualTo("test-user");
+            }
+            assertThat(registry.process(createSignedJwt(signingKey, JWSAlgorithm.RS256, null), JWKS_URI).getSubject())
+                    .isEqualTo("test-user");
+        }
+
+        assertThat(fetchCount).hasValue(1);
+        assertThat(fetchedUrls).containsExactly(new URL(JWKS_URI));
+        assertThat(meterRegistry.get(JwtValidatorRegistry.JWKS_FETCH_METRIC).tag("outcome", "success").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get(JwtValidatorRegistry.JWT_VERIFICATION_METRIC).tag("alg", "PS256")
+                                .tag("outcome", "success").timer().count()).isEqualTo(10);
+        assertThat(meterRegistry.get(JwtValidatorRegistry.JWT_VERIFICATION_METRIC).tag("alg", "RS256")
+                                .tag("outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRetrieveJwksForEachJwksUri() throws Exception {
+        try (JwtValidatorRegistry registry = createRegistry()) {
+            registry.process(createSignedJwt(signingKey), JWKS_URI);
+            registry.process(createSignedJwt(signingKey), "https://other.example.com/jwks.json");
+            registry.process(createSignedJwt(signingKey), JWKS_URI);
+        }
+
+        assertThat(fetchedUrls).containsExactly(new URL(JWKS_URI), new URL("https://other.example.com/jwks.json"));
+    }
+
+    @Test
+    void shouldRefreshJwksWhenKeyIdIsUnknown() throws Exception {
+        configuration.setRateLimitMinInterval(Duration.ZERO);
+        try (JwtValidatorRegistry registry = createRegistry()) {
+            registry.process(createSignedJwt(signingKey), JWKS_URI);
+
+            // Keys rotated by the JWKS owner, the new key id is not in the cached JWK set
+            publishedJwks.set(new JWKSet(List.of(signingKey.toPublicJWK(), rotatedSigningKey.toPublicJWK())));
+            registry.process(createSignedJwt(rotatedSigningKey), JWKS_URI);
+            registry.process(createSignedJwt(rotatedSigningKey), JWKS_URI);
+        }
+
+        assertThat(fetchCount).hasValue(2);
+    }
+
+    @Test
+    void shouldUseCachedJwksWhenEndpointIsUnavailable() throws Exception {
+        configuration.setTimeToLive(Duration.ofMillis(200));
+        configuration.setRefreshTimeout(Duration.ofMillis(100));
+        configuration.setRateLimitMinInterval(Duration.ZERO);
+        try (JwtValidatorRegistry registry = createRegistry()) {
+            registry.process(createSignedJwt(signingKey), JWKS_URI);
+
+            publishedJwks.set(null);
+            Thread.sleep(300);
+
+            assertThat(registry.process(createSignedJwt(signingKey), JWKS_URI).getSubject()).isEqualTo("test-user");
+        }
+
+        assertThat(fetchCount.get()).isGreaterThan(1);
+        assertThat(meterRegistry.get(JwtValidatorRegistry.JWKS_FETCH_METRIC).tag("outcome", "failure").timer().count())
+                .isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void failsToValidateJwtSignedWithDifferentKey() throws Exception {
+        final RSAKey otherKey = new RSAKeyGenerator(2048).keyUse(KeyUse.SIGNATURE).keyID(signingKey.getKeyID()).generate();
+        try (JwtValidatorRegistry registry = createRegistry()) {
+            assertThatThrownBy(() -> registry.process(createSignedJwt(otherKey), JWKS_URI))
+                    .isInstanceOf(BadJOSEException.class)
+                    .hasMessageContaining("Signed JWT rejected");
+        }
+
+        assertThat(meterRegistry.get(JwtValidatorRegistry.JWT_VERIFICATION_METRIC).tag("alg", "PS256")
+                                .tag("outcome", "invalid").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void failsToValidateJwtSignedWithUnsupportedAlgorithm() throws Exception {
+        try (JwtValidatorRegistry registry = createRegistry()) {
+            for (String alg : List.of("HS256", "bogus-alg-1", "bogus-alg-2")) {
+                final SignedJWT signedJWT = createJwtWithAlgorithm(alg);
+                assertThatThrownBy(() -> registry.process(signedJWT, JWKS_URI))
+                        .isInstanceOf(BadJOSEException.class)
+                        .hasMessage("Signed JWT rejected: Unsupported JWS algorithm");
+            }
+        }
+
+        // Rejected before the JWK set is needed and recorded under a single alg tag
+        assertThat(fetchCount).hasValue(0);
+        assertThat(meterRegistry.get(JwtValidatorRegistry.JWT_VERIFICATION_METRIC).tag("alg", "unsupported")
+                                .tag("outcome", "invalid").timer().count()).isEqualTo(3);
+        assertThat(meterRegistry.find(JwtValidatorRegistry.JWT_VERIFICATION_METRIC).timers()).hasSize(1);
+    }
+
+    private static SignedJWT createJwtWithAlgorithm(String alg) throws Exception {
+        final Base64URL header = Base64URL.encode("{\"alg\":\"" + alg + "\",\"kid\":\"" + signingKey.getKeyID() + "\"}");
+        final Base64URL claims = Base64URL.encode(new JWTClaimsSet.Builder().subject("test-user").build().toString());
+        final Base64URL signature = Base64URL.encode("signature".getBytes(StandardCharsets.UTF_8));
+        return SignedJWT.parse(header + "." + claims + "." + signature);
+    }
+
+    @Test
+    void failsToValidateExpiredJwt() throws Exception {
+        try (JwtValidatorRegistry registry = createRegistry()) {
+            assertThatThrownBy(() -> registry.process(createSignedJwt(signingKey, JWSAlgorithm.PS256,
+                                                                      new Date(System.currentTimeMillis() - 600_000)), JWKS_URI))
+                    .isInstanceOf(BadJOSEException.class)
+                    .hasMessageContaining("Expired JWT");
+        }
+    }
+
+    @Test
+    void failsToValidateJwtWithInvalidJwksUri() throws Exception {
+        try (JwtValidatorRegistry registry = createRegistry()) {
+            assertThatThrownBy(() -> registry.process(createSignedJwt(signingKey), "not a url"))
+                    .isInstanceOf(MalformedURLException.class);
+        }
+        assertThat(fetchCount).hasValue(0);
+    }
+
+    @Test
+    void jwtUtilShouldUseInstalledRegistry() throws Exception {
+        JwtUtil.setValidatorRegistry(createRegistry());
+
+        assertThat(JwtUtil.validateJWT(createSignedJwt(signingKey).serialize(), JWKS_URI)).isTrue();
+        assertThat(JwtUtil.validateJWT(createSignedJwt(signingKey), JWKS_URI)).isTrue();
+        assertThat(fetchCount).hasValue(1);
+
+        final RSAKey otherKey = new RSAKeyGenerator(2048).keyUse(KeyUse.SIGNATURE).keyID(signingKey.getKeyID()).generate();
+        assertThatThrownBy(() -> JwtUtil.validateJWT(createSignedJwt(otherKey), JWKS_URI))
+                .isInstanceOfSatisfying(ExceptionClient.class,
+                        ex -> assertThat(ex.getErrorClient().getErrorType()).isEqualTo(ErrorType.JWT_INVALID));
+    }
+
+    @Test
+    void failsToCreateConfigurationWithInvalidRefreshTimeout() {
+        configuration.setRefreshTimeout(Duration.ofMinutes(10));
+        assertThatThrownBy(configuration::validateConfig)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("cloud.client.jwks-cache.refreshTimeout must be greater than 0 and less than timeToLive");
+    }
+}
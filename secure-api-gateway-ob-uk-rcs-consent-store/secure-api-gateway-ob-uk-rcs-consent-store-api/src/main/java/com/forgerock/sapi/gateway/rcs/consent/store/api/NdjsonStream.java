@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.api;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.stream.Stream;
+
+/**
+ * Response body which is written as newline delimited JSON (application/x-ndjson), one JSON object per line, by the
+ * {@link NdjsonStreamHttpMessageConverter}.
+ * <p>
+ * The items are serialised as they are read from the Stream, so the response is not held in memory. The Stream is
+ * closed once the response has been written.
+ *
+ * @param <T> type of the items
+ */
+public class NdjsonStream<T> {
+
+    private final Stream<T> items;
+
+    public NdjsonStream(Stream<T> items) {
+        this.items = requireNonNull(items, "items must be provided");
+    }
+
+    public Stream<T> getItems() {
+        return items;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.api;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Writes {@link NdjsonStream} response bodies, each item is serialised using the application's ObjectMapper and
+ * followed by a newline.
+ * <p>
+ * The output is not flushed after each item, the servlet container flushes its buffer as it fills so the response is
+ * sent in chunks as the Stream is consumed. The HTTP status and headers have already been sent if an error occurs
+ * whilst writing the items, in which case the response is truncated, clients detect this as an incomplete final line.
+ */
+public class NdjsonStreamHttpMessageConverter extends AbstractHttpMessageConverter<NdjsonStream<?>> {
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectWriter objectWriter;
+
+    public NdjsonStreamHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_NDJSON);
+        this.objectMapper = requireNonNull(objectMapper, "objectMapper must be provided");
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                                                 .without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return NdjsonStream.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected NdjsonStream<?> readInternal(Class<? extends NdjsonStream<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("NdjsonStream cannot be read", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(NdjsonStream<?> ndjsonStream, HttpOutputMessage outputMessage) throws IOException {
+        try (Stream<?> items = ndjsonStream.getItems();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputMessage.getBody())) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Items are separated by the newline written after each one, rather than the default root separator
+            generator.setRootValueSeparator(null);
+            final Iterator<?> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                objectWriter.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+            }
+        }
+    }
+}
@@ -17,23 +17,33 @@ package com.forgerock.sapi.gateway.rcs.consent.store.api.account;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import com.forgerock.sapi.gateway.rcs.consent.store.api.ApiVersionedController;
+import com.forgerock.sapi.gateway.rcs.consent.store.api.NdjsonStream;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.GetConsentsRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.ListConsentsRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.RejectConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.account.v3_1_10.AccountAccessConsent;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.account.v3_1_10.AuthoriseAccountAccessConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.account.v3_1_10.CreateAccountAccessConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.account.AccountAccessConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentListQuery;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentProjection;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.account.AccountAccessAuthoriseConsentArgs;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.account.AccountAccessConsentService;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBVersion;
 
 import uk.org.openbanking.datamodel.v3.common.OBExternalRequestStatus1Code;
 
-public class BaseAccountAccessConsentApiController implements AccountAccessConsentApi {
+public class BaseAccountAccessConsentApiController implements AccountAccessConsentApi, ApiVersionedController {
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -47,6 +57,11 @@ public class BaseAccountAccessConsentApiController implements AccountAccessConse
         this.obVersion = obVersion;
     }
 
+    @Override
+    public OBVersion getApiVersion() {
+        return obVersion;
+    }
+
     @Override
     public ResponseEntity<AccountAccessConsent> createConsent(CreateAccountAccessConsentRequest request) {
         logger.info("Attempting to createConsent: {}", request);
@@ -68,6 +83,24 @@ public class BaseAccountAccessConsentApiController implements AccountAccessConse
         return ResponseEntity.ok(convertEntityToDto(consentService.getConsent(consentId, apiClientId)));
     }
 
+    @Override
+    public ResponseEntity<List<AccountAccessConsent>> getConsents(GetConsentsRequest request) {
+        logger.info("Attempting to getConsents: {}", request);
+        final List<AccountAccessConsentEntity> consents = request.isStatusOnly()
+                ? consentService.getConsents(request.getConsentIds(), request.getApiClientId(), ConsentProjection.STATUS)
+                : consentService.getConsents(request.getConsentIds(), request.getApiClientId());
+        return ResponseEntity.ok(consents.stream().map(this::convertEntityToDto).toList());
+    }
+
+    @Override
+    public ResponseEntity<NdjsonStream<AccountAccessConsent>> listConsents(ListConsentsRequest request) {
+        logger.info("Attempting to listConsents: {}", request);
+        final Stream<AccountAccessConsentEntity> consents = consentService.listConsents(new ConsentListQuery(request.getApiClientId(),
+                request.getResourceOwnerId(), request.getStatus(), request.getAfterConsentId(), request.getPageSize()));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON)
+                             .body(new NdjsonStream<>(consents.map(this::convertEntityToDto)));
+    }
+
     @Override
     public ResponseEntity<AccountAccessConsent> authoriseConsent(String consentId, AuthoriseAccountAccessConsentRequest request) {
         logger.info("Attempting to authoriseConsent - id: {}, request: {}", consentId, request);
@@ -30,13 +30,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 @Controller("V3.1.10AccountAccessConsentApiController")
 @Api(tags = {"v3.1.10"})
 @RequestMapping(value = "/consent/store/v3.1.10")
-@DependsOn({"versionedConsentServices"})
+@DependsOn({"consentServices"})
 
 public class AccountAccessConsentApiController extends BaseAccountAccessConsentApiController {
 
     @Autowired
     public AccountAccessConsentApiController(
-            @Qualifier("v3.1.10AccountAccessConsentService") AccountAccessConsentService accountAccessConsentService) {
+            @Qualifier("accountAccessConsentService") AccountAccessConsentService accountAccessConsentService) {
         super(accountAccessConsentService, OBVersion.v3_1_10);
     }
 
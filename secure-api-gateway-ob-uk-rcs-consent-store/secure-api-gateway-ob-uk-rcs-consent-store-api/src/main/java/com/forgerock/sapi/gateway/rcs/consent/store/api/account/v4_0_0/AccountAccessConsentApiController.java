@@ -30,11 +30,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 @Controller("V4.0.0AccountAccessConsentApiController")
 @Api(tags = {"v4.0.0"})
 @RequestMapping(value = "/consent/store/v4.0.0")
-@DependsOn({"versionedConsentServices"})
+@DependsOn({"consentServices"})
 public class AccountAccessConsentApiController extends BaseAccountAccessConsentApiController {
 
     @Autowired
-    public AccountAccessConsentApiController(@Qualifier("v4.0.0AccountAccessConsentService") AccountAccessConsentService accountAccessConsentService) {
+    public AccountAccessConsentApiController(@Qualifier("accountAccessConsentService") AccountAccessConsentService accountAccessConsentService) {
         super(accountAccessConsentService, OBVersion.v4_0_0);
     }
 
@@ -17,23 +17,33 @@ package com.forgerock.sapi.gateway.rcs.consent.store.api.customerinfo;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import com.forgerock.sapi.gateway.rcs.consent.store.api.ApiVersionedController;
+import com.forgerock.sapi.gateway.rcs.consent.store.api.NdjsonStream;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.GetConsentsRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.ListConsentsRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.RejectConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.customerinfo.v1_0.AuthoriseCustomerInfoConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.customerinfo.v1_0.CreateCustomerInfoConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.customerinfo.v1_0.CustomerInfoConsent;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.customerinfo.CustomerInfoConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentListQuery;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentProjection;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.customerinfo.CustomerInfoAuthoriseConsentArgs;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.customerinfo.CustomerInfoConsentService;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBVersion;
 
 import uk.org.openbanking.datamodel.v3.common.OBExternalRequestStatus1Code;
 
-public class BaseCustomerInfoConsentApiController implements CustomerInfoConsentApi {
+public class BaseCustomerInfoConsentApiController implements CustomerInfoConsentApi, ApiVersionedController {
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -45,6 +55,11 @@ public class BaseCustomerInfoConsentApiController implements CustomerInfoConsent
         this.obVersion = requireNonNull(obVersion, "obVersion must be provided");
     }
 
+    @Override
+    public OBVersion getApiVersion() {
+        return obVersion;
+    }
+
     @Override
     public ResponseEntity<CustomerInfoConsent> createConsent(CreateCustomerInfoConsentRequest request) {
         logger.info("Attempting to createConsent: {}", request);
@@ -65,6 +80,24 @@ public class BaseCustomerInfoConsentApiController implements CustomerInfoConsent
         return ResponseEntity.ok(convertEntityToDto(consentService.getConsent(consentId, apiClientId)));
     }
 
+    @Override
+    public ResponseEntity<List<CustomerInfoConsent>> getConsents(GetConsentsRequest request) {
+        logger.info("Attempting to getConsents: {}", request);
+        final List<CustomerInfoConsentEntity> consents = request.isStatusOnly()
+                ? consentService.getConsents(request.getConsentIds(), request.getApiClientId(), ConsentProjection.STATUS)
+                : consentService.getConsents(request.getConsentIds(), request.getApiClientId());
+        return ResponseEntity.ok(consents.stream().map(this::convertEntityToDto).toList());
+    }
+
+    @Override
+    public ResponseEntity<NdjsonStream<CustomerInfoConsent>> listConsents(ListConsentsRequest request) {
+        logger.info("Attempting to listConsents: {}", request);
+        final Stream<CustomerInfoConsentEntity> consents = consentService.listConsents(new ConsentListQuery(request.getApiClientId(),
+                request.getResourceOwnerId(), request.getStatus(), request.getAfterConsentId(), request.getPageSize()));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON)
+                             .body(new NdjsonStream<>(consents.map(this::convertEntityToDto)));
+    }
+
     @Override
     public ResponseEntity<CustomerInfoConsent> authoriseConsent(
             String consentId,
@@ -15,6 +15,8 @@
  */
 package com.forgerock.sapi.gateway.rcs.consent.store.api.customerinfo;
 
+import java.util.List;
+
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -23,6 +25,9 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 
+import com.forgerock.sapi.gateway.rcs.consent.store.api.NdjsonStream;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.GetConsentsRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.ListConsentsRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.RejectConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.customerinfo.v1_0.AuthoriseCustomerInfoConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.customerinfo.v1_0.CreateCustomerInfoConsentRequest;
@@ -79,6 +84,39 @@ public interface CustomerInfoConsentApi {
                                                    @RequestHeader(value = "x-api-client-id") String apiClientId);
 
 
+    @ApiOperation(value = "Get Customer Info Consents")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "CustomerInfoConsent objects representing the requested consents which can be accessed by the ApiClient",
+                    response = CustomerInfoConsent.class, responseContainer = "List"),
+            @ApiResponse(code = 400, message = "Bad request", response = OBErrorResponse1.class),
+            @ApiResponse(code = 405, message = "Method Not Allowed"),
+            @ApiResponse(code = 406, message = "Not Acceptable"),
+            @ApiResponse(code = 500, message = "Internal Server Error", response = OBErrorResponse1.class)
+    })
+    @RequestMapping(value = "/customer-info-consents/batch",
+            consumes = {"application/json; charset=utf-8"},
+            produces = {"application/json; charset=utf-8"},
+            method = RequestMethod.POST)
+    ResponseEntity<List<CustomerInfoConsent>> getConsents(@ApiParam(value = "Get Consents Request", required = true)
+                                                          @Valid
+                                                          @RequestBody GetConsentsRequest request);
+
+
+    @ApiOperation(value = "List Customer Info Consents")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Newline delimited JSON stream of CustomerInfoConsent objects, ordered by creationDateTime and then id",
+                    response = CustomerInfoConsent.class, responseContainer = "List"),
+            @ApiResponse(code = 400, message = "Bad request", response = OBErrorResponse1.class),
+            @ApiResponse(code = 405, message = "Method Not Allowed"),
+            @ApiResponse(code = 406, message = "Not Acceptable"),
+            @ApiResponse(code = 500, message = "Internal Server Error", response = OBErrorResponse1.class)
+    })
+    @RequestMapping(value = "/customer-info-consents",
+            produces = {"application/x-ndjson"},
+            method = RequestMethod.GET)
+    ResponseEntity<NdjsonStream<CustomerInfoConsent>> listConsents(@Valid ListConsentsRequest request);
+
+
     @ApiOperation(value = "Authorise Customer Info Consent")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "CustomerInfoConsent object representing the consent created",
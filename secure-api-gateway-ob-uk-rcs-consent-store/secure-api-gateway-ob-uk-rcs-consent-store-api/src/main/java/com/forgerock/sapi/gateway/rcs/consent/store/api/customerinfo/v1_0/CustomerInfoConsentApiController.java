@@ -30,11 +30,11 @@ import io.swagger.annotations.Api;
 @Controller
 @Api(tags = {"v1.0"})
 @RequestMapping(value = "/consent/store/v1.0")
-@DependsOn({"versionedConsentServices"})
+@DependsOn({"consentServices"})
 public class CustomerInfoConsentApiController extends BaseCustomerInfoConsentApiController {
 
     @Autowired
-    public CustomerInfoConsentApiController(@Qualifier("v1.0CustomerInfoConsentService") CustomerInfoConsentService consentService) {
+    public CustomerInfoConsentApiController(@Qualifier("customerInfoConsentService") CustomerInfoConsentService consentService) {
         super(consentService, OBVersion.v1_0);
     }
 }
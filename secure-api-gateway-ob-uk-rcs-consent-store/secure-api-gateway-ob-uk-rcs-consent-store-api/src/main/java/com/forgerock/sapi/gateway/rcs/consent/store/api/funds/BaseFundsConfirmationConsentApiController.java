@@ -17,23 +17,33 @@ package com.forgerock.sapi.gateway.rcs.consent.store.api.funds;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import com.forgerock.sapi.gateway.rcs.consent.store.api.ApiVersionedController;
+import com.forgerock.sapi.gateway.rcs.consent.store.api.NdjsonStream;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.GetConsentsRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.ListConsentsRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.RejectConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.funds.v3_1_10.AuthoriseFundsConfirmationConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.funds.v3_1_10.CreateFundsConfirmationConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.funds.v3_1_10.FundsConfirmationConsent;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.funds.FundsConfirmationConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentListQuery;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentProjection;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.funds.FundsConfirmationAuthoriseConsentArgs;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.funds.FundsConfirmationConsentService;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBVersion;
 
 import uk.org.openbanking.datamodel.v3.common.OBExternalRequestStatus1Code;
 
-public class BaseFundsConfirmationConsentApiController implements FundsConfirmationConsentApi {
+public class BaseFundsConfirmationConsentApiController implements FundsConfirmationConsentApi, ApiVersionedController {
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -45,6 +55,11 @@ public class BaseFundsConfirmationConsentApiController implements FundsConfirmat
         this.obVersion = requireNonNull(obVersion, "obVersion must be provided");
     }
 
+    @Override
+    public OBVersion getApiVersion() {
+        return obVersion;
+    }
+
     @Override
     public ResponseEntity<FundsConfirmationConsent> createConsent(CreateFundsConfirmationConsentRequest request) {
         logger.info("Attempting to createConsent: {}", request);
@@ -66,6 +81,24 @@ public class BaseFundsConfirmationConsentApiController implements FundsConfirmat
         return ResponseEntity.ok(convertEntityToDto(consentService.getConsent(consentId, apiClientId)));
     }
 
+    @Override
+    public ResponseEntity<List<FundsConfirmationConsent>> getConsents(GetConsentsRequest request) {
+        logger.info("Attempting to getConsents: {}", request);
+        final List<FundsConfirmationConsentEntity> consents = request.isStatusOnly()
+                ? consentService.getConsents(request.getConsentIds(), request.getApiClientId(), ConsentProjection.STATUS)
+                : consentService.getConsents(request.getConsentIds(), request.getApiClientId());
+        return ResponseEntity.ok(consents.stream().map(this::convertEntityToDto).toList());
+    }
+
+    @Override
+    public ResponseEntity<NdjsonStream<FundsConfirmationConsent>> listConsents(ListConsentsRequest request) {
+        logger.info("Attempting to listConsents: {}", request);
+        final Stream<FundsConfirmationConsentEntity> consents = consentService.listConsents(new ConsentListQuery(request.getApiClientId(),
+                request.getResourceOwnerId(), request.getStatus(), request.getAfterConsentId(), request.getPageSize()));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON)
+                             .body(new NdjsonStream<>(consents.map(this::convertEntityToDto)));
+    }
+
     @Override
     public ResponseEntity<FundsConfirmationConsent> authoriseConsent(String consentId, AuthoriseFundsConfirmationConsentRequest request) {
         logger.info("Attempting to authoriseConsent - id: {}, request: {}", consentId, request);
@@ -15,6 +15,8 @@
  */
 package com.forgerock.sapi.gateway.rcs.consent.store.api.funds;
 
+import java.util.List;
+
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -23,6 +25,9 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 
+import com.forgerock.sapi.gateway.rcs.consent.store.api.NdjsonStream;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.GetConsentsRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.ListConsentsRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.RejectConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.funds.v3_1_10.AuthoriseFundsConfirmationConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.funds.v3_1_10.CreateFundsConfirmationConsentRequest;
@@ -77,6 +82,39 @@ public interface FundsConfirmationConsentApi {
                                                         @RequestHeader(value = "x-api-client-id") String apiClientId);
 
 
+    @ApiOperation(value = "Get Funds Confirmation Consents")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "FundsConfirmationConsent objects representing the requested consents which can be accessed by the ApiClient",
+                    response = FundsConfirmationConsent.class, responseContainer = "List"),
+            @ApiResponse(code = 400, message = "Bad request", response = OBErrorResponse1.class),
+            @ApiResponse(code = 405, message = "Method Not Allowed"),
+            @ApiResponse(code = 406, message = "Not Acceptable"),
+            @ApiResponse(code = 500, message = "Internal Server Error", response = OBErrorResponse1.class)
+    })
+    @RequestMapping(value = "/funds-confirmation-consents/batch",
+            consumes = {"application/json; charset=utf-8"},
+            produces = {"application/json; charset=utf-8"},
+            method = RequestMethod.POST)
+    ResponseEntity<List<FundsConfirmationConsent>> getConsents(@ApiParam(value = "Get Consents Request", required = true)
+                                                               @Valid
+                                                               @RequestBody GetConsentsRequest request);
+
+
+    @ApiOperation(value = "List Funds Confirmation Consents")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Newline delimited JSON stream of FundsConfirmationConsent objects, ordered by creationDateTime and then id",
+                    response = FundsConfirmationConsent.class, responseContainer = "List"),
+            @ApiResponse(code = 400, message = "Bad request", response = OBErrorResponse1.class),
+            @ApiResponse(code = 405, message = "Method Not Allowed"),
+            @ApiResponse(code = 406, message = "Not Acceptable"),
+            @ApiResponse(code = 500, message = "Internal Server Error", response = OBErrorResponse1.class)
+    })
+    @RequestMapping(value = "/funds-confirmation-consents",
+            produces = {"application/x-ndjson"},
+            method = RequestMethod.GET)
+    ResponseEntity<NdjsonStream<FundsConfirmationConsent>> listConsents(@Valid ListConsentsRequest request);
+
+
     @ApiOperation(value = "Authorise Funds Confirmation Consent")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "FundsConfirmationConsent object representing the consent created",
@@ -30,11 +30,11 @@ import io.swagger.annotations.Api;
 @Controller("V3.1.10FundsConfirmationConsentApiController")
 @Api(tags = {"v3.1.10"})
 @RequestMapping(value = "/consent/store/v3.1.10")
-@DependsOn({"versionedConsentServices"})
+@DependsOn({"consentServices"})
 public class FundsConfirmationConsentApiController extends BaseFundsConfirmationConsentApiController {
 
     @Autowired
-    public FundsConfirmationConsentApiController(@Qualifier("v3.1.10FundsConfirmationConsentService") FundsConfirmationConsentService consentService) {
+    public FundsConfirmationConsentApiController(@Qualifier("fundsConfirmationConsentService") FundsConfirmationConsentService consentService) {
         super(consentService, OBVersion.v3_1_10);
     }
 
@@ -28,11 +28,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 @Controller("V4.0.0FundsConfirmationConsentApiController")
 @Api(tags = {"v4.0.0"})
 @RequestMapping(value = "/consent/store/v4.0.0")
-@DependsOn({"versionedConsentServices"})
+@DependsOn({"consentServices"})
 public class FundsConfirmationConsentApiController extends BaseFundsConfirmationConsentApiController {
 
     @Autowired
-    public FundsConfirmationConsentApiController(@Qualifier("v4.0.0FundsConfirmationConsentService") FundsConfirmationConsentService consentService) {
+    public FundsConfirmationConsentApiController(@Qualifier("fundsConfirmationConsentService") FundsConfirmationConsentService consentService) {
         super(consentService, OBVersion.v4_0_0);
     }
 
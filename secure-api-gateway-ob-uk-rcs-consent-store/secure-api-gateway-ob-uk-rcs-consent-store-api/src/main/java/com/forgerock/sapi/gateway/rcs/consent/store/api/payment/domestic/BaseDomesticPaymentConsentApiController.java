@@ -17,20 +17,29 @@ package com.forgerock.sapi.gateway.rcs.consent.store.api.payment.domestic;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.List;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import com.forgerock.sapi.gateway.rcs.consent.store.api.ApiVersionedController;
+import com.forgerock.sapi.gateway.rcs.consent.store.api.NdjsonStream;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.GetConsentsRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.ListConsentsRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.RejectConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.AuthorisePaymentConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.ConsumePaymentConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.domestic.v3_1_10.CreateDomesticPaymentConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.domestic.v3_1_10.DomesticPaymentConsent;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.domestic.DomesticPaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentListQuery;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentProjection;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentAuthoriseConsentArgs;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.domestic.DomesticPaymentConsentService;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBVersion;
@@ -45,7 +54,7 @@ import uk.org.openbanking.datamodel.v3.payment.OBPaymentConsentStatus;
  * {@link org.springframework.stereotype.Controller}, {@link org.springframework.web.bind.annotation.RequestMapping}
  * and {@link io.swagger.annotations.Api}.
  */
-public class BaseDomesticPaymentConsentApiController implements DomesticPaymentConsentApi {
+public class BaseDomesticPaymentConsentApiController implements DomesticPaymentConsentApi, ApiVersionedController {
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -61,6 +70,11 @@ public class BaseDomesticPaymentConsentApiController implements DomesticPaymentC
         this.obVersion = requireNonNull(obVersion, "obVersion must be provided");
     }
 
+    @Override
+    public OBVersion getApiVersion() {
+        return obVersion;
+    }
+
     @Override
     public ResponseEntity<DomesticPaymentConsent> createConsent(CreateDomesticPaymentConsentRequest request) {
         logger.info("Attempting to createConsent: {}", request);
@@ -83,6 +97,24 @@ public class BaseDomesticPaymentConsentApiController implements DomesticPaymentC
         return ResponseEntity.ok(convertEntityToDto(consentService.getConsent(consentId, apiClientId)));
     }
 
+    @Override
+    public ResponseEntity<List<DomesticPaymentConsent>> getConsents(GetConsentsRequest request) {
+        logger.info("Attempting to getConsents: {}", request);
+        final List<DomesticPaymentConsentEntity> consents = request.isStatusOnly()
+                ? consentService.getConsents(request.getConsentIds(), request.getApiClientId(), ConsentProjection.STATUS)
+                : consentService.getConsents(request.getConsentIds(), request.getApiClientId());
+        return ResponseEntity.ok(consents.stream().map(this::convertEntityToDto).toList());
+    }
+
+    @Override
+    public ResponseEntity<NdjsonStream<DomesticPaymentConsent>> listConsents(ListConsentsRequest request) {
+        logger.info("Attempting to listConsents: {}", request);
+        final Stream<DomesticPaymentConsentEntity> consents = consentService.listConsents(new ConsentListQuery(request.getApiClientId(),
+                request.getResourceOwnerId(), request.getStatus(), request.getAfterConsentId(), request.getPageSize()));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON)
+                             .body(new NdjsonStream<>(consents.map(this::convertEntityToDto)));
+    }
+
     @Override
     public ResponseEntity<DomesticPaymentConsent> authoriseConsent(String consentId, AuthorisePaymentConsentRequest request) {
         logger.info("Attempting to authoriseConsent - id: {}, request: {}", consentId, request);
@@ -15,6 +15,8 @@
  */
 package com.forgerock.sapi.gateway.rcs.consent.store.api.payment.domestic;
 
+import java.util.List;
+
 import jakarta.validation.Valid;
 
 import org.springframework.http.ResponseEntity;
@@ -25,6 +27,9 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 
+import com.forgerock.sapi.gateway.rcs.consent.store.api.NdjsonStream;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.GetConsentsRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.ListConsentsRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.RejectConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.AuthorisePaymentConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.ConsumePaymentConsentRequest;
@@ -78,6 +83,39 @@ public interface DomesticPaymentConsentApi {
                                                       @RequestHeader(value = "x-api-client-id") String apiClientId);
 
 
+    @ApiOperation(value = "Get Domestic Payment Consents")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "DomesticPaymentConsent objects representing the requested consents which can be accessed by the ApiClient",
+                    response = DomesticPaymentConsent.class, responseContainer = "List"),
+            @ApiResponse(code = 400, message = "Bad request", response = OBErrorResponse1.class),
+            @ApiResponse(code = 405, message = "Method Not Allowed"),
+            @ApiResponse(code = 406, message = "Not Acceptable"),
+            @ApiResponse(code = 500, message = "Internal Server Error", response = OBErrorResponse1.class)
+    })
+    @RequestMapping(value = "/domestic-payment-consents/batch",
+            consumes = {"application/json; charset=utf-8"},
+            produces = {"application/json; charset=utf-8"},
+            method = RequestMethod.POST)
+    ResponseEntity<List<DomesticPaymentConsent>> getConsents(@ApiParam(value = "Get Consents Request", required = true)
+                                                             @Valid
+                                                             @RequestBody GetConsentsRequest request);
+
+
+    @ApiOperation(value = "List Domestic Payment Consents")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Newline delimited JSON stream of DomesticPaymentConsent objects, ordered by creationDateTime and then id",
+                    response = DomesticPaymentConsent.class, responseContainer = "List"),
+            @ApiResponse(code = 400, message = "Bad request", response = OBErrorResponse1.class),
+            @ApiResponse(code = 405, message = "Method Not Allowed"),
+            @ApiResponse(code = 406, message = "Not Acceptable"),
+            @ApiResponse(code = 500, message = "Internal Server Error", response = OBErrorResponse1.class)
+    })
+    @RequestMapping(value = "/domestic-payment-consents",
+            produces = {"application/x-ndjson"},
+            method = RequestMethod.GET)
+    ResponseEntity<NdjsonStream<DomesticPaymentConsent>> listConsents(@Valid ListConsentsRequest request);
+
+
     @ApiOperation(value = "Authorise Domestic Payment Consent")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "DomesticPaymentConsent object representing the consent created",
@@ -36,11 +36,11 @@ import io.swagger.annotations.Api;
 @Controller("v3.1.10DomesticPaymentConsentApiController")
 @Api(tags = {"v3.1.10"})
 @RequestMapping(value = "/consent/store/v3.1.10")
-@DependsOn({"versionedConsentServices"})
+@DependsOn({"consentServices"})
 public class DomesticPaymentConsentApiController extends BaseDomesticPaymentConsentApiController {
 
     @Autowired
-    public DomesticPaymentConsentApiController(@Qualifier("v3.1.10DomesticPaymentConsentService") DomesticPaymentConsentService consentService,
+    public DomesticPaymentConsentApiController(@Qualifier("domesticPaymentConsentService") DomesticPaymentConsentService consentService,
                                                Supplier<DateTime> idempotencyKeyExpirationSupplier) {
         super(consentService, idempotencyKeyExpirationSupplier, OBVersion.v3_1_10);
     }
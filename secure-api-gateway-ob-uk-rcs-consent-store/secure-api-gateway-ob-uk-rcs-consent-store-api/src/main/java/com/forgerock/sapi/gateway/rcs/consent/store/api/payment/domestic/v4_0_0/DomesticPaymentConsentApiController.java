@@ -36,11 +36,11 @@ import io.swagger.annotations.Api;
 @Controller("v4.0.0DomesticPaymentConsentApiController")
 @Api(tags = {"v4.0.0"})
 @RequestMapping(value = "/consent/store/v4.0.0")
-@DependsOn({"versionedConsentServices"})
+@DependsOn({"consentServices"})
 public class DomesticPaymentConsentApiController extends BaseDomesticPaymentConsentApiController {
 
     @Autowired
-    public DomesticPaymentConsentApiController(@Qualifier("v4.0.0DomesticPaymentConsentService") DomesticPaymentConsentService consentService,
+    public DomesticPaymentConsentApiController(@Qualifier("domesticPaymentConsentService") DomesticPaymentConsentService consentService,
                                                Supplier<DateTime> idempotencyKeyExpirationSupplier) {
         super(consentService, idempotencyKeyExpirationSupplier, OBVersion.v4_0_0);
     }
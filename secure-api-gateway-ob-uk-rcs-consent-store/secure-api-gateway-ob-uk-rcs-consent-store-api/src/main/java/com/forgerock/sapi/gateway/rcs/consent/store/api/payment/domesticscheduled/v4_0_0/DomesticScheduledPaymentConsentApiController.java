@@ -36,12 +36,12 @@ import io.swagger.annotations.Api;
 @Controller("v4.0.0DomesticScheduledPaymentConsentApiController")
 @Api(tags = {"v4.0.0"})
 @RequestMapping(value = "/consent/store/v4.0.0")
-@DependsOn({"versionedConsentServices"})
+@DependsOn({"consentServices"})
 public class DomesticScheduledPaymentConsentApiController extends BaseDomesticScheduledPaymentConsentApiController {
 
     @Autowired
     public DomesticScheduledPaymentConsentApiController(
-            @Qualifier("v4.0.0DomesticScheduledPaymentConsentService") DomesticScheduledPaymentConsentService consentService,
+            @Qualifier("domesticScheduledPaymentConsentService") DomesticScheduledPaymentConsentService consentService,
             Supplier<DateTime> idempotencyKeyExpirationSupplier) {
 
         super(consentService, idempotencyKeyExpirationSupplier, OBVersion.v4_0_0);
@@ -36,12 +36,12 @@ import io.swagger.annotations.Api;
 @Controller("v3.1.10DomesticStandingOrderConsentApiController")
 @Api(tags = {"v3.1.10"})
 @RequestMapping(value = "/consent/store/v3.1.10")
-@DependsOn({"versionedConsentServices"})
+@DependsOn({"consentServices"})
 public class DomesticStandingOrderConsentApiController extends BaseDomesticStandingOrderConsentApiController {
 
     @Autowired
     public DomesticStandingOrderConsentApiController(
-            @Qualifier("v3.1.10DomesticStandingOrderConsentService") DomesticStandingOrderConsentService consentService,
+            @Qualifier("domesticStandingOrderConsentService") DomesticStandingOrderConsentService consentService,
             Supplier<DateTime> idempotencyKeyExpirationSupplier) {
 
         super(consentService, idempotencyKeyExpirationSupplier, OBVersion.v3_1_10);
@@ -36,12 +36,12 @@ import io.swagger.annotations.Api;
 @Controller("v4.0.0DomesticStandingOrderConsentApiController")
 @Api(tags = {"v4.0.0"})
 @RequestMapping(value = "/consent/store/v4.0.0")
-@DependsOn({"versionedConsentServices"})
+@DependsOn({"consentServices"})
 public class DomesticStandingOrderConsentApiController extends BaseDomesticStandingOrderConsentApiController {
 
     @Autowired
     public DomesticStandingOrderConsentApiController(
-            @Qualifier("v4.0.0DomesticStandingOrderConsentService") DomesticStandingOrderConsentService consentService,
+            @Qualifier("domesticStandingOrderConsentService") DomesticStandingOrderConsentService consentService,
             Supplier<DateTime> idempotencyKeyExpirationSupplier) {
 
         super(consentService, idempotencyKeyExpirationSupplier, OBVersion.v4_0_0);
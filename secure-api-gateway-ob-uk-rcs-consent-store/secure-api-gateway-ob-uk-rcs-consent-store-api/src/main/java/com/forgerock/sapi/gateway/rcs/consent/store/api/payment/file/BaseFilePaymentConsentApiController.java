@@ -17,14 +17,28 @@ package com.forgerock.sapi.gateway.rcs.consent.store.api.payment.file;
 
 import static java.util.Objects.requireNonNull;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import com.forgerock.sapi.gateway.rcs.consent.store.api.ApiVersionedController;
+import com.forgerock.sapi.gateway.rcs.consent.store.api.NdjsonStream;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.GetConsentsRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.ListConsentsRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.RejectConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.AuthorisePaymentConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.ConsumePaymentConsentRequest;
@@ -32,6 +46,10 @@ import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.file.v3_1_
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.file.v3_1_10.FilePaymentConsent;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.file.v3_1_10.FileUploadRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.file.FilePaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException.ErrorType;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentListQuery;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentProjection;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentAuthoriseConsentArgs;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.file.FilePaymentConsentService;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.file.FileUploadArgs;
@@ -47,7 +65,7 @@ import uk.org.openbanking.datamodel.v3.payment.OBWriteFileConsentResponse4DataSt
  * {@link org.springframework.stereotype.Controller}, {@link org.springframework.web.bind.annotation.RequestMapping}
  * and {@link io.swagger.annotations.Api}.
  */
-public class BaseFilePaymentConsentApiController implements FilePaymentConsentApi {
+public class BaseFilePaymentConsentApiController implements FilePaymentConsentApi, ApiVersionedController {
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -61,6 +79,11 @@ public class BaseFilePaymentConsentApiController implements FilePaymentConsentAp
         this.obVersion = requireNonNull(obVersion, "obVersion must be provided");
     }
 
+    @Override
+    public OBVersion getApiVersion() {
+        return obVersion;
+    }
+
     @Override
     public ResponseEntity<FilePaymentConsent> createConsent(CreateFilePaymentConsentRequest request) {
         logger.info("Attempting to createConsent: {}", request);
@@ -75,24 +98,65 @@ public class BaseFilePaymentConsentApiController implements FilePaymentConsentAp
         final FilePaymentConsentEntity persistedEntity = consentService.createConsent(domesticPaymentConsent);
         logger.info("Consent created with id: {}", persistedEntity.getId());
 
-        return new ResponseEntity<>(convertEntityToDto(persistedEntity), HttpStatus.CREATED);
+        return new ResponseEntity<>(convertEntityToDto(persistedEntity, false), HttpStatus.CREATED);
     }
 
     @Override
     public ResponseEntity<FilePaymentConsent> uploadFile(String consentId, FileUploadRequest request) {
         logger.info("Attempting to uploadFile - consentId: {},  fileUploadIdempotencyKey: {}", consentId, request.getFileUploadIdempotencyKey());
         final FileUploadArgs fileUploadArgs = new FileUploadArgs();
-        fileUploadArgs.setFileContents(request.getFileContents());
+        fileUploadArgs.setFileContents(new ByteArrayInputStream(request.getFileContents().getBytes(StandardCharsets.UTF_8)));
         fileUploadArgs.setConsentId(consentId);
         fileUploadArgs.setApiClientId(request.getApiClientId());
         fileUploadArgs.setFileUploadIdempotencyKey(request.getFileUploadIdempotencyKey());
-        return ResponseEntity.ok(convertEntityToDto(consentService.uploadFile(fileUploadArgs)));
+        return ResponseEntity.ok(convertEntityToDto(consentService.uploadFile(fileUploadArgs), true));
+    }
+
+    @Override
+    public ResponseEntity<FilePaymentConsent> uploadFileStream(String consentId, String apiClientId,
+                                                               String fileUploadIdempotencyKey, InputStream fileContents) {
+        logger.info("Attempting to uploadFileStream - consentId: {},  fileUploadIdempotencyKey: {}", consentId, fileUploadIdempotencyKey);
+        final FileUploadArgs fileUploadArgs = new FileUploadArgs();
+        fileUploadArgs.setFileContents(fileContents);
+        fileUploadArgs.setConsentId(consentId);
+        fileUploadArgs.setApiClientId(apiClientId);
+        fileUploadArgs.setFileUploadIdempotencyKey(fileUploadIdempotencyKey);
+        return ResponseEntity.ok(convertEntityToDto(consentService.uploadFile(fileUploadArgs), false));
+    }
+
+    @Override
+    public ResponseEntity<InputStreamResource> getFile(String consentId, String apiClientId) {
+        logger.info("Attempting to getFile - id: {}, for apiClientId: {}", consentId, apiClientId);
+        final InputStream fileContent = consentService.getFileContent(consentId, apiClientId)
+                .orElseThrow(() -> new ConsentStoreException(ErrorType.NOT_FOUND, consentId, "no file has been uploaded for this consent"));
+        return ResponseEntity.ok(new InputStreamResource(fileContent));
     }
 
     @Override
     public ResponseEntity<FilePaymentConsent> getConsent(String consentId, String apiClientId) {
         logger.info("Attempting to getConsent - id: {}, for apiClientId: {}", consentId, apiClientId);
-        return ResponseEntity.ok(convertEntityToDto(consentService.getConsent(consentId, apiClientId)));
+        return ResponseEntity.ok(convertEntityToDto(consentService.getConsent(consentId, apiClientId), true));
+    }
+
+    /**
+     * The file contents are not returned, clients should use {@link #getFile(String, String)} to retrieve them.
+     */
+    @Override
+    public ResponseEntity<List<FilePaymentConsent>> getConsents(GetConsentsRequest request) {
+        logger.info("Attempting to getConsents: {}", request);
+        final List<FilePaymentConsentEntity> consents = request.isStatusOnly()
+                ? consentService.getConsents(request.getConsentIds(), request.getApiClientId(), ConsentProjection.STATUS)
+                : consentService.getConsents(request.getConsentIds(), request.getApiClientId());
+        return ResponseEntity.ok(consents.stream().map(entity -> convertEntityToDto(entity, false)).toList());
+    }
+
+    @Override
+    public ResponseEntity<NdjsonStream<FilePaymentConsent>> listConsents(ListConsentsRequest request) {
+        logger.info("Attempting to listConsents: {}", request);
+        final Stream<FilePaymentConsentEntity> consents = consentService.listConsents(new ConsentListQuery(request.getApiClientId(),
+                request.getResourceOwnerId(), request.getStatus(), request.getAfterConsentId(), request.getPageSize()));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON)
+                             .body(new NdjsonStream<>(consents.map(entity -> convertEntityToDto(entity, false))));
     }
 
     @Override
@@ -101,22 +165,27 @@ public class BaseFilePaymentConsentApiController implements FilePaymentConsentAp
         final PaymentAuthoriseConsentArgs paymentAuthoriseConsentArgs = new PaymentAuthoriseConsentArgs(consentId,
                 request.getApiClientId(), request.getResourceOwnerId(), request.getAuthorisedDebtorAccountId());
 
-        return ResponseEntity.ok(convertEntityToDto(consentService.authoriseConsent(paymentAuthoriseConsentArgs)));
+        return ResponseEntity.ok(convertEntityToDto(consentService.authoriseConsent(paymentAuthoriseConsentArgs), false));
     }
 
     @Override
     public ResponseEntity<FilePaymentConsent> rejectConsent(String consentId, RejectConsentRequest request) {
         logger.info("Attempting to rejectConsent - id: {}, request: {}", consentId, request);
-        return ResponseEntity.ok(convertEntityToDto(consentService.rejectConsent(consentId, request.getApiClientId(), request.getResourceOwnerId())));
+        return ResponseEntity.ok(convertEntityToDto(consentService.rejectConsent(consentId, request.getApiClientId(), request.getResourceOwnerId()), false));
     }
 
     @Override
     public ResponseEntity<FilePaymentConsent> consumeConsent(String consentId, ConsumePaymentConsentRequest request) {
         logger.info("Attempting to consumeConsent - id: {}, request: {}", consentId, request);
-        return ResponseEntity.ok(convertEntityToDto(consentService.consumeConsent(consentId, request.getApiClientId())));
+        return ResponseEntity.ok(convertEntityToDto(consentService.consumeConsent(consentId, request.getApiClientId()), false));
     }
 
-    private FilePaymentConsent convertEntityToDto(FilePaymentConsentEntity entity) {
+    /**
+     * @param includeFileContent whether to read the uploaded file into the fileContent field, this is only done for
+     *                           the legacy JSON getConsent and uploadFile responses, the other responses do not
+     *                           include the file, clients should use {@link #getFile(String, String)} instead.
+     */
+    private FilePaymentConsent convertEntityToDto(FilePaymentConsentEntity entity, boolean includeFileContent) {
         final FilePaymentConsent dto = new FilePaymentConsent();
         dto.setId(entity.getId());
         dto.setStatus(entity.getStatus());
@@ -128,10 +197,24 @@ public class BaseFilePaymentConsentApiController implements FilePaymentConsentAp
         dto.setIdempotencyKey(entity.getIdempotencyKey());
         dto.setIdempotencyKeyExpiration(entity.getIdempotencyKeyExpiration());
         dto.setCharges(entity.getCharges());
-        dto.setFileContent(entity.getFileContent());
+        if (includeFileContent) {
+            dto.setFileContent(readFileContent(entity));
+        }
         dto.setFileUploadIdempotencyKey(entity.getFileUploadIdempotencyKey());
         dto.setCreationDateTime(entity.getCreationDateTime());
         dto.setStatusUpdateDateTime(entity.getStatusUpdatedDateTime());
         return dto;
     }
+
+    private String readFileContent(FilePaymentConsentEntity entity) {
+        final Optional<InputStream> fileContent = consentService.openFileContent(entity);
+        if (fileContent.isEmpty()) {
+            return null;
+        }
+        try (InputStream inputStream = fileContent.get()) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read file content for consentId: " + entity.getId(), e);
+        }
+    }
 }
@@ -15,6 +15,10 @@
  */
 package com.forgerock.sapi.gateway.rcs.consent.store.api.payment.file;
 
+import java.io.InputStream;
+import java.util.List;
+
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -23,6 +27,9 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 
+import com.forgerock.sapi.gateway.rcs.consent.store.api.NdjsonStream;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.GetConsentsRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.ListConsentsRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.RejectConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.AuthorisePaymentConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.ConsumePaymentConsentRequest;
@@ -78,6 +85,39 @@ public interface FilePaymentConsentApi {
                                                   @RequestHeader(value = "x-api-client-id") String apiClientId);
 
 
+    @ApiOperation(value = "Get File Payment Consents")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "FilePaymentConsent objects representing the requested consents which can be accessed by the ApiClient",
+                    response = FilePaymentConsent.class, responseContainer = "List"),
+            @ApiResponse(code = 400, message = "Bad request", response = OBErrorResponse1.class),
+            @ApiResponse(code = 405, message = "Method Not Allowed"),
+            @ApiResponse(code = 406, message = "Not Acceptable"),
+            @ApiResponse(code = 500, message = "Internal Server Error", response = OBErrorResponse1.class)
+    })
+    @RequestMapping(value = "/file-payment-consents/batch",
+            consumes = {"application/json; charset=utf-8"},
+            produces = {"application/json; charset=utf-8"},
+            method = RequestMethod.POST)
+    ResponseEntity<List<FilePaymentConsent>> getConsents(@ApiParam(value = "Get Consents Request", required = true)
+                                                         @Valid
+                                                         @RequestBody GetConsentsRequest request);
+
+
+    @ApiOperation(value = "List File Payment Consents")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Newline delimited JSON stream of FilePaymentConsent objects, ordered by creationDateTime and then id",
+                    response = FilePaymentConsent.class, responseContainer = "List"),
+            @ApiResponse(code = 400, message = "Bad request", response = OBErrorResponse1.class),
+            @ApiResponse(code = 405, message = "Method Not Allowed"),
+            @ApiResponse(code = 406, message = "Not Acceptable"),
+            @ApiResponse(code = 500, message = "Internal Server Error", response = OBErrorResponse1.class)
+    })
+    @RequestMapping(value = "/file-payment-consents",
+            produces = {"application/x-ndjson"},
+            method = RequestMethod.GET)
+    ResponseEntity<NdjsonStream<FilePaymentConsent>> listConsents(@Valid ListConsentsRequest request);
+
+
 
     @ApiOperation(value = "Upload File Payment File")
     @ApiResponses(value = {
@@ -100,6 +140,46 @@ public interface FilePaymentConsentApi {
                                                   @RequestBody FileUploadRequest request);
 
 
+    @ApiOperation(value = "Upload File Payment File as a stream of the raw file contents",
+                  notes = "The file is streamed into the Consent Store without being buffered, the fileContent is not returned in the response")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "FilePaymentConsent object representing the file upload operation",
+                    response = FilePaymentConsent.class),
+            @ApiResponse(code = 400, message = "Bad request", response = OBErrorResponse1.class),
+            @ApiResponse(code = 403, message = "Forbidden", response = OBErrorResponse1.class),
+            @ApiResponse(code = 404, message = "Not found"),
+            @ApiResponse(code = 405, message = "Method Not Allowed"),
+            @ApiResponse(code = 406, message = "Not Acceptable"),
+            @ApiResponse(code = 500, message = "Internal Server Error", response = OBErrorResponse1.class)
+    })
+    @RequestMapping(value = "/file-payment-consents/{consentId}/file",
+            consumes = {"application/octet-stream"},
+            produces = {"application/json; charset=utf-8"},
+            method = RequestMethod.POST)
+    ResponseEntity<FilePaymentConsent> uploadFileStream(@PathVariable(value = "consentId") String consentId,
+                                                        @RequestHeader(value = "x-api-client-id") String apiClientId,
+                                                        @RequestHeader(value = "x-file-upload-idempotency-key") String fileUploadIdempotencyKey,
+                                                        @ApiParam(value = "File contents", required = true)
+                                                        InputStream fileContents);
+
+
+    @ApiOperation(value = "Get File Payment File")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Stream of the file uploaded for the consent"),
+            @ApiResponse(code = 400, message = "Bad request", response = OBErrorResponse1.class),
+            @ApiResponse(code = 403, message = "Forbidden", response = OBErrorResponse1.class),
+            @ApiResponse(code = 404, message = "Not found"),
+            @ApiResponse(code = 405, message = "Method Not Allowed"),
+            @ApiResponse(code = 406, message = "Not Acceptable"),
+            @ApiResponse(code = 500, message = "Internal Server Error", response = OBErrorResponse1.class)
+    })
+    @RequestMapping(value = "/file-payment-consents/{consentId}/file",
+            produces = {"application/octet-stream"},
+            method = RequestMethod.GET)
+    ResponseEntity<InputStreamResource> getFile(@PathVariable(value = "consentId") String consentId,
+                                                @RequestHeader(value = "x-api-client-id") String apiClientId);
+
+
     @ApiOperation(value = "Authorise File Payment Consent")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "FilePaymentConsent object representing the consent created",
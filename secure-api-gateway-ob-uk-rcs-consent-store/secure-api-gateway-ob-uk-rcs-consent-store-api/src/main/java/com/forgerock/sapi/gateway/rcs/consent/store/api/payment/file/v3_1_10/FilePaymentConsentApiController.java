@@ -36,12 +36,12 @@ import io.swagger.annotations.Api;
 @Controller("V3.1.10FilePaymentConsentApiController")
 @Api(tags = {"v3.1.10"})
 @RequestMapping(value = "/consent/store/v3.1.10")
-@DependsOn({"versionedConsentServices"})
+@DependsOn({"consentServices"})
 public class FilePaymentConsentApiController extends BaseFilePaymentConsentApiController {
 
     @Autowired
     public FilePaymentConsentApiController(
-            @Qualifier("v3.1.10FilePaymentConsentService") FilePaymentConsentService consentService,
+            @Qualifier("filePaymentConsentService") FilePaymentConsentService consentService,
             Supplier<DateTime> idempotencyKeyExpirationSupplier) {
 
         super(consentService, idempotencyKeyExpirationSupplier, OBVersion.v3_1_10);
@@ -34,12 +34,12 @@ import java.util.function.Supplier;
 @Controller("V4.0.0FilePaymentConsentApiController")
 @Api(tags = {"v4.0.0"})
 @RequestMapping(value = "/consent/store/v4.0.0")
-@DependsOn({"versionedConsentServices"})
+@DependsOn({"consentServices"})
 public class FilePaymentConsentApiController extends BaseFilePaymentConsentApiController {
 
     @Autowired
     public FilePaymentConsentApiController(
-            @Qualifier("v4.0.0FilePaymentConsentService") FilePaymentConsentService consentService,
+            @Qualifier("filePaymentConsentService") FilePaymentConsentService consentService,
             Supplier<DateTime> idempotencyKeyExpirationSupplier) {
 
         super(consentService, idempotencyKeyExpirationSupplier, OBVersion.v4_0_0);
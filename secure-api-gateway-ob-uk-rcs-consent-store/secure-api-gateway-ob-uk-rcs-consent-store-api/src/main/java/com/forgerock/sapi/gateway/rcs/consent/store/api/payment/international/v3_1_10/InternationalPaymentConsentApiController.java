@@ -36,12 +36,12 @@ import io.swagger.annotations.Api;
 @Controller
 @Api(tags = {"v3.1.10"})
 @RequestMapping(value = "/consent/store/v3.1.10")
-@DependsOn({"versionedConsentServices"})
+@DependsOn({"consentServices"})
 public class InternationalPaymentConsentApiController extends BaseInternationalPaymentConsentApiController {
 
     @Autowired
     public InternationalPaymentConsentApiController(
-            @Qualifier("v3.1.10InternationalPaymentConsentService") InternationalPaymentConsentService consentService,
+            @Qualifier("internationalPaymentConsentService") InternationalPaymentConsentService consentService,
             Supplier<DateTime> idempotencyKeyExpirationSupplier) {
         super(consentService, idempotencyKeyExpirationSupplier, OBVersion.v3_1_10);
     }
@@ -36,12 +36,12 @@ import io.swagger.annotations.Api;
 @Controller("v4.0.0InternationalPaymentConsentApiController")
 @Api(tags = {"v4.0.0"})
 @RequestMapping(value = "/consent/store/v4.0.0")
-@DependsOn({"versionedConsentServices"})
+@DependsOn({"consentServices"})
 public class InternationalPaymentConsentApiController extends BaseInternationalPaymentConsentApiController {
 
     @Autowired
     public InternationalPaymentConsentApiController(
-            @Qualifier("v4.0.0InternationalPaymentConsentService") InternationalPaymentConsentService consentService,
+            @Qualifier("internationalPaymentConsentService") InternationalPaymentConsentService consentService,
             Supplier<DateTime> idempotencyKeyExpirationSupplier) {
         super(consentService, idempotencyKeyExpirationSupplier, OBVersion.v4_0_0);
     }
@@ -36,12 +36,12 @@ import io.swagger.annotations.Api;
 @Controller("v3.1.10InternationalScheduledPaymentConsentApiController")
 @Api(tags = {"v3.1.10"})
 @RequestMapping(value = "/consent/store/v3.1.10")
-@DependsOn({"versionedConsentServices"})
+@DependsOn({"consentServices"})
 public class InternationalScheduledPaymentConsentApiController extends BaseInternationalScheduledPaymentConsentApiController {
 
     @Autowired
     public InternationalScheduledPaymentConsentApiController(
-            @Qualifier("v3.1.10InternationalScheduledPaymentConsentService") InternationalScheduledPaymentConsentService consentService,
+            @Qualifier("internationalScheduledPaymentConsentService") InternationalScheduledPaymentConsentService consentService,
             Supplier<DateTime> idempotencyKeyExpirationSupplier) {
         super(consentService, idempotencyKeyExpirationSupplier, OBVersion.v3_1_10);
     }
@@ -36,12 +36,12 @@ import io.swagger.annotations.Api;
 @Controller("v4.0.0InternationalScheduledPaymentConsentApiController")
 @Api(tags = {"v4.0.0"})
 @RequestMapping(value = "/consent/store/v4.0.0")
-@DependsOn({"versionedConsentServices"})
+@DependsOn({"consentServices"})
 public class InternationalScheduledPaymentConsentApiController extends BaseInternationalScheduledPaymentConsentApiController {
 
     @Autowired
     public InternationalScheduledPaymentConsentApiController(
-            @Qualifier("v4.0.0InternationalScheduledPaymentConsentService") InternationalScheduledPaymentConsentService consentService,
+            @Qualifier("internationalScheduledPaymentConsentService") InternationalScheduledPaymentConsentService consentService,
             Supplier<DateTime> idempotencyKeyExpirationSupplier) {
         super(consentService, idempotencyKeyExpirationSupplier, OBVersion.v4_0_0);
     }
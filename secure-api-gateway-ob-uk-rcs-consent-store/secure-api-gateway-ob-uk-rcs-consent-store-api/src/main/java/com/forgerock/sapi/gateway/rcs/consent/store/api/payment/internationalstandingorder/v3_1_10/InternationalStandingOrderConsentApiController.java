@@ -36,12 +36,12 @@ import io.swagger.annotations.Api;
 @Controller
 @Api(tags = {"v3.1.10"})
 @RequestMapping(value = "/consent/store/v3.1.10")
-@DependsOn({"versionedConsentServices"})
+@DependsOn({"consentServices"})
 public class InternationalStandingOrderConsentApiController extends BaseInternationalStandingOrderConsentApiController {
 
     @Autowired
     public InternationalStandingOrderConsentApiController(
-            @Qualifier("v3.1.10InternationalStandingOrderConsentService") InternationalStandingOrderConsentService consentService,
+            @Qualifier("internationalStandingOrderConsentService") InternationalStandingOrderConsentService consentService,
             Supplier<DateTime> idempotencyKeyExpirationSupplier) {
         super(consentService, idempotencyKeyExpirationSupplier, OBVersion.v3_1_10);
     }
@@ -36,12 +36,12 @@ import io.swagger.annotations.Api;
 @Controller("v4.0.0InternationalStandingOrderConsentApiController")
 @Api(tags = {"v4.0.0"})
 @RequestMapping(value = "/consent/store/v4.0.0")
-@DependsOn({"versionedConsentServices"})
+@DependsOn({"consentServices"})
 public class InternationalStandingOrderConsentApiController extends BaseInternationalStandingOrderConsentApiController {
 
     @Autowired
     public InternationalStandingOrderConsentApiController(
-            @Qualifier("v4.0.0InternationalStandingOrderConsentService") InternationalStandingOrderConsentService consentService,
+            @Qualifier("internationalStandingOrderConsentService") InternationalStandingOrderConsentService consentService,
             Supplier<DateTime> idempotencyKeyExpirationSupplier) {
         super(consentService, idempotencyKeyExpirationSupplier, OBVersion.v4_0_0);
     }
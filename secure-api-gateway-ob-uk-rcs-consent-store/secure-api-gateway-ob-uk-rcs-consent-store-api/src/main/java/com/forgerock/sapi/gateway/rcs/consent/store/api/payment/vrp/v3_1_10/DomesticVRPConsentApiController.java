@@ -36,12 +36,12 @@ import io.swagger.annotations.Api;
 @Controller("v3.1.10DomesticVRPConsentApiController")
 @Api(tags = {"v3.1.10"})
 @RequestMapping(value = "/consent/store/v3.1.10")
-@DependsOn({"versionedConsentServices"})
+@DependsOn({"consentServices"})
 public class DomesticVRPConsentApiController extends BaseDomesticVRPConsentApiController {
 
     @Autowired
     public DomesticVRPConsentApiController(
-            @Qualifier("v3.1.10DomesticVRPConsentService")DomesticVRPConsentService consentService,
+            @Qualifier("domesticVRPConsentService")DomesticVRPConsentService consentService,
             Supplier<DateTime> idempotencyKeyExpirationSupplier) {
         super(consentService, idempotencyKeyExpirationSupplier, OBVersion.v3_1_10);
     }
@@ -36,12 +36,12 @@ import io.swagger.annotations.Api;
 @Controller("v4.0.0DomesticVRPConsentApiController")
 @Api(tags = {"v4.0.0"})
 @RequestMapping(value = "/consent/store/v4.0.0")
-@DependsOn({"versionedConsentServices"})
+@DependsOn({"consentServices"})
 public class DomesticVRPConsentApiController extends BaseDomesticVRPConsentApiController {
 
     @Autowired
     public DomesticVRPConsentApiController(
-            @Qualifier("v4.0.0DomesticVRPConsentService") DomesticVRPConsentService consentService,
+            @Qualifier("domesticVRPConsentService") DomesticVRPConsentService consentService,
             Supplier<DateTime> idempotencyKeyExpirationSupplier) {
         super(consentService, idempotencyKeyExpirationSupplier, OBVersion.v4_0_0);
     }
@@ -19,6 +19,12 @@ import static com.forgerock.sapi.gateway.rcs.consent.store.api.ApiTestUtils.crea
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.EnabledIf;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -27,15 +33,19 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.BaseAuthoriseConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.BaseConsent;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.BaseCreateConsentRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.GetConsentsRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.RejectConsentRequest;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBVersion;
 
@@ -58,6 +68,9 @@ public abstract class BaseControllerTest<T extends BaseConsent, C extends BaseCr
     @Autowired
     protected TestRestTemplate restTemplate;
 
+    @Autowired
+    protected ObjectMapper objectMapper;
+
     protected String apiBaseUrl;
 
     protected final Class<T> consentClass;
@@ -173,6 +186,110 @@ public abstract class BaseControllerTest<T extends BaseConsent, C extends BaseCr
         validateInvalidPermissionsErrorResponse(client1Consent.getId(), getConsentResponseEntity);
     }
 
+    @Test
+    public void getConsents() {
+        final T consent1 = createConsent(TEST_API_CLIENT_1);
+        final T consent2 = createConsent(TEST_API_CLIENT_1);
+        final T otherClientConsent = createConsent("client-2");
+
+        final ResponseEntity<T[]> getConsentsResponse = makeGetConsentsRequest(buildGetConsentsRequest(TEST_API_CLIENT_1, false,
+                consent2.getId(), "unknown-consent", otherClientConsent.getId(), consent1.getId()), getConsentArrayClass());
+
+        assertThat(getConsentsResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(getConsentsResponse.getBody()).usingRecursiveFieldByFieldElementComparator().containsExactly(consent2, consent1);
+    }
+
+    @Test
+    public void getConsentsStatusOnly() {
+        final T consent = createConsent(TEST_API_CLIENT_1);
+
+        final ResponseEntity<T[]> getConsentsResponse = makeGetConsentsRequest(
+                buildGetConsentsRequest(TEST_API_CLIENT_1, true, consent.getId()), getConsentArrayClass());
+
+        assertThat(getConsentsResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(getConsentsResponse.getBody()).hasSize(1);
+        final T statusOnlyConsent = getConsentsResponse.getBody()[0];
+        assertThat(statusOnlyConsent.getId()).isEqualTo(consent.getId());
+        assertThat(statusOnlyConsent.getApiClientId()).isEqualTo(consent.getApiClientId());
+        assertThat(statusOnlyConsent.getStatus()).isEqualTo(consent.getStatus());
+        assertThat(statusOnlyConsent.getStatusUpdateDateTime()).isEqualTo(consent.getStatusUpdateDateTime());
+        assertThat(statusOnlyConsent.getRequestObj()).isNull();
+    }
+
+    @Test
+    public void failToGetConsentsRequestMissingConsentIds() {
+        final ResponseEntity<OBErrorResponse1> getConsentsResponse = makeGetConsentsRequest(
+                buildGetConsentsRequest(TEST_API_CLIENT_1, false), OBErrorResponse1.class);
+
+        assertThat(getConsentsResponse.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(getConsentsResponse.getBody().getCode()).isEqualTo("OBRI.Argument.Invalid");
+    }
+
+    @Test
+    public void failToGetConsentsWhenMaxBatchSizeExceeded() {
+        final String[] consentIds = new String[101];
+        for (int i = 0; i < consentIds.length; i++) {
+            consentIds[i] = "consent-" + i;
+        }
+        final ResponseEntity<OBErrorResponse1> getConsentsResponse = makeGetConsentsRequest(
+                buildGetConsentsRequest(TEST_API_CLIENT_1, false, consentIds), OBErrorResponse1.class);
+
+        assertThat(getConsentsResponse.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(getConsentsResponse.getBody().getErrors().get(0).getErrorCode()).isEqualTo("BAD_REQUEST");
+    }
+
+    @Test
+    public void listConsents() throws Exception {
+        final String apiClientId = UUID.randomUUID().toString();
+        final List<String> consentIds = List.of(createConsent(apiClientId).getId(), createConsent(apiClientId).getId(),
+                createConsent(apiClientId).getId());
+        createConsent("client-2");
+
+        final List<T> allConsents = listConsents("apiClientId=" + apiClientId);
+        assertThat(allConsents).extracting(BaseConsent::getId).containsExactlyInAnyOrderElementsOf(consentIds);
+        assertThat(allConsents.get(0)).usingRecursiveComparison()
+                                       .isEqualTo(makeGetRequest(allConsents.get(0).getId(), apiClientId, consentClass).getBody());
+
+        // Pages are read using the id of the last consent of the previous page
+        final List<T> firstPage = listConsents("apiClientId=" + apiClientId + "&pageSize=2");
+        final List<T> secondPage = listConsents("apiClientId=" + apiClientId + "&pageSize=2&afterConsentId=" + firstPage.get(1).getId());
+        assertThat(firstPage).hasSize(2);
+        assertThat(secondPage).hasSize(1);
+        assertThat(Stream.concat(firstPage.stream(), secondPage.stream()).map(BaseConsent::getId))
+                .containsExactlyElementsOf(allConsents.stream().map(BaseConsent::getId).toList());
+    }
+
+    @Test
+    public void failToListConsentsWithoutApiClientIdOrResourceOwnerId() {
+        final ResponseEntity<OBErrorResponse1> listResponse = restTemplate.exchange(apiBaseUrl + "?status=Authorised",
+                HttpMethod.GET, new HttpEntity<>(createListConsentsHeaders()), OBErrorResponse1.class);
+
+        assertThat(listResponse.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(listResponse.getBody().getErrors().get(0).getErrorCode()).isEqualTo("BAD_REQUEST");
+    }
+
+    protected List<T> listConsents(String queryParams) throws IOException {
+        final ResponseEntity<String> listResponse = restTemplate.exchange(apiBaseUrl + "?" + queryParams, HttpMethod.GET,
+                new HttpEntity<>(createListConsentsHeaders()), String.class);
+        assertThat(listResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(listResponse.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+
+        final List<T> consents = new ArrayList<>();
+        if (listResponse.getBody() != null) {
+            for (String line : listResponse.getBody().split("\n")) {
+                consents.add(objectMapper.readValue(line, consentClass));
+            }
+        }
+        return consents;
+    }
+
+    private static HttpHeaders createListConsentsHeaders() {
+        final HttpHeaders headers = new HttpHeaders();
+        // Error responses are returned as JSON
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+        return headers;
+    }
+
     @Test
     public void authoriseConsent() {
         final T consentToAuthorise = getConsentInStateToAuthoriseOrReject(TEST_API_CLIENT_1);
@@ -258,6 +375,18 @@ public abstract class BaseControllerTest<T extends BaseConsent, C extends BaseCr
         validateInvalidApiVersionErrorResponse(consentId, consentVersion, getControllerVersion(), errorResponseEntity);
     }
 
+    @Test
+    @EnabledIf("controllerVersionIsLessThanV4_0_0")
+    public void getConsentsShouldOmitConsentsCreatedUsingNewerApiVersion() {
+        final String consentId = createConsentEntityForVersionValidation(TEST_API_CLIENT_1, OBVersion.v4_0_0);
+
+        final ResponseEntity<T[]> getConsentsResponse = makeGetConsentsRequest(
+                buildGetConsentsRequest(TEST_API_CLIENT_1, false, consentId), getConsentArrayClass());
+
+        assertThat(getConsentsResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(getConsentsResponse.getBody()).isEmpty();
+    }
+
     boolean controllerVersionIsLessThanV4_0_0() {
         return getControllerVersion().isBeforeVersion(OBVersion.v4_0_0);
     }
@@ -283,6 +412,25 @@ public abstract class BaseControllerTest<T extends BaseConsent, C extends BaseCr
                 responseClass);
     }
 
+    protected static GetConsentsRequest buildGetConsentsRequest(String apiClientId, boolean statusOnly, String... consentIds) {
+        final GetConsentsRequest getConsentsRequest = new GetConsentsRequest();
+        getConsentsRequest.setApiClientId(apiClientId);
+        getConsentsRequest.setConsentIds(List.of(consentIds));
+        getConsentsRequest.setStatusOnly(statusOnly);
+        return getConsentsRequest;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected Class<T[]> getConsentArrayClass() {
+        return (Class<T[]>) consentClass.arrayType();
+    }
+
+    protected <R> ResponseEntity<R> makeGetConsentsRequest(GetConsentsRequest getConsentsRequest, Class<R> responseClass) {
+        return restTemplate.exchange(apiBaseUrl + "/batch", HttpMethod.POST,
+                new HttpEntity<>(getConsentsRequest, createConsentStoreApiRequiredHeaders(getConsentsRequest.getApiClientId())),
+                responseClass);
+    }
+
     protected <T> ResponseEntity<T> makePostRequest(C createConsentRequest, Class<T> responseClass) {
         return restTemplate.exchange(apiBaseUrl, HttpMethod.POST,
                 new HttpEntity<>(createConsentRequest, createConsentStoreApiRequiredHeaders(createConsentRequest.getApiClientId())),
@@ -48,7 +48,7 @@ public abstract class BaseAccountAccessConsentApiControllerTest extends BaseCont
     public static final List<String> TEST_AUTHORISED_ACCS = List.of("acc-1", "acc-2");
 
         @Autowired
-        @Qualifier("internalAccountAccessConsentService")
+        @Qualifier("accountAccessConsentService")
         private AccountAccessConsentService accountAccessConsentService;
 
         protected BaseAccountAccessConsentApiControllerTest() {
@@ -40,7 +40,7 @@ import uk.org.openbanking.datamodel.v3.common.OBExternalPermissions1Code;
 public class CustomerInfoConsentApiControllerTest extends BaseControllerTest<CustomerInfoConsent, CreateCustomerInfoConsentRequest, AuthoriseCustomerInfoConsentRequest> {
 
     @Autowired
-    @Qualifier("internalCustomerInfoConsentService")
+    @Qualifier("customerInfoConsentService")
     private CustomerInfoConsentService customerInfoConsentService;
 
     protected CustomerInfoConsentApiControllerTest() {
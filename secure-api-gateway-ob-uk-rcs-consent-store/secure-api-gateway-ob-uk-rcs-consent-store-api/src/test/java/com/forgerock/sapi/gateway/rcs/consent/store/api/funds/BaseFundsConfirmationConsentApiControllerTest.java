@@ -44,7 +44,7 @@ import uk.org.openbanking.datamodel.v3.fund.OBFundsConfirmationConsent1DataDebto
 public abstract class BaseFundsConfirmationConsentApiControllerTest extends BaseControllerTest<FundsConfirmationConsent, CreateFundsConfirmationConsentRequest, AuthoriseFundsConfirmationConsentRequest> {
 
     @Autowired
-    @Qualifier("internalFundsConfirmationConsentService")
+    @Qualifier("fundsConfirmationConsentService")
     private FundsConfirmationConsentService fundsConfirmationConsentService;
 
     protected BaseFundsConfirmationConsentApiControllerTest() {
@@ -38,7 +38,7 @@ import uk.org.openbanking.testsupport.v3.payment.OBWriteDomesticConsentTestDataF
 public class DomesticPaymentConsentApiControllerTest extends BasePaymentConsentApiControllerTest<DomesticPaymentConsent, CreateDomesticPaymentConsentRequest> {
 
     @Autowired
-    @Qualifier("internalDomesticPaymentConsentService")
+    @Qualifier("domesticPaymentConsentService")
     private DomesticPaymentConsentService consentService;
 
     public DomesticPaymentConsentApiControllerTest() {
@@ -37,7 +37,7 @@ import uk.org.openbanking.testsupport.v3.payment.OBWriteDomesticScheduledConsent
 public abstract class BaseDomesticScheduledPaymentConsentApiControllerTest extends BasePaymentConsentApiControllerTest<DomesticScheduledPaymentConsent, CreateDomesticScheduledPaymentConsentRequest> {
 
     @Autowired
-    @Qualifier("internalDomesticScheduledPaymentConsentService")
+    @Qualifier("domesticScheduledPaymentConsentService")
     private DomesticScheduledPaymentConsentService consentService;
 
     public BaseDomesticScheduledPaymentConsentApiControllerTest() {
@@ -37,7 +37,7 @@ import uk.org.openbanking.testsupport.v3.payment.OBWriteDomesticStandingOrderCon
 public abstract class BaseDomesticStandingOrderConsentApiControllerTest extends BasePaymentConsentApiControllerTest<DomesticStandingOrderConsent, CreateDomesticStandingOrderConsentRequest> {
 
     @Autowired
-    @Qualifier("internalDomesticStandingOrderConsentService")
+    @Qualifier("domesticStandingOrderConsentService")
     private DomesticStandingOrderConsentService consentService;
 
     public BaseDomesticStandingOrderConsentApiControllerTest() {
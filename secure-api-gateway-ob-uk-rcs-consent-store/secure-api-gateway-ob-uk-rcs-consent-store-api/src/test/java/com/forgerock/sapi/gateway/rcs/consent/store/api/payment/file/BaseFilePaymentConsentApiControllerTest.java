@@ -52,7 +52,7 @@ import uk.org.openbanking.testsupport.v3.payment.OBWriteFileConsentTestDataFacto
 public abstract class BaseFilePaymentConsentApiControllerTest extends BasePaymentConsentApiControllerTest<FilePaymentConsent, CreateFilePaymentConsentRequest> {
 
     @Autowired
-    @Qualifier("internalFilePaymentConsentService")
+    @Qualifier("filePaymentConsentService")
     private FilePaymentConsentService consentService;
 
     protected BaseFilePaymentConsentApiControllerTest() {
@@ -82,7 +82,7 @@ public class FilePaymentConsentValidationHelpers {
      * Validates fields in an updatedConsent vs an original consent.
      *
      * This checks that fields that should never change when a consent is updated do never change, and verifies that
-     * the statusUpdateDateTime increases vs the original.
+     * the statusUpdateDateTime increases vs the original. The file content is not returned when a consent is updated.
      */
     public static void validateUpdatedConsentAgainstOriginal(FilePaymentConsent updatedConsent, FilePaymentConsent consent) {
         assertThat(updatedConsent.getId()).isEqualTo(consent.getId());
@@ -92,7 +92,7 @@ public class FilePaymentConsentValidationHelpers {
         assertThat(updatedConsent.getCreationDateTime()).isEqualTo(consent.getCreationDateTime());
         assertThat(updatedConsent.getStatusUpdateDateTime()).isBeforeOrEqualTo(new Date()).isAfterOrEqualTo(consent.getStatusUpdateDateTime());
         assertThat(updatedConsent.getFileUploadIdempotencyKey()).isEqualTo(consent.getFileUploadIdempotencyKey());
-        assertThat(updatedConsent.getFileContent()).isEqualTo(consent.getFileContent());
+        assertThat(updatedConsent.getFileContent()).isNull();
 
     }
 
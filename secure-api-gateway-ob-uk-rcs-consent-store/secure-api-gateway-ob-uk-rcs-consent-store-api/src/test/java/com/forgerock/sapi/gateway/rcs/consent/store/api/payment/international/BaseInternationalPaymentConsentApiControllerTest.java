@@ -37,7 +37,7 @@ import uk.org.openbanking.testsupport.v3.payment.OBWriteInternationalConsentTest
 public abstract class BaseInternationalPaymentConsentApiControllerTest extends BasePaymentConsentApiControllerTest<InternationalPaymentConsent, CreateInternationalPaymentConsentRequest> {
 
     @Autowired
-    @Qualifier("internalInternationalPaymentConsentService")
+    @Qualifier("internationalPaymentConsentService")
     private InternationalPaymentConsentService consentService;
 
     public BaseInternationalPaymentConsentApiControllerTest() {
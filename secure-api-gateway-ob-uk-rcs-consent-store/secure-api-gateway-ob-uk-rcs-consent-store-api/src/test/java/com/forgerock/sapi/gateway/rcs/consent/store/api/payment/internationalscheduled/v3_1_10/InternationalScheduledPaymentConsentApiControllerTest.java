@@ -42,7 +42,7 @@ import uk.org.openbanking.testsupport.v3.payment.OBWriteInternationalScheduledCo
 public class InternationalScheduledPaymentConsentApiControllerTest extends BasePaymentConsentWithExchangeRateInformationApiControllerTest<InternationalScheduledPaymentConsent, CreateInternationalScheduledPaymentConsentRequest> {
 
     @Autowired
-    @Qualifier("internalInternationalScheduledPaymentConsentService")
+    @Qualifier("internationalScheduledPaymentConsentService")
     private InternationalScheduledPaymentConsentService consentService;
 
     public InternationalScheduledPaymentConsentApiControllerTest() {
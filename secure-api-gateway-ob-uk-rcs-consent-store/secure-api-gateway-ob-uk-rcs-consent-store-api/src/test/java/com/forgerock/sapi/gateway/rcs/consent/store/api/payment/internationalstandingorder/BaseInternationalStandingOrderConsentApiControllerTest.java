@@ -37,7 +37,7 @@ import uk.org.openbanking.testsupport.v3.payment.OBWriteInternationalStandingOrd
 public abstract class BaseInternationalStandingOrderConsentApiControllerTest extends BasePaymentConsentApiControllerTest<InternationalStandingOrderConsent, CreateInternationalStandingOrderConsentRequest> {
 
     @Autowired
-    @Qualifier("internalInternationalStandingOrderConsentService")
+    @Qualifier("internationalStandingOrderConsentService")
     private InternationalStandingOrderConsentService consentService;
 
     public BaseInternationalStandingOrderConsentApiControllerTest() {
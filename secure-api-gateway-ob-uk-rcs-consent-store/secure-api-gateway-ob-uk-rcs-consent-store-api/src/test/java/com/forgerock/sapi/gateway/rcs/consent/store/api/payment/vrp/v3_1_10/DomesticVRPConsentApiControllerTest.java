@@ -49,7 +49,7 @@ public class DomesticVRPConsentApiControllerTest extends BaseControllerTest<Dome
     private static final String TEST_DEBTOR_ACC_ID = "acc-435345";
 
     @Autowired
-    @Qualifier("internalDomesticVRPConsentService")
+    @Qualifier("domesticVRPConsentService")
     private DomesticVRPConsentService consentService;
 
     public DomesticVRPConsentApiControllerTest() {
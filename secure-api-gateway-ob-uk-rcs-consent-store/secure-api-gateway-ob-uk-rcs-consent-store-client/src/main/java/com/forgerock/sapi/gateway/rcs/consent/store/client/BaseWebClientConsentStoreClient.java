@@ -0,0 +1,111 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.client;
+
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forgerock.sapi.gateway.uk.common.shared.fapi.FapiInteractionIdContext;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Base class for the non-blocking consent store clients, calls are made using a {@link WebClient} so that no thread is
+ * held while a call is in flight.
+ * <p>
+ * The request headers are created when the client method is called, this means that the x-fapi-interaction-id is taken
+ * from the {@link FapiInteractionIdContext} of the calling thread rather than the thread that subscribes to the result.
+ * Error responses are decoded in the same way as for the {@link BaseRestConsentStoreClient}, the resulting
+ * {@link ConsentStoreClientException} is signalled as the error of the returned Mono.
+ */
+public abstract class BaseWebClientConsentStoreClient {
+
+    protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+    protected final WebClient webClient;
+
+    protected final ObjectMapper objectMapper;
+
+    private final ConsentStoreApiSupport consentStoreApiSupport;
+
+    /**
+     * Creates a client which uses the consent store API connection pool configured by the consentStoreClientConfiguration
+     */
+    public BaseWebClientConsentStoreClient(ConsentStoreClientConfiguration consentStoreClientConfiguration,
+                                           WebClient.Builder webClientBuilder, ObjectMapper objectMapper) {
+        Objects.requireNonNull(consentStoreClientConfiguration, "consentStoreClientConfiguration must be provided");
+        Objects.requireNonNull(webClientBuilder, "webClientBuilder must be provided");
+        this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper must be provided");
+        this.consentStoreApiSupport = new ConsentStoreApiSupport(objectMapper);
+
+        final DataSize maxResponseSize = Objects.requireNonNullElseGet(consentStoreClientConfiguration.getMaxResponseSize(),
+                () -> DataSize.parse(ConsentStoreClientConfiguration.DEFAULT_MAX_RESPONSE_SIZE));
+        final WebClient.Builder builder = webClientBuilder.clone().codecs(codecs -> {
+            codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+            codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+            // File payment consents carry the file contents, so the default 256KB limit is too small
+            codecs.defaultCodecs().maxInMemorySize(Math.toIntExact(maxResponseSize.toBytes()));
+        });
+        final ClientHttpConnector clientHttpConnector = consentStoreClientConfiguration.getClientHttpConnector();
+        if (clientHttpConnector != null) {
+            builder.clientConnector(clientHttpConnector);
+        }
+        this.webClient = builder.build();
+    }
+
+    protected HttpHeaders createHeaders(String apiClientId) {
+        return ConsentStoreApiSupport.createHeaders(apiClientId);
+    }
+
+    /**
+     * Makes a call to the consent store API.
+     *
+     * @param url          the url to call
+     * @param method       the HTTP method to use
+     * @param body         the request body, or null if the request does not have a body
+     * @param apiClientId  the id of the ApiClient that the consent belongs to
+     * @param responseType the type to decode the response body to
+     * @return Mono which completes with the decoded response body (or empty if there is no body) once the call has been
+     * made, or errors with a {@link ConsentStoreClientException} if the consent store API returns an error response.
+     * The call is not made until the Mono is subscribed to.
+     */
+    protected <T> Mono<T> doCall(String url, HttpMethod method, Object body, String apiClientId, Class<T> responseType) {
+        final HttpHeaders headers = createHeaders(apiClientId);
+        final WebClient.RequestBodySpec request = webClient.method(method)
+                                                           .uri(url)
+                                                           .headers(httpHeaders -> httpHeaders.addAll(headers));
+        final WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+        return requestWithBody.retrieve()
+                              .onStatus(HttpStatusCode::isError, response -> response.bodyToMono(byte[].class)
+                                      .defaultIfEmpty(new byte[0])
+                                      .map(responseBody -> consentStoreApiSupport.decodeErrorResponse(url, method,
+                                              response.statusCode().value(), responseBody)))
+                              .bodyToMono(responseType)
+                              // The body is not logged, it contains PSU and payment data (and for file payments the whole file)
+                              .doOnSubscribe(subscription -> logger.debug("Making Consent Store API call - {} {}", method, url));
+    }
+}
@@ -15,19 +15,176 @@
  */
 package com.forgerock.sapi.gateway.rcs.consent.store.client;
 
+import java.time.Duration;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.unit.DataSize;
+
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.configuration.HttpClientPoolSettings;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.utils.http.PooledHttpClientFactory;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Configuration of the clients of the Consent Store API.
+ * <p>
+ * The blocking clients share a pool created by {@link PooledHttpClientFactory}, so the consent store pool is reported
+ * in the {@value PooledHttpClientFactory#POOL_CONNECTIONS_METRIC} gauge alongside the other backends, tagged with
+ * pool={@value #POOL_NAME}.
+ */
 @Configuration
 @ComponentScan(basePackageClasses = ConsentStoreClientConfiguration.class)
 public class ConsentStoreClientConfiguration {
 
+    public static final String POOL_NAME = "consent-store";
+    public static final String DEFAULT_MAX_RESPONSE_SIZE = "16MB";
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
     @Value("${rcs.consent.store.api.baseUri}")
     private String baseUri;
 
+    @Value("${rcs.consent.store.api.connection-pool.max-total:50}")
+    private int maxTotalConnections;
+
+    @Value("${rcs.consent.store.api.connection-pool.max-per-route:50}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${rcs.consent.store.api.connection-pool.connect-timeout:5s}")
+    private Duration connectTimeout;
+
+    @Value("${rcs.consent.store.api.connection-pool.response-timeout:30s}")
+    private Duration responseTimeout;
+
+    @Value("${rcs.consent.store.api.connection-pool.connection-request-timeout:5s}")
+    private Duration connectionRequestTimeout;
+
+    @Value("${rcs.consent.store.api.connection-pool.time-to-live:5m}")
+    private Duration connectionTimeToLive;
+
+    @Value("${rcs.consent.store.api.connection-pool.idle-eviction-timeout:30s}")
+    private Duration idleEvictionTimeout;
+
+    @Value("${rcs.consent.store.api.connection-pool.validate-after-inactivity:2s}")
+    private Duration validateAfterInactivity;
+
+    /**
+     * Maximum size of a response body buffered by the non-blocking clients, file payment consents include the file
+     * contents so this must be larger than the largest file accepted
+     */
+    @Value("${rcs.consent.store.api.max-response-size:" + DEFAULT_MAX_RESPONSE_SIZE + "}")
+    private DataSize maxResponseSize;
+
+    private MeterRegistry meterRegistry;
+
+    /**
+     * HttpClient shared by all the consent store clients, created on first use
+     */
+    private CloseableHttpClient httpClient;
+
+    /**
+     * Connection pool shared by all the non-blocking consent store clients, created on first use
+     */
+    private ConnectionProvider connectionProvider;
+
     public String getBaseUri() {
         return baseUri;
     }
 
+    public DataSize getMaxResponseSize() {
+        return maxResponseSize;
+    }
+
+    @PostConstruct
+    void validateConfig() {
+        getConnectionPoolSettings().validate("rcs.consent.store.api.connection-pool");
+        if (maxResponseSize.toBytes() <= 0 || maxResponseSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalStateException("rcs.consent.store.api.max-response-size must be greater than 0 and less than 2GB");
+        }
+    }
+
+    /**
+     * @return the rcs.consent.store.api.connection-pool settings, these configure both the blocking and the
+     * non-blocking clients
+     */
+    public HttpClientPoolSettings getConnectionPoolSettings() {
+        final HttpClientPoolSettings settings = new HttpClientPoolSettings();
+        settings.setMaxTotal(maxTotalConnections);
+        settings.setMaxPerRoute(maxConnectionsPerRoute);
+        settings.setConnectTimeout(connectTimeout);
+        settings.setResponseTimeout(responseTimeout);
+        settings.setConnectionRequestTimeout(connectionRequestTimeout);
+        settings.setTimeToLive(connectionTimeToLive);
+        settings.setIdleEvictionTimeout(idleEvictionTimeout);
+        settings.setValidateAfterInactivity(validateAfterInactivity);
+        return settings;
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @return request factory backed by the connection pool dedicated to the consent store API, this is shared by all
+     * the consent store clients so that the pool is sized for the consent store as a whole.
+     */
+    public synchronized ClientHttpRequestFactory getClientHttpRequestFactory() {
+        if (httpClient == null) {
+            httpClient = PooledHttpClientFactory.createHttpClient(POOL_NAME, getConnectionPoolSettings(), meterRegistry);
+        }
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    /**
+     * @return connector for the non-blocking consent store clients, backed by a connection pool dedicated to the
+     * consent store API which is configured using the same connection-pool settings as the blocking clients.
+     */
+    public synchronized ClientHttpConnector getClientHttpConnector() {
+        if (connectionProvider == null) {
+            logger.info("Creating consent store API reactive connection pool - maxTotal: {}, connectTimeout: {}, responseTimeout: {}",
+                    maxTotalConnections, connectTimeout, responseTimeout);
+            connectionProvider = ConnectionProvider.builder(POOL_NAME)
+                                                   .maxConnections(maxTotalConnections)
+                                                   .pendingAcquireTimeout(connectionRequestTimeout)
+                                                   .maxIdleTime(idleEvictionTimeout)
+                                                   .maxLifeTime(connectionTimeToLive)
+                                                   .evictInBackground(idleEvictionTimeout)
+                                                   .lifo()
+                                                   .build();
+        }
+        return new ReactorClientHttpConnector(reactor.netty.http.client.HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(connectTimeout.toMillis()))
+                .responseTimeout(responseTimeout));
+    }
+
+    @PreDestroy
+    synchronized void closeHttpClients() {
+        if (httpClient != null) {
+            try {
+                httpClient.close();
+            } catch (Exception e) {
+                logger.warn("Failed to close consent store API HttpClient", e);
+            }
+            httpClient = null;
+        }
+        if (connectionProvider != null) {
+            connectionProvider.dispose();
+            connectionProvider = null;
+        }
+    }
 }
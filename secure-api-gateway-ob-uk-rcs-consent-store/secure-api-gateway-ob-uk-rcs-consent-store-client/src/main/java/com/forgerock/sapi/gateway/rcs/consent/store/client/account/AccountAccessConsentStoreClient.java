@@ -15,7 +15,10 @@
  */
 package com.forgerock.sapi.gateway.rcs.consent.store.client.account;
 
+import java.util.List;
+
 import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientException;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.GetConsentsRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.RejectConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.account.v3_1_10.AccountAccessConsent;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.account.v3_1_10.AuthoriseAccountAccessConsentRequest;
@@ -30,6 +33,12 @@ public interface AccountAccessConsentStoreClient {
 
     AccountAccessConsent getConsent(String consentId, String apiClientId) throws ConsentStoreClientException;
 
+    /**
+     * Retrieves multiple Consents in a single call, Consents which do not exist or cannot be accessed by the ApiClient
+     * are omitted from the result.
+     */
+    List<AccountAccessConsent> getConsents(GetConsentsRequest getConsentsRequest) throws ConsentStoreClientException;
+
     AccountAccessConsent authoriseConsent(AuthoriseAccountAccessConsentRequest authoriseAccountAccessConsentRequest) throws ConsentStoreClientException;
 
     AccountAccessConsent rejectConsent(RejectConsentRequest rejectAccountAccessConsentRequest) throws ConsentStoreClientException;
@@ -15,6 +15,7 @@
  */
 package com.forgerock.sapi.gateway.rcs.consent.store.client.account;
 
+import java.util.List;
 import java.util.Objects;
 
 import org.springframework.boot.web.client.RestTemplateBuilder;
@@ -25,6 +26,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.forgerock.sapi.gateway.rcs.consent.store.client.BaseRestConsentStoreClient;
 import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientConfiguration;
 import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientException;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.GetConsentsRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.RejectConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.account.v3_1_10.AccountAccessConsent;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.account.v3_1_10.AuthoriseAccountAccessConsentRequest;
@@ -41,7 +43,7 @@ public class BaseRestAccountAccessConsentStoreClient extends BaseRestConsentStor
                                                    RestTemplateBuilder restTemplateBuilder,
                                                    ObjectMapper objectMapper,
                                                    OBVersion obVersion) {
-        super(restTemplateBuilder, objectMapper);
+        super(consentStoreClientConfiguration, restTemplateBuilder, objectMapper);
         this.consentServiceBaseUrl = consentStoreClientConfiguration.getBaseUri() + "/v" + obVersion.getCanonicalVersion() + "/account-access-consents";
     }
 
@@ -58,6 +60,13 @@ public class BaseRestAccountAccessConsentStoreClient extends BaseRestConsentStor
         return doRestCall(url, HttpMethod.GET, requestEntity, AccountAccessConsent.class);
     }
 
+    @Override
+    public List<AccountAccessConsent> getConsents(GetConsentsRequest getConsentsRequest) throws ConsentStoreClientException {
+        final String url = consentServiceBaseUrl + "/batch";
+        final HttpEntity<GetConsentsRequest> requestEntity = new HttpEntity<>(getConsentsRequest, createHeaders(getConsentsRequest.getApiClientId()));
+        return List.of(doRestCall(url, HttpMethod.POST, requestEntity, AccountAccessConsent[].class));
+    }
+
     @Override
     public AccountAccessConsent authoriseConsent(AuthoriseAccountAccessConsentRequest authRequest) throws ConsentStoreClientException {
         final String url = consentServiceBaseUrl + "/" + authRequest.getConsentId() + "/authorise";
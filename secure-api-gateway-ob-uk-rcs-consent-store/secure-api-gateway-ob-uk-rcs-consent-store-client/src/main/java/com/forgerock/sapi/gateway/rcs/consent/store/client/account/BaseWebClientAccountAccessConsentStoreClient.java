@@ -0,0 +1,84 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.client.account;
+
+import java.util.List;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.BaseWebClientConsentStoreClient;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientConfiguration;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.GetConsentsRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.RejectConsentRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.account.v3_1_10.AccountAccessConsent;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.account.v3_1_10.AuthoriseAccountAccessConsentRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.account.v3_1_10.CreateAccountAccessConsentRequest;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBVersion;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementation of the ReactiveAccountAccessConsentStoreClient which makes non-blocking REST calls over HTTP using a WebClient
+ */
+public class BaseWebClientAccountAccessConsentStoreClient extends BaseWebClientConsentStoreClient implements ReactiveAccountAccessConsentStoreClient {
+
+    private final String consentServiceBaseUrl;
+
+    public BaseWebClientAccountAccessConsentStoreClient(ConsentStoreClientConfiguration consentStoreClientConfiguration,
+                                                        WebClient.Builder webClientBuilder,
+                                                        ObjectMapper objectMapper,
+                                                        OBVersion obVersion) {
+        super(consentStoreClientConfiguration, webClientBuilder, objectMapper);
+        this.consentServiceBaseUrl = consentStoreClientConfiguration.getBaseUri() + "/v" + obVersion.getCanonicalVersion() + "/account-access-consents";
+    }
+
+    @Override
+    public Mono<AccountAccessConsent> createConsent(CreateAccountAccessConsentRequest createConsentRequest) {
+        return doCall(consentServiceBaseUrl, HttpMethod.POST, createConsentRequest, createConsentRequest.getApiClientId(), AccountAccessConsent.class);
+    }
+
+    @Override
+    public Mono<AccountAccessConsent> getConsent(String consentId, String apiClientId) {
+        final String url = consentServiceBaseUrl + "/" + consentId;
+        return doCall(url, HttpMethod.GET, null, apiClientId, AccountAccessConsent.class);
+    }
+
+    @Override
+    public Mono<List<AccountAccessConsent>> getConsents(GetConsentsRequest getConsentsRequest) {
+        final String url = consentServiceBaseUrl + "/batch";
+        return doCall(url, HttpMethod.POST, getConsentsRequest, getConsentsRequest.getApiClientId(), AccountAccessConsent[].class).map(List::of);
+    }
+
+    @Override
+    public Mono<AccountAccessConsent> authoriseConsent(AuthoriseAccountAccessConsentRequest authRequest) {
+        final String url = consentServiceBaseUrl + "/" + authRequest.getConsentId() + "/authorise";
+        return doCall(url, HttpMethod.POST, authRequest, authRequest.getApiClientId(), AccountAccessConsent.class);
+    }
+
+    @Override
+    public Mono<AccountAccessConsent> rejectConsent(RejectConsentRequest rejectRequest) {
+        final String url = consentServiceBaseUrl + "/" + rejectRequest.getConsentId() + "/reject";
+        return doCall(url, HttpMethod.POST, rejectRequest, rejectRequest.getApiClientId(), AccountAccessConsent.class);
+    }
+
+    @Override
+    public Mono<Void> deleteConsent(String consentId, String apiClientId) {
+        final String url = consentServiceBaseUrl + "/" + consentId;
+        return doCall(url, HttpMethod.DELETE, null, apiClientId, Void.class);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.client.account;
+
+import java.util.List;
+
+import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientException;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.GetConsentsRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.RejectConsentRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.account.v3_1_10.AccountAccessConsent;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.account.v3_1_10.AuthoriseAccountAccessConsentRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.account.v3_1_10.CreateAccountAccessConsentRequest;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking client for interacting with com.forgerock.sapi.gateway.rcs.consent.store.api.account.AccountAccessConsentApi
+ * <p>
+ * Provides the same operations as the {@link AccountAccessConsentStoreClient}, calls are made when the returned
+ * Mono is subscribed to and errors returned by the API are signalled as a {@link ConsentStoreClientException}.
+ * Use {@link Mono#toFuture()} to consume a result as a CompletableFuture.
+ */
+public interface ReactiveAccountAccessConsentStoreClient {
+
+    Mono<AccountAccessConsent> createConsent(CreateAccountAccessConsentRequest createConsentRequest);
+
+    Mono<AccountAccessConsent> getConsent(String consentId, String apiClientId);
+
+    /**
+     * Retrieves multiple Consents in a single call, Consents which do not exist or cannot be accessed by the ApiClient
+     * are omitted from the result.
+     */
+    Mono<List<AccountAccessConsent>> getConsents(GetConsentsRequest getConsentsRequest);
+
+    Mono<AccountAccessConsent> authoriseConsent(AuthoriseAccountAccessConsentRequest authoriseAccountAccessConsentRequest);
+
+    Mono<AccountAccessConsent> rejectConsent(RejectConsentRequest rejectAccountAccessConsentRequest);
+
+    Mono<Void> deleteConsent(String consentId, String apiClientId);
+
+}
@@ -15,7 +15,10 @@
  */
 package com.forgerock.sapi.gateway.rcs.consent.store.client.customerinfo.v1_0;
 
+import java.util.List;
+
 import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientException;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.GetConsentsRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.RejectConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.customerinfo.v1_0.AuthoriseCustomerInfoConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.customerinfo.v1_0.CreateCustomerInfoConsentRequest;
@@ -29,6 +32,12 @@ public interface CustomerInfoConsentStoreClient {
 
     CustomerInfoConsent getConsent(String consentId, String apiClientId) throws ConsentStoreClientException;
 
+    /**
+     * Retrieves multiple Consents in a single call, Consents which do not exist or cannot be accessed by the ApiClient
+     * are omitted from the result.
+     */
+    List<CustomerInfoConsent> getConsents(GetConsentsRequest getConsentsRequest) throws ConsentStoreClientException;
+
     CustomerInfoConsent authoriseConsent(AuthoriseCustomerInfoConsentRequest authoriseAccountAccessConsentRequest) throws ConsentStoreClientException;
 
     CustomerInfoConsent rejectConsent(RejectConsentRequest rejectAccountAccessConsentRequest) throws ConsentStoreClientException;
@@ -19,6 +19,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.forgerock.sapi.gateway.rcs.consent.store.client.BaseRestConsentStoreClient;
 import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientConfiguration;
 import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientException;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.GetConsentsRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.RejectConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.account.v3_1_10.AccountAccessConsent;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.customerinfo.v1_0.AuthoriseCustomerInfoConsentRequest;
@@ -31,6 +32,7 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Objects;
 
 @Component
@@ -48,7 +50,7 @@ public class RestCustomerInfoConsentStoreClient extends BaseRestConsentStoreClie
     public RestCustomerInfoConsentStoreClient(ConsentStoreClientConfiguration consentStoreClientConfiguration,
                                               RestTemplateBuilder restTemplateBuilder, ObjectMapper objectMapper,
                                               OBVersion obVersion) {
-        super(restTemplateBuilder, objectMapper);
+        super(consentStoreClientConfiguration, restTemplateBuilder, objectMapper);
         Objects.requireNonNull(consentStoreClientConfiguration, "consentStoreClientConfiguration must be provided");
         this.consentServiceBaseUrl = consentStoreClientConfiguration.getBaseUri() + "/" + obVersion.getCanonicalName() + "/customer-info-consents";
     }
@@ -67,6 +69,13 @@ public class RestCustomerInfoConsentStoreClient extends BaseRestConsentStoreClie
         return doRestCall(url, HttpMethod.GET, requestEntity, CustomerInfoConsent.class);
     }
 
+    @Override
+    public List<CustomerInfoConsent> getConsents(GetConsentsRequest getConsentsRequest) throws ConsentStoreClientException {
+        final String url = consentServiceBaseUrl + "/batch";
+        final HttpEntity<GetConsentsRequest> requestEntity = new HttpEntity<>(getConsentsRequest, createHeaders(getConsentsRequest.getApiClientId()));
+        return List.of(doRestCall(url, HttpMethod.POST, requestEntity, CustomerInfoConsent[].class));
+    }
+
     @Override
     public CustomerInfoConsent authoriseConsent(AuthoriseCustomerInfoConsentRequest authRequest) throws ConsentStoreClientException {
         final String url = consentServiceBaseUrl + "/" + authRequest.getConsentId() + "/authorise";
@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.client.customerinfo.v1_0;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.BaseWebClientConsentStoreClient;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientConfiguration;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.GetConsentsRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.RejectConsentRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.customerinfo.v1_0.AuthoriseCustomerInfoConsentRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.customerinfo.v1_0.CreateCustomerInfoConsentRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.customerinfo.v1_0.CustomerInfoConsent;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBVersion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.List;
+import java.util.Objects;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementation of the ReactiveCustomerInfoConsentStoreClient which makes non-blocking REST calls over HTTP using a WebClient
+ */
+@Component
+public class WebClientCustomerInfoConsentStoreClient extends BaseWebClientConsentStoreClient implements ReactiveCustomerInfoConsentStoreClient {
+
+    private final String consentServiceBaseUrl;
+
+    @Autowired
+    public WebClientCustomerInfoConsentStoreClient(ConsentStoreClientConfiguration consentStoreClientConfiguration,
+                                                   WebClient.Builder webClientBuilder, ObjectMapper objectMapper) {
+
+        this(consentStoreClientConfiguration, webClientBuilder, objectMapper, OBVersion.v1_0);
+    }
+
+    public WebClientCustomerInfoConsentStoreClient(ConsentStoreClientConfiguration consentStoreClientConfiguration,
+                                                   WebClient.Builder webClientBuilder, ObjectMapper objectMapper,
+                                                   OBVersion obVersion) {
+        super(consentStoreClientConfiguration, webClientBuilder, objectMapper);
+        Objects.requireNonNull(consentStoreClientConfiguration, "consentStoreClientConfiguration must be provided");
+        this.consentServiceBaseUrl = consentStoreClientConfiguration.getBaseUri() + "/" + obVersion.getCanonicalName() + "/customer-info-consents";
+    }
+
+    @Override
+    public Mono<CustomerInfoConsent> createConsent(CreateCustomerInfoConsentRequest createConsentRequest) {
+        return doCall(consentServiceBaseUrl, HttpMethod.POST, createConsentRequest, createConsentRequest.getApiClientId(), CustomerInfoConsent.class);
+    }
+
+    @Override
+    public Mono<CustomerInfoConsent> getConsent(String consentId, String apiClientId) {
+        final String url = consentServiceBaseUrl + "/" + consentId;
+        return doCall(url, HttpMethod.GET, null, apiClientId, CustomerInfoConsent.class);
+    }
+
+    @Override
+    public Mono<List<CustomerInfoConsent>> getConsents(GetConsentsRequest getConsentsRequest) {
+        final String url = consentServiceBaseUrl + "/batch";
+        return doCall(url, HttpMethod.POST, getConsentsRequest, getConsentsRequest.getApiClientId(), CustomerInfoConsent[].class).map(List::of);
+    }
+
+    @Override
+    public Mono<CustomerInfoConsent> authoriseConsent(AuthoriseCustomerInfoConsentRequest authRequest) {
+        final String url = consentServiceBaseUrl + "/" + authRequest.getConsentId() + "/authorise";
+        return doCall(url, HttpMethod.POST, authRequest, authRequest.getApiClientId(), CustomerInfoConsent.class);
+    }
+
+    @Override
+    public Mono<CustomerInfoConsent> rejectConsent(RejectConsentRequest rejectRequest) {
+        final String url = consentServiceBaseUrl + "/" + rejectRequest.getConsentId() + "/reject";
+        return doCall(url, HttpMethod.POST, rejectRequest, rejectRequest.getApiClientId(), CustomerInfoConsent.class);
+    }
+
+    @Override
+    public Mono<Void> deleteConsent(String consentId, String apiClientId) {
+        final String url = consentServiceBaseUrl + "/" + consentId;
+        return doCall(url, HttpMethod.DELETE, null, apiClientId, Void.class);
+    }
+}
@@ -19,6 +19,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.forgerock.sapi.gateway.rcs.consent.store.client.BaseRestConsentStoreClient;
 import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientConfiguration;
 import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientException;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.GetConsentsRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.RejectConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.funds.v3_1_10.AuthoriseFundsConfirmationConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.funds.v3_1_10.CreateFundsConfirmationConsentRequest;
@@ -30,6 +31,7 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Objects;
 
 public class BaseRestFundsConfirmationConsentStoreClient extends BaseRestConsentStoreClient implements FundsConfirmationConsentStoreClient {
@@ -39,7 +41,7 @@ public class BaseRestFundsConfirmationConsentStoreClient extends BaseRestConsent
     public BaseRestFundsConfirmationConsentStoreClient(ConsentStoreClientConfiguration consentStoreClientConfiguration,
                                                        RestTemplateBuilder restTemplateBuilder, ObjectMapper objectMapper,
                                                        OBVersion obVersion) {
-        super(restTemplateBuilder, objectMapper);
+        super(consentStoreClientConfiguration, restTemplateBuilder, objectMapper);
         this.consentServiceBaseUrl = consentStoreClientConfiguration.getBaseUri() + "/" + obVersion.getCanonicalName() + "/funds-confirmation-consents";
     }
 
@@ -57,6 +59,13 @@ public class BaseRestFundsConfirmationConsentStoreClient extends BaseRestConsent
         return doRestCall(url, HttpMethod.GET, requestEntity, FundsConfirmationConsent.class);
     }
 
+    @Override
+    public List<FundsConfirmationConsent> getConsents(GetConsentsRequest getConsentsRequest) throws ConsentStoreClientException {
+        final String url = consentServiceBaseUrl + "/batch";
+        final HttpEntity<GetConsentsRequest> requestEntity = new HttpEntity<>(getConsentsRequest, createHeaders(getConsentsRequest.getApiClientId()));
+        return List.of(doRestCall(url, HttpMethod.POST, requestEntity, FundsConfirmationConsent[].class));
+    }
+
     @Override
     public FundsConfirmationConsent authoriseConsent(AuthoriseFundsConfirmationConsentRequest authRequest) throws ConsentStoreClientException {
         final String url = consentServiceBaseUrl + "/" + authRequest.getConsentId() + "/authorise";
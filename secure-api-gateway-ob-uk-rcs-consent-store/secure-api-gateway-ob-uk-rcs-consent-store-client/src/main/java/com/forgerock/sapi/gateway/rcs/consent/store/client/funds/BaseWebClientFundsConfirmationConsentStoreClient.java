@@ -0,0 +1,84 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.client.funds;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.BaseWebClientConsentStoreClient;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientConfiguration;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.GetConsentsRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.RejectConsentRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.funds.v3_1_10.AuthoriseFundsConfirmationConsentRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.funds.v3_1_10.CreateFundsConfirmationConsentRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.funds.v3_1_10.FundsConfirmationConsent;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBVersion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementation of the ReactiveFundsConfirmationConsentStoreClient which makes non-blocking REST calls over HTTP using a WebClient
+ */
+public class BaseWebClientFundsConfirmationConsentStoreClient extends BaseWebClientConsentStoreClient implements ReactiveFundsConfirmationConsentStoreClient {
+
+    private final String consentServiceBaseUrl;
+
+    public BaseWebClientFundsConfirmationConsentStoreClient(ConsentStoreClientConfiguration consentStoreClientConfiguration,
+                                                            WebClient.Builder webClientBuilder, ObjectMapper objectMapper,
+                                                            OBVersion obVersion) {
+        super(consentStoreClientConfiguration, webClientBuilder, objectMapper);
+        this.consentServiceBaseUrl = consentStoreClientConfiguration.getBaseUri() + "/" + obVersion.getCanonicalName() + "/funds-confirmation-consents";
+    }
+
+    @Override
+    public Mono<FundsConfirmationConsent> createConsent(CreateFundsConfirmationConsentRequest createConsentRequest) {
+        return doCall(consentServiceBaseUrl, HttpMethod.POST, createConsentRequest, createConsentRequest.getApiClientId(), FundsConfirmationConsent.class);
+    }
+
+    @Override
+    public Mono<FundsConfirmationConsent> getConsent(String consentId, String apiClientId) {
+        final String url = consentServiceBaseUrl + "/" + consentId;
+        return doCall(url, HttpMethod.GET, null, apiClientId, FundsConfirmationConsent.class);
+    }
+
+    @Override
+    public Mono<List<FundsConfirmationConsent>> getConsents(GetConsentsRequest getConsentsRequest) {
+        final String url = consentServiceBaseUrl + "/batch";
+        return doCall(url, HttpMethod.POST, getConsentsRequest, getConsentsRequest.getApiClientId(), FundsConfirmationConsent[].class).map(List::of);
+    }
+
+    @Override
+    public Mono<FundsConfirmationConsent> authoriseConsent(AuthoriseFundsConfirmationConsentRequest authRequest) {
+        final String url = consentServiceBaseUrl + "/" + authRequest.getConsentId() + "/authorise";
+        return doCall(url, HttpMethod.POST, authRequest, authRequest.getApiClientId(), FundsConfirmationConsent.class);
+    }
+
+    @Override
+    public Mono<FundsConfirmationConsent> rejectConsent(RejectConsentRequest rejectRequest) {
+        final String url = consentServiceBaseUrl + "/" + rejectRequest.getConsentId() + "/reject";
+        return doCall(url, HttpMethod.POST, rejectRequest, rejectRequest.getApiClientId(), FundsConfirmationConsent.class);
+    }
+
+    @Override
+    public Mono<Void> deleteConsent(String consentId, String apiClientId) {
+        final String url = consentServiceBaseUrl + "/" + consentId;
+        return doCall(url, HttpMethod.DELETE, null, apiClientId, Void.class);
+    }
+}
@@ -15,7 +15,10 @@
  */
 package com.forgerock.sapi.gateway.rcs.consent.store.client.funds;
 
+import java.util.List;
+
 import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientException;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.GetConsentsRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.RejectConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.funds.v3_1_10.AuthoriseFundsConfirmationConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.funds.v3_1_10.CreateFundsConfirmationConsentRequest;
@@ -29,6 +32,12 @@ public interface FundsConfirmationConsentStoreClient {
 
     FundsConfirmationConsent getConsent(String consentId, String apiClientId) throws ConsentStoreClientException;
 
+    /**
+     * Retrieves multiple Consents in a single call, Consents which do not exist or cannot be accessed by the ApiClient
+     * are omitted from the result.
+     */
+    List<FundsConfirmationConsent> getConsents(GetConsentsRequest getConsentsRequest) throws ConsentStoreClientException;
+
     FundsConfirmationConsent authoriseConsent(AuthoriseFundsConfirmationConsentRequest authoriseFundsConfirmationConsentRequest) throws ConsentStoreClientException;
 
     FundsConfirmationConsent rejectConsent(RejectConsentRequest rejectFundsConfirmationConsentRequest) throws ConsentStoreClientException;
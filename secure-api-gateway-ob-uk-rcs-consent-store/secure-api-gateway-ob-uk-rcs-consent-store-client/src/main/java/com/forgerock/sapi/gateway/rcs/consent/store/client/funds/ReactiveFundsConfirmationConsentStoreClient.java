@@ -0,0 +1,52 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.client.funds;
+
+import java.util.List;
+
+import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientException;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.GetConsentsRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.RejectConsentRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.funds.v3_1_10.AuthoriseFundsConfirmationConsentRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.funds.v3_1_10.CreateFundsConfirmationConsentRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.funds.v3_1_10.FundsConfirmationConsent;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking client for interacting with com.forgerock.sapi.gateway.rcs.consent.store.api.funds.FundsConfirmationConsentApi
+ * <p>
+ * Provides the same operations as the {@link FundsConfirmationConsentStoreClient}, calls are made when the returned
+ * Mono is subscribed to and errors returned by the API are signalled as a {@link ConsentStoreClientException}.
+ * Use {@link Mono#toFuture()} to consume a result as a CompletableFuture.
+ */
+public interface ReactiveFundsConfirmationConsentStoreClient {
+    Mono<FundsConfirmationConsent> createConsent(CreateFundsConfirmationConsentRequest createConsentRequest);
+
+    Mono<FundsConfirmationConsent> getConsent(String consentId, String apiClientId);
+
+    /**
+     * Retrieves multiple Consents in a single call, Consents which do not exist or cannot be accessed by the ApiClient
+     * are omitted from the result.
+     */
+    Mono<List<FundsConfirmationConsent>> getConsents(GetConsentsRequest getConsentsRequest);
+
+    Mono<FundsConfirmationConsent> authoriseConsent(AuthoriseFundsConfirmationConsentRequest authoriseFundsConfirmationConsentRequest);
+
+    Mono<FundsConfirmationConsent> rejectConsent(RejectConsentRequest rejectFundsConfirmationConsentRequest);
+
+    Mono<Void> deleteConsent(String consentId, String apiClientId);
+}
@@ -15,6 +15,8 @@
  */
 package com.forgerock.sapi.gateway.rcs.consent.store.client.payment.domestic;
 
+import java.util.List;
+
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
@@ -23,6 +25,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.forgerock.sapi.gateway.rcs.consent.store.client.BaseRestConsentStoreClient;
 import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientConfiguration;
 import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientException;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.GetConsentsRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.RejectConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.AuthorisePaymentConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.ConsumePaymentConsentRequest;
@@ -39,7 +42,7 @@ public class BaseRestDomesticPaymentConsentStoreClient extends BaseRestConsentSt
 
     public BaseRestDomesticPaymentConsentStoreClient(ConsentStoreClientConfiguration consentStoreClientConfiguration, RestTemplateBuilder restTemplateBuilder,
                                                  ObjectMapper objectMapper, OBVersion obVersion) {
-        super(restTemplateBuilder, objectMapper);
+        super(consentStoreClientConfiguration, restTemplateBuilder, objectMapper);
         this.consentServiceBaseUrl = consentStoreClientConfiguration.getBaseUri() + "/v" + obVersion.getCanonicalVersion() + "/domestic-payment-consents";
     }
 
@@ -56,6 +59,13 @@ public class BaseRestDomesticPaymentConsentStoreClient extends BaseRestConsentSt
         return doRestCall(url, HttpMethod.GET, requestEntity, DomesticPaymentConsent.class);
     }
 
+    @Override
+    public List<DomesticPaymentConsent> getConsents(GetConsentsRequest getConsentsRequest) throws ConsentStoreClientException {
+        final String url = consentServiceBaseUrl + "/batch";
+        final HttpEntity<GetConsentsRequest> requestEntity = new HttpEntity<>(getConsentsRequest, createHeaders(getConsentsRequest.getApiClientId()));
+        return List.of(doRestCall(url, HttpMethod.POST, requestEntity, DomesticPaymentConsent[].class));
+    }
+
     @Override
     public DomesticPaymentConsent authoriseConsent(AuthorisePaymentConsentRequest authRequest) throws ConsentStoreClientException {
         final String url = consentServiceBaseUrl + "/" + authRequest.getConsentId() + "/authorise";
@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.client.payment.domesticscheduled;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.BaseWebClientConsentStoreClient;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientConfiguration;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.GetConsentsRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.RejectConsentRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.AuthorisePaymentConsentRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.ConsumePaymentConsentRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.domesticscheduled.v3_1_10.CreateDomesticScheduledPaymentConsentRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.domesticscheduled.v3_1_10.DomesticScheduledPaymentConsent;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBVersion;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementation of the ReactiveDomesticScheduledPaymentConsentStoreClient which makes non-blocking REST calls over HTTP using a WebClient
+ */
+public class BaseWebClientDomesticScheduledPaymentConsentStoreClient extends BaseWebClientConsentStoreClient implements ReactiveDomesticScheduledPaymentConsentStoreClient {
+
+    protected final String consentServiceBaseUrl;
+    protected final OBVersion obVersion;
+
+    public BaseWebClientDomesticScheduledPaymentConsentStoreClient(
+                 ConsentStoreClientConfiguration consentStoreClientConfiguration,
+                 WebClient.Builder webClientBuilder,
+                 ObjectMapper objectMapper,
+                 OBVersion obVersion) {
+
+        super(consentStoreClientConfiguration, webClientBuilder, objectMapper);
+        this.obVersion = requireNonNull(obVersion, "obVersion must be provided");
+        this.consentServiceBaseUrl = consentStoreClientConfiguration.getBaseUri() + "/v" + obVersion.getCanonicalVersion()
+                + "/domestic-scheduled-payment-consents";
+    }
+
+    @Override
+    public Mono<DomesticScheduledPaymentConsent> createConsent(CreateDomesticScheduledPaymentConsentRequest createConsentRequest) {
+        return doCall(consentServiceBaseUrl, HttpMethod.POST, createConsentRequest, createConsentRequest.getApiClientId(), DomesticScheduledPaymentConsent.class);
+    }
+
+    @Override
+    public Mono<DomesticScheduledPaymentConsent> getConsent(String consentId, String apiClientId) {
+        final String url = consentServiceBaseUrl + "/" + consentId;
+        return doCall(url, HttpMethod.GET, null, apiClientId, DomesticScheduledPaymentConsent.class);
+    }
+
+    @Override
+    public Mono<List<DomesticScheduledPaymentConsent>> getConsents(GetConsentsRequest getConsentsRequest) {
+        final String url = consentServiceBaseUrl + "/batch";
+        return doCall(url, HttpMethod.POST, getConsentsRequest, getConsentsRequest.getApiClientId(), DomesticScheduledPaymentConsent[].class).map(List::of);
+    }
+
+    @Override
+    public Mono<DomesticScheduledPaymentConsent> authoriseConsent(AuthorisePaymentConsentRequest authRequest) {
+        final String url = consentServiceBaseUrl + "/" + authRequest.getConsentId() + "/authorise";
+        return doCall(url, HttpMethod.POST, authRequest, authRequest.getApiClientId(), DomesticScheduledPaymentConsent.class);
+    }
+
+    @Override
+    public Mono<DomesticScheduledPaymentConsent> rejectConsent(RejectConsentRequest rejectRequest) {
+        final String url = consentServiceBaseUrl + "/" + rejectRequest.getConsentId() + "/reject";
+        return doCall(url, HttpMethod.POST, rejectRequest, rejectRequest.getApiClientId(), DomesticScheduledPaymentConsent.class);
+    }
+
+    @Override
+    public Mono<DomesticScheduledPaymentConsent> consumeConsent(ConsumePaymentConsentRequest consumeRequest) {
+        final String url = consentServiceBaseUrl + "/" + consumeRequest.getConsentId() + "/consume";
+        return doCall(url, HttpMethod.POST, consumeRequest, consumeRequest.getApiClientId(), DomesticScheduledPaymentConsent.class);
+    }
+}
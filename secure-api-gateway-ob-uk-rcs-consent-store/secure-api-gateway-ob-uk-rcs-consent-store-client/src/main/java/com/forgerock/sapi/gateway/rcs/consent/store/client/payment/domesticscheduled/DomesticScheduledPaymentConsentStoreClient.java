@@ -15,7 +15,10 @@
  */
 package com.forgerock.sapi.gateway.rcs.consent.store.client.payment.domesticscheduled;
 
+import java.util.List;
+
 import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientException;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.GetConsentsRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.RejectConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.AuthorisePaymentConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.ConsumePaymentConsentRequest;
@@ -31,6 +34,12 @@ public interface DomesticScheduledPaymentConsentStoreClient {
 
     DomesticScheduledPaymentConsent getConsent(String consentId, String apiClientId) throws ConsentStoreClientException;
 
+    /**
+     * Retrieves multiple Consents in a single call, Consents which do not exist or cannot be accessed by the ApiClient
+     * are omitted from the result.
+     */
+    List<DomesticScheduledPaymentConsent> getConsents(GetConsentsRequest getConsentsRequest) throws ConsentStoreClientException;
+
     DomesticScheduledPaymentConsent authoriseConsent(AuthorisePaymentConsentRequest authorisePaymentConsentRequest) throws ConsentStoreClientException;
 
     DomesticScheduledPaymentConsent rejectConsent(RejectConsentRequest rejectDomesticScheduledPaymentConsentRequest) throws ConsentStoreClientException;
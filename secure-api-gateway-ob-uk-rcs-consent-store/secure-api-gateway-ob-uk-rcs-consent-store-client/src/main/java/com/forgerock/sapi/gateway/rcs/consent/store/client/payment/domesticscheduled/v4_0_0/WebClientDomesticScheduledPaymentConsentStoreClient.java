@@ -0,0 +1,39 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.client.payment.domesticscheduled.v4_0_0;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientConfiguration;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.payment.domesticscheduled.BaseWebClientDomesticScheduledPaymentConsentStoreClient;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBVersion;
+
+/**
+ * v4.0.0 implementation of RestDomesticScheduledPaymentConsentStoreClient
+ */
+@Component("v4.0.0WebClientDomesticScheduledPaymentConsentStoreClient")
+public class WebClientDomesticScheduledPaymentConsentStoreClient extends BaseWebClientDomesticScheduledPaymentConsentStoreClient {
+
+    public WebClientDomesticScheduledPaymentConsentStoreClient(
+                 ConsentStoreClientConfiguration consentStoreClientConfiguration,
+                 WebClient.Builder webClientBuilder,
+                 ObjectMapper objectMapper) {
+
+        super(consentStoreClientConfiguration, webClientBuilder, objectMapper, OBVersion.v4_0_0);
+    }
+}
@@ -17,6 +17,8 @@ package com.forgerock.sapi.gateway.rcs.consent.store.client.payment.domesticstan
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.List;
+
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
@@ -25,6 +27,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.forgerock.sapi.gateway.rcs.consent.store.client.BaseRestConsentStoreClient;
 import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientConfiguration;
 import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientException;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.GetConsentsRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.RejectConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.AuthorisePaymentConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.ConsumePaymentConsentRequest;
@@ -44,7 +47,7 @@ public class BaseRestDomesticStandingOrderConsentStoreClient extends BaseRestCon
                                                            RestTemplateBuilder restTemplateBuilder,
                                                            ObjectMapper objectMapper,
                                                            OBVersion obVersion) {
-        super(restTemplateBuilder, objectMapper);
+        super(consentStoreClientConfiguration, restTemplateBuilder, objectMapper);
         this.obVersion = requireNonNull(obVersion, "obVersion must be provided");
         this.consentServiceBaseUrl = consentStoreClientConfiguration.getBaseUri() + "/v" + obVersion.getCanonicalVersion()
                 + "/domestic-standing-order-consents";
@@ -63,6 +66,13 @@ public class BaseRestDomesticStandingOrderConsentStoreClient extends BaseRestCon
         return doRestCall(url, HttpMethod.GET, requestEntity, DomesticStandingOrderConsent.class);
     }
 
+    @Override
+    public List<DomesticStandingOrderConsent> getConsents(GetConsentsRequest getConsentsRequest) throws ConsentStoreClientException {
+        final String url = consentServiceBaseUrl + "/batch";
+        final HttpEntity<GetConsentsRequest> requestEntity = new HttpEntity<>(getConsentsRequest, createHeaders(getConsentsRequest.getApiClientId()));
+        return List.of(doRestCall(url, HttpMethod.POST, requestEntity, DomesticStandingOrderConsent[].class));
+    }
+
     @Override
     public DomesticStandingOrderConsent authoriseConsent(AuthorisePaymentConsentRequest authRequest) throws ConsentStoreClientException {
         final String url = consentServiceBaseUrl + "/" + authRequest.getConsentId() + "/authorise";
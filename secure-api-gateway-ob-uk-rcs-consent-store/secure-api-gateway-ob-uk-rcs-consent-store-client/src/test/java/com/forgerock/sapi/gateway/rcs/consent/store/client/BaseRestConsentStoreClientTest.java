@@ -16,6 +16,8 @@
 package com.forgerock.sapi.gateway.rcs.consent.store.client;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
 
 import java.util.List;
 
@@ -26,6 +28,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBHeaders;
@@ -67,4 +70,15 @@ class BaseRestConsentStoreClientTest {
         assertThat(headers.get(OBHeaders.X_FAPI_INTERACTION_ID)).hasSize(1).first().isEqualTo(fapiInteractionId);
     }
 
-}
\ No newline at end of file
+    @Test
+    void testRestTemplateUsesConsentStoreConnectionPool() {
+        final SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        final ConsentStoreClientConfiguration clientConfiguration = mock(ConsentStoreClientConfiguration.class);
+        given(clientConfiguration.getClientHttpRequestFactory()).willReturn(requestFactory);
+
+        final BaseRestConsentStoreClient client = new BaseRestConsentStoreClient(clientConfiguration, new RestTemplateBuilder(), objectMapper) {};
+
+        assertThat(client.restTemplate.getRequestFactory()).isSameAs(requestFactory);
+    }
+
+}
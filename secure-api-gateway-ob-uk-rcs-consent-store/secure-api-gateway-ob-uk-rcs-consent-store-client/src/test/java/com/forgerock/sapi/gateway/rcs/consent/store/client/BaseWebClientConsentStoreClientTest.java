@@ -0,0 +1,149 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientException.ErrorType;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBHeaders;
+import com.forgerock.sapi.gateway.uk.common.shared.fapi.FapiInteractionIdContext;
+
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class BaseWebClientConsentStoreClientTest {
+
+    private static final String URL = "http://consent-store/consents/1234";
+
+    private final AtomicReference<ClientRequest> lastRequest = new AtomicReference<>();
+
+    private ClientResponse response;
+
+    private BaseWebClientConsentStoreClient client;
+
+    @BeforeEach
+    public void beforeEach() {
+        FapiInteractionIdContext.removeFapiInteractionId();
+        final WebClient.Builder webClientBuilder = WebClient.builder().exchangeFunction(request -> {
+            lastRequest.set(request);
+            return Mono.just(response);
+        });
+        client = new BaseWebClientConsentStoreClient(mock(ConsentStoreClientConfiguration.class), webClientBuilder, new ObjectMapper()) {};
+    }
+
+    @AfterEach
+    public void afterEach() {
+        FapiInteractionIdContext.removeFapiInteractionId();
+    }
+
+    @Test
+    void testCreatingHeadersWithRandomFapiInteractionId() {
+        final String apiClientId = "client-1234";
+        final HttpHeaders headers = client.createHeaders(apiClientId);
+        assertThat(headers.get("x-api-client-id")).isEqualTo(List.of(apiClientId));
+        assertThat(headers.get(OBHeaders.X_FAPI_INTERACTION_ID)).hasSize(1).first().isNotNull();
+    }
+
+    @Test
+    void testCallUsesFapiInteractionIdOfCallingThread() {
+        response = jsonResponse(HttpStatus.OK, "\"ok\"");
+        FapiInteractionIdContext.setFapiInteractionId("fapi-id-1243");
+
+        final Mono<String> result = client.doCall(URL, HttpMethod.GET, null, "client-1234", String.class);
+        // The Mono may be subscribed to on a different thread which does not have the FAPI context
+        FapiInteractionIdContext.removeFapiInteractionId();
+
+        StepVerifier.create(result).expectNext("ok").verifyComplete();
+        final ClientRequest request = lastRequest.get();
+        assertThat(request.method()).isEqualTo(HttpMethod.GET);
+        assertThat(request.url().toString()).isEqualTo(URL);
+        assertThat(request.headers().get("x-api-client-id")).isEqualTo(List.of("client-1234"));
+        assertThat(request.headers().get(OBHeaders.X_FAPI_INTERACTION_ID)).isEqualTo(List.of("fapi-id-1243"));
+    }
+
+    @Test
+    void testCallIsNotMadeUntilSubscribed() {
+        response = jsonResponse(HttpStatus.OK, "\"ok\"");
+
+        final Mono<String> result = client.doCall(URL, HttpMethod.POST, "body", "client-1234", String.class);
+        assertThat(lastRequest.get()).isNull();
+
+        StepVerifier.create(result).expectNext("ok").verifyComplete();
+        assertThat(lastRequest.get().method()).isEqualTo(HttpMethod.POST);
+    }
+
+    @Test
+    void testConsentStoreErrorResponseIsDecoded() {
+        response = jsonResponse(HttpStatus.BAD_REQUEST, "{\"Code\":\"OBRI.Consent.Store.Error\",\"Id\":\"1\",\"Message\":\"error\"," +
+                "\"Errors\":[{\"ErrorCode\":\"INVALID_STATE_TRANSITION\",\"Message\":\"Cannot transition from Rejected to Authorised\"}]}");
+
+        StepVerifier.create(client.doCall(URL, HttpMethod.POST, "body", "client-1234", String.class))
+                    .expectErrorSatisfies(error -> {
+                        assertThat(error).isInstanceOf(ConsentStoreClientException.class)
+                                         .hasMessage("Cannot transition from Rejected to Authorised");
+                        assertThat(((ConsentStoreClientException) error).getErrorType()).isEqualTo(ErrorType.INVALID_STATE_TRANSITION);
+                    })
+                    .verify();
+    }
+
+    @Test
+    void testGeneralErrorResponseIsDecoded() {
+        response = jsonResponse(HttpStatus.BAD_REQUEST, "{\"Code\":\"OBRI.Request.Invalid\",\"Id\":\"1\",\"Message\":\"error\"," +
+                "\"Errors\":[{\"ErrorCode\":\"UK.OBIE.Field.Invalid\",\"Message\":\"must not be null\",\"Path\":\"consentRequest\"}]}");
+
+        StepVerifier.create(client.doCall(URL, HttpMethod.POST, "body", "client-1234", String.class))
+                    .expectErrorSatisfies(error -> {
+                        final ConsentStoreClientException clientException = (ConsentStoreClientException) error;
+                        assertThat(clientException.getErrorType()).isEqualTo(ErrorType.BAD_REQUEST);
+                        assertThat(clientException.getMessage()).isEqualTo("UK.OBIE.Field.Invalid: must not be null path: consentRequest");
+                        assertThat(clientException.getObError1().getPath()).isEqualTo("consentRequest");
+                    })
+                    .verify();
+    }
+
+    @Test
+    void testUndecodableErrorResponse() {
+        response = ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build();
+
+        StepVerifier.create(client.doCall(URL, HttpMethod.GET, null, "client-1234", String.class))
+                    .expectErrorSatisfies(error -> assertThat(((ConsentStoreClientException) error).getErrorType())
+                            .isEqualTo(ErrorType.FAILED_TO_DECODE_RESPONSE))
+                    .verify();
+    }
+
+    private static ClientResponse jsonResponse(HttpStatus status, String body) {
+        return ClientResponse.create(status)
+                             .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                             .body(body)
+                             .build();
+    }
+}
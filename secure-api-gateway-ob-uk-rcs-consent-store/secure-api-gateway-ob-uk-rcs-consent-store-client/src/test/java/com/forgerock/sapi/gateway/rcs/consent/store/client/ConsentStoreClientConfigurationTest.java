@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.utils.http.PooledHttpClientFactory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ConsentStoreClientConfigurationTest {
+
+    private final ConsentStoreClientConfiguration configuration = createConfiguration(50, 50);
+
+    @AfterEach
+    void closeHttpClients() {
+        configuration.closeHttpClients();
+    }
+
+    @Test
+    void publishesPoolMetricsTaggedWithPoolName() {
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        configuration.setMeterRegistry(meterRegistry);
+
+        assertThat(configuration.getClientHttpRequestFactory()).isNotNull();
+
+        for (String state : new String[] {"leased", "available", "pending"}) {
+            assertThat(meterRegistry.get(PooledHttpClientFactory.POOL_CONNECTIONS_METRIC)
+                                    .tag("pool", ConsentStoreClientConfiguration.POOL_NAME)
+                                    .tag("state", state)
+                                    .gauge().value()).isZero();
+        }
+        assertThat(meterRegistry.get(PooledHttpClientFactory.POOL_MAX_METRIC)
+                                .tag("pool", ConsentStoreClientConfiguration.POOL_NAME)
+                                .gauge().value()).isEqualTo(50);
+    }
+
+    @Test
+    void failsValidationForInvalidPoolSizes() {
+        assertThatThrownBy(() -> createConfiguration(0, 0).validateConfig())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("rcs.consent.store.api.connection-pool.maxTotal must be greater than 0");
+        assertThatThrownBy(() -> createConfiguration(10, 20).validateConfig())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("rcs.consent.store.api.connection-pool.maxPerRoute must be greater than 0 and not exceed maxTotal");
+    }
+
+    @Test
+    void failsValidationForNegativeTimeout() {
+        final ConsentStoreClientConfiguration invalidConfiguration = createConfiguration(50, 50);
+        ReflectionTestUtils.setField(invalidConfiguration, "connectTimeout", Duration.ofSeconds(-1));
+
+        assertThatThrownBy(invalidConfiguration::validateConfig)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("rcs.consent.store.api.connection-pool timeouts must not be negative");
+    }
+
+    private static ConsentStoreClientConfiguration createConfiguration(int maxTotal, int maxPerRoute) {
+        final ConsentStoreClientConfiguration configuration = new ConsentStoreClientConfiguration();
+        ReflectionTestUtils.setField(configuration, "baseUri", "http://localhost/consent/store");
+        ReflectionTestUtils.setField(configuration, "maxTotalConnections", maxTotal);
+        ReflectionTestUtils.setField(configuration, "maxConnectionsPerRoute", maxPerRoute);
+        ReflectionTestUtils.setField(configuration, "connectTimeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(configuration, "responseTimeout", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(configuration, "connectionRequestTimeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(configuration, "connectionTimeToLive", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(configuration, "idleEvictionTimeout", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(configuration, "validateAfterInactivity", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(configuration, "maxResponseSize", DataSize.ofMegabytes(16));
+        return configuration;
+    }
+}
@@ -41,6 +41,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FRReadConsentConverter;
 import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientException;
 import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientException.ErrorType;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.GetConsentsRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.RejectConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.account.v3_1_10.AccountAccessConsent;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.account.v3_1_10.AuthoriseAccountAccessConsentRequest;
@@ -131,6 +132,19 @@ public abstract class BaseAccountAccessConsentStoreClientTest {
         assertThat(getResponse).usingRecursiveComparison().isEqualTo(consent);
     }
 
+    @Test
+    void testGetConsents() {
+        final AccountAccessConsent consent1 = apiClient.createConsent(buildCreateConsentRequest());
+        final AccountAccessConsent consent2 = apiClient.createConsent(buildCreateConsentRequest());
+
+        final GetConsentsRequest getConsentsRequest = new GetConsentsRequest();
+        getConsentsRequest.setApiClientId(consent1.getApiClientId());
+        getConsentsRequest.setConsentIds(List.of(consent2.getId(), "AAC_does-not-exist", consent1.getId()));
+        final List<AccountAccessConsent> consents = apiClient.getConsents(getConsentsRequest);
+
+        assertThat(consents).usingRecursiveFieldByFieldElementComparator().containsExactly(consent2, consent1);
+    }
+
     @Test
     void testDeleteConsent() {
         final CreateAccountAccessConsentRequest createConsentRequest = buildCreateConsentRequest();
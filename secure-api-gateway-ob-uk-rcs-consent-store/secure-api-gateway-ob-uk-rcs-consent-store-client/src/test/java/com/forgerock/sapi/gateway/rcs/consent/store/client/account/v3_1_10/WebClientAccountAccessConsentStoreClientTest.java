@@ -0,0 +1,202 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.client.account.v3_1_10;
+
+import static com.forgerock.sapi.gateway.rcs.consent.store.api.account.AccountAccessConsentValidationHelpers.validateAuthorisedConsent;
+import static com.forgerock.sapi.gateway.rcs.consent.store.api.account.AccountAccessConsentValidationHelpers.validateCreateConsentAgainstCreateRequest;
+import static com.forgerock.sapi.gateway.rcs.consent.store.api.account.AccountAccessConsentValidationHelpers.validateRejectedConsent;
+import static com.forgerock.sapi.gateway.rcs.consent.store.client.TestConsentStoreClientConfigurationFactory.createConsentStoreClientConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FRReadConsentConverter;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientException;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientException.ErrorType;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.GetConsentsRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.RejectConsentRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.account.v3_1_10.AccountAccessConsent;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.account.v3_1_10.AuthoriseAccountAccessConsentRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.account.v3_1_10.CreateAccountAccessConsentRequest;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBVersion;
+
+import reactor.core.publisher.Flux;
+import uk.org.openbanking.datamodel.v3.account.OBReadConsent1;
+import uk.org.openbanking.datamodel.v3.account.OBReadConsent1Data;
+import uk.org.openbanking.datamodel.v3.account.OBRisk2;
+import uk.org.openbanking.datamodel.v3.common.OBExternalPermissions1Code;
+
+/**
+ * Test for the non-blocking {@link WebClientAccountAccessConsentStoreClient}, calls are made against the Consent Store
+ * API running in the test application.
+ */
+@SpringBootTest(webEnvironment = RANDOM_PORT, properties = {"rcs.consent.store.api.baseUri= 'ignored'"})
+@ActiveProfiles("test")
+@ExtendWith(SpringExtension.class)
+class WebClientAccountAccessConsentStoreClientTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private WebClientAccountAccessConsentStoreClient apiClient;
+
+    @BeforeEach
+    public void beforeEach() {
+        apiClient = new WebClientAccountAccessConsentStoreClient(createConsentStoreClientConfiguration(port),
+                webClientBuilder, objectMapper);
+    }
+
+    @Test
+    void testCreateConsent() {
+        final CreateAccountAccessConsentRequest createConsentRequest = buildCreateConsentRequest();
+        final AccountAccessConsent consent = apiClient.createConsent(createConsentRequest).block();
+
+        validateCreateConsentAgainstCreateRequest(consent, createConsentRequest, OBVersion.v3_1_10);
+    }
+
+    @Test
+    void testCreateConsentsConcurrently() {
+        final int numConsents = 20;
+        final List<AccountAccessConsent> consents = Flux.fromStream(IntStream.range(0, numConsents).mapToObj(i -> buildCreateConsentRequest()))
+                                                        .flatMap(apiClient::createConsent)
+                                                        .collectList()
+                                                        .block();
+
+        assertThat(consents).hasSize(numConsents);
+        assertThat(consents.stream().map(AccountAccessConsent::getId).distinct()).hasSize(numConsents);
+    }
+
+    @Test
+    void failsToCreateConsentWhenFieldIsMissing() {
+        final CreateAccountAccessConsentRequest requestMissingConsentReqField = new CreateAccountAccessConsentRequest();
+        requestMissingConsentReqField.setApiClientId("test-client-1");
+
+        final ConsentStoreClientException clientException = assertThrows(ConsentStoreClientException.class,
+                () -> apiClient.createConsent(requestMissingConsentReqField).block());
+        assertThat(clientException.getErrorType()).isEqualTo(ErrorType.BAD_REQUEST);
+        assertThat(clientException.getObError1()).isNotNull();
+        assertThat(clientException.getObError1().getErrorCode()).isEqualTo("UK.OBIE.Field.Invalid");
+        assertThat(clientException.getObError1().getPath()).isEqualTo("consentRequest");
+    }
+
+    @Test
+    void testAuthoriseConsent() {
+        final AccountAccessConsent consent = apiClient.createConsent(buildCreateConsentRequest()).block();
+
+        final AuthoriseAccountAccessConsentRequest authRequest = new AuthoriseAccountAccessConsentRequest();
+        authRequest.setAuthorisedAccountIds(List.of("acc-12345", "another-acc-adffds"));
+        authRequest.setConsentId(consent.getId());
+        authRequest.setResourceOwnerId("psu4test");
+        authRequest.setApiClientId(consent.getApiClientId());
+        final AccountAccessConsent authResponse = apiClient.authoriseConsent(authRequest).block();
+
+        validateAuthorisedConsent(authResponse, authRequest, consent);
+    }
+
+    @Test
+    void testRejectConsent() {
+        final AccountAccessConsent consent = apiClient.createConsent(buildCreateConsentRequest()).block();
+
+        final RejectConsentRequest rejectRequest = buildRejectRequest(consent);
+        final AccountAccessConsent rejectedConsent = apiClient.rejectConsent(rejectRequest).block();
+
+        validateRejectedConsent(rejectedConsent, rejectRequest, consent);
+    }
+
+    @Test
+    void failsToRejectConsentTwice() {
+        final AccountAccessConsent consent = apiClient.createConsent(buildCreateConsentRequest()).block();
+        apiClient.rejectConsent(buildRejectRequest(consent)).block();
+
+        final ConsentStoreClientException clientException = assertThrows(ConsentStoreClientException.class,
+                () -> apiClient.rejectConsent(buildRejectRequest(consent)).block());
+        assertThat(clientException.getErrorType()).isEqualTo(ErrorType.INVALID_STATE_TRANSITION);
+    }
+
+    @Test
+    void testGetConsent() {
+        final AccountAccessConsent consent = apiClient.createConsent(buildCreateConsentRequest()).block();
+        final AccountAccessConsent getResponse = apiClient.getConsent(consent.getId(), consent.getApiClientId()).block();
+        assertThat(getResponse).usingRecursiveComparison().isEqualTo(consent);
+    }
+
+    @Test
+    void failsToGetConsentThatDoesNotExist() {
+        final ConsentStoreClientException clientException = assertThrows(ConsentStoreClientException.class,
+                () -> apiClient.getConsent("AAC_does-not-exist", "test-client-1").block());
+        assertThat(clientException.getErrorType()).isEqualTo(ErrorType.NOT_FOUND);
+    }
+
+    @Test
+    void testGetConsents() {
+        final AccountAccessConsent consent1 = apiClient.createConsent(buildCreateConsentRequest()).block();
+        final AccountAccessConsent consent2 = apiClient.createConsent(buildCreateConsentRequest()).block();
+
+        final GetConsentsRequest getConsentsRequest = new GetConsentsRequest();
+        getConsentsRequest.setApiClientId(consent1.getApiClientId());
+        getConsentsRequest.setConsentIds(List.of(consent2.getId(), "AAC_does-not-exist", consent1.getId()));
+        final List<AccountAccessConsent> consents = apiClient.getConsents(getConsentsRequest).block();
+
+        assertThat(consents).usingRecursiveFieldByFieldElementComparator().containsExactly(consent2, consent1);
+    }
+
+    @Test
+    void testDeleteConsent() {
+        final AccountAccessConsent consent = apiClient.createConsent(buildCreateConsentRequest()).block();
+        apiClient.deleteConsent(consent.getId(), consent.getApiClientId()).block();
+
+        final ConsentStoreClientException clientException = assertThrows(ConsentStoreClientException.class,
+                () -> apiClient.getConsent(consent.getId(), consent.getApiClientId()).block());
+        assertThat(clientException.getErrorType()).isEqualTo(ErrorType.NOT_FOUND);
+    }
+
+    private static CreateAccountAccessConsentRequest buildCreateConsentRequest() {
+        final CreateAccountAccessConsentRequest createConsentRequest = new CreateAccountAccessConsentRequest();
+        createConsentRequest.setApiClientId("test-client-1");
+        createConsentRequest.setConsentRequest(FRReadConsentConverter.toFRReadConsent(new OBReadConsent1()
+                                                    .data(new OBReadConsent1Data().permissions(List.of(OBExternalPermissions1Code.READACCOUNTSBASIC)))
+                                                    .risk(new OBRisk2())));
+        return createConsentRequest;
+    }
+
+    private static RejectConsentRequest buildRejectRequest(AccountAccessConsent consent) {
+        final RejectConsentRequest rejectRequest = new RejectConsentRequest();
+        rejectRequest.setApiClientId(consent.getApiClientId());
+        rejectRequest.setConsentId(consent.getId());
+        rejectRequest.setResourceOwnerId("joe.bloggs");
+        return rejectRequest;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.client.payment.domestic.v3_1_10;
+
+import static com.forgerock.sapi.gateway.rcs.consent.store.api.payment.PaymentConsentValidationHelpers.validateAuthorisedConsent;
+import static com.forgerock.sapi.gateway.rcs.consent.store.api.payment.PaymentConsentValidationHelpers.validateConsumedConsent;
+import static com.forgerock.sapi.gateway.rcs.consent.store.api.payment.PaymentConsentValidationHelpers.validateCreateConsentAgainstCreateRequest;
+import static com.forgerock.sapi.gateway.rcs.consent.store.client.TestConsentStoreClientConfigurationFactory.createConsentStoreClientConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRAmount;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRCharge;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRChargeBearerType;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.payment.FRWriteDomesticConsentConverter;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientException;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientException.ErrorType;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.AuthorisePaymentConsentRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.ConsumePaymentConsentRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.domestic.v3_1_10.CreateDomesticPaymentConsentRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.domestic.v3_1_10.DomesticPaymentConsent;
+
+import uk.org.openbanking.datamodel.v3.payment.OBPaymentConsentStatus;
+import uk.org.openbanking.testsupport.v3.payment.OBWriteDomesticConsentTestDataFactory;
+
+/**
+ * Test for the non-blocking {@link WebClientDomesticPaymentConsentStoreClient}, calls are made against the Consent Store
+ * API running in the test application.
+ */
+@SpringBootTest(webEnvironment = RANDOM_PORT, properties = {"rcs.consent.store.api.baseUri= 'ignored'"})
+@ActiveProfiles("test")
+@ExtendWith(SpringExtension.class)
+class WebClientDomesticPaymentConsentStoreClientTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private WebClientDomesticPaymentConsentStoreClient apiClient;
+
+    @BeforeEach
+    public void beforeEach() {
+        apiClient = new WebClientDomesticPaymentConsentStoreClient(createConsentStoreClientConfiguration(port),
+                webClientBuilder, objectMapper);
+    }
+
+    @Test
+    void testCreateConsent() {
+        final CreateDomesticPaymentConsentRequest createConsentRequest = buildCreateConsentRequest();
+        final DomesticPaymentConsent consent = apiClient.createConsent(createConsentRequest).block();
+
+        validateCreateConsentAgainstCreateRequest(consent, createConsentRequest);
+    }
+
+    @Test
+    void failsToCreateConsentWhenFieldIsMissing() {
+        final CreateDomesticPaymentConsentRequest requestMissingIdempotencyField = buildCreateConsentRequest();
+        requestMissingIdempotencyField.setIdempotencyKey(null);
+
+        final ConsentStoreClientException clientException = assertThrows(ConsentStoreClientException.class,
+                () -> apiClient.createConsent(requestMissingIdempotencyField).block());
+        assertThat(clientException.getErrorType()).isEqualTo(ErrorType.BAD_REQUEST);
+        assertThat(clientException.getObError1()).isNotNull();
+        assertThat(clientException.getObError1().getErrorCode()).isEqualTo("UK.OBIE.Field.Invalid");
+        assertThat(clientException.getObError1().getPath()).isEqualTo("idempotencyKey");
+    }
+
+    @Test
+    void testAuthoriseAndConsumeConsent() {
+        final DomesticPaymentConsent consent = apiClient.createConsent(buildCreateConsentRequest()).block();
+
+        final AuthorisePaymentConsentRequest authRequest = new AuthorisePaymentConsentRequest();
+        authRequest.setAuthorisedDebtorAccountId("acc-12345");
+        authRequest.setConsentId(consent.getId());
+        authRequest.setResourceOwnerId("psu4test");
+        authRequest.setApiClientId(consent.getApiClientId());
+        final DomesticPaymentConsent authResponse = apiClient.authoriseConsent(authRequest).block();
+        validateAuthorisedConsent(authResponse, authRequest, consent);
+
+        final ConsumePaymentConsentRequest consumeRequest = new ConsumePaymentConsentRequest();
+        consumeRequest.setApiClientId(consent.getApiClientId());
+        consumeRequest.setConsentId(consent.getId());
+        final DomesticPaymentConsent consumedConsent = apiClient.consumeConsent(consumeRequest).block();
+        assertThat(consumedConsent.getStatus()).isEqualTo(OBPaymentConsentStatus.CONSUMED.toString());
+        validateConsumedConsent(consumedConsent, authResponse);
+    }
+
+    @Test
+    void failsToConsumeConsentWhichIsNotAuthorised() {
+        final DomesticPaymentConsent consent = apiClient.createConsent(buildCreateConsentRequest()).block();
+
+        final ConsumePaymentConsentRequest consumeRequest = new ConsumePaymentConsentRequest();
+        consumeRequest.setApiClientId(consent.getApiClientId());
+        consumeRequest.setConsentId(consent.getId());
+        final ConsentStoreClientException clientException = assertThrows(ConsentStoreClientException.class,
+                () -> apiClient.consumeConsent(consumeRequest).block());
+        assertThat(clientException.getErrorType()).isEqualTo(ErrorType.INVALID_STATE_TRANSITION);
+    }
+
+    @Test
+    void testGetConsent() {
+        final DomesticPaymentConsent consent = apiClient.createConsent(buildCreateConsentRequest()).block();
+        final DomesticPaymentConsent getResponse = apiClient.getConsent(consent.getId(), consent.getApiClientId()).block();
+        assertThat(getResponse).usingRecursiveComparison().isEqualTo(consent);
+    }
+
+    @Test
+    void failsToGetConsentThatDoesNotExist() {
+        final ConsentStoreClientException clientException = assertThrows(ConsentStoreClientException.class,
+                () -> apiClient.getConsent("PDC_does-not-exist", "test-client-1").block());
+        assertThat(clientException.getErrorType()).isEqualTo(ErrorType.NOT_FOUND);
+    }
+
+    private static CreateDomesticPaymentConsentRequest buildCreateConsentRequest() {
+        final CreateDomesticPaymentConsentRequest createConsentRequest = new CreateDomesticPaymentConsentRequest();
+        createConsentRequest.setIdempotencyKey(UUID.randomUUID().toString());
+        createConsentRequest.setApiClientId("test-client-1");
+        createConsentRequest.setConsentRequest(FRWriteDomesticConsentConverter.toFRWriteDomesticConsent(OBWriteDomesticConsentTestDataFactory.aValidOBWriteDomesticConsent4()));
+        createConsentRequest.setCharges(List.of(
+                FRCharge.builder().type("fee")
+                        .chargeBearer(FRChargeBearerType.BORNEBYCREDITOR)
+                        .amount(new FRAmount("1.25","GBP"))
+                        .build()));
+        return createConsentRequest;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.client.payment.file.v3_1_10;
+
+import static com.forgerock.sapi.gateway.rcs.consent.store.api.payment.file.FilePaymentConsentValidationHelpers.validateConsentAgainstFileUploadRequest;
+import static com.forgerock.sapi.gateway.rcs.consent.store.api.payment.file.FilePaymentConsentValidationHelpers.validateCreateConsentAgainstCreateRequest;
+import static com.forgerock.sapi.gateway.rcs.consent.store.client.TestConsentStoreClientConfigurationFactory.createConsentStoreClientConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRAmount;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRCharge;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRChargeBearerType;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.payment.FRWriteFileConsentConverter;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientException;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientException.ErrorType;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.file.v3_1_10.CreateFilePaymentConsentRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.file.v3_1_10.FilePaymentConsent;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.file.v3_1_10.FileUploadRequest;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBVersion;
+
+import uk.org.openbanking.testsupport.v3.payment.OBWriteFileConsentTestDataFactory;
+
+/**
+ * Test for the non-blocking {@link WebClientFilePaymentConsentStoreClient}, calls are made against the Consent Store
+ * API running in the test application.
+ */
+@SpringBootTest(webEnvironment = RANDOM_PORT, properties = {"rcs.consent.store.api.baseUri= 'ignored'"})
+@ActiveProfiles("test")
+@ExtendWith(SpringExtension.class)
+class WebClientFilePaymentConsentStoreClientTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private WebClientFilePaymentConsentStoreClient apiClient;
+
+    @BeforeEach
+    public void beforeEach() {
+        apiClient = new WebClientFilePaymentConsentStoreClient(createConsentStoreClientConfiguration(port),
+                webClientBuilder, objectMapper);
+    }
+
+    @Test
+    void testUploadFile() {
+        final CreateFilePaymentConsentRequest createConsentRequest = buildCreateConsentRequest();
+        final FilePaymentConsent consent = apiClient.createConsent(createConsentRequest).block();
+        validateCreateConsentAgainstCreateRequest(consent, createConsentRequest, OBVersion.v3_1_10);
+
+        final FileUploadRequest fileUploadRequest = buildFileUploadRequest(consent);
+        final FilePaymentConsent consentWithFile = apiClient.uploadFile(fileUploadRequest).block();
+        validateConsentAgainstFileUploadRequest(consentWithFile, fileUploadRequest, consent);
+    }
+
+    @Test
+    void failsToUploadFileWhenFieldIsMissing() {
+        final FilePaymentConsent consent = apiClient.createConsent(buildCreateConsentRequest()).block();
+
+        final FileUploadRequest requestMissingIdempotencyKey = buildFileUploadRequest(consent);
+        requestMissingIdempotencyKey.setFileUploadIdempotencyKey(null);
+
+        final ConsentStoreClientException clientException = assertThrows(ConsentStoreClientException.class,
+                () -> apiClient.uploadFile(requestMissingIdempotencyKey).block());
+        assertThat(clientException.getErrorType()).isEqualTo(ErrorType.BAD_REQUEST);
+        assertThat(clientException.getObError1()).isNotNull();
+        assertThat(clientException.getObError1().getErrorCode()).isEqualTo("UK.OBIE.Field.Invalid");
+        assertThat(clientException.getObError1().getPath()).isEqualTo("fileUploadIdempotencyKey");
+    }
+
+    @Test
+    void failsToUploadFileForConsentThatDoesNotExist() {
+        final FileUploadRequest fileUploadRequest = new FileUploadRequest();
+        fileUploadRequest.setFileContents("<xml>blahblahblah</xml>");
+        fileUploadRequest.setFileUploadIdempotencyKey(UUID.randomUUID().toString());
+        fileUploadRequest.setConsentId("PFC_does-not-exist");
+        fileUploadRequest.setApiClientId("test-client-1");
+
+        final ConsentStoreClientException clientException = assertThrows(ConsentStoreClientException.class,
+                () -> apiClient.uploadFile(fileUploadRequest).block());
+        assertThat(clientException.getErrorType()).isEqualTo(ErrorType.NOT_FOUND);
+    }
+
+    private static CreateFilePaymentConsentRequest buildCreateConsentRequest() {
+        final CreateFilePaymentConsentRequest createConsentRequest = new CreateFilePaymentConsentRequest();
+        createConsentRequest.setIdempotencyKey(UUID.randomUUID().toString());
+        createConsentRequest.setApiClientId("test-client-1");
+        createConsentRequest.setConsentRequest(FRWriteFileConsentConverter.toFRWriteFileConsent(OBWriteFileConsentTestDataFactory.aValidOBWriteFileConsent3("fileType", "hash", "23", BigDecimal.ONE)));
+        createConsentRequest.setCharges(List.of(
+                FRCharge.builder().type("fee")
+                        .chargeBearer(FRChargeBearerType.BORNEBYCREDITOR)
+                        .amount(new FRAmount("1.25","GBP"))
+                        .build()));
+        return createConsentRequest;
+    }
+
+    private static FileUploadRequest buildFileUploadRequest(FilePaymentConsent filePaymentConsent) {
+        final FileUploadRequest fileUploadRequest = new FileUploadRequest();
+        fileUploadRequest.setFileContents("<xml>blahblahblah</xml>");
+        fileUploadRequest.setFileUploadIdempotencyKey(UUID.randomUUID().toString());
+        fileUploadRequest.setConsentId(filePaymentConsent.getId());
+        fileUploadRequest.setApiClientId(filePaymentConsent.getApiClientId());
+        return fileUploadRequest;
+    }
+}
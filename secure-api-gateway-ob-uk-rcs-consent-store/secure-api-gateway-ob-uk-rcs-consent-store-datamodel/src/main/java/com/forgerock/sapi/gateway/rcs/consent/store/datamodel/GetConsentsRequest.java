@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.datamodel;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Request to retrieve multiple Consents of the same type in a single call.
+ * <p>
+ * Consents which do not exist or cannot be accessed by the ApiClient are omitted from the response. When statusOnly is
+ * set then only the id, apiClientId, requestVersion, status and statusUpdateDateTime fields of the Consents are returned.
+ */
+@Validated
+public class GetConsentsRequest {
+
+    @NotNull
+    private String apiClientId;
+
+    @NotEmpty
+    private List<@NotNull String> consentIds;
+
+    private boolean statusOnly;
+
+    public GetConsentsRequest() {
+    }
+
+    public String getApiClientId() {
+        return apiClientId;
+    }
+
+    public void setApiClientId(String apiClientId) {
+        this.apiClientId = apiClientId;
+    }
+
+    public List<String> getConsentIds() {
+        return consentIds;
+    }
+
+    public void setConsentIds(List<String> consentIds) {
+        this.consentIds = consentIds;
+    }
+
+    public boolean isStatusOnly() {
+        return statusOnly;
+    }
+
+    public void setStatusOnly(boolean statusOnly) {
+        this.statusOnly = statusOnly;
+    }
+
+    @Override
+    public String toString() {
+        return "GetConsentsRequest{" +
+                "apiClientId='" + apiClientId + '\'' +
+                ", consentIds=" + consentIds +
+                ", statusOnly=" + statusOnly +
+                '}';
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.datamodel;
+
+import java.util.List;
+
+import jakarta.validation.constraints.Min;
+
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Request to list a page of Consents of the same type, supplied as query parameters.
+ * <p>
+ * At least one of apiClientId and resourceOwnerId must be supplied. Consents are listed in creationDateTime order, the
+ * next page is requested by setting afterConsentId to the id of the last Consent of the previous page. A page with
+ * fewer than pageSize Consents is the last page.
+ */
+@Validated
+public class ListConsentsRequest {
+
+    public static final int DEFAULT_PAGE_SIZE = 1000;
+
+    private String apiClientId;
+
+    private String resourceOwnerId;
+
+    /**
+     * OBIE status values to match, Consents in any status are listed if this is not supplied
+     */
+    private List<String> status;
+
+    private String afterConsentId;
+
+    @Min(1)
+    private int pageSize = DEFAULT_PAGE_SIZE;
+
+    public ListConsentsRequest() {
+    }
+
+    public String getApiClientId() {
+        return apiClientId;
+    }
+
+    public void setApiClientId(String apiClientId) {
+        this.apiClientId = apiClientId;
+    }
+
+    public String getResourceOwnerId() {
+        return resourceOwnerId;
+    }
+
+    public void setResourceOwnerId(String resourceOwnerId) {
+        this.resourceOwnerId = resourceOwnerId;
+    }
+
+    public List<String> getStatus() {
+        return status;
+    }
+
+    public void setStatus(List<String> status) {
+        this.status = status;
+    }
+
+    public String getAfterConsentId() {
+        return afterConsentId;
+    }
+
+    public void setAfterConsentId(String afterConsentId) {
+        this.afterConsentId = afterConsentId;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public String toString() {
+        return "ListConsentsRequest{" +
+                "apiClientId='" + apiClientId + '\'' +
+                ", resourceOwnerId='" + resourceOwnerId + '\'' +
+                ", status=" + status +
+                ", afterConsentId='" + afterConsentId + '\'' +
+                ", pageSize=" + pageSize +
+                '}';
+    }
+}
@@ -31,10 +31,15 @@ import org.springframework.core.annotation.Order;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
 import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+import org.springframework.util.StringUtils;
 
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.ConsentStatus;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.DefaultConsentRepository;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.MongoRepoPackageMarker;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.BaseConsentService;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentServiceFactory;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.version.ApiVersionCompatibilityMatrix;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.version.ApiVersionContext;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.version.ApiVersionValidator;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.version.BackwardsCompatibilityApiVersionValidator;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
@@ -44,7 +49,7 @@ import jakarta.annotation.PostConstruct;
 
 @Configuration
 @ComponentScan(basePackageClasses = ConsentStoreConfiguration.class)
-@EnableMongoRepositories(basePackageClasses = MongoRepoPackageMarker.class)
+@EnableMongoRepositories(basePackageClasses = MongoRepoPackageMarker.class, repositoryBaseClass = DefaultConsentRepository.class)
 @EnableMongoAuditing
 @Order(value = Ordered.HIGHEST_PRECEDENCE)
 public class ConsentStoreConfiguration {
@@ -68,29 +73,36 @@ public class ConsentStoreConfiguration {
     }
 
     /**
-     * Create MongoCustomConversions instance with Joda Time converters
+     * Create MongoCustomConversions instance with Joda Time and ConsentStatus converters
      */
     @Bean
     public MongoCustomConversions mongoCustomConversions() {
-        logger.info("Installing joda time converters for Mongo");
-        return new MongoCustomConversions(new ArrayList<>(JodaTimeConverters.getConvertersToRegister()));
+        logger.info("Installing joda time and consent status converters for Mongo");
+        final List<Object> converters = new ArrayList<>(JodaTimeConverters.getConvertersToRegister());
+        converters.addAll(ConsentStatus.getConvertersToRegister());
+        return new MongoCustomConversions(converters);
     }
 
+    /**
+     * The compatibility of each pair of API versions is computed once, the ConsentServices then look up whether a
+     * Consent can be accessed by the API version of each call.
+     */
     @Bean
     public ApiVersionValidator apiVersionValidator() {
-        return new BackwardsCompatibilityApiVersionValidator();
+        return ApiVersionCompatibilityMatrix.of(new BackwardsCompatibilityApiVersionValidator());
     }
 
     /**
-     * Dynamically creates and registers the internal ConsentService objects. The internal services are used by
-     * RCS code which is not being invoked by the Consent Store REST API i.e. for internal use cases where there is
-     * no requirement to check an API version.
+     * Dynamically creates and registers the ConsentService objects, one service is created per IntentType. The
+     * services are shared by the RCS code which is not being invoked by the Consent Store REST API (i.e. the Consent
+     * Details and Decision UI functionality) and by each version of the Consent Store REST API.
      * <p>
-     * Currently, the internal services are used for the Consent Details and Decision UI functionality.
+     * The API version of a call is supplied via the {@link ApiVersionContext}, calls made without an API version apply
+     * no API version validation.
      * <p>
-     * The beans registered will be named as follows: internal$ConsentServiceInterfaceClassName e.g. internalAccountAccessConsentService
+     * The beans registered will be named as follows: $consentServiceInterfaceClassName e.g. accountAccessConsentService
      * <p>
-     * In order to autowire these services, components need to be annotated with @DependsOn({"internalConsentServices"})
+     * In order to autowire these services, components need to be annotated with @DependsOn({"consentServices"})
      * to ensure that these services have been created prior to the component being constructed.
      *
      * @param consentServiceFactories the factories used to create the services
@@ -98,20 +110,24 @@ public class ConsentStoreConfiguration {
      * @return List of created services
      */
     @Bean
-    public List<BaseConsentService> internalConsentServices(List<ConsentServiceFactory> consentServiceFactories, ConfigurableListableBeanFactory beanFactory) {
+    public List<BaseConsentService> consentServices(List<ConsentServiceFactory> consentServiceFactories, ConfigurableListableBeanFactory beanFactory) {
         return consentServiceFactories.stream().map(consentServiceFactory -> {
-            BaseConsentService internalConsentService = consentServiceFactory.createInternalConsentService();
-            final String beanName = "internal" + getConsentServiceClassNameFromFactoryClass(consentServiceFactory.getClass());
+            BaseConsentService consentService = consentServiceFactory.createConsentService();
+            final String beanName = getConsentServiceBeanName(consentServiceFactory.getClass());
 
             // initializeBean is important as it ensures that the services are proxied by Spring, which enables it to add
             // the runtime support for validation annotations i.e. @Validated and @Valid (and any other annotations supported by Spring).
-            internalConsentService = (BaseConsentService) beanFactory.initializeBean(internalConsentService, beanName);
-            beanFactory.registerSingleton(beanName, internalConsentService);
-            beanFactory.autowireBean(internalConsentService);
-            return internalConsentService;
+            consentService = (BaseConsentService) beanFactory.initializeBean(consentService, beanName);
+            beanFactory.registerSingleton(beanName, consentService);
+            beanFactory.autowireBean(consentService);
+            return consentService;
         }).toList();
     }
 
+    public static String getConsentServiceBeanName(Class<? extends ConsentServiceFactory> clazz) {
+        return StringUtils.uncapitalize(getConsentServiceClassNameFromFactoryClass(clazz));
+    }
+
     public static String getConsentServiceClassNameFromFactoryClass(Class<? extends ConsentServiceFactory> clazz) {
         return clazz.getSimpleName().replace("Factory", "");
     }
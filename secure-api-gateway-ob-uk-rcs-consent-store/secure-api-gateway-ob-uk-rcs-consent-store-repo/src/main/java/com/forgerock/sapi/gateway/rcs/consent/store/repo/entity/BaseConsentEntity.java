@@ -55,10 +55,10 @@ public class BaseConsentEntity<T> {
     private OBVersion requestVersion;
 
     /**
-     * Current status of the Consent
+     * Current status of the Consent, persisted as the OBIE status value
      */
     @NotNull
-    private String status;
+    private ConsentStatus status;
 
     /**
      * Id of the OAuth2.0 ApiClient which was used to create this Consent
@@ -108,7 +108,14 @@ public class BaseConsentEntity<T> {
         return requestVersion;
     }
 
+    /**
+     * @return the OBIE status value of the Consent
+     */
     public String getStatus() {
+        return status == null ? null : status.getValue();
+    }
+
+    public ConsentStatus getConsentStatus() {
         return status;
     }
 
@@ -124,7 +131,15 @@ public class BaseConsentEntity<T> {
         this.requestVersion = requestVersion;
     }
 
+    /**
+     * @param status the OBIE status value of the Consent
+     * @throws IllegalArgumentException if the status is not a valid {@link ConsentStatus} value
+     */
     public void setStatus(String status) {
+        this.status = status == null ? null : ConsentStatus.fromValue(status);
+    }
+
+    public void setConsentStatus(ConsentStatus status) {
         this.status = status;
     }
 
@@ -0,0 +1,96 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.entity;
+
+import java.util.List;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+/**
+ * Status values which a Consent can take, the union of the statuses used by the OBIE Consent state models.
+ * <p>
+ * Consents are persisted using the OBIE status value e.g. "AwaitingAuthorisation", the converters returned by
+ * {@link #getConvertersToRegister()} must be registered with Mongo in order to map between the values.
+ */
+public enum ConsentStatus {
+
+    AWAITING_UPLOAD("AwaitingUpload"),
+    AWAITING_AUTHORISATION("AwaitingAuthorisation"),
+    AUTHORISED("Authorised"),
+    REJECTED("Rejected"),
+    REVOKED("Revoked"),
+    CONSUMED("Consumed");
+
+    private static final ConsentStatus[] VALUES = values();
+
+    private final String value;
+
+    ConsentStatus(String value) {
+        this.value = value;
+    }
+
+    /**
+     * @return the OBIE status value
+     */
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+
+    /**
+     * @param value the OBIE status value
+     * @return the ConsentStatus for the value
+     * @throws IllegalArgumentException if the value is not a valid ConsentStatus
+     */
+    public static ConsentStatus fromValue(String value) {
+        for (ConsentStatus consentStatus : VALUES) {
+            if (consentStatus.value.equals(value)) {
+                return consentStatus;
+            }
+        }
+        throw new IllegalArgumentException("Unexpected ConsentStatus value: " + value);
+    }
+
+    public static List<Converter<?, ?>> getConvertersToRegister() {
+        return List.of(ConsentStatusToStringConverter.INSTANCE, StringToConsentStatusConverter.INSTANCE);
+    }
+
+    @WritingConverter
+    enum ConsentStatusToStringConverter implements Converter<ConsentStatus, String> {
+        INSTANCE;
+
+        @Override
+        public String convert(ConsentStatus source) {
+            return source.getValue();
+        }
+    }
+
+    @ReadingConverter
+    enum StringToConsentStatusConverter implements Converter<String, ConsentStatus> {
+        INSTANCE;
+
+        @Override
+        public ConsentStatus convert(String source) {
+            return fromValue(source);
+        }
+    }
+}
@@ -40,6 +40,16 @@ public abstract class BasePaymentConsentEntity<T> extends BaseConsentEntity<T> {
      */
     @NotNull
     private DateTime idempotencyKeyExpiration;
+    /**
+     * Fingerprint of the requestObj, computed when the Consent is created and used to check whether a request which
+     * reuses the idempotencyKey is the same request. May be null for Consents created by earlier versions.
+     */
+    private String requestFingerprint;
+    /**
+     * Copy of the idempotencyKey which is unset once the key has expired and is reused to create another Consent,
+     * enforces that an unexpired key is used by at most one Consent via a unique index.
+     */
+    private String activeIdempotencyKey;
     /**
      * Id of the DebtorAccount that the Resource Owner has authorised that the payment can be taken from
      *
@@ -76,6 +86,22 @@ public abstract class BasePaymentConsentEntity<T> extends BaseConsentEntity<T> {
         this.idempotencyKeyExpiration = idempotencyKeyExpiration;
     }
 
+    public String getRequestFingerprint() {
+        return requestFingerprint;
+    }
+
+    public void setRequestFingerprint(String requestFingerprint) {
+        this.requestFingerprint = requestFingerprint;
+    }
+
+    public String getActiveIdempotencyKey() {
+        return activeIdempotencyKey;
+    }
+
+    public void setActiveIdempotencyKey(String activeIdempotencyKey) {
+        this.activeIdempotencyKey = activeIdempotencyKey;
+    }
+
     public List<FRCharge> getCharges() {
         return charges;
     }
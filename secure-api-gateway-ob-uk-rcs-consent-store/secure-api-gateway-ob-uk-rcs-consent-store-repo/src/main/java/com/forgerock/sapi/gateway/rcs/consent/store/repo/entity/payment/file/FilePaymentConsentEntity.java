@@ -28,8 +28,22 @@ import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.BasePaym
 @Validated
 public class FilePaymentConsentEntity extends BasePaymentConsentEntity<FRWriteFileConsent> {
 
+    /**
+     * File content stored inline in the Consent document by earlier versions of the Consent Store, new uploads are
+     * stored in the FilePaymentContentStore and referenced by fileContentId.
+     */
     private String fileContent;
 
+    /**
+     * Id of the uploaded file in the FilePaymentContentStore
+     */
+    private String fileContentId;
+
+    /**
+     * Hex encoded SHA-256 digest of the uploaded file, used for the file upload idempotency check
+     */
+    private String fileContentSha256;
+
     /**
      * IdempotencyKey for the file upload operation
      */
@@ -43,6 +57,22 @@ public class FilePaymentConsentEntity extends BasePaymentConsentEntity<FRWriteFi
         this.fileContent = fileContent;
     }
 
+    public String getFileContentId() {
+        return fileContentId;
+    }
+
+    public void setFileContentId(String fileContentId) {
+        this.fileContentId = fileContentId;
+    }
+
+    public String getFileContentSha256() {
+        return fileContentSha256;
+    }
+
+    public void setFileContentSha256(String fileContentSha256) {
+        this.fileContentSha256 = fileContentSha256;
+    }
+
     public String getFileUploadIdempotencyKey() {
         return fileUploadIdempotencyKey;
     }
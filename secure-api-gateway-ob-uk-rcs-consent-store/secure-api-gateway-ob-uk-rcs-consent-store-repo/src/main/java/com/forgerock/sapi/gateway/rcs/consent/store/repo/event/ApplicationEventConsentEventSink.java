@@ -0,0 +1,45 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.event;
+
+import static java.util.Objects.requireNonNull;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes {@link ConsentStatusEvent}s as Spring application events, in-process components receive the events via an
+ * {@link org.springframework.context.event.EventListener} method which takes a ConsentStatusEvent parameter.
+ * <p>
+ * This sink runs before any other sinks, so that in-process caches are invalidated first.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ApplicationEventConsentEventSink implements ConsentEventSink {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public ApplicationEventConsentEventSink(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = requireNonNull(applicationEventPublisher, "applicationEventPublisher must be provided");
+    }
+
+    @Override
+    public void publish(ConsentStatusEvent event) {
+        applicationEventPublisher.publishEvent(event);
+    }
+}
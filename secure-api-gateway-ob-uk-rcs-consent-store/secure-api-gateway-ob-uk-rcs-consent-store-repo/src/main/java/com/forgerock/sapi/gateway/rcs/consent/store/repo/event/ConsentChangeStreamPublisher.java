@@ -0,0 +1,398 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.event;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.ConsentStoreEnabledIntentTypes;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.BaseConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.ConsentStatus;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.account.AccountAccessConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.customerinfo.CustomerInfoConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.funds.FundsConfirmationConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.domestic.DomesticPaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.domestic.DomesticScheduledPaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.domestic.DomesticStandingOrderConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.file.FilePaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.international.InternationalPaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.international.InternationalScheduledPaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.international.InternationalStandingOrderConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.vrp.DomesticVRPConsentEntity;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.UpdateDescription;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Publishes a {@link ConsentStatusEvent} to the {@link ConsentEventSink}s each time the status of a Consent changes,
+ * allowing downstream caches to be invalidated on change rather than polling the Consent Store.
+ * <p>
+ * The changes are read from a single Mongo change stream over the Consent database, the pipeline is filtered to
+ * updates of the status field in the collections of the IntentTypes which are enabled to use the Consent Store. The
+ * status transitions made by the ConsentServices (authorise, reject, consume and delete) are all such updates. The
+ * apiClientId and resourceOwnerId are taken from a lookup of the current version of the Consent, which is projected to
+ * just these fields.
+ * <p>
+ * The resume token of the stream is periodically saved via the {@link ConsentEventResumeTokenStore}, after a restart the
+ * feed continues from the saved token, so events are delivered at least once. If the token is no longer in the oplog
+ * then the feed restarts from the current time and a warning is logged.
+ * <p>
+ * Change streams require Mongo to be running as a replica set or sharded cluster, publication is disabled by default
+ * and is enabled via config, see {@link ConsentEventConfiguration}. When enabled, the change stream is read by a single
+ * background thread per application instance, which also calls the sinks. The number of events published and the
+ * number of sink failures are published in the {@value #PUBLISHED_EVENTS_METRIC} and {@value #SINK_FAILURES_METRIC}
+ * counters.
+ */
+@Component
+public class ConsentChangeStreamPublisher {
+
+    public static final String PUBLISHED_EVENTS_METRIC = "rcs.consent.store.events.published";
+    public static final String SINK_FAILURES_METRIC = "rcs.consent.store.events.sink.failures";
+
+    /**
+     * Error code returned by Mongo when change streams are not supported, i.e. it is not running as a replica set
+     */
+    private static final int CHANGE_STREAMS_NOT_SUPPORTED = 40573;
+
+    /**
+     * Error codes returned by Mongo when a change stream cannot be resumed as the resume token is no longer in the oplog
+     */
+    private static final Set<Integer> RESUME_TOKEN_LOST = Set.of(280, 286);
+
+    private static final Map<Class<? extends BaseConsentEntity<?>>, IntentType> CONSENT_INTENT_TYPES = Map.ofEntries(
+            Map.entry(AccountAccessConsentEntity.class, IntentType.ACCOUNT_ACCESS_CONSENT),
+            Map.entry(CustomerInfoConsentEntity.class, IntentType.CUSTOMER_INFO_CONSENT),
+            Map.entry(FundsConfirmationConsentEntity.class, IntentType.FUNDS_CONFIRMATION_CONSENT),
+            Map.entry(DomesticPaymentConsentEntity.class, IntentType.PAYMENT_DOMESTIC_CONSENT),
+            Map.entry(DomesticScheduledPaymentConsentEntity.class, IntentType.PAYMENT_DOMESTIC_SCHEDULED_CONSENT),
+            Map.entry(DomesticStandingOrderConsentEntity.class, IntentType.PAYMENT_DOMESTIC_STANDING_ORDERS_CONSENT),
+            Map.entry(DomesticVRPConsentEntity.class, IntentType.DOMESTIC_VRP_PAYMENT_CONSENT),
+            Map.entry(FilePaymentConsentEntity.class, IntentType.PAYMENT_FILE_CONSENT),
+            Map.entry(InternationalPaymentConsentEntity.class, IntentType.PAYMENT_INTERNATIONAL_CONSENT),
+            Map.entry(InternationalScheduledPaymentConsentEntity.class, IntentType.PAYMENT_INTERNATIONAL_SCHEDULED_CONSENT),
+            Map.entry(InternationalStandingOrderConsentEntity.class, IntentType.PAYMENT_INTERNATIONAL_STANDING_ORDERS_CONSENT)
+    );
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final MongoTemplate mongoTemplate;
+
+    private final ConsentEventConfiguration configuration;
+
+    private final ConsentEventResumeTokenStore resumeTokenStore;
+
+    private final List<ConsentEventSink> sinks;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * IntentType of each Consent collection which is watched, keyed by collection name
+     */
+    private final Map<String, IntentType> collectionIntentTypes;
+
+    private volatile boolean running;
+
+    private Thread watcherThread;
+
+    // Only accessed by the watcher thread
+    private BsonDocument resumeToken;
+    private BsonDocument savedResumeToken;
+    private long resumeTokenSavedMillis;
+
+    public ConsentChangeStreamPublisher(MongoTemplate mongoTemplate, ConsentEventConfiguration configuration,
+                                        ConsentStoreEnabledIntentTypes enabledIntentTypes,
+                                        ConsentEventResumeTokenStore resumeTokenStore,
+                                        ObjectProvider<ConsentEventSink> sinks,
+                                        ObjectProvider<MeterRegistry> meterRegistry) {
+        this(mongoTemplate, configuration, enabledIntentTypes, resumeTokenStore, sinks.orderedStream().toList(),
+             meterRegistry.getIfAvailable());
+    }
+
+    ConsentChangeStreamPublisher(MongoTemplate mongoTemplate, ConsentEventConfiguration configuration,
+                                 ConsentStoreEnabledIntentTypes enabledIntentTypes,
+                                 ConsentEventResumeTokenStore resumeTokenStore, List<ConsentEventSink> sinks,
+                                 MeterRegistry meterRegistry) {
+        this.mongoTemplate = requireNonNull(mongoTemplate, "mongoTemplate must be provided");
+        this.configuration = requireNonNull(configuration, "configuration must be provided");
+        this.resumeTokenStore = requireNonNull(resumeTokenStore, "resumeTokenStore must be provided");
+        this.sinks = List.copyOf(requireNonNull(sinks, "sinks must be provided"));
+        this.meterRegistry = meterRegistry;
+        requireNonNull(enabledIntentTypes, "enabledIntentTypes must be provided");
+        final Map<String, IntentType> watchedCollections = new HashMap<>();
+        CONSENT_INTENT_TYPES.forEach((entityClass, intentType) -> {
+            if (enabledIntentTypes.isIntentTypeSupported(intentType)) {
+                watchedCollections.put(mongoTemplate.getCollectionName(entityClass), intentType);
+            }
+        });
+        this.collectionIntentTypes = Map.copyOf(watchedCollections);
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public synchronized void start() {
+        if (!configuration.isEnabled() || watcherThread != null) {
+            return;
+        }
+        if (collectionIntentTypes.isEmpty()) {
+            logger.info("Consent status events are enabled but no IntentTypes are enabled to use the Consent Store");
+            return;
+        }
+        logger.info("Publishing Consent status events - feedId: {}, collections: {}, sinks: {}", configuration.getFeedId(),
+                collectionIntentTypes.keySet(), sinks.stream().map(sink -> sink.getClass().getSimpleName()).toList());
+        running = true;
+        watcherThread = new Thread(this::watchChanges, "consent-store-change-stream");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        final Thread thread;
+        synchronized (this) {
+            if (watcherThread == null) {
+                return;
+            }
+            running = false;
+            notifyAll();
+            thread = watcherThread;
+            watcherThread = null;
+        }
+        try {
+            // The watcher checks whether it is running each time the change stream returns, which is within the maxAwaitTime
+            thread.join(configuration.getMaxAwaitTime().multipliedBy(2).toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return whether the change stream is being watched
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void watchChanges() {
+        boolean resumeTokenLoaded = false;
+        while (running) {
+            try {
+                if (!resumeTokenLoaded) {
+                    resumeToken = resumeTokenStore.load(configuration.getFeedId());
+                    savedResumeToken = resumeToken;
+                    resumeTokenLoaded = true;
+                }
+                watch();
+            } catch (MongoCommandException ex) {
+                if (ex.getErrorCode() == CHANGE_STREAMS_NOT_SUPPORTED) {
+                    logger.error("Consent status events cannot be published, change streams require Mongo to be running as a replica set", ex);
+                    running = false;
+                } else if (RESUME_TOKEN_LOST.contains(ex.getErrorCode())) {
+                    logger.warn("Resume token for feed: {} is no longer in the oplog, restarting the feed from the current time, " +
+                            "changes since the token was saved will not be published", configuration.getFeedId(), ex);
+                    resumeToken = null;
+                } else {
+                    logger.error("Consent change stream failed, reopening in {}", configuration.getRetryDelay(), ex);
+                    pause();
+                }
+            } catch (RuntimeException ex) {
+                logger.error("Consent change stream failed, reopening in {}", configuration.getRetryDelay(), ex);
+                pause();
+            }
+        }
+    }
+
+    private void watch() {
+        ChangeStreamIterable<Document> changeStream = mongoTemplate.getDb().watch(createPipeline())
+                                                                   .fullDocument(FullDocument.UPDATE_LOOKUP)
+                                                                   .maxAwaitTime(configuration.getMaxAwaitTime().toMillis(), TimeUnit.MILLISECONDS);
+        if (resumeToken != null) {
+            changeStream = changeStream.resumeAfter(resumeToken);
+        }
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = changeStream.cursor()) {
+            while (running) {
+                final ChangeStreamDocument<Document> change = cursor.tryNext();
+                if (change != null) {
+                    final ConsentStatusEvent event = toEvent(change);
+                    if (event != null) {
+                        publish(event);
+                    }
+                }
+                // The cursor's resume token also advances past changes which do not match the pipeline, saving it while
+                // the feed is idle means that a restart does not need to scan over them
+                final BsonDocument cursorResumeToken = cursor.getResumeToken();
+                if (cursorResumeToken != null) {
+                    resumeToken = cursorResumeToken;
+                }
+                saveResumeToken(false);
+            }
+        } finally {
+            try {
+                saveResumeToken(true);
+            } catch (RuntimeException ex) {
+                logger.warn("Failed to save resume token for feed: {}", configuration.getFeedId(), ex);
+            }
+        }
+    }
+
+    private List<Bson> createPipeline() {
+        return List.of(
+                Aggregates.match(Filters.and(
+                        Filters.eq("operationType", "update"),
+                        Filters.in("ns.coll", collectionIntentTypes.keySet()),
+                        Filters.exists("updateDescription.updatedFields.status"))),
+                Aggregates.project(Projections.include("operationType", "ns", "documentKey", "clusterTime",
+                        "updateDescription.updatedFields.status",
+                        "updateDescription.updatedFields.deleted",
+                        "updateDescription.updatedFields.resourceOwnerId",
+                        "updateDescription.updatedFields.statusUpdatedDateTime",
+                        "updateDescription.updatedFields.entityVersion",
+                        "fullDocument.apiClientId",
+                        "fullDocument.resourceOwnerId",
+                        "fullDocument.deleted")));
+    }
+
+    /**
+     * Creates the event for a change to the status of a Consent
+     *
+     * @param change the change read from the change stream
+     * @return the event, or null if the change is not a status change of a watched Consent collection
+     */
+    ConsentStatusEvent toEvent(ChangeStreamDocument<Document> change) {
+        final MongoNamespace namespace = change.getNamespace();
+        final UpdateDescription updateDescription = change.getUpdateDescription();
+        final BsonDocument documentKey = change.getDocumentKey();
+        if (namespace == null || updateDescription == null || updateDescription.getUpdatedFields() == null
+                || documentKey == null || !documentKey.isString("_id")) {
+            return null;
+        }
+        final IntentType intentType = collectionIntentTypes.get(namespace.getCollectionName());
+        final BsonDocument updatedFields = updateDescription.getUpdatedFields();
+        if (intentType == null || !updatedFields.isString("status")) {
+            return null;
+        }
+        final ConsentStatus status;
+        try {
+            status = ConsentStatus.fromValue(updatedFields.getString("status").getValue());
+        } catch (IllegalArgumentException ex) {
+            logger.warn("Ignoring change to Consent: {} with unexpected status", documentKey.get("_id"), ex);
+            return null;
+        }
+
+        // The current version of the Consent, null if it has since been removed
+        final Document consent = change.getFullDocument();
+        final String apiClientId = consent != null ? consent.getString("apiClientId") : null;
+        final String resourceOwnerId;
+        if (updatedFields.isString("resourceOwnerId")) {
+            resourceOwnerId = updatedFields.getString("resourceOwnerId").getValue();
+        } else {
+            resourceOwnerId = consent != null ? consent.getString("resourceOwnerId") : null;
+        }
+        final boolean deleted;
+        if (updatedFields.isBoolean("deleted")) {
+            deleted = updatedFields.getBoolean("deleted").getValue();
+        } else {
+            deleted = consent != null && Boolean.TRUE.equals(consent.getBoolean("deleted"));
+        }
+        final Date statusUpdatedDateTime = updatedFields.isDateTime("statusUpdatedDateTime") ?
+                new Date(updatedFields.getDateTime("statusUpdatedDateTime").getValue()) : null;
+        final int entityVersion = updatedFields.isNumber("entityVersion") ? updatedFields.getNumber("entityVersion").intValue() : 0;
+
+        return new ConsentStatusEvent(intentType, documentKey.getString("_id").getValue(), apiClientId, resourceOwnerId,
+                status, deleted, statusUpdatedDateTime, entityVersion);
+    }
+
+    /**
+     * Delivers the event to each of the sinks, a failure of one sink does not prevent delivery to the others
+     */
+    void publish(ConsentStatusEvent event) {
+        logger.debug("Publishing {}", event);
+        for (ConsentEventSink sink : sinks) {
+            try {
+                sink.publish(event);
+            } catch (RuntimeException ex) {
+                logger.error("Failed to publish {} to sink: {}", event, sink.getClass().getSimpleName(), ex);
+                incrementCounter(SINK_FAILURES_METRIC, "Number of consent status events which a sink failed to publish", event);
+            }
+        }
+        incrementCounter(PUBLISHED_EVENTS_METRIC, "Number of consent status events published", event);
+    }
+
+    private void incrementCounter(String name, String description, ConsentStatusEvent event) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Counter.builder(name)
+               .description(description)
+               .tag("intentType", event.intentType().name())
+               .tag("status", event.status().name())
+               .register(meterRegistry)
+               .increment();
+    }
+
+    private void saveResumeToken(boolean force) {
+        if (resumeToken == null || resumeToken.equals(savedResumeToken)) {
+            return;
+        }
+        final long currentTimeMillis = System.currentTimeMillis();
+        if (!force && currentTimeMillis - resumeTokenSavedMillis < configuration.getResumeTokenSaveInterval().toMillis()) {
+            return;
+        }
+        resumeTokenStore.save(configuration.getFeedId(), resumeToken);
+        savedResumeToken = resumeToken;
+        resumeTokenSavedMillis = currentTimeMillis;
+    }
+
+    private synchronized void pause() {
+        final long deadline = System.currentTimeMillis() + configuration.getRetryDelay().toMillis();
+        long remaining;
+        while (running && (remaining = deadline - System.currentTimeMillis()) > 0) {
+            try {
+                wait(remaining);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.event;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Configuration for the publication of Consent status events, see {@link ConsentChangeStreamPublisher}
+ */
+@Configuration
+@ConfigurationProperties(prefix = "consent.store.events")
+public class ConsentEventConfiguration {
+
+    /**
+     * Whether Consent status events are published, requires Mongo to be running as a replica set or sharded cluster
+     */
+    private boolean enabled = false;
+
+    /**
+     * Id under which the resume token of the feed is saved, instances which share an id resume from the same position
+     */
+    private String feedId = "consent-status-events";
+
+    /**
+     * Maximum time that the change stream waits for new changes before returning control to the publisher
+     */
+    private Duration maxAwaitTime = Duration.ofSeconds(1);
+
+    /**
+     * Minimum time between saves of the resume token, changes made since the last save are published again after a
+     * restart
+     */
+    private Duration resumeTokenSaveInterval = Duration.ofSeconds(5);
+
+    /**
+     * Delay before the change stream is reopened after an error
+     */
+    private Duration retryDelay = Duration.ofSeconds(10);
+
+    @PostConstruct
+    public void validateConfig() {
+        if (!StringUtils.hasText(feedId)) {
+            throw new IllegalStateException("consent.store.events.feedId must be provided");
+        }
+        if (!maxAwaitTime.isPositive() || !retryDelay.isPositive() || resumeTokenSaveInterval.isNegative()) {
+            throw new IllegalStateException("consent.store.events.maxAwaitTime and retryDelay must be greater than 0 and resumeTokenSaveInterval must not be negative");
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getFeedId() {
+        return feedId;
+    }
+
+    public void setFeedId(String feedId) {
+        this.feedId = feedId;
+    }
+
+    public Duration getMaxAwaitTime() {
+        return maxAwaitTime;
+    }
+
+    public void setMaxAwaitTime(Duration maxAwaitTime) {
+        this.maxAwaitTime = maxAwaitTime;
+    }
+
+    public Duration getResumeTokenSaveInterval() {
+        return resumeTokenSaveInterval;
+    }
+
+    public void setResumeTokenSaveInterval(Duration resumeTokenSaveInterval) {
+        this.resumeTokenSaveInterval = resumeTokenSaveInterval;
+    }
+
+    public Duration getRetryDelay() {
+        return retryDelay;
+    }
+
+    public void setRetryDelay(Duration retryDelay) {
+        this.retryDelay = retryDelay;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.event;
+
+import static java.util.Objects.requireNonNull;
+
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+
+/**
+ * Persists the change stream resume token of each Consent event feed in the {@value #COLLECTION} collection, so that
+ * the {@link ConsentChangeStreamPublisher} can continue from where it left off when the application is restarted.
+ */
+@Component
+public class ConsentEventResumeTokenStore {
+
+    public static final String COLLECTION = "ConsentEventResumeTokens";
+
+    private final MongoTemplate mongoTemplate;
+
+    public ConsentEventResumeTokenStore(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = requireNonNull(mongoTemplate, "mongoTemplate must be provided");
+    }
+
+    /**
+     * @param feedId the id of the event feed
+     * @return the last resume token saved for the feed, or null if none has been saved
+     */
+    public BsonDocument load(String feedId) {
+        final BsonDocument document = getCollection().find(Filters.eq("_id", feedId)).first();
+        if (document == null || !document.isDocument("resumeToken")) {
+            return null;
+        }
+        return document.getDocument("resumeToken");
+    }
+
+    public void save(String feedId, BsonDocument resumeToken) {
+        requireNonNull(resumeToken, "resumeToken must be provided");
+        final BsonDocument document = new BsonDocument("_id", new BsonString(feedId))
+                .append("resumeToken", resumeToken)
+                .append("updatedDateTime", new BsonDateTime(System.currentTimeMillis()));
+        getCollection().replaceOne(Filters.eq("_id", feedId), document, new ReplaceOptions().upsert(true));
+    }
+
+    private MongoCollection<BsonDocument> getCollection() {
+        return mongoTemplate.getCollection(COLLECTION).withDocumentClass(BsonDocument.class);
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.event;
+
+/**
+ * Destination for the {@link ConsentStatusEvent}s published by the {@link ConsentChangeStreamPublisher}.
+ * <p>
+ * All the ConsentEventSink beans in the application context receive each event, in {@link org.springframework.core.annotation.Order}
+ * order. Sinks are called on the change stream thread, a slow sink delays the delivery of subsequent events, sinks
+ * which forward events to a remote system should hand them off rather than blocking.
+ */
+public interface ConsentEventSink {
+
+    /**
+     * @param event the event to publish
+     * @throws RuntimeException if the event could not be published, the failure is logged and the event is still
+     *                          delivered to the other sinks
+     */
+    void publish(ConsentStatusEvent event);
+}
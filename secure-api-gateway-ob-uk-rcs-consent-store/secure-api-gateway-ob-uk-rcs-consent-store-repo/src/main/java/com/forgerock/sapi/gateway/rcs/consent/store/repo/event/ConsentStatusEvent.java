@@ -0,0 +1,40 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.event;
+
+import java.util.Date;
+
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.ConsentStatus;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
+
+/**
+ * Event published when the status of a Consent changes, e.g. the Consent is authorised, rejected, consumed or revoked.
+ * <p>
+ * Events are delivered at least once, the consentId and entityVersion uniquely identify a change and can be used to
+ * discard duplicates.
+ *
+ * @param intentType            the IntentType of the Consent
+ * @param consentId             the id of the Consent
+ * @param apiClientId           the id of the ApiClient which owns the Consent, null if the Consent no longer exists
+ * @param resourceOwnerId       the id of the resource owner, null if the Consent has not been authorised
+ * @param status                the status that the Consent changed to
+ * @param deleted               whether the Consent has been deleted, deleted Consents have status Revoked
+ * @param statusUpdatedDateTime the time at which the status changed
+ * @param entityVersion         the version of the Consent produced by the change
+ */
+public record ConsentStatusEvent(IntentType intentType, String consentId, String apiClientId, String resourceOwnerId,
+                                 ConsentStatus status, boolean deleted, Date statusUpdatedDateTime, int entityVersion) {
+}
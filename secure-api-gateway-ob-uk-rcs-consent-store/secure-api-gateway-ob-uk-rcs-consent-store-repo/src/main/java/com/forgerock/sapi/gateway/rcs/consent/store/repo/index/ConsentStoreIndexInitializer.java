@@ -0,0 +1,156 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.index;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.BaseConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.BasePaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.IdempotencyKeyCache;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentConsentServiceFactory;
+import com.mongodb.client.model.Filters;
+
+/**
+ * Creates the indexes declared in {@link ConsentStoreIndexes} for each of the Consent collections.
+ * <p>
+ * Index creation is idempotent, an index which already exists with the same specification is left as is, so this runs
+ * every time the application starts. The indexes are created on a background thread once the application has started,
+ * this means that startup and readiness do not wait for the index builds to complete (which can take a while when a
+ * collection is large). Failures are logged and do not prevent the application from starting, the queries still work
+ * without the indexes, but they will be slow.
+ * <p>
+ * Index creation can be disabled via config, for deployments where the indexes are managed externally.
+ * <p>
+ * Before the indexes are created, the activeIdempotencyKey is set on any unexpired Payment Consents created by earlier
+ * versions, so that the unique {@link ConsentStoreIndexes#ACTIVE_IDEMPOTENCY_KEY_INDEX} applies to their keys. Only
+ * once all the indexes have been created and the backfill has completed without failures are the
+ * {@link IdempotencyKeyCache}s of the {@link PaymentConsentServiceFactory}s marked as ready, allowing new idempotency keys to be inserted without first looking up an existing Consent. When index
+ * creation is disabled or fails, the lookup is always done.
+ */
+@Component
+public class ConsentStoreIndexInitializer {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final MongoTemplate mongoTemplate;
+
+    private final boolean createIndexes;
+
+    private final Executor executor;
+
+    private final List<IdempotencyKeyCache> idempotencyKeyCaches;
+
+    private volatile CompletableFuture<Void> indexCreation = CompletableFuture.completedFuture(null);
+
+    public ConsentStoreIndexInitializer(MongoTemplate mongoTemplate,
+                                        @Value("${consent.store.indexes.createOnStartup:true}") boolean createIndexes,
+                                        List<PaymentConsentServiceFactory<?, ?>> paymentConsentServiceFactories) {
+        this(mongoTemplate, createIndexes, runnable -> {
+            final Thread thread = new Thread(runnable, "consent-store-index-initializer");
+            thread.setDaemon(true);
+            thread.start();
+        }, paymentConsentServiceFactories.stream().map(PaymentConsentServiceFactory::getIdempotencyKeyCache).toList());
+    }
+
+    ConsentStoreIndexInitializer(MongoTemplate mongoTemplate, boolean createIndexes, Executor executor,
+                                 List<IdempotencyKeyCache> idempotencyKeyCaches) {
+        this.mongoTemplate = requireNonNull(mongoTemplate, "mongoTemplate must be provided");
+        this.createIndexes = createIndexes;
+        this.executor = requireNonNull(executor, "executor must be provided");
+        this.idempotencyKeyCaches = requireNonNull(idempotencyKeyCaches, "idempotencyKeyCaches must be provided");
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void createIndexesInBackground() {
+        if (!createIndexes) {
+            logger.info("Consent Store index creation is disabled");
+            return;
+        }
+        indexCreation = CompletableFuture.runAsync(this::ensureIndexes, executor);
+    }
+
+    /**
+     * @return future which completes when the background index creation triggered at startup has finished
+     */
+    public CompletableFuture<Void> getIndexCreation() {
+        return indexCreation;
+    }
+
+    /**
+     * Creates any indexes which do not exist, blocking until the index builds have completed. If there are no failures
+     * then the idempotency key caches are marked as ready.
+     *
+     * @return the number of indexes which could not be created
+     */
+    public int ensureIndexes() {
+        int failures = 0;
+        for (Class<? extends BaseConsentEntity<?>> entityClass : ConsentStoreIndexes.CONSENT_ENTITY_CLASSES) {
+            final List<Index> indexes = ConsentStoreIndexes.getIndexes(entityClass);
+            final String collectionName = mongoTemplate.getCollectionName(entityClass);
+            if (BasePaymentConsentEntity.class.isAssignableFrom(entityClass)) {
+                try {
+                    backfillActiveIdempotencyKeys(collectionName);
+                } catch (RuntimeException ex) {
+                    logger.error("Failed to backfill activeIdempotencyKey on collection: {}", collectionName, ex);
+                    failures++;
+                }
+            }
+            for (Index index : indexes) {
+                try {
+                    final String indexName = mongoTemplate.indexOps(entityClass).ensureIndex(index);
+                    logger.debug("Ensured index: {} exists on collection: {}", indexName, collectionName);
+                } catch (RuntimeException ex) {
+                    // e.g. an index with the same name but a different specification already exists
+                    logger.error("Failed to create index: {} on collection: {}", index.getIndexKeys(), collectionName, ex);
+                    failures++;
+                }
+            }
+        }
+        if (failures == 0) {
+            idempotencyKeyCaches.forEach(idempotencyKeyCache -> idempotencyKeyCache.setUniqueIndexReady(true));
+            logger.info("Consent Store indexes created");
+        } else {
+            logger.warn("Consent Store index creation completed with {} failures", failures);
+        }
+        return failures;
+    }
+
+    private void backfillActiveIdempotencyKeys(String collectionName) {
+        final long modifiedCount = mongoTemplate.getCollection(collectionName).updateMany(
+                Filters.and(Filters.exists("idempotencyKey"),
+                            Filters.exists("activeIdempotencyKey", false),
+                            Filters.gt("idempotencyKeyExpiration", new Date())),
+                List.of(new Document("$set", new Document("activeIdempotencyKey", "$idempotencyKey")))).getModifiedCount();
+        if (modifiedCount > 0) {
+            logger.info("Set activeIdempotencyKey on {} consents in collection: {}", modifiedCount, collectionName);
+        }
+    }
+}
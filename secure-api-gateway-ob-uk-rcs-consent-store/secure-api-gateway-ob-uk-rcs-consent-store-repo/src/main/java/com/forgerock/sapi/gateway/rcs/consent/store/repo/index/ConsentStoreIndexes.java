@@ -0,0 +1,151 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.index;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.BaseConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.account.AccountAccessConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.customerinfo.CustomerInfoConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.funds.FundsConfirmationConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.BasePaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.domestic.DomesticPaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.domestic.DomesticScheduledPaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.domestic.DomesticStandingOrderConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.file.FilePaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.international.InternationalPaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.international.InternationalScheduledPaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.international.InternationalStandingOrderConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.vrp.DomesticVRPConsentEntity;
+
+/**
+ * Declares the indexes required by the queries run against the Consent collections.
+ * <p>
+ * Lookups by consent id use the default _id index, the indexes declared here support the other queries. Each index must
+ * cover a query in one of the Consent repositories or services, when a query is added or changed then the index
+ * declarations need to be updated to match. The query plans are verified in ConsentStoreIndexesTest.
+ */
+public final class ConsentStoreIndexes {
+
+    /**
+     * Supports {@link com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.PaymentConsentRepository#findByIdempotencyData}
+     * and covers {@link com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.PaymentConsentRepository#findIdempotencyFingerprint},
+     * the equality fields come first so that the range condition on the expiration is applied within a single key.
+     * <p>
+     * This replaces the idempotencyData index created by earlier versions, which can be dropped once this index exists.
+     */
+    public static final String IDEMPOTENCY_FINGERPRINT_INDEX = "idempotencyFingerprint";
+
+    /**
+     * Unique index which ensures that an unexpired idempotencyKey is used by at most one Payment Consent per ApiClient.
+     * This allows Consents with new keys to be created without first querying for an existing Consent, see
+     * {@link com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.IdempotencyKeyCache}. This is a partial
+     * index as the activeIdempotencyKey is unset when an expired key is reused.
+     */
+    public static final String ACTIVE_IDEMPOTENCY_KEY_INDEX = "activeIdempotencyKey";
+
+    /**
+     * Supports the queries for Consents in a particular status which have not been modified recently, see
+     * {@link com.forgerock.sapi.gateway.rcs.consent.store.repo.lifecycle.ConsentLifecycleManager}
+     */
+    public static final String STATUS_UPDATED_INDEX = "statusUpdated";
+
+    /**
+     * Supports the queries for soft deleted Consents, this is a partial index as only a small proportion of Consents
+     * are expected to be deleted.
+     */
+    public static final String DELETED_UPDATED_INDEX = "deletedUpdated";
+
+    /**
+     * Supports listing the Consents created by an ApiClient, see
+     * {@link com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentService#listConsents}. The sort keys follow
+     * the equality key so that pages are read in order without an in-memory sort, the status is the trailing key so that
+     * the optional status filter is applied to the index keys before the documents are fetched.
+     */
+    public static final String API_CLIENT_CREATED_INDEX = "apiClientCreated";
+
+    /**
+     * Supports listing the Consents of a Resource Owner, this has the same structure as the
+     * {@link #API_CLIENT_CREATED_INDEX}. This is a partial index as the resourceOwnerId is only set once the Consent has
+     * been authorised or rejected.
+     */
+    public static final String RESOURCE_OWNER_CREATED_INDEX = "resourceOwnerCreated";
+
+    /**
+     * Entity classes of all the Consent collections
+     */
+    public static final List<Class<? extends BaseConsentEntity<?>>> CONSENT_ENTITY_CLASSES = List.of(
+            AccountAccessConsentEntity.class,
+            CustomerInfoConsentEntity.class,
+            FundsConfirmationConsentEntity.class,
+            DomesticPaymentConsentEntity.class,
+            DomesticScheduledPaymentConsentEntity.class,
+            DomesticStandingOrderConsentEntity.class,
+            DomesticVRPConsentEntity.class,
+            FilePaymentConsentEntity.class,
+            InternationalPaymentConsentEntity.class,
+            InternationalScheduledPaymentConsentEntity.class,
+            InternationalStandingOrderConsentEntity.class
+    );
+
+    private ConsentStoreIndexes() {
+    }
+
+    /**
+     * @param entityClass the Consent entity class
+     * @return the indexes required for the collection that the entity class is mapped to
+     */
+    public static List<Index> getIndexes(Class<?> entityClass) {
+        final List<Index> indexes = new ArrayList<>();
+        indexes.add(new Index().named(STATUS_UPDATED_INDEX)
+                               .on("status", Direction.ASC)
+                               .on("statusUpdatedDateTime", Direction.ASC));
+        indexes.add(new Index().named(DELETED_UPDATED_INDEX)
+                               .on("statusUpdatedDateTime", Direction.ASC)
+                               .partial(PartialIndexFilter.of(Criteria.where("deleted").is(true))));
+        indexes.add(new Index().named(API_CLIENT_CREATED_INDEX)
+                               .on("apiClientId", Direction.ASC)
+                               .on("creationDateTime", Direction.ASC)
+                               .on("_id", Direction.ASC)
+                               .on("status", Direction.ASC));
+        indexes.add(new Index().named(RESOURCE_OWNER_CREATED_INDEX)
+                               .on("resourceOwnerId", Direction.ASC)
+                               .on("creationDateTime", Direction.ASC)
+                               .on("_id", Direction.ASC)
+                               .on("status", Direction.ASC)
+                               .partial(PartialIndexFilter.of(Criteria.where("resourceOwnerId").exists(true))));
+        if (BasePaymentConsentEntity.class.isAssignableFrom(entityClass)) {
+            indexes.add(new Index().named(IDEMPOTENCY_FINGERPRINT_INDEX)
+                                   .on("apiClientId", Direction.ASC)
+                                   .on("idempotencyKey", Direction.ASC)
+                                   .on("idempotencyKeyExpiration", Direction.ASC)
+                                   .on("requestFingerprint", Direction.ASC)
+                                   .on("_id", Direction.ASC));
+            indexes.add(new Index().named(ACTIVE_IDEMPOTENCY_KEY_INDEX)
+                                   .on("apiClientId", Direction.ASC)
+                                   .on("activeIdempotencyKey", Direction.ASC)
+                                   .unique()
+                                   .partial(PartialIndexFilter.of(Criteria.where("activeIdempotencyKey").exists(true))));
+        }
+        return indexes;
+    }
+}
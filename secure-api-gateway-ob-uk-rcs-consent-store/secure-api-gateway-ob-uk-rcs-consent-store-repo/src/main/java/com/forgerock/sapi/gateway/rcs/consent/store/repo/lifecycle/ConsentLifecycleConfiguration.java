@@ -0,0 +1,209 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.lifecycle;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Configuration for the expiry and archival of stale Consents, see {@link ConsentLifecycleManager}
+ */
+@Configuration
+@ConfigurationProperties(prefix = "consent.store.lifecycle")
+public class ConsentLifecycleConfiguration {
+
+    /**
+     * Whether stale Consents are periodically archived
+     */
+    private boolean enabled = false;
+
+    /**
+     * Delay after startup before the first run
+     */
+    private Duration initialDelay = Duration.ofMinutes(5);
+
+    /**
+     * Delay between the end of a run and the start of the next
+     */
+    private Duration interval = Duration.ofHours(1);
+
+    /**
+     * How long a Consent can remain awaiting authorisation before it is archived
+     */
+    private Duration awaitingAuthorisationRetention = Duration.ofDays(7);
+
+    /**
+     * How long a soft deleted Consent is retained for before it is archived
+     */
+    private Duration deletedRetention = Duration.ofDays(30);
+
+    /**
+     * How long archived Consents are retained for before they are removed by a TTL index on the archive collection
+     */
+    private Duration archiveRetention = Duration.ofDays(365);
+
+    /**
+     * Number of Consents archived per batch
+     */
+    private int batchSize = 500;
+
+    /**
+     * Maximum number of batches per IntentType in a single run, bounds the work (and load on the database) of a run
+     */
+    private int maxBatchesPerRun = 100;
+
+    /**
+     * Per IntentType overrides of the retention periods
+     */
+    private Map<IntentType, RetentionOverride> intentTypes = new HashMap<>();
+
+    public static class RetentionOverride {
+
+        private Duration awaitingAuthorisationRetention;
+
+        private Duration deletedRetention;
+
+        public Duration getAwaitingAuthorisationRetention() {
+            return awaitingAuthorisationRetention;
+        }
+
+        public void setAwaitingAuthorisationRetention(Duration awaitingAuthorisationRetention) {
+            this.awaitingAuthorisationRetention = awaitingAuthorisationRetention;
+        }
+
+        public Duration getDeletedRetention() {
+            return deletedRetention;
+        }
+
+        public void setDeletedRetention(Duration deletedRetention) {
+            this.deletedRetention = deletedRetention;
+        }
+    }
+
+    @PostConstruct
+    public void validateConfig() {
+        if (!interval.isPositive() || initialDelay.isNegative()) {
+            throw new IllegalStateException("consent.store.lifecycle.interval must be greater than 0 and initialDelay must not be negative");
+        }
+        if (!archiveRetention.isPositive()) {
+            throw new IllegalStateException("consent.store.lifecycle.archiveRetention must be greater than 0");
+        }
+        if (batchSize <= 0 || maxBatchesPerRun <= 0) {
+            throw new IllegalStateException("consent.store.lifecycle.batchSize and maxBatchesPerRun must be greater than 0");
+        }
+        for (IntentType intentType : IntentType.values()) {
+            if (!getAwaitingAuthorisationRetention(intentType).isPositive() || !getDeletedRetention(intentType).isPositive()) {
+                throw new IllegalStateException("consent.store.lifecycle retention periods must be greater than 0, invalid config for IntentType: " + intentType);
+            }
+        }
+    }
+
+    public Duration getAwaitingAuthorisationRetention(IntentType intentType) {
+        final RetentionOverride retentionOverride = intentTypes.get(intentType);
+        if (retentionOverride != null && retentionOverride.getAwaitingAuthorisationRetention() != null) {
+            return retentionOverride.getAwaitingAuthorisationRetention();
+        }
+        return awaitingAuthorisationRetention;
+    }
+
+    public Duration getDeletedRetention(IntentType intentType) {
+        final RetentionOverride retentionOverride = intentTypes.get(intentType);
+        if (retentionOverride != null && retentionOverride.getDeletedRetention() != null) {
+            return retentionOverride.getDeletedRetention();
+        }
+        return deletedRetention;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getInitialDelay() {
+        return initialDelay;
+    }
+
+    public void setInitialDelay(Duration initialDelay) {
+        this.initialDelay = initialDelay;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    public Duration getAwaitingAuthorisationRetention() {
+        return awaitingAuthorisationRetention;
+    }
+
+    public void setAwaitingAuthorisationRetention(Duration awaitingAuthorisationRetention) {
+        this.awaitingAuthorisationRetention = awaitingAuthorisationRetention;
+    }
+
+    public Duration getDeletedRetention() {
+        return deletedRetention;
+    }
+
+    public void setDeletedRetention(Duration deletedRetention) {
+        this.deletedRetention = deletedRetention;
+    }
+
+    public Duration getArchiveRetention() {
+        return archiveRetention;
+    }
+
+    public void setArchiveRetention(Duration archiveRetention) {
+        this.archiveRetention = archiveRetention;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxBatchesPerRun() {
+        return maxBatchesPerRun;
+    }
+
+    public void setMaxBatchesPerRun(int maxBatchesPerRun) {
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    public Map<IntentType, RetentionOverride> getIntentTypes() {
+        return intentTypes;
+    }
+
+    public void setIntentTypes(Map<IntentType, RetentionOverride> intentTypes) {
+        this.intentTypes = intentTypes;
+    }
+}
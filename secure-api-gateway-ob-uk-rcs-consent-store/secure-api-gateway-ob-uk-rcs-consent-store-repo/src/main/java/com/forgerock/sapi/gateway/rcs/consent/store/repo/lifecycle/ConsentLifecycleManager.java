@@ -0,0 +1,379 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.lifecycle;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.ConsentStoreEnabledIntentTypes;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.BaseConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.account.AccountAccessConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.customerinfo.CustomerInfoConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.funds.FundsConfirmationConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.domestic.DomesticPaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.domestic.DomesticScheduledPaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.domestic.DomesticStandingOrderConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.file.FilePaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.international.InternationalPaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.international.InternationalScheduledPaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.international.InternationalStandingOrderConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.vrp.DomesticVRPConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.file.FilePaymentContentStore;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentStateModel;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.account.AccountAccessConsentStateModel;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.customerinfo.CustomerInfoConsentStateModel;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.funds.FundsConfirmationConsentStateModel;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentConsentStateModel;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.file.FilePaymentConsentStateModel;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.vrp.VRPConsentStateModel;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Expires stale Consents by moving them from the Consent collections to the {@value #ARCHIVE_COLLECTION} collection.
+ * <p>
+ * Two kinds of Consent are considered stale:
+ * <ul>
+ *     <li>ABANDONED - Consents which are still awaiting authorisation once the awaitingAuthorisationRetention has elapsed,
+ *     the awaiting authorisation statuses are taken from the {@link ConsentStateModel} of the IntentType</li>
+ *     <li>DELETED - Consents which were soft deleted longer ago than the deletedRetention</li>
+ * </ul>
+ * The retention periods are measured from the statusUpdatedDateTime, i.e. the last time the Consent was modified.
+ * <p>
+ * Stale Consents are processed in bounded batches, each Consent is written to the archive as a compact document (the
+ * OBIE request object is not kept) before it is deleted from its Consent collection. The delete re-applies the staleness
+ * criteria, so a Consent which is modified while a batch is being processed is left in place and its archive document
+ * is removed. Archive writes are upserts, so a batch which fails part way through can safely be processed again.
+ * The files uploaded for archived File Payment Consents are deleted from the {@link FilePaymentContentStore}.
+ * The archive collection has a TTL index, archived Consents are removed once the archiveRetention has elapsed. The index
+ * is created when the runs are scheduled, if it already exists with a different expiry (because the archiveRetention has
+ * been changed) then its expireAfterSeconds is updated in place using collMod.
+ * <p>
+ * The number of Consents archived and the size in bytes of the documents removed from the Consent collections are
+ * published in the {@value #ARCHIVED_CONSENTS_METRIC} and {@value #RECLAIMED_BYTES_METRIC} counters, tagged with the
+ * IntentType and the reason.
+ * <p>
+ * When enabled, runs are scheduled with a fixed delay on a single background thread. Each application instance runs its
+ * own schedule, concurrent runs are safe as each Consent is only deleted once.
+ */
+@Component
+public class ConsentLifecycleManager {
+
+    public static final String ARCHIVE_COLLECTION = "ConsentArchive";
+
+    public static final String ARCHIVED_CONSENTS_METRIC = "rcs.consent.store.lifecycle.archived";
+    public static final String RECLAIMED_BYTES_METRIC = "rcs.consent.store.lifecycle.reclaimed.bytes";
+
+    static final String ARCHIVE_TTL_INDEX = "archivedDateTimeTtl";
+
+    public enum ArchiveReason {
+        ABANDONED,
+        DELETED
+    }
+
+    /**
+     * Number of Consents and bytes archived for an IntentType and reason in a run
+     */
+    public record ArchiveResult(IntentType intentType, ArchiveReason reason, long consentsArchived, long bytesReclaimed) {
+    }
+
+    private record ManagedConsentCollection(IntentType intentType, Class<? extends BaseConsentEntity<?>> entityClass,
+                                            ConsentStateModel consentStateModel) {
+    }
+
+    private static final List<ManagedConsentCollection> MANAGED_COLLECTIONS = List.of(
+            new ManagedConsentCollection(IntentType.ACCOUNT_ACCESS_CONSENT, AccountAccessConsentEntity.class, AccountAccessConsentStateModel.getInstance()),
+            new ManagedConsentCollection(IntentType.CUSTOMER_INFO_CONSENT, CustomerInfoConsentEntity.class, CustomerInfoConsentStateModel.getInstance()),
+            new ManagedConsentCollection(IntentType.FUNDS_CONFIRMATION_CONSENT, FundsConfirmationConsentEntity.class, FundsConfirmationConsentStateModel.getInstance()),
+            new ManagedConsentCollection(IntentType.PAYMENT_DOMESTIC_CONSENT, DomesticPaymentConsentEntity.class, PaymentConsentStateModel.getInstance()),
+            new ManagedConsentCollection(IntentType.PAYMENT_DOMESTIC_SCHEDULED_CONSENT, DomesticScheduledPaymentConsentEntity.class, PaymentConsentStateModel.getInstance()),
+            new ManagedConsentCollection(IntentType.PAYMENT_DOMESTIC_STANDING_ORDERS_CONSENT, DomesticStandingOrderConsentEntity.class, PaymentConsentStateModel.getInstance()),
+            new ManagedConsentCollection(IntentType.DOMESTIC_VRP_PAYMENT_CONSENT, DomesticVRPConsentEntity.class, VRPConsentStateModel.getInstance()),
+            new ManagedConsentCollection(IntentType.PAYMENT_FILE_CONSENT, FilePaymentConsentEntity.class, FilePaymentConsentStateModel.getInstance()),
+            new ManagedConsentCollection(IntentType.PAYMENT_INTERNATIONAL_CONSENT, InternationalPaymentConsentEntity.class, PaymentConsentStateModel.getInstance()),
+            new ManagedConsentCollection(IntentType.PAYMENT_INTERNATIONAL_SCHEDULED_CONSENT, InternationalScheduledPaymentConsentEntity.class, PaymentConsentStateModel.getInstance()),
+            new ManagedConsentCollection(IntentType.PAYMENT_INTERNATIONAL_STANDING_ORDERS_CONSENT, InternationalStandingOrderConsentEntity.class, PaymentConsentStateModel.getInstance())
+    );
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final MongoTemplate mongoTemplate;
+
+    private final ConsentLifecycleConfiguration configuration;
+
+    private final ConsentStoreEnabledIntentTypes enabledIntentTypes;
+
+    private final FilePaymentContentStore filePaymentContentStore;
+
+    private final MeterRegistry meterRegistry;
+
+    private ScheduledExecutorService scheduler;
+
+    private volatile boolean archiveTtlIndexEnsured;
+
+    public ConsentLifecycleManager(MongoTemplate mongoTemplate, ConsentLifecycleConfiguration configuration,
+                                   ConsentStoreEnabledIntentTypes enabledIntentTypes, FilePaymentContentStore filePaymentContentStore,
+                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        this(mongoTemplate, configuration, enabledIntentTypes, filePaymentContentStore, meterRegistry.getIfAvailable());
+    }
+
+    ConsentLifecycleManager(MongoTemplate mongoTemplate, ConsentLifecycleConfiguration configuration,
+                            ConsentStoreEnabledIntentTypes enabledIntentTypes, MeterRegistry meterRegistry) {
+        this(mongoTemplate, configuration, enabledIntentTypes, new FilePaymentContentStore(mongoTemplate), meterRegistry);
+    }
+
+    private ConsentLifecycleManager(MongoTemplate mongoTemplate, ConsentLifecycleConfiguration configuration,
+                                    ConsentStoreEnabledIntentTypes enabledIntentTypes, FilePaymentContentStore filePaymentContentStore,
+                                    MeterRegistry meterRegistry) {
+        this.mongoTemplate = requireNonNull(mongoTemplate, "mongoTemplate must be provided");
+        this.configuration = requireNonNull(configuration, "configuration must be provided");
+        this.enabledIntentTypes = requireNonNull(enabledIntentTypes, "enabledIntentTypes must be provided");
+        this.filePaymentContentStore = requireNonNull(filePaymentContentStore, "filePaymentContentStore must be provided");
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public synchronized void start() {
+        if (!configuration.isEnabled() || scheduler != null) {
+            return;
+        }
+        logger.info("Scheduling Consent lifecycle runs - initialDelay: {}, interval: {}, awaitingAuthorisationRetention: {}, deletedRetention: {}",
+                configuration.getInitialDelay(), configuration.getInterval(),
+                configuration.getAwaitingAuthorisationRetention(), configuration.getDeletedRetention());
+        try {
+            ensureArchiveTtlIndex();
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to ensure TTL index on collection: {}, this will be retried by the next run", ARCHIVE_COLLECTION, ex);
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "consent-store-lifecycle");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runSafely, configuration.getInitialDelay().toMillis(),
+                configuration.getInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private void runSafely() {
+        try {
+            run();
+        } catch (RuntimeException ex) {
+            logger.error("Consent lifecycle run failed", ex);
+        }
+    }
+
+    /**
+     * Archives the stale Consents of all the IntentTypes which are enabled to use the Consent Store
+     *
+     * @return the results for each IntentType and reason
+     */
+    public List<ArchiveResult> run() {
+        if (!archiveTtlIndexEnsured) {
+            ensureArchiveTtlIndex();
+        }
+        final Date now = new Date();
+        final List<ArchiveResult> results = new ArrayList<>();
+        for (ManagedConsentCollection managedCollection : MANAGED_COLLECTIONS) {
+            final IntentType intentType = managedCollection.intentType();
+            if (!enabledIntentTypes.isIntentTypeSupported(intentType)) {
+                continue;
+            }
+            final Set<String> awaitingAuthorisationStatuses = managedCollection.consentStateModel().getAwaitingAuthorisationStatuses();
+            results.add(archive(managedCollection, ArchiveReason.ABANDONED, Filters.and(
+                    Filters.in("status", awaitingAuthorisationStatuses),
+                    Filters.lt("statusUpdatedDateTime", cutoff(now, configuration.getAwaitingAuthorisationRetention(intentType))))));
+            results.add(archive(managedCollection, ArchiveReason.DELETED, Filters.and(
+                    Filters.eq("deleted", true),
+                    Filters.lt("statusUpdatedDateTime", cutoff(now, configuration.getDeletedRetention(intentType))))));
+        }
+        final long totalArchived = results.stream().mapToLong(ArchiveResult::consentsArchived).sum();
+        final long totalBytes = results.stream().mapToLong(ArchiveResult::bytesReclaimed).sum();
+        logger.info("Consent lifecycle run complete - archived: {} consents, reclaimed: {} bytes", totalArchived, totalBytes);
+        return results;
+    }
+
+    private static Date cutoff(Date now, Duration retention) {
+        return new Date(now.getTime() - retention.toMillis());
+    }
+
+    /**
+     * Creates the TTL index on the archive collection, or updates the expiry of the existing index if it does not match
+     * the archiveRetention. Changing the expiry via ensureIndex would fail with an IndexOptionsConflict.
+     */
+    synchronized void ensureArchiveTtlIndex() {
+        final Duration archiveRetention = configuration.getArchiveRetention();
+        final IndexOperations indexOps = mongoTemplate.indexOps(ARCHIVE_COLLECTION);
+        final Optional<IndexInfo> existingIndex = indexOps.getIndexInfo().stream()
+                                                          .filter(index -> index.getName().equals(ARCHIVE_TTL_INDEX))
+                                                          .findFirst();
+        if (existingIndex.isEmpty()) {
+            indexOps.ensureIndex(new Index().named(ARCHIVE_TTL_INDEX)
+                                            .on("archivedDateTime", Direction.ASC)
+                                            .expire(archiveRetention));
+        } else if (existingIndex.get().getExpireAfter().map(Duration::getSeconds).orElse(-1L) != archiveRetention.getSeconds()) {
+            logger.info("Updating expiry of index: {} on collection: {} from: {} to: {}", ARCHIVE_TTL_INDEX, ARCHIVE_COLLECTION,
+                    existingIndex.get().getExpireAfter().orElse(null), archiveRetention);
+            mongoTemplate.executeCommand(new Document("collMod", ARCHIVE_COLLECTION)
+                    .append("index", new Document("name", ARCHIVE_TTL_INDEX)
+                            .append("expireAfterSeconds", archiveRetention.getSeconds())));
+        }
+        archiveTtlIndexEnsured = true;
+    }
+
+    private ArchiveResult archive(ManagedConsentCollection managedCollection, ArchiveReason reason, Bson staleConsentFilter) {
+        final String collectionName = mongoTemplate.getCollectionName(managedCollection.entityClass());
+        final MongoCollection<RawBsonDocument> consentCollection = mongoTemplate.getCollection(collectionName)
+                                                                                .withDocumentClass(RawBsonDocument.class);
+        final MongoCollection<BsonDocument> archiveCollection = mongoTemplate.getCollection(ARCHIVE_COLLECTION)
+                                                                             .withDocumentClass(BsonDocument.class);
+        long consentsArchived = 0;
+        long bytesReclaimed = 0;
+        for (int batch = 0; batch < configuration.getMaxBatchesPerRun(); batch++) {
+            final List<RawBsonDocument> staleConsents = consentCollection.find(staleConsentFilter)
+                                                                         .limit(configuration.getBatchSize())
+                                                                         .into(new ArrayList<>());
+            if (staleConsents.isEmpty()) {
+                break;
+            }
+
+            final Date archivedDateTime = new Date();
+            final Map<BsonValue, Integer> documentSizes = new HashMap<>();
+            final List<ReplaceOneModel<BsonDocument>> archiveWrites = new ArrayList<>(staleConsents.size());
+            for (RawBsonDocument staleConsent : staleConsents) {
+                final BsonValue id = staleConsent.get("_id");
+                final int documentSize = staleConsent.getByteBuffer().remaining();
+                documentSizes.put(id, documentSize);
+                archiveWrites.add(new ReplaceOneModel<>(Filters.eq("_id", id),
+                        createArchiveDocument(managedCollection.intentType(), reason, staleConsent, documentSize, archivedDateTime),
+                        new ReplaceOptions().upsert(true)));
+            }
+            archiveCollection.bulkWrite(archiveWrites, new BulkWriteOptions().ordered(false));
+
+            final List<BsonValue> ids = new ArrayList<>(documentSizes.keySet());
+            final long deletedCount = consentCollection.deleteMany(Filters.and(Filters.in("_id", ids), staleConsentFilter))
+                                                       .getDeletedCount();
+            if (deletedCount < ids.size()) {
+                // Consents which were modified since they were read are no longer stale, so remove them from the archive
+                final List<BsonValue> retainedIds = consentCollection.find(Filters.in("_id", ids))
+                                                                     .projection(Projections.include("_id"))
+                                                                     .map(consent -> consent.get("_id"))
+                                                                     .into(new ArrayList<>());
+                archiveCollection.deleteMany(Filters.in("_id", retainedIds));
+                retainedIds.forEach(documentSizes::remove);
+            }
+            if (managedCollection.intentType() == IntentType.PAYMENT_FILE_CONSENT && !documentSizes.isEmpty()) {
+                filePaymentContentStore.deleteForConsents(documentSizes.keySet().stream()
+                                                                       .map(id -> id.asString().getValue())
+                                                                       .toList());
+            }
+            consentsArchived += deletedCount;
+            bytesReclaimed += documentSizes.values().stream().mapToLong(Integer::longValue).sum();
+
+            if (staleConsents.size() < configuration.getBatchSize()) {
+                break;
+            }
+        }
+
+        if (consentsArchived > 0) {
+            logger.info("Archived {} {} consents from collection: {}", consentsArchived, reason, collectionName);
+        }
+        recordMetrics(managedCollection.intentType(), reason, consentsArchived, bytesReclaimed);
+        return new ArchiveResult(managedCollection.intentType(), reason, consentsArchived, bytesReclaimed);
+    }
+
+    private static BsonDocument createArchiveDocument(IntentType intentType, ArchiveReason reason, RawBsonDocument consent,
+                                                      int documentSize, Date archivedDateTime) {
+        final BsonDocument archiveDocument = new BsonDocument("_id", consent.get("_id"))
+                .append("intentType", new BsonString(intentType.name()))
+                .append("reason", new BsonString(reason.name()))
+                .append("sizeBytes", new BsonInt32(documentSize))
+                .append("archivedDateTime", new BsonDateTime(archivedDateTime.getTime()));
+        for (String field : List.of("apiClientId", "resourceOwnerId", "status", "requestVersion", "creationDateTime", "statusUpdatedDateTime")) {
+            final BsonValue value = consent.get(field);
+            if (value != null) {
+                archiveDocument.append(field, value);
+            }
+        }
+        return archiveDocument;
+    }
+
+    private void recordMetrics(IntentType intentType, ArchiveReason reason, long consentsArchived, long bytesReclaimed) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Counter.builder(ARCHIVED_CONSENTS_METRIC)
+               .description("Number of stale consents moved to the archive")
+               .tag("intentType", intentType.name())
+               .tag("reason", reason.name())
+               .register(meterRegistry)
+               .increment(consentsArchived);
+        Counter.builder(RECLAIMED_BYTES_METRIC)
+               .description("Size of the stale consent documents removed from the consent collections")
+               .baseUnit("bytes")
+               .tag("intentType", intentType.name())
+               .tag("reason", reason.name())
+               .register(meterRegistry)
+               .increment(bytesReclaimed);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.BaseConsentEntity;
+
+/**
+ * Base repository for all Consent entities.
+ * <p>
+ * Adds support for conditional updates, this allows a Consent to be checked and modified in a single round trip to
+ * Mongo, for reading a subset of a Consent's fields and for fingerprinting request objects, see
+ * {@link DefaultConsentRepository} for the implementation.
+ *
+ * @param <T> type of the Consent entity
+ */
+@NoRepositoryBean
+public interface ConsentRepository<T extends BaseConsentEntity<?>> extends MongoRepository<T, String> {
+
+    /**
+     * Atomically applies an update to the Consent matching the query.
+     *
+     * @param query  the query which the Consent must match in order for the update to be applied
+     * @param update the fields to update, only these fields are written to the document
+     * @return the updated Consent or an empty Optional if no Consent matched the query
+     */
+    Optional<T> findAndModify(Query query, Update update);
+
+    /**
+     * Retrieves the Consent by id, reading only the fields specified.
+     *
+     * @param id             the id of the Consent
+     * @param includedFields the fields to read, the id is always included
+     * @return the Consent with only the included fields populated, or an empty Optional if no Consent exists
+     */
+    Optional<T> findById(String id, Collection<String> includedFields);
+
+    /**
+     * Retrieves all the Consents matching the query in a single round trip to Mongo.
+     *
+     * @param query the query to match, any fields included in the query's projection are the only fields read
+     * @return the matching Consents, in no particular order
+     */
+    List<T> find(Query query);
+
+    /**
+     * Streams the Consents matching the query, the Consents are read from the database cursor as the Stream is
+     * consumed so the number of Consents held in memory does not depend upon the number of matches.
+     *
+     * @param query the query to match, including any sort, limit and projection to apply
+     * @return Stream of the matching Consents, this holds an open database cursor and must be closed
+     */
+    Stream<T> stream(Query query);
+
+    /**
+     * Computes the fingerprint of a Consent request object, see {@link RequestFingerprint}
+     *
+     * @param request the request object
+     * @return the hex encoded fingerprint
+     */
+    String computeRequestFingerprint(Object request);
+
+}
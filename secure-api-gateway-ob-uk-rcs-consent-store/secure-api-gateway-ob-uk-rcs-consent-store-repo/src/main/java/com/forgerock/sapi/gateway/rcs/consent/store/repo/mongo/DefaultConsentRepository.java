@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.query.MongoEntityInformation;
+import org.springframework.data.mongodb.repository.support.SimpleMongoRepository;
+
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.BaseConsentEntity;
+
+/**
+ * Repository base class used for all the Consent repositories, configured via
+ * {@link org.springframework.data.mongodb.repository.config.EnableMongoRepositories#repositoryBaseClass()}
+ *
+ * @param <T> type of the Consent entity
+ */
+public class DefaultConsentRepository<T extends BaseConsentEntity<?>> extends SimpleMongoRepository<T, String> implements ConsentRepository<T> {
+
+    private static final FindAndModifyOptions RETURN_UPDATED_CONSENT = FindAndModifyOptions.options().returnNew(true);
+
+    private final MongoEntityInformation<T, String> entityInformation;
+
+    private final MongoOperations mongoOperations;
+
+    public DefaultConsentRepository(MongoEntityInformation<T, String> entityInformation, MongoOperations mongoOperations) {
+        super(entityInformation, mongoOperations);
+        this.entityInformation = entityInformation;
+        this.mongoOperations = mongoOperations;
+    }
+
+    @Override
+    public Optional<T> findAndModify(Query query, Update update) {
+        return Optional.ofNullable(mongoOperations.findAndModify(query, update, RETURN_UPDATED_CONSENT,
+                entityInformation.getJavaType(), entityInformation.getCollectionName()));
+    }
+
+    @Override
+    public Optional<T> findById(String id, Collection<String> includedFields) {
+        final Query query = new Query(where("_id").is(id));
+        includedFields.forEach(query.fields()::include);
+        return Optional.ofNullable(mongoOperations.findOne(query, entityInformation.getJavaType(),
+                entityInformation.getCollectionName()));
+    }
+
+    @Override
+    public List<T> find(Query query) {
+        return mongoOperations.find(query, entityInformation.getJavaType(), entityInformation.getCollectionName());
+    }
+
+    @Override
+    public Stream<T> stream(Query query) {
+        return mongoOperations.stream(query, entityInformation.getJavaType(), entityInformation.getCollectionName());
+    }
+
+    @Override
+    public String computeRequestFingerprint(Object request) {
+        return RequestFingerprint.compute(mongoOperations.getConverter(), request);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo;
+
+import static java.util.Objects.requireNonNull;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+/**
+ * Computes fingerprints of Consent request objects, used to detect whether a request which reuses an idempotencyKey
+ * is the same as the request that created the Consent.
+ * <p>
+ * The request is normalised by converting it to the document form that is persisted in Mongo (null fields are omitted)
+ * and sorting the document keys. The fingerprint is the hex encoded SHA-256 digest of the canonical extended JSON of the
+ * normalised document, so two requests have the same fingerprint if they would be persisted as the same document.
+ */
+public final class RequestFingerprint {
+
+    private static final JsonWriterSettings CANONICAL_JSON = JsonWriterSettings.builder().outputMode(JsonMode.EXTENDED).build();
+
+    private static final HexFormat HEX_FORMAT = HexFormat.of();
+
+    private RequestFingerprint() {
+    }
+
+    /**
+     * @param converter converter used to map the request to its document form
+     * @param request   the request object
+     * @return the hex encoded fingerprint
+     */
+    public static String compute(MongoConverter converter, Object request) {
+        requireNonNull(request, "request must be provided");
+        final Object mongoType = converter.convertToMongoType(request);
+        final Document canonicalDocument = new Document("request", normalise(mongoType));
+        return HEX_FORMAT.formatHex(sha256(canonicalDocument.toJson(CANONICAL_JSON).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static Object normalise(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            final Map<String, Object> sorted = new TreeMap<>();
+            map.forEach((key, entryValue) -> sorted.put(String.valueOf(key), normalise(entryValue)));
+            return new Document(sorted);
+        }
+        if (value instanceof Collection<?> collection) {
+            final List<Object> normalised = new ArrayList<>(collection.size());
+            collection.forEach(element -> normalised.add(normalise(element)));
+            return normalised;
+        }
+        return value;
+    }
+
+    private static byte[] sha256(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -15,9 +15,8 @@
  */
 package com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.account;
 
-import org.springframework.data.mongodb.repository.MongoRepository;
-
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.account.AccountAccessConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.ConsentRepository;
 
-public interface AccountAccessConsentRepository extends MongoRepository<AccountAccessConsentEntity, String> {
+public interface AccountAccessConsentRepository extends ConsentRepository<AccountAccessConsentEntity> {
 }
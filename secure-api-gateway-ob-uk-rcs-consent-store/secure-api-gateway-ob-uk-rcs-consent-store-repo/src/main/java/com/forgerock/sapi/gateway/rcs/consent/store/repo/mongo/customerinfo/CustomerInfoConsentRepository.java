@@ -16,7 +16,7 @@
 package com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.customerinfo;
 
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.customerinfo.CustomerInfoConsentEntity;
-import org.springframework.data.mongodb.repository.MongoRepository;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.ConsentRepository;
 
-public interface CustomerInfoConsentRepository extends MongoRepository<CustomerInfoConsentEntity, String> {
+public interface CustomerInfoConsentRepository extends ConsentRepository<CustomerInfoConsentEntity> {
 }
@@ -16,7 +16,7 @@
 package com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.funds;
 
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.funds.FundsConfirmationConsentEntity;
-import org.springframework.data.mongodb.repository.MongoRepository;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.ConsentRepository;
 
-public interface FundsConfirmationConsentRepository extends MongoRepository<FundsConfirmationConsentEntity, String> {
+public interface FundsConfirmationConsentRepository extends ConsentRepository<FundsConfirmationConsentEntity> {
 }
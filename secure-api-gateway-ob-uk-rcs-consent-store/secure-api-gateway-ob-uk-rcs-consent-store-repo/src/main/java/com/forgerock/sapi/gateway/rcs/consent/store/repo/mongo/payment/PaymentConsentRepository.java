@@ -18,14 +18,35 @@ package com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment;
 import java.util.Optional;
 
 import org.joda.time.DateTime;
-import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.BasePaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.ConsentRepository;
 
-public interface PaymentConsentRepository<T extends BasePaymentConsentEntity> extends MongoRepository<T, String> {
+public interface PaymentConsentRepository<T extends BasePaymentConsentEntity<?>> extends ConsentRepository<T> {
 
     @Query("{ 'apiClientId': ?0, 'idempotencyKey' : ?1, 'idempotencyKeyExpiration': {$gt: ?2 } }")
     Optional<T> findByIdempotencyData(String apiClientId, String idempotencyKey, DateTime currentTime);
 
+    /**
+     * Finds the Consent matching the idempotency data, reading only the id and requestFingerprint. The query is covered
+     * by the idempotencyFingerprint index so the Consent document is not read.
+     *
+     * @return the Consent with only the id and requestFingerprint populated, or an empty Optional if there is no match
+     */
+    @Query(value = "{ 'apiClientId': ?0, 'idempotencyKey' : ?1, 'idempotencyKeyExpiration': {$gt: ?2 } }",
+           fields = "{ '_id': 1, 'requestFingerprint': 1 }")
+    Optional<T> findIdempotencyFingerprint(String apiClientId, String idempotencyKey, DateTime currentTime);
+
+    /**
+     * Releases an idempotencyKey held by a Consent whose idempotencyKeyExpiration has passed, so that the key can be
+     * used to create a new Consent without violating the unique activeIdempotencyKey index.
+     *
+     * @return the number of Consents updated
+     */
+    @Query("{ 'apiClientId': ?0, 'activeIdempotencyKey' : ?1, 'idempotencyKeyExpiration': {$lte: ?2 } }")
+    @Update("{ '$unset': { 'activeIdempotencyKey': '' } }")
+    long releaseExpiredIdempotencyKey(String apiClientId, String idempotencyKey, DateTime currentTime);
+
 }
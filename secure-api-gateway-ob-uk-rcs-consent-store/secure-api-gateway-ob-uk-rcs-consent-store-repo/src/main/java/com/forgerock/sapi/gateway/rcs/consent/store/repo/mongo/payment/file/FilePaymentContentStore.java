@@ -0,0 +1,131 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.file;
+
+import static java.util.Objects.requireNonNull;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+import static org.springframework.data.mongodb.gridfs.GridFsCriteria.whereFilename;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+
+/**
+ * Stores the files uploaded for File Payment Consents in the {@value #BUCKET} GridFS bucket.
+ * <p>
+ * Files are written in chunks as they are read from the supplied InputStream, so a file is never held in memory in
+ * full. The SHA-256 digest of the content is computed while the file is written, the digest is stored on the Consent
+ * and used to check the idempotency of repeated uploads without reading the stored file back.
+ * <p>
+ * Each file is stored with the id of the Consent that it belongs to as its filename.
+ */
+@Component
+public class FilePaymentContentStore {
+
+    public static final String BUCKET = "FilePaymentContent";
+
+    private static final HexFormat HEX_FORMAT = HexFormat.of();
+
+    private final GridFsTemplate gridFsTemplate;
+
+    public FilePaymentContentStore(MongoTemplate mongoTemplate) {
+        requireNonNull(mongoTemplate, "mongoTemplate must be provided");
+        this.gridFsTemplate = new GridFsTemplate(mongoTemplate.getMongoDatabaseFactory(), mongoTemplate.getConverter(), BUCKET);
+    }
+
+    /**
+     * @param consentId id of the Consent that the file belongs to
+     * @param content   the file content, the stream is read to the end but not closed
+     * @return the id and SHA-256 digest of the stored file
+     */
+    public StoredFileContent store(String consentId, InputStream content) {
+        final MessageDigest digest = createSha256Digest();
+        final ObjectId fileContentId = gridFsTemplate.store(new DigestInputStream(content, digest), consentId);
+        return new StoredFileContent(fileContentId.toHexString(), HEX_FORMAT.formatHex(digest.digest()));
+    }
+
+    /**
+     * @param fileContentId id of a stored file
+     * @return a stream of the file content, which must be closed by the caller
+     */
+    public InputStream openContent(String fileContentId) {
+        final GridFSFile file = gridFsTemplate.findOne(query(where("_id").is(new ObjectId(fileContentId))));
+        if (file == null) {
+            throw new IllegalStateException("File content not found for fileContentId: " + fileContentId);
+        }
+        try {
+            return gridFsTemplate.getResource(file).getInputStream();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open file content for fileContentId: " + fileContentId, e);
+        }
+    }
+
+    public void delete(String fileContentId) {
+        gridFsTemplate.delete(query(where("_id").is(new ObjectId(fileContentId))));
+    }
+
+    /**
+     * Deletes all files belonging to the Consents
+     */
+    public void deleteForConsents(Collection<String> consentIds) {
+        gridFsTemplate.delete(query(whereFilename().in(consentIds)));
+    }
+
+    /**
+     * Computes the SHA-256 digest of content without storing it
+     *
+     * @param content the content, the stream is read to the end but not closed
+     * @return the hex encoded digest
+     */
+    public static String computeSha256(InputStream content) {
+        final MessageDigest digest = createSha256Digest();
+        try {
+            new DigestInputStream(content, digest).transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read file content", e);
+        }
+        return HEX_FORMAT.formatHex(digest.digest());
+    }
+
+    private static MessageDigest createSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param fileContentId id of the file in the GridFS bucket
+     * @param sha256        hex encoded SHA-256 digest of the file content
+     */
+    public record StoredFileContent(String fileContentId, String sha256) {
+    }
+}
@@ -16,80 +16,144 @@
 package com.forgerock.sapi.gateway.rcs.consent.store.repo.service;
 
 import static java.util.Objects.requireNonNull;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import org.springframework.data.mongodb.repository.MongoRepository;
-import org.springframework.util.MultiValueMap;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.BaseConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.ConsentStatus;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException.ErrorType;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.ConsentRepository;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.version.ApiVersionCompatibilityMatrix;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.version.ApiVersionContext;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBVersion;
 
 public abstract class BaseConsentService<T extends BaseConsentEntity<?>, A extends AuthoriseConsentArgs> implements ConsentService<T, A> {
 
-    private final Consumer<T> NO_VALIDATION_STRATEGY = ignored -> {};
+    /**
+     * Number of times a conditional update is attempted when the Consent is concurrently modified between the update
+     * and the subsequent read which checks why the update did not match.
+     */
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
 
-    protected final MongoRepository<T, String> repo;
+    /**
+     * Default maximum number of Consents which can be retrieved by a single call to {@link #getConsents(Collection, String)}
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
 
     /**
-     * Map of the valid state transitions.
-     *
-     * The key is the current Status of the Consent, and the values are the valid Status values that the Consent
-     * is allowed to transition to.
+     * Default maximum number of Consents which can be listed by a single call to {@link #listConsents(ConsentListQuery)}
      */
-    private final MultiValueMap<String, String> validStateTransitions;
+    public static final int DEFAULT_MAX_PAGE_SIZE = 10_000;
+
+    private static final Sort LIST_SORT = Sort.by(Sort.Direction.ASC, "creationDateTime", "_id");
+
+    protected final ConsentRepository<T> repo;
+
+    /**
+     * The valid state transitions, see {@link ConsentStateModel#getStatusTransitions()}
+     */
+    private final ConsentStatusTransitions statusTransitions;
 
     private final Supplier<String> idGenerator;
 
     /**
      * Initial status of the consent when it has been newly created
      */
-    private final String initialConsentStatus;
+    private final ConsentStatus initialConsentStatus;
 
     /**
      * Status when the Consent has been Authorised by the Resource Owner
      */
-    private final String authorisedConsentStatus;
+    private final ConsentStatus authorisedConsentStatus;
     /**
      * Status when the Resource Owner rejects the Consent
      */
-    private final String rejectedConsentStatus;
+    private final ConsentStatus rejectedConsentStatus;
     /**
      * Status when the Resource Owner revokes an Authorisation previously given for a Consent
      */
-    private final String revokedConsentStatus;
+    private final ConsentStatus revokedConsentStatus;
     /**
-     * Consumer that applies API version validation to consents retrieved from the repo. The Consumer should throw
-     * a {@link ConsentStoreException} if the Consent should not be used with a particular API version.
+     * Determines which Consents can be accessed using the API version of the current call, see {@link ApiVersionContext}.
+     * Validation is applied to the Consents retrieved from the repo, and as part of the conditional updates.
      * <p>
-     * The Consumer is wrapped in an AtomicReference to ensure thread safety with respect to customising this behaviour
+     * The matrix is wrapped in an AtomicReference to ensure thread safety with respect to customising this behaviour
      * when the service has been created.
      * <p>
      * By default, no validation is carried out.
      */
-    private final AtomicReference<Consumer<T>> apiVersionValidationStrategy = new AtomicReference<>(NO_VALIDATION_STRATEGY);
+    private final AtomicReference<ApiVersionCompatibilityMatrix> apiVersionCompatibilityMatrix = new AtomicReference<>();
+
+    /**
+     * Maximum number of Consents which can be retrieved by a single call to {@link #getConsents(Collection, String)},
+     * this bounds the size of the $in query and of the response.
+     */
+    private volatile int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
 
-    public BaseConsentService(MongoRepository<T, String> repo, Supplier<String> idGenerator, ConsentStateModel consentStateModel) {
+    /**
+     * Maximum number of Consents which can be listed by a single call to {@link #listConsents(ConsentListQuery)}, this
+     * bounds how long the database cursor for a page is held open.
+     */
+    private volatile int maxPageSize = DEFAULT_MAX_PAGE_SIZE;
+
+    public BaseConsentService(ConsentRepository<T> repo, Supplier<String> idGenerator, ConsentStateModel consentStateModel) {
         this.repo = requireNonNull(repo, "repo must be provided");
         this.idGenerator = requireNonNull(idGenerator, "idGenerator must be provided");
 
-        requireNonNull(consentStateModel, "consentStateModel must be provided");
-        this.validStateTransitions = consentStateModel.getValidStateTransitions();
-        this.initialConsentStatus = consentStateModel.getInitialConsentStatus();
-        this.authorisedConsentStatus = consentStateModel.getAuthorisedConsentStatus();
-        this.rejectedConsentStatus = consentStateModel.getRejectedConsentStatus();
-        this.revokedConsentStatus = consentStateModel.getRevokedConsentStatus();
+        ConsentStatusTransitions.validate(consentStateModel);
+        this.statusTransitions = consentStateModel.getStatusTransitions();
+        this.initialConsentStatus = ConsentStatus.fromValue(consentStateModel.getInitialConsentStatus());
+        this.authorisedConsentStatus = ConsentStatus.fromValue(consentStateModel.getAuthorisedConsentStatus());
+        this.rejectedConsentStatus = ConsentStatus.fromValue(consentStateModel.getRejectedConsentStatus());
+        this.revokedConsentStatus = ConsentStatus.fromValue(consentStateModel.getRevokedConsentStatus());
+    }
+
+    /**
+     * @param apiVersionCompatibilityMatrix determines which Consents can be accessed by calls made with an API version
+     */
+    void setApiVersionCompatibilityMatrix(ApiVersionCompatibilityMatrix apiVersionCompatibilityMatrix) {
+        this.apiVersionCompatibilityMatrix.set(requireNonNull(apiVersionCompatibilityMatrix,
+                "apiVersionCompatibilityMatrix must be provided"));
+    }
+
+    /**
+     * @param maxBatchSize maximum number of Consents which can be retrieved by a single call to getConsents
+     */
+    void setMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.maxBatchSize = maxBatchSize;
     }
 
-    void setApiVersionValidationStrategy(Consumer<T> apiVersionValidationStrategy) {
-        requireNonNull(apiVersionValidationStrategy, "apiVersionValidationStrategy must be provided");
-        this.apiVersionValidationStrategy.set(apiVersionValidationStrategy);
+    /**
+     * @param maxPageSize maximum number of Consents which can be listed by a single call to listConsents
+     */
+    void setMaxPageSize(int maxPageSize) {
+        if (maxPageSize <= 0) {
+            throw new IllegalArgumentException("maxPageSize must be positive");
+        }
+        this.maxPageSize = maxPageSize;
     }
 
     @Override
@@ -101,14 +165,121 @@ public abstract class BaseConsentService<T extends BaseConsentEntity<?>, A exten
         if (consent.getId() == null) {
             consent.setId(idGenerator.get());
         }
-        consent.setStatus(initialConsentStatus);
+        consent.setConsentStatus(initialConsentStatus);
 
         return repo.insert(consent);
     }
 
     @Override
     public T getConsent(String consentId, String apiClientId) {
-        final Optional<T> findResult = repo.findById(consentId);
+        return validateConsentAccess(consentId, apiClientId, repo.findById(consentId));
+    }
+
+    @Override
+    public T getConsent(String consentId, String apiClientId, ConsentProjection projection) {
+        requireNonNull(projection, "projection must be provided");
+        return validateConsentAccess(consentId, apiClientId, repo.findById(consentId, projection.getFields()));
+    }
+
+    @Override
+    public List<T> getConsents(Collection<String> consentIds, String apiClientId) {
+        return findConsents(consentIds, apiClientId, null);
+    }
+
+    @Override
+    public List<T> getConsents(Collection<String> consentIds, String apiClientId, ConsentProjection projection) {
+        requireNonNull(projection, "projection must be provided");
+        return findConsents(consentIds, apiClientId, projection);
+    }
+
+    private List<T> findConsents(Collection<String> consentIds, String apiClientId, ConsentProjection projection) {
+        requireNonNull(consentIds, "consentIds must be provided");
+        final Set<String> uniqueConsentIds = new LinkedHashSet<>(consentIds);
+        if (uniqueConsentIds.size() > maxBatchSize) {
+            throw new ConsentStoreException(ErrorType.BAD_REQUEST, null,
+                    "cannot get more than " + maxBatchSize + " consents in a single request, requested: " + uniqueConsentIds.size());
+        }
+        if (uniqueConsentIds.isEmpty()) {
+            return List.of();
+        }
+
+        final Query query = createAccessQuery(where("_id").in(uniqueConsentIds), apiClientId);
+        if (projection != null) {
+            projection.getFields().forEach(query.fields()::include);
+        }
+        final Map<String, T> consentsById = repo.find(query).stream()
+                                                .collect(Collectors.toMap(BaseConsentEntity::getId, Function.identity()));
+        return uniqueConsentIds.stream().map(consentsById::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public Stream<T> listConsents(ConsentListQuery listQuery) {
+        requireNonNull(listQuery, "listQuery must be provided");
+        if (listQuery.getApiClientId() == null && listQuery.getResourceOwnerId() == null) {
+            throw new ConsentStoreException(ErrorType.BAD_REQUEST, null,
+                    "apiClientId or resourceOwnerId must be supplied to list consents");
+        }
+        if (listQuery.getPageSize() <= 0 || listQuery.getPageSize() > maxPageSize) {
+            throw new ConsentStoreException(ErrorType.BAD_REQUEST, null,
+                    "pageSize must be between 1 and " + maxPageSize + ", requested: " + listQuery.getPageSize());
+        }
+
+        final Query query = createListQuery(listQuery);
+        if (!listQuery.getStatuses().isEmpty()) {
+            query.addCriteria(where("status").in(toConsentStatuses(listQuery.getStatuses())));
+        }
+        if (listQuery.getAfterConsentId() != null) {
+            // Keyset condition: (creationDateTime, _id) > (afterCreationDateTime, afterConsentId), the gte bound on
+            // its own allows the index range scan to start at the previous page's last key
+            final Date afterCreationDateTime = getAfterCreationDateTime(listQuery);
+            query.addCriteria(where("creationDateTime").gte(afterCreationDateTime))
+                 .addCriteria(new Criteria().orOperator(where("creationDateTime").gt(afterCreationDateTime),
+                                                        where("_id").gt(listQuery.getAfterConsentId())));
+        }
+        addApiVersionCriteria(query);
+        return repo.stream(query.with(LIST_SORT).limit(listQuery.getPageSize()));
+    }
+
+    private static List<ConsentStatus> toConsentStatuses(List<String> statuses) {
+        try {
+            return statuses.stream().map(ConsentStatus::fromValue).toList();
+        } catch (IllegalArgumentException ex) {
+            throw new ConsentStoreException(ErrorType.BAD_REQUEST, null, ex.getMessage());
+        }
+    }
+
+    /**
+     * Creates a query matching the non-deleted Consents belonging to the apiClientId and/or resourceOwnerId of the list
+     * query.
+     */
+    private static Query createListQuery(ConsentListQuery listQuery) {
+        final Query query = new Query(where("deleted").is(false));
+        if (listQuery.getApiClientId() != null) {
+            query.addCriteria(where("apiClientId").is(listQuery.getApiClientId()));
+        }
+        if (listQuery.getResourceOwnerId() != null) {
+            query.addCriteria(where("resourceOwnerId").is(listQuery.getResourceOwnerId()));
+        }
+        return query;
+    }
+
+    /**
+     * Looks up the creationDateTime of the afterConsentId, the Consent must be one that the list query can return.
+     * A Consent which does not exist and one belonging to a different ApiClient or resource owner are reported with
+     * the same error, so that the existence of other clients' Consents is not revealed.
+     */
+    private Date getAfterCreationDateTime(ConsentListQuery listQuery) {
+        final String afterConsentId = listQuery.getAfterConsentId();
+        final Query query = createListQuery(listQuery).addCriteria(where("_id").is(afterConsentId));
+        query.fields().include("creationDateTime");
+        return repo.find(query.limit(1)).stream()
+                   .findFirst()
+                   .map(BaseConsentEntity::getCreationDateTime)
+                   .orElseThrow(() -> new ConsentStoreException(ErrorType.BAD_REQUEST, afterConsentId,
+                           "afterConsentId does not exist"));
+    }
+
+    private T validateConsentAccess(String consentId, String apiClientId, Optional<T> findResult) {
         if (findResult.isEmpty()) {
             throw new ConsentStoreException(ErrorType.NOT_FOUND, consentId);
         }
@@ -119,53 +290,128 @@ public abstract class BaseConsentService<T extends BaseConsentEntity<?>, A exten
         if (consent.isDeleted()) {
             throw new ConsentStoreException(ErrorType.NOT_FOUND, consentId);
         }
-        apiVersionValidationStrategy.get().accept(consent);
+        validateApiVersion(consent);
         return consent;
     }
 
+    private void validateApiVersion(T consent) {
+        final OBVersion apiVersion = ApiVersionContext.getApiVersion();
+        final ApiVersionCompatibilityMatrix matrix = apiVersionCompatibilityMatrix.get();
+        if (apiVersion != null && matrix != null
+                && !matrix.canAccessResourceUsingApiVersion(consent.getRequestVersion(), apiVersion)) {
+            throw new ConsentStoreException(ErrorType.INVALID_API_VERSION, consent.getId(),
+                    "Consent created using API version: " + consent.getRequestVersion().getCanonicalVersion()
+                            + " cannot be accessed using version: " + apiVersion.getCanonicalVersion());
+        }
+    }
+
 
     @Override
     public T authoriseConsent(A authoriseConsentArgs) {
-        final T consent = getConsent(authoriseConsentArgs.getConsentId(), authoriseConsentArgs.getApiClientId());
-        validateStateTransition(consent, authorisedConsentStatus);
+        final Update update = new Update().set("resourceOwnerId", authoriseConsentArgs.getResourceOwnerId());
+        addConsentSpecificAuthorisationData(update, authoriseConsentArgs);
 
-        consent.setStatus(authorisedConsentStatus);
-        consent.setResourceOwnerId(authoriseConsentArgs.getResourceOwnerId());
-        addConsentSpecificAuthorisationData(consent, authoriseConsentArgs);
-
-        return repo.save(consent);
+        return transitionConsent(authoriseConsentArgs.getConsentId(), authoriseConsentArgs.getApiClientId(),
+                authorisedConsentStatus, update);
     }
 
-    protected abstract void addConsentSpecificAuthorisationData(T consent, A authoriseConsentArgs);
+    /**
+     * Adds the fields which are specific to the type of Consent to the update applied when the Consent is authorised.
+     */
+    protected abstract void addConsentSpecificAuthorisationData(Update update, A authoriseConsentArgs);
 
-    protected void validateStateTransition(T consent, String targetStatus) {
+    protected void validateStateTransition(T consent, ConsentStatus targetStatus) {
         if (!isTransitionAllowed(consent, targetStatus)) {
             throw new ConsentStoreException(ErrorType.INVALID_STATE_TRANSITION, consent.getId(),
                     "cannot transition from consentStatus: " + consent.getStatus() + " to status: " + targetStatus);
         }
     }
 
-    private boolean isTransitionAllowed(T consent, String targetStatus) {
-        final List<String> validTransitions = validStateTransitions.get(consent.getStatus());
-        return validTransitions != null && validTransitions.contains(targetStatus);
+    private boolean isTransitionAllowed(T consent, ConsentStatus targetStatus) {
+        return statusTransitions.isTransitionAllowed(consent.getConsentStatus(), targetStatus);
+    }
+
+    /**
+     * Transitions a Consent to the targetStatus using a single conditional update, the update is only applied if the
+     * Consent's current status is allowed to transition to the targetStatus.
+     *
+     * @param consentId    id of the Consent to transition
+     * @param apiClientId  id of the ApiClient which owns the Consent
+     * @param targetStatus status to transition to
+     * @param update       any additional fields to set as part of the transition
+     * @return the updated Consent
+     * @throws ConsentStoreException if the Consent cannot be accessed or the transition is not allowed
+     */
+    protected T transitionConsent(String consentId, String apiClientId, ConsentStatus targetStatus, Update update) {
+        final Query query = createUpdateQuery(consentId, apiClientId)
+                .addCriteria(where("status").in(statusTransitions.getSourceStatuses(targetStatus)));
+        update.set("status", targetStatus);
+
+        return updateConsent(consentId, apiClientId, query, update, consent -> validateStateTransition(consent, targetStatus));
     }
 
     @Override
     public T rejectConsent(String consentId, String apiClientId, String resourceOwnerId) {
-        final T consent = getConsent(consentId, apiClientId);
-        validateStateTransition(consent, rejectedConsentStatus);
-        consent.setStatus(rejectedConsentStatus);
-        consent.setResourceOwnerId(resourceOwnerId);
-
-        return repo.save(consent);
+        return transitionConsent(consentId, apiClientId, rejectedConsentStatus,
+                new Update().set("resourceOwnerId", resourceOwnerId));
     }
 
     @Override
     public void deleteConsent(String consentId, String apiClientId) {
-        final T consent = getConsent(consentId, apiClientId);
-        consent.setStatus(revokedConsentStatus);
-        consent.setDeleted(true);
-        repo.save(consent);
+        final Update update = new Update().set("status", revokedConsentStatus).set("deleted", true);
+        updateConsent(consentId, apiClientId, createUpdateQuery(consentId, apiClientId), update, consent -> {});
+    }
+
+    /**
+     * Creates a query which matches the Consent if it can be accessed by the ApiClient, the conditions applied are
+     * the same as those checked by {@link #getConsent(String, String)}
+     */
+    private Query createUpdateQuery(String consentId, String apiClientId) {
+        return createAccessQuery(where("_id").is(consentId), apiClientId);
+    }
+
+    /**
+     * Creates a query which matches the Consents selected by the idCriteria that can be accessed by the ApiClient
+     */
+    private Query createAccessQuery(Criteria idCriteria, String apiClientId) {
+        final Query query = new Query(idCriteria.and("apiClientId").is(apiClientId).and("deleted").is(false));
+        addApiVersionCriteria(query);
+        return query;
+    }
+
+    /**
+     * Restricts the query to the Consents which can be accessed using the API version of the current call
+     */
+    private void addApiVersionCriteria(Query query) {
+        final OBVersion apiVersion = ApiVersionContext.getApiVersion();
+        final ApiVersionCompatibilityMatrix matrix = apiVersionCompatibilityMatrix.get();
+        if (apiVersion != null && matrix != null) {
+            query.addCriteria(where("requestVersion").in(matrix.getAccessibleCreationVersions(apiVersion)));
+        }
+    }
+
+    /**
+     * Applies the update to the Consent if it matches the query. The fields maintained by Spring Data on save are
+     * updated explicitly, as they are not applied to findAndModify operations.
+     * <p>
+     * If the query does not match, then the Consent is retrieved to determine why, so that the same errors are
+     * raised as when operating on the retrieved Consent.
+     */
+    private T updateConsent(String consentId, String apiClientId, Query query, Update update, Consumer<T> updateValidator) {
+        update.set("statusUpdatedDateTime", new Date()).inc("entityVersion", 1);
+        for (int attempt = 1; ; attempt++) {
+            final Optional<T> updatedConsent = repo.findAndModify(query, update);
+            if (updatedConsent.isPresent()) {
+                return updatedConsent.get();
+            }
+            updateValidator.accept(getConsent(consentId, apiClientId));
+
+            // The Consent now passes validation, it was modified between the update and the get
+            if (attempt == MAX_UPDATE_ATTEMPTS) {
+                throw new ConsentStoreException(ErrorType.INVALID_STATE_TRANSITION, consentId,
+                        "failed to update consent as it is being concurrently modified");
+            }
+        }
     }
 
     @Override
@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.service;
+
+import java.util.List;
+
+/**
+ * Selects a page of Consents to list, see {@link ConsentService#listConsents(ConsentListQuery)}.
+ * <p>
+ * Consents are listed in creationDateTime order, ties are broken using the id. Pages are selected using a keyset rather
+ * than an offset, the afterConsentId is the id of the last Consent of the previous page, so that the cost of reading a
+ * page does not depend upon how many pages have already been read and Consents created whilst paging do not cause
+ * Consents to be skipped or repeated.
+ */
+public class ConsentListQuery {
+
+    private final String apiClientId;
+
+    private final String resourceOwnerId;
+
+    private final List<String> statuses;
+
+    private final String afterConsentId;
+
+    private final int pageSize;
+
+    /**
+     * @param apiClientId     optional - id of the ApiClient which owns the Consents
+     * @param resourceOwnerId optional - id of the Resource Owner who authorised or rejected the Consents, at least one
+     *                        of the apiClientId and resourceOwnerId must be supplied
+     * @param statuses        optional - OBIE status values to match, Consents in any status are listed if this is null
+     *                        or empty
+     * @param afterConsentId  optional - id of the last Consent of the previous page, the first page is listed if this
+     *                        is null
+     * @param pageSize        maximum number of Consents to list
+     */
+    public ConsentListQuery(String apiClientId, String resourceOwnerId, List<String> statuses, String afterConsentId,
+                            int pageSize) {
+        this.apiClientId = apiClientId;
+        this.resourceOwnerId = resourceOwnerId;
+        this.statuses = statuses == null ? List.of() : List.copyOf(statuses);
+        this.afterConsentId = afterConsentId;
+        this.pageSize = pageSize;
+    }
+
+    public String getApiClientId() {
+        return apiClientId;
+    }
+
+    public String getResourceOwnerId() {
+        return resourceOwnerId;
+    }
+
+    public List<String> getStatuses() {
+        return statuses;
+    }
+
+    public String getAfterConsentId() {
+        return afterConsentId;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    @Override
+    public String toString() {
+        return "ConsentListQuery{" +
+                "apiClientId='" + apiClientId + '\'' +
+                ", resourceOwnerId='" + resourceOwnerId + '\'' +
+                ", statuses=" + statuses +
+                ", afterConsentId='" + afterConsentId + '\'' +
+                ", pageSize=" + pageSize +
+                '}';
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.service;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The fields of a Consent entity to retrieve from the data store, this allows callers that only need part of the
+ * Consent to avoid decoding and transferring the rest of the document (e.g. the fileContent of a File Payment Consent).
+ * <p>
+ * The fields required to check that the Consent can be accessed are always retrieved, see {@link #ACCESS_FIELDS}.
+ * Fields may refer to nested values using dot notation, for example "requestObj.data.initiation". Fields which are not
+ * included are null (or the default value for primitives) in the entity returned, such entities are a read-only view of
+ * the Consent and must not be saved.
+ */
+public final class ConsentProjection {
+
+    /**
+     * Fields used by {@link ConsentService#getConsent(String, String)} to validate access and by
+     * {@link ConsentService#canTransitionToAuthorisedState} (the id is always returned), plus the entityVersion which
+     * allows callers to detect that the Consent has changed since it was last read
+     */
+    static final List<String> ACCESS_FIELDS = List.of("apiClientId", "deleted", "status", "requestVersion", "entityVersion");
+
+    /**
+     * Projection for callers that only need to know the status of a Consent
+     */
+    public static final ConsentProjection STATUS = ConsentProjection.of("statusUpdatedDateTime");
+
+    /**
+     * Projection for callers that only need to check access to a Consent and its entityVersion
+     */
+    public static final ConsentProjection VERSION = ConsentProjection.of();
+
+    private final Set<String> fields;
+
+    private ConsentProjection(Set<String> fields) {
+        this.fields = Collections.unmodifiableSet(fields);
+    }
+
+    /**
+     * @param fields the entity fields to retrieve in addition to the {@link #ACCESS_FIELDS}
+     * @return the ConsentProjection
+     */
+    public static ConsentProjection of(String... fields) {
+        final Set<String> projectionFields = new LinkedHashSet<>(ACCESS_FIELDS);
+        for (String field : fields) {
+            projectionFields.add(requireNonNull(field, "field must be provided"));
+        }
+        return new ConsentProjection(projectionFields);
+    }
+
+    public Set<String> getFields() {
+        return fields;
+    }
+
+    @Override
+    public String toString() {
+        return "ConsentProjection{" +
+                "fields=" + fields +
+                '}';
+    }
+}
@@ -15,6 +15,10 @@
  */
 package com.forgerock.sapi.gateway.rcs.consent.store.repo.service;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 import jakarta.validation.Valid;
 
 import org.springframework.validation.annotation.Validated;
@@ -34,6 +38,57 @@ public interface ConsentService<T extends BaseConsentEntity, A extends Authorise
 
     T getConsent(String consentId, String apiClientId);
 
+    /**
+     * Retrieves a Consent, reading only the fields in the projection. The same access checks are applied as for
+     * {@link #getConsent(String, String)}.
+     *
+     * @param consentId   the id of the Consent
+     * @param apiClientId the id of the ApiClient which owns the Consent
+     * @param projection  the fields to read
+     * @return a read-only view of the Consent, fields not in the projection are not populated
+     */
+    T getConsent(String consentId, String apiClientId, ConsentProjection projection);
+
+    /**
+     * Retrieves multiple Consents using a single query.
+     * <p>
+     * Only the Consents which can be accessed by the ApiClient are returned, ids which do not exist, have been deleted,
+     * belong to another ApiClient or cannot be accessed using the API version of the call are omitted from the result
+     * rather than raising an error as {@link #getConsent(String, String)} would.
+     *
+     * @param consentIds  the ids of the Consents, at most the max batch size configured for the service
+     * @param apiClientId the id of the ApiClient which owns the Consents
+     * @return the Consents in the order of the consentIds, duplicate ids are returned once
+     * @throws com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException with ErrorType
+     *         BAD_REQUEST if more than the max batch size ids are supplied
+     */
+    List<T> getConsents(Collection<String> consentIds, String apiClientId);
+
+    /**
+     * Retrieves multiple Consents, reading only the fields in the projection. The same rules are applied as for
+     * {@link #getConsents(Collection, String)}.
+     *
+     * @param consentIds  the ids of the Consents
+     * @param apiClientId the id of the ApiClient which owns the Consents
+     * @param projection  the fields to read, see {@link ConsentProjection#STATUS}
+     * @return read-only views of the Consents, fields not in the projection are not populated
+     */
+    List<T> getConsents(Collection<String> consentIds, String apiClientId, ConsentProjection projection);
+
+    /**
+     * Lists a page of Consents matching the query, see {@link ConsentListQuery} for the ordering and paging rules.
+     * <p>
+     * Deleted Consents and Consents which cannot be accessed using the API version of the call are not listed. The
+     * Consents are read from the data store as the Stream is consumed, allowing large pages to be listed without
+     * holding the page in memory.
+     *
+     * @param query selects the Consents to list
+     * @return Stream of the Consents, this holds an open database cursor and must be closed
+     * @throws com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException with ErrorType
+     *         BAD_REQUEST if the query is invalid or the afterConsentId does not exist
+     */
+    Stream<T> listConsents(ConsentListQuery query);
+
     T authoriseConsent(@Valid A authoriseConsentArgs);
 
     T rejectConsent(String consentId, String apiClientId, String resourceOwnerId);
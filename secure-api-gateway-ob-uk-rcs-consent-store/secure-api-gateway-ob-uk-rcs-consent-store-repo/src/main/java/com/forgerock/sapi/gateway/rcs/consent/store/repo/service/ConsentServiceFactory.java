@@ -17,58 +17,101 @@ package com.forgerock.sapi.gateway.rcs.consent.store.repo.service;
 
 import static java.util.Objects.requireNonNull;
 
-import java.util.function.Consumer;
-
-import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.BaseConsentEntity;
-import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException;
-import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException.ErrorType;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.ConsentRepository;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.version.ApiVersionCompatibilityMatrix;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.version.ApiVersionContext;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.version.ApiVersionValidator;
-import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBVersion;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 public abstract class ConsentServiceFactory<T extends BaseConsentEntity<?>, A extends AuthoriseConsentArgs, S extends BaseConsentService<T, A>> {
 
-    protected final MongoRepository<T, String> repo;
+    protected final ConsentRepository<T> repo;
     protected final ApiVersionValidator apiVersionValidator;
+    private final ApiVersionCompatibilityMatrix apiVersionCompatibilityMatrix;
+
+    /**
+     * Optional - when set the services created are instrumented with Consent Store operation metrics
+     */
+    private MeterRegistry meterRegistry;
+
+    private int maxBatchSize = BaseConsentService.DEFAULT_MAX_BATCH_SIZE;
 
-    protected ConsentServiceFactory(MongoRepository<T, String> repo, ApiVersionValidator apiVersionValidator) {
+    private int maxPageSize = BaseConsentService.DEFAULT_MAX_PAGE_SIZE;
+
+    protected ConsentServiceFactory(ConsentRepository<T> repo, ApiVersionValidator apiVersionValidator) {
         this.repo = requireNonNull(repo, "repo cannot be null");
         this.apiVersionValidator = requireNonNull(apiVersionValidator, "apiVersionValidator cannot be null");
+        this.apiVersionCompatibilityMatrix = ApiVersionCompatibilityMatrix.of(apiVersionValidator);
     }
 
-    protected abstract S createBaseConsentService();
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
 
     /**
-     * Creates a ConsentService to be used by the RCS internally, this service applies no API version validation
-     * @return the ConsentService
+     * @param maxBatchSize maximum number of Consents which can be retrieved by a single call to
+     *                     {@link ConsentService#getConsents(java.util.Collection, String)}
      */
-    public S createInternalConsentService() {
-        return createBaseConsentService();
+    @Autowired
+    public void setMaxBatchSize(@Value("${consent.store.batch.maxConsentIds:100}") int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
     }
 
     /**
-     * Creates an API Consent Service, this service is tied to a particular API version and will validate consents
-     * retrieved from the repository can be accessed by that version.
+     * @param maxPageSize maximum number of Consents which can be listed by a single call to
+     *                    {@link ConsentService#listConsents(ConsentListQuery)}
+     */
+    @Autowired
+    public void setMaxPageSize(@Value("${consent.store.list.maxPageSize:10000}") int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+
+    protected abstract S createBaseConsentService();
+
+    /**
+     * @return the IntentType of the consents that the services created by this factory operate on
+     */
+    protected abstract IntentType getIntentType();
+
+    /**
+     * Creates the ConsentService for the IntentType, a single service is shared by the RCS internally and by all the
+     * API versions.
+     * <p>
+     * Calls made with an API version set in the {@link ApiVersionContext} validate that the consents retrieved from the
+     * repository can be accessed by that version. Calls made without an API version, by the RCS internally, apply no
+     * API version validation.
      *
-     * @param apiVersion OBVersion being used to access the consent
      * @return the ConsentService
      */
-    public S createApiConsentService(OBVersion apiVersion) {
-        requireNonNull(apiVersion, "apiVersion cannot be null");
+    public S createConsentService() {
         final S baseConsentService = createBaseConsentService();
-        baseConsentService.setApiVersionValidationStrategy(applyApiVersionValidator(apiVersion));
-        return baseConsentService;
+        baseConsentService.setApiVersionCompatibilityMatrix(apiVersionCompatibilityMatrix);
+        baseConsentService.setMaxBatchSize(maxBatchSize);
+        baseConsentService.setMaxPageSize(maxPageSize);
+        return instrument(baseConsentService);
     }
 
-    private Consumer<T> applyApiVersionValidator(OBVersion apiVersion) {
-        return consent -> {
-            if (!apiVersionValidator.canAccessResourceUsingApiVersion(consent.getRequestVersion(), apiVersion)) {
-                throw new ConsentStoreException(ErrorType.INVALID_API_VERSION, consent.getId(),
-                        "Consent created using API version: " + consent.getRequestVersion().getCanonicalVersion()
-                                + " cannot be accessed using version: " + apiVersion.getCanonicalVersion());
-            }
-        };
+    /**
+     * Wraps the service in a proxy which records the operation metrics, see {@link ConsentServiceMetricsInterceptor}.
+     * A class based proxy is used as the services are wired by their concrete types.
+     */
+    @SuppressWarnings("unchecked")
+    private S instrument(S consentService) {
+        if (meterRegistry == null) {
+            return consentService;
+        }
+        final ProxyFactory proxyFactory = new ProxyFactory(consentService);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new ConsentServiceMetricsInterceptor(meterRegistry, getIntentType()));
+        return (S) proxyFactory.getProxy(consentService.getClass().getClassLoader());
     }
 
 }
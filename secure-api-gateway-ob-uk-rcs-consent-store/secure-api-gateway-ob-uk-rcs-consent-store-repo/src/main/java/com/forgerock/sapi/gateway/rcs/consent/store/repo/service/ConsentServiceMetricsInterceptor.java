@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.service;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Map;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.version.ApiVersionContext;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBVersion;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the {@value #CONSENT_STORE_OPERATION_METRIC} timer for each ConsentService operation.
+ * <p>
+ * The timer is tagged with the IntentType, the API version of the call from the {@link ApiVersionContext} ("internal"
+ * for calls made by the RCS UI), the operation and the outcome. The outcome is "success", the
+ * {@link ConsentStoreException.ErrorType} for ConsentStoreExceptions, or "error" for any other exception.
+ * <p>
+ * The interceptor is applied to the service proxy, so calls that a service makes to its own methods (e.g. the getConsent
+ * call made when authorising a consent) are not recorded as separate operations. For listConsents the timer records
+ * the time taken to open the database cursor, not the time taken to consume the Stream returned.
+ */
+final class ConsentServiceMetricsInterceptor implements MethodInterceptor {
+
+    static final String CONSENT_STORE_OPERATION_METRIC = "rcs.consent.store.operation";
+
+    static final String INTERNAL_API_VERSION = "internal";
+
+    /**
+     * Map of the ConsentService method names to the operation names used in the metrics, methods which are not in the
+     * map are not recorded.
+     */
+    private static final Map<String, String> OPERATIONS = Map.ofEntries(
+            Map.entry("createConsent", "create"),
+            Map.entry("getConsent", "get"),
+            Map.entry("getConsents", "getBatch"),
+            Map.entry("listConsents", "list"),
+            Map.entry("authoriseConsent", "authorise"),
+            Map.entry("rejectConsent", "reject"),
+            Map.entry("consumeConsent", "consume"),
+            Map.entry("deleteConsent", "delete"),
+            Map.entry("deleteConsentForMigration", "deleteForMigration"),
+            Map.entry("uploadFile", "upload"),
+            Map.entry("getFileContent", "getFile")
+    );
+
+    private final MeterRegistry meterRegistry;
+
+    private final IntentType intentType;
+
+    ConsentServiceMetricsInterceptor(MeterRegistry meterRegistry, IntentType intentType) {
+        this.meterRegistry = requireNonNull(meterRegistry, "meterRegistry must be provided");
+        this.intentType = requireNonNull(intentType, "intentType must be provided");
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        final String operation = OPERATIONS.get(invocation.getMethod().getName());
+        if (operation == null) {
+            return invocation.proceed();
+        }
+        final OBVersion apiVersion = ApiVersionContext.getApiVersion();
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            final Object result = invocation.proceed();
+            outcome = "success";
+            return result;
+        } catch (ConsentStoreException ex) {
+            outcome = ex.getErrorType().name();
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder(CONSENT_STORE_OPERATION_METRIC)
+                             .description("Time taken to perform a Consent Store operation")
+                             .tag("intentType", intentType.name())
+                             .tag("apiVersion", apiVersion != null ? apiVersion.getCanonicalName() : INTERNAL_API_VERSION)
+                             .tag("operation", operation)
+                             .tag("outcome", outcome)
+                             .register(meterRegistry));
+        }
+    }
+}
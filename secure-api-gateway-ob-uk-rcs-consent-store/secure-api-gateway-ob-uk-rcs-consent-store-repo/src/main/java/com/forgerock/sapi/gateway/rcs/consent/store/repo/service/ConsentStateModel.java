@@ -15,6 +15,12 @@
  */
 package com.forgerock.sapi.gateway.rcs.consent.store.repo.service;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.springframework.util.MultiValueMap;
 
 /**
@@ -30,6 +36,41 @@ public interface ConsentStateModel {
 
     String getRevokedConsentStatus();
 
-    MultiValueMap<String, String> getValidStateTransitions();
+    /**
+     * @return the transition table for the valid state transitions, the table should be built once per model
+     */
+    ConsentStatusTransitions getStatusTransitions();
+
+    /**
+     * Map of the valid state transitions.
+     * <p>
+     * The key is the current Status of the Consent, and the values are the valid Status values that the Consent
+     * is allowed to transition to.
+     */
+    default MultiValueMap<String, String> getValidStateTransitions() {
+        return getStatusTransitions().toMultiValueMap();
+    }
+
+    /**
+     * @return the statuses that a Consent can be in before the Resource Owner has made a decision, these are the statuses
+     * reachable from the initial status without passing through the authorised or rejected status.
+     */
+    default Set<String> getAwaitingAuthorisationStatuses() {
+        final MultiValueMap<String, String> validStateTransitions = getValidStateTransitions();
+        final Set<String> awaitingAuthorisationStatuses = new LinkedHashSet<>();
+        final Deque<String> statusesToVisit = new ArrayDeque<>(List.of(getInitialConsentStatus()));
+        while (!statusesToVisit.isEmpty()) {
+            final String status = statusesToVisit.pop();
+            if (status.equals(getAuthorisedConsentStatus()) || status.equals(getRejectedConsentStatus())
+                    || !awaitingAuthorisationStatuses.add(status)) {
+                continue;
+            }
+            final List<String> nextStatuses = validStateTransitions.get(status);
+            if (nextStatuses != null) {
+                statusesToVisit.addAll(nextStatuses);
+            }
+        }
+        return awaitingAuthorisationStatuses;
+    }
 
 }
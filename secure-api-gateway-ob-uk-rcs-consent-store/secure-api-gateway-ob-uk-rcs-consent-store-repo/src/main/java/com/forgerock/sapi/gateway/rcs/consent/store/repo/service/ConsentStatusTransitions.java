@@ -0,0 +1,173 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.service;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.ConsentStatus;
+
+/**
+ * Transition table for a {@link ConsentStateModel}, indexed by {@link ConsentStatus}.
+ * <p>
+ * The table is built once per state model. Each source status maps to an EnumSet of the statuses that it may
+ * transition to, so checking a transition is an array lookup plus a bit test. The reverse lookup (target status to the
+ * statuses it may be reached from) is also built, this is used to express a transition as a query condition.
+ */
+public final class ConsentStatusTransitions {
+
+    private final Map<ConsentStatus, Set<ConsentStatus>> targetStatusesBySourceStatus;
+
+    private final Map<ConsentStatus, Set<ConsentStatus>> sourceStatusesByTargetStatus;
+
+    private ConsentStatusTransitions(EnumMap<ConsentStatus, EnumSet<ConsentStatus>> transitions) {
+        targetStatusesBySourceStatus = new EnumMap<>(ConsentStatus.class);
+        sourceStatusesByTargetStatus = new EnumMap<>(ConsentStatus.class);
+        for (ConsentStatus status : ConsentStatus.values()) {
+            final EnumSet<ConsentStatus> targetStatuses = transitions.getOrDefault(status, EnumSet.noneOf(ConsentStatus.class));
+            targetStatusesBySourceStatus.put(status, Collections.unmodifiableSet(EnumSet.copyOf(targetStatuses)));
+
+            final EnumSet<ConsentStatus> sourceStatuses = EnumSet.noneOf(ConsentStatus.class);
+            transitions.forEach((source, targets) -> {
+                if (targets.contains(status)) {
+                    sourceStatuses.add(source);
+                }
+            });
+            sourceStatusesByTargetStatus.put(status, Collections.unmodifiableSet(sourceStatuses));
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param sourceStatus the current status, may be null
+     * @param targetStatus the status to transition to
+     * @return whether the transition is allowed
+     */
+    public boolean isTransitionAllowed(ConsentStatus sourceStatus, ConsentStatus targetStatus) {
+        return sourceStatus != null && targetStatusesBySourceStatus.get(sourceStatus).contains(targetStatus);
+    }
+
+    /**
+     * @param sourceStatus the current status
+     * @return the statuses that the sourceStatus may transition to
+     */
+    public Set<ConsentStatus> getTargetStatuses(ConsentStatus sourceStatus) {
+        return targetStatusesBySourceStatus.get(requireNonNull(sourceStatus, "sourceStatus must be provided"));
+    }
+
+    /**
+     * @param targetStatus the status to transition to
+     * @return the statuses that a Consent may be in to transition to the targetStatus, empty if the targetStatus is
+     * not reachable
+     */
+    public Set<ConsentStatus> getSourceStatuses(ConsentStatus targetStatus) {
+        return sourceStatusesByTargetStatus.get(requireNonNull(targetStatus, "targetStatus must be provided"));
+    }
+
+    /**
+     * @return the transitions as a map of OBIE status value to the OBIE status values it may transition to
+     */
+    public MultiValueMap<String, String> toMultiValueMap() {
+        final MultiValueMap<String, String> stateTransitions = new LinkedMultiValueMap<>();
+        targetStatusesBySourceStatus.forEach((source, targets) -> {
+            if (!targets.isEmpty()) {
+                stateTransitions.addAll(source.getValue(), targets.stream().map(ConsentStatus::getValue).toList());
+            }
+        });
+        return stateTransitions;
+    }
+
+    /**
+     * Validates that a ConsentStateModel is consistent with its transition table.
+     * <p>
+     * The initial, authorised, rejected and revoked statuses must be valid {@link ConsentStatus} values, and it must
+     * be possible to reach the authorised and rejected statuses from the initial status.
+     *
+     * @param consentStateModel the model to validate
+     * @throws IllegalStateException if the model is invalid
+     */
+    public static void validate(ConsentStateModel consentStateModel) {
+        requireNonNull(consentStateModel, "consentStateModel must be provided");
+        final ConsentStatusTransitions statusTransitions = requireNonNull(consentStateModel.getStatusTransitions(),
+                "consentStateModel statusTransitions must be provided");
+        final ConsentStatus initialStatus = toConsentStatus(consentStateModel, consentStateModel.getInitialConsentStatus());
+        final ConsentStatus authorisedStatus = toConsentStatus(consentStateModel, consentStateModel.getAuthorisedConsentStatus());
+        final ConsentStatus rejectedStatus = toConsentStatus(consentStateModel, consentStateModel.getRejectedConsentStatus());
+        toConsentStatus(consentStateModel, consentStateModel.getRevokedConsentStatus());
+
+        final Set<ConsentStatus> reachableStatuses = EnumSet.noneOf(ConsentStatus.class);
+        final Deque<ConsentStatus> statusesToVisit = new ArrayDeque<>(statusTransitions.getTargetStatuses(initialStatus));
+        while (!statusesToVisit.isEmpty()) {
+            final ConsentStatus status = statusesToVisit.pop();
+            if (reachableStatuses.add(status)) {
+                statusesToVisit.addAll(statusTransitions.getTargetStatuses(status));
+            }
+        }
+        if (!reachableStatuses.contains(authorisedStatus) || !reachableStatuses.contains(rejectedStatus)) {
+            throw new IllegalStateException(consentStateModel.getClass().getSimpleName() + " must allow transitions from "
+                    + initialStatus + " to " + authorisedStatus + " and " + rejectedStatus);
+        }
+    }
+
+    private static ConsentStatus toConsentStatus(ConsentStateModel consentStateModel, String status) {
+        try {
+            return ConsentStatus.fromValue(status);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalStateException(consentStateModel.getClass().getSimpleName() + " has an invalid status: " + status, ex);
+        }
+    }
+
+    public static class Builder {
+
+        private final EnumMap<ConsentStatus, EnumSet<ConsentStatus>> transitions = new EnumMap<>(ConsentStatus.class);
+
+        private Builder() {
+        }
+
+        /**
+         * Allows a Consent to transition from the sourceStatus to each of the targetStatuses
+         */
+        public Builder allow(ConsentStatus sourceStatus, ConsentStatus... targetStatuses) {
+            requireNonNull(sourceStatus, "sourceStatus must be provided");
+            if (targetStatuses.length == 0) {
+                throw new IllegalArgumentException("targetStatuses must be provided");
+            }
+            Collections.addAll(transitions.computeIfAbsent(sourceStatus, status -> EnumSet.noneOf(ConsentStatus.class)),
+                               targetStatuses);
+            return this;
+        }
+
+        public ConsentStatusTransitions build() {
+            if (transitions.isEmpty()) {
+                throw new IllegalStateException("At least one transition must be allowed");
+            }
+            return new ConsentStatusTransitions(transitions);
+        }
+    }
+}
@@ -22,6 +22,7 @@ import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.account.AccountA
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.account.AccountAccessConsentRepository;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentServiceFactory;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.version.ApiVersionValidator;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 @Service
 public class AccountAccessConsentServiceFactory extends ConsentServiceFactory<AccountAccessConsentEntity, AccountAccessAuthoriseConsentArgs, DefaultAccountAccessConsentService> {
@@ -35,4 +36,9 @@ public class AccountAccessConsentServiceFactory extends ConsentServiceFactory<Ac
     protected DefaultAccountAccessConsentService createBaseConsentService() {
         return new DefaultAccountAccessConsentService(repo);
     }
+
+    @Override
+    protected IntentType getIntentType() {
+        return IntentType.ACCOUNT_ACCESS_CONSENT;
+    }
 }
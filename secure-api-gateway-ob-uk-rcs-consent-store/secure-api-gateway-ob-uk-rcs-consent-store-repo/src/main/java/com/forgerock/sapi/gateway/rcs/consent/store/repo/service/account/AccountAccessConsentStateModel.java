@@ -15,12 +15,9 @@
  */
 package com.forgerock.sapi.gateway.rcs.consent.store.repo.service.account;
 
-import java.util.List;
-
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.ConsentStatus;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentStateModel;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentStatusTransitions;
 
 import uk.org.openbanking.datamodel.v3.common.OBExternalRequestStatus1Code;
 
@@ -44,13 +41,13 @@ public class AccountAccessConsentStateModel implements ConsentStateModel {
         return INSTANCE;
     }
 
-    private final MultiValueMap<String, String> stateTransitions;
-
+    private final ConsentStatusTransitions statusTransitions;
 
     private AccountAccessConsentStateModel() {
-        stateTransitions = new LinkedMultiValueMap<>();
-        stateTransitions.addAll(AWAITING_AUTHORISATION, List.of(AUTHORISED, REJECTED));
-        stateTransitions.addAll(AUTHORISED, List.of(AUTHORISED, REJECTED)); // Authorised has a self link as consent Re-Authentication is supported
+        statusTransitions = ConsentStatusTransitions.builder()
+                .allow(ConsentStatus.AWAITING_AUTHORISATION, ConsentStatus.AUTHORISED, ConsentStatus.REJECTED)
+                .allow(ConsentStatus.AUTHORISED, ConsentStatus.AUTHORISED, ConsentStatus.REJECTED) // Authorised has a self link as consent Re-Authentication is supported
+                .build();
     }
 
     @Override
@@ -74,7 +71,7 @@ public class AccountAccessConsentStateModel implements ConsentStateModel {
     }
 
     @Override
-    public MultiValueMap<String, String> getValidStateTransitions() {
-        return new LinkedMultiValueMap<>(stateTransitions);
+    public ConsentStatusTransitions getStatusTransitions() {
+        return statusTransitions;
     }
 }
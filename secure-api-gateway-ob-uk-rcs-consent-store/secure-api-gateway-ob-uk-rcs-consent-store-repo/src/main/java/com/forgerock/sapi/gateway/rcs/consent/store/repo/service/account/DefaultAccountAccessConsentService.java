@@ -15,9 +15,10 @@
  */
 package com.forgerock.sapi.gateway.rcs.consent.store.repo.service.account;
 
-import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.core.query.Update;
 
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.account.AccountAccessConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.ConsentRepository;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.BaseConsentService;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
@@ -25,13 +26,13 @@ public class DefaultAccountAccessConsentService extends BaseConsentService<Accou
 
     private final String revokedStatus;
 
-    public DefaultAccountAccessConsentService(MongoRepository<AccountAccessConsentEntity, String> repo) {
+    public DefaultAccountAccessConsentService(ConsentRepository<AccountAccessConsentEntity> repo) {
         super(repo, IntentType.ACCOUNT_ACCESS_CONSENT::generateIntentId, AccountAccessConsentStateModel.getInstance());
         revokedStatus = AccountAccessConsentStateModel.getInstance().getRevokedConsentStatus();
     }
 
     @Override
-    protected void addConsentSpecificAuthorisationData(AccountAccessConsentEntity consent, AccountAccessAuthoriseConsentArgs authoriseConsentArgs) {
-        consent.setAuthorisedAccountIds(authoriseConsentArgs.getAuthorisedAccountIds());
+    protected void addConsentSpecificAuthorisationData(Update update, AccountAccessAuthoriseConsentArgs authoriseConsentArgs) {
+        update.set("authorisedAccountIds", authoriseConsentArgs.getAuthorisedAccountIds());
     }
 }
\ No newline at end of file
@@ -16,18 +16,19 @@
 package com.forgerock.sapi.gateway.rcs.consent.store.repo.service.customerinfo;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Service;
 
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.customerinfo.CustomerInfoConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.ConsentRepository;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentServiceFactory;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.version.ApiVersionValidator;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 @Service
 public class CustomerInfoConsentServiceFactory extends ConsentServiceFactory<CustomerInfoConsentEntity, CustomerInfoAuthoriseConsentArgs, DefaultCustomerInfoAccessConsentService> {
 
     @Autowired
-    public CustomerInfoConsentServiceFactory(MongoRepository<CustomerInfoConsentEntity, String> repo, ApiVersionValidator apiVersionValidator) {
+    public CustomerInfoConsentServiceFactory(ConsentRepository<CustomerInfoConsentEntity> repo, ApiVersionValidator apiVersionValidator) {
         super(repo, apiVersionValidator);
     }
 
@@ -35,4 +36,9 @@ public class CustomerInfoConsentServiceFactory extends ConsentServiceFactory<Cus
     protected DefaultCustomerInfoAccessConsentService createBaseConsentService() {
         return new DefaultCustomerInfoAccessConsentService(repo);
     }
+
+    @Override
+    protected IntentType getIntentType() {
+        return IntentType.CUSTOMER_INFO_CONSENT;
+    }
 }
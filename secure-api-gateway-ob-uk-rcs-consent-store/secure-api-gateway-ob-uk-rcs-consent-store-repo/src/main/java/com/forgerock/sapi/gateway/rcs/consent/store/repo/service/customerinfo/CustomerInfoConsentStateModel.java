@@ -15,13 +15,11 @@
  */
 package com.forgerock.sapi.gateway.rcs.consent.store.repo.service.customerinfo;
 
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.ConsentStatus;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentStateModel;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentStatusTransitions;
 import uk.org.openbanking.datamodel.v3.common.OBExternalRequestStatus1Code;
 
-import java.util.List;
-
 /**
  * State Model for Customer info Consents, following the same status model of {@link com.forgerock.sapi.gateway.rcs.consent.store.repo.service.account.AccountAccessConsentStateModel}
  *
@@ -42,13 +40,13 @@ public class CustomerInfoConsentStateModel implements ConsentStateModel {
         return INSTANCE;
     }
 
-    private final MultiValueMap<String, String> stateTransitions;
-
+    private final ConsentStatusTransitions statusTransitions;
 
     private CustomerInfoConsentStateModel() {
-        stateTransitions = new LinkedMultiValueMap<>();
-        stateTransitions.addAll(AWAITING_AUTHORISATION, List.of(AUTHORISED, REJECTED));
-        stateTransitions.addAll(AUTHORISED, List.of(AUTHORISED, REJECTED)); // Authorised has a self link as consent Re-Authentication is supported
+        statusTransitions = ConsentStatusTransitions.builder()
+                .allow(ConsentStatus.AWAITING_AUTHORISATION, ConsentStatus.AUTHORISED, ConsentStatus.REJECTED)
+                .allow(ConsentStatus.AUTHORISED, ConsentStatus.AUTHORISED, ConsentStatus.REJECTED) // Authorised has a self link as consent Re-Authentication is supported
+                .build();
     }
 
     @Override
@@ -72,7 +70,7 @@ public class CustomerInfoConsentStateModel implements ConsentStateModel {
     }
 
     @Override
-    public MultiValueMap<String, String> getValidStateTransitions() {
-        return new LinkedMultiValueMap<>(stateTransitions);
+    public ConsentStatusTransitions getStatusTransitions() {
+        return statusTransitions;
     }
 }
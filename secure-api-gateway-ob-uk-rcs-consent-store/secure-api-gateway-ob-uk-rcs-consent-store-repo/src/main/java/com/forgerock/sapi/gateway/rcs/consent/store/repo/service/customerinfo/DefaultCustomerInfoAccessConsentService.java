@@ -15,9 +15,10 @@
  */
 package com.forgerock.sapi.gateway.rcs.consent.store.repo.service.customerinfo;
 
-import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.core.query.Update;
 
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.customerinfo.CustomerInfoConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.ConsentRepository;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.BaseConsentService;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
@@ -25,12 +26,12 @@ public class DefaultCustomerInfoAccessConsentService extends BaseConsentService<
 
     private final String revokedStatus;
 
-    public DefaultCustomerInfoAccessConsentService(MongoRepository<CustomerInfoConsentEntity, String> repo) {
+    public DefaultCustomerInfoAccessConsentService(ConsentRepository<CustomerInfoConsentEntity> repo) {
         super(repo, IntentType.CUSTOMER_INFO_CONSENT::generateIntentId, CustomerInfoConsentStateModel.getInstance());
         revokedStatus = CustomerInfoConsentStateModel.getInstance().getRevokedConsentStatus();
     }
 
     @Override
-    protected void addConsentSpecificAuthorisationData(CustomerInfoConsentEntity consent, CustomerInfoAuthoriseConsentArgs authoriseConsentArgs) {
+    protected void addConsentSpecificAuthorisationData(Update update, CustomerInfoAuthoriseConsentArgs authoriseConsentArgs) {
     }
 }
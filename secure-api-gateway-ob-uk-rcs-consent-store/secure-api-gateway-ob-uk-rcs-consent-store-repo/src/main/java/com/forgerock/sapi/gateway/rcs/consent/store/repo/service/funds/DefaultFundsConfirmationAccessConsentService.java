@@ -15,9 +15,10 @@
  */
 package com.forgerock.sapi.gateway.rcs.consent.store.repo.service.funds;
 
-import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.core.query.Update;
 
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.funds.FundsConfirmationConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.ConsentRepository;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.BaseConsentService;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
@@ -25,13 +26,13 @@ public class DefaultFundsConfirmationAccessConsentService extends BaseConsentSer
 
     private final String revokedStatus;
 
-    public DefaultFundsConfirmationAccessConsentService(MongoRepository<FundsConfirmationConsentEntity, String> repo) {
+    public DefaultFundsConfirmationAccessConsentService(ConsentRepository<FundsConfirmationConsentEntity> repo) {
         super(repo, IntentType.FUNDS_CONFIRMATION_CONSENT::generateIntentId, FundsConfirmationConsentStateModel.getInstance());
         revokedStatus = FundsConfirmationConsentStateModel.getInstance().getRevokedConsentStatus();
     }
 
     @Override
-    protected void addConsentSpecificAuthorisationData(FundsConfirmationConsentEntity consent, FundsConfirmationAuthoriseConsentArgs authoriseConsentArgs) {
-        consent.setAuthorisedDebtorAccountId(authoriseConsentArgs.getAuthorisedDebtorAccountId());
+    protected void addConsentSpecificAuthorisationData(Update update, FundsConfirmationAuthoriseConsentArgs authoriseConsentArgs) {
+        update.set("authorisedDebtorAccountId", authoriseConsentArgs.getAuthorisedDebtorAccountId());
     }
 }
@@ -16,22 +16,28 @@
 package com.forgerock.sapi.gateway.rcs.consent.store.repo.service.funds;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Service;
 
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.funds.FundsConfirmationConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.ConsentRepository;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentServiceFactory;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.version.ApiVersionValidator;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 @Service
 public class FundsConfirmationConsentServiceFactory extends ConsentServiceFactory<FundsConfirmationConsentEntity, FundsConfirmationAuthoriseConsentArgs, DefaultFundsConfirmationAccessConsentService> {
 
     @Autowired
-    public FundsConfirmationConsentServiceFactory(MongoRepository<FundsConfirmationConsentEntity, String> repo, ApiVersionValidator apiVersionValidator) {
+    public FundsConfirmationConsentServiceFactory(ConsentRepository<FundsConfirmationConsentEntity> repo, ApiVersionValidator apiVersionValidator) {
         super(repo, apiVersionValidator);
     }
     @Override
     protected DefaultFundsConfirmationAccessConsentService createBaseConsentService() {
         return new DefaultFundsConfirmationAccessConsentService(repo);
     }
+
+    @Override
+    protected IntentType getIntentType() {
+        return IntentType.FUNDS_CONFIRMATION_CONSENT;
+    }
 }
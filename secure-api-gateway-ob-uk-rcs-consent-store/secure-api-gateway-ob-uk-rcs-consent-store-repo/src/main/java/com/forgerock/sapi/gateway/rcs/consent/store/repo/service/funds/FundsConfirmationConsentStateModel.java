@@ -15,13 +15,11 @@
  */
 package com.forgerock.sapi.gateway.rcs.consent.store.repo.service.funds;
 
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.ConsentStatus;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentStateModel;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentStatusTransitions;
 import uk.org.openbanking.datamodel.v3.common.OBExternalRequestStatus1Code;
 
-import java.util.List;
-
 /**
  * State Model for Funds Confirmation Consents: https://openbankinguk.github.io/read-write-api-site3/v3.1.10/resources-and-data-models/cbpii/funds-confirmation-consent.html#status-flow
  *
@@ -42,13 +40,13 @@ public class FundsConfirmationConsentStateModel implements ConsentStateModel {
         return INSTANCE;
     }
 
-    private final MultiValueMap<String, String> stateTransitions;
-
+    private final ConsentStatusTransitions statusTransitions;
 
     private FundsConfirmationConsentStateModel() {
-        stateTransitions = new LinkedMultiValueMap<>();
-        stateTransitions.addAll(AWAITING_AUTHORISATION, List.of(AUTHORISED, REJECTED));
-        stateTransitions.addAll(AUTHORISED, List.of(AUTHORISED, REJECTED)); // Authorised has a self link as consent Re-Authentication is supported
+        statusTransitions = ConsentStatusTransitions.builder()
+                .allow(ConsentStatus.AWAITING_AUTHORISATION, ConsentStatus.AUTHORISED, ConsentStatus.REJECTED)
+                .allow(ConsentStatus.AUTHORISED, ConsentStatus.AUTHORISED, ConsentStatus.REJECTED) // Authorised has a self link as consent Re-Authentication is supported
+                .build();
     }
 
     @Override
@@ -72,7 +70,7 @@ public class FundsConfirmationConsentStateModel implements ConsentStateModel {
     }
 
     @Override
-    public MultiValueMap<String, String> getValidStateTransitions() {
-        return new LinkedMultiValueMap<>(stateTransitions);
+    public ConsentStatusTransitions getStatusTransitions() {
+        return statusTransitions;
     }
 }
@@ -15,30 +15,32 @@
  */
 package com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment;
 
-import java.util.Optional;
+import static java.util.Objects.requireNonNull;
+
 import java.util.function.Supplier;
 
-import org.joda.time.DateTime;
+import org.springframework.data.mongodb.core.query.Update;
 
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.ConsentStatus;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.BasePaymentConsentEntity;
-import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException;
-import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException.ErrorType;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.PaymentConsentRepository;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.BaseConsentService;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentStateModel;
 
-import uk.org.openbanking.datamodel.v3.payment.OBPaymentConsentStatus;
-
 public class BasePaymentConsentService<T extends BasePaymentConsentEntity<?>, A extends PaymentAuthoriseConsentArgs> extends BaseConsentService<T, A> implements PaymentConsentService<T, A> {
 
-    protected BasePaymentConsentService(PaymentConsentRepository<T> repo, Supplier<String> idGenerator) {
-        this(repo, idGenerator, PaymentConsentStateModel.getInstance());
+    private final IdempotencyKeyCache idempotencyKeyCache;
+
+    protected BasePaymentConsentService(PaymentConsentRepository<T> repo, IdempotencyKeyCache idempotencyKeyCache,
+                                        Supplier<String> idGenerator) {
+        this(repo, idempotencyKeyCache, idGenerator, PaymentConsentStateModel.getInstance());
     }
 
-    protected BasePaymentConsentService(PaymentConsentRepository<T> repo, Supplier<String> idGenerator,
-                                        ConsentStateModel consentStateModel) {
+    protected BasePaymentConsentService(PaymentConsentRepository<T> repo, IdempotencyKeyCache idempotencyKeyCache,
+                                        Supplier<String> idGenerator, ConsentStateModel consentStateModel) {
 
         super(repo, idGenerator, consentStateModel);
+        this.idempotencyKeyCache = requireNonNull(idempotencyKeyCache, "idempotencyKeyCache must be provided");
     }
 
     private PaymentConsentRepository<T> getRepo() {
@@ -47,27 +49,15 @@ public class BasePaymentConsentService<T extends BasePaymentConsentEntity<?>, A
 
     @Override
     public T createConsent(T consent) {
-        final Optional<T> consentMatchingIdempotencyData = getRepo().findByIdempotencyData(consent.getApiClientId(), consent.getIdempotencyKey(), DateTime.now());
-        if (consentMatchingIdempotencyData.isPresent()) {
-            final T existingConsent = consentMatchingIdempotencyData.get();
-            if (!existingConsent.getRequestObj().equals(consent.getRequestObj())) {
-                throw new ConsentStoreException(ErrorType.IDEMPOTENCY_ERROR, existingConsent.getId(),
-                        "The provided Idempotency Key: '" + consent.getIdempotencyKey() + "' header matched a previous request but the request body has been changed.");
-            }
-        }
-        return consentMatchingIdempotencyData.orElseGet(() -> super.createConsent(consent));
+        return PaymentConsentIdempotency.createConsent(getRepo(), idempotencyKeyCache, consent, super::createConsent);
     }
 
     public T consumeConsent(String consentId, String apiClientId) {
-        final T consent = getConsent(consentId, apiClientId);
-        final String consumedStatus = OBPaymentConsentStatus.CONSUMED.toString();
-        validateStateTransition(consent, consumedStatus);
-        consent.setStatus(consumedStatus);
-        return repo.save(consent);
+        return transitionConsent(consentId, apiClientId, ConsentStatus.CONSUMED, new Update());
     }
 
     @Override
-    protected void addConsentSpecificAuthorisationData(T consent, A authoriseConsentArgs) {
-        consent.setAuthorisedDebtorAccountId(authoriseConsentArgs.getAuthorisedDebtorAccountId());
+    protected void addConsentSpecificAuthorisationData(Update update, A authoriseConsentArgs) {
+        update.set("authorisedDebtorAccountId", authoriseConsentArgs.getAuthorisedDebtorAccountId());
     }
 }
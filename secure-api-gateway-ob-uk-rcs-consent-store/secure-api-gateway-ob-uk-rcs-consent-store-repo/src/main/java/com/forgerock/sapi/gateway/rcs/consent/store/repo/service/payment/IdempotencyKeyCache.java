@@ -0,0 +1,183 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment;
+
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.joda.time.DateTime;
+
+/**
+ * In-memory cache of the idempotency keys used to create Payment Consents, scoped per apiClientId. This allows
+ * requests which use a new idempotencyKey to be created without first querying for an existing Consent.
+ * <p>
+ * The cache has two parts:
+ * <ul>
+ *     <li>A bloom filter of all the keys recorded, which answers whether a key has definitely not been used. The filter
+ *     has two generations, once the current generation reaches the expected number of keys it replaces the previous
+ *     generation, so that the memory used and the false positive probability are bounded.</li>
+ *     <li>An LRU map of the most recently recorded keys, which holds the id and requestFingerprint of the Consent that
+ *     the key was used to create. Entries are ignored once their idempotencyKeyExpiration has passed.</li>
+ * </ul>
+ * The cache only knows about the keys recorded by this application instance, keys used via other instances or before a
+ * restart are not known. The unique activeIdempotencyKey index is the backstop for these cases, see
+ * {@link com.forgerock.sapi.gateway.rcs.consent.store.repo.index.ConsentStoreIndexes#ACTIVE_IDEMPOTENCY_KEY_INDEX}.
+ * A key which has definitely not been recorded may therefore only be inserted without a lookup once that index exists
+ * and the activeIdempotencyKey has been set on the existing Consents, see {@link #isUniqueIndexReady()}.
+ */
+public class IdempotencyKeyCache {
+
+    public static final int DEFAULT_EXPECTED_KEYS = 100_000;
+    public static final double DEFAULT_FALSE_POSITIVE_PROBABILITY = 0.01;
+    public static final int DEFAULT_RECENT_KEYS_CAPACITY = 10_000;
+
+    /**
+     * @param consentId          id of the Consent created using the key
+     * @param requestFingerprint fingerprint of the request which created the Consent
+     * @param expiration         time at which the key expires
+     */
+    public record RecentKey(String consentId, String requestFingerprint, DateTime expiration) {
+    }
+
+    private final int expectedKeys;
+    private final int numBits;
+    private final int numHashFunctions;
+    private final Map<String, RecentKey> recentKeys;
+
+    private volatile boolean uniqueIndexReady;
+
+    private BitSet currentGeneration;
+    private BitSet previousGeneration;
+    private int currentGenerationKeys;
+
+    public IdempotencyKeyCache() {
+        this(DEFAULT_EXPECTED_KEYS, DEFAULT_FALSE_POSITIVE_PROBABILITY, DEFAULT_RECENT_KEYS_CAPACITY);
+    }
+
+    public IdempotencyKeyCache(int expectedKeys, double falsePositiveProbability, int recentKeysCapacity) {
+        if (expectedKeys <= 0 || recentKeysCapacity <= 0) {
+            throw new IllegalArgumentException("expectedKeys and recentKeysCapacity must be positive");
+        }
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("falsePositiveProbability must be between 0 and 1");
+        }
+        this.expectedKeys = expectedKeys;
+        this.numBits = (int) Math.ceil(-expectedKeys * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        this.numHashFunctions = Math.max(1, (int) Math.round((double) numBits / expectedKeys * Math.log(2)));
+        this.recentKeys = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RecentKey> eldest) {
+                return size() > recentKeysCapacity;
+            }
+        };
+        this.currentGeneration = new BitSet(numBits);
+        this.previousGeneration = new BitSet(numBits);
+    }
+
+    /**
+     * @return true if the unique activeIdempotencyKey index has been created and the existing Consents backfilled, until
+     *         then a key which has not been recorded must still be looked up before a Consent is created with it
+     */
+    public boolean isUniqueIndexReady() {
+        return uniqueIndexReady;
+    }
+
+    public void setUniqueIndexReady(boolean uniqueIndexReady) {
+        this.uniqueIndexReady = uniqueIndexReady;
+    }
+
+    /**
+     * @return false if the key has definitely not been recorded, true if it may have been
+     */
+    public synchronized boolean mightContain(String apiClientId, String idempotencyKey) {
+        final String cacheKey = cacheKey(apiClientId, idempotencyKey);
+        return mightContain(currentGeneration, cacheKey) || mightContain(previousGeneration, cacheKey);
+    }
+
+    /**
+     * @return the Consent that the key was recently used to create, or an empty Optional if the key is not cached or
+     *         it has expired
+     */
+    public synchronized Optional<RecentKey> getRecentKey(String apiClientId, String idempotencyKey, DateTime currentTime) {
+        final String cacheKey = cacheKey(apiClientId, idempotencyKey);
+        final RecentKey recentKey = recentKeys.get(cacheKey);
+        if (recentKey == null) {
+            return Optional.empty();
+        }
+        if (!recentKey.expiration().isAfter(currentTime)) {
+            recentKeys.remove(cacheKey);
+            return Optional.empty();
+        }
+        return Optional.of(recentKey);
+    }
+
+    /**
+     * Records that the key has been used to create a Consent
+     */
+    public synchronized void put(String apiClientId, String idempotencyKey, RecentKey recentKey) {
+        final String cacheKey = cacheKey(apiClientId, idempotencyKey);
+        recentKeys.put(cacheKey, recentKey);
+        if (currentGenerationKeys >= expectedKeys) {
+            previousGeneration = currentGeneration;
+            currentGeneration = new BitSet(numBits);
+            currentGenerationKeys = 0;
+        }
+        final int hash1 = hash1(cacheKey);
+        final int hash2 = hash2(cacheKey);
+        for (int i = 0; i < numHashFunctions; i++) {
+            currentGeneration.set(bitIndex(hash1, hash2, i));
+        }
+        currentGenerationKeys++;
+    }
+
+    private boolean mightContain(BitSet generation, String cacheKey) {
+        final int hash1 = hash1(cacheKey);
+        final int hash2 = hash2(cacheKey);
+        for (int i = 0; i < numHashFunctions; i++) {
+            if (!generation.get(bitIndex(hash1, hash2, i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int bitIndex(int hash1, int hash2, int i) {
+        return Math.floorMod(hash1 + i * hash2, numBits);
+    }
+
+    private static String cacheKey(String apiClientId, String idempotencyKey) {
+        return apiClientId + '\n' + idempotencyKey;
+    }
+
+    private static int hash1(String cacheKey) {
+        return cacheKey.hashCode();
+    }
+
+    /**
+     * FNV-1a hash of the UTF-8 bytes, forced to be odd so that the double hashing visits distinct bits
+     */
+    private static int hash2(String cacheKey) {
+        int hash = 0x811c9dc5;
+        for (byte b : cacheKey.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x01000193;
+        }
+        return hash | 1;
+    }
+}
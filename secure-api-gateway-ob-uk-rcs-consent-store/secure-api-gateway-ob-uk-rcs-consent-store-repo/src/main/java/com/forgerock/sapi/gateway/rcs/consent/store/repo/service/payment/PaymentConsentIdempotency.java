@@ -0,0 +1,143 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+import org.joda.time.DateTime;
+import org.springframework.dao.DuplicateKeyException;
+
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.BasePaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException.ErrorType;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.IdempotencyKeyCache.RecentKey;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.PaymentConsentRepository;
+
+/**
+ * Idempotency check applied when creating Payment Consents.
+ * <p>
+ * The fingerprint of the request is stored on the Consent when it is created, a request which reuses an unexpired
+ * idempotencyKey is checked by comparing its fingerprint with the stored one. The lookup is covered by an index, so a
+ * request which has been changed is rejected without reading the existing Consent.
+ * <p>
+ * The {@link IdempotencyKeyCache} of the Consent type is consulted first: a recently used key is checked against the cached
+ * fingerprint, and once the unique activeIdempotencyKey index is ready, a key which has definitely not been used is
+ * inserted without querying for an existing Consent. The index rejects an insert whose key is in use by a Consent that
+ * the cache does not know about, in which case the existing Consent is looked up as usual. Until the index is ready
+ * (or if it could not be created) the existing Consent is always looked up. If the key is held by a Consent whose key has
+ * expired, then the key is released and the insert is retried.
+ */
+public final class PaymentConsentIdempotency {
+
+    private static final int MAX_INSERT_ATTEMPTS = 2;
+
+    private PaymentConsentIdempotency() {
+    }
+
+    /**
+     * Creates the Consent, unless an existing Consent was created by the same request.
+     *
+     * @param repo                the repository for the Consent type
+     * @param idempotencyKeyCache the cache of the idempotency keys used to create Consents of the type
+     * @param consent             the Consent to create
+     * @param insert              inserts the Consent
+     * @return the created Consent, or the existing Consent if it was created by the same request
+     * @throws ConsentStoreException with ErrorType.IDEMPOTENCY_ERROR if an existing Consent was created by a different
+     *         request
+     */
+    public static <T extends BasePaymentConsentEntity<?>> T createConsent(PaymentConsentRepository<T> repo,
+                                                                          IdempotencyKeyCache idempotencyKeyCache,
+                                                                          T consent, UnaryOperator<T> insert) {
+        final String requestFingerprint = consent.getRequestObj() != null ? repo.computeRequestFingerprint(consent.getRequestObj()) : null;
+        consent.setRequestFingerprint(requestFingerprint);
+        consent.setActiveIdempotencyKey(consent.getIdempotencyKey());
+
+        final String apiClientId = consent.getApiClientId();
+        final String idempotencyKey = consent.getIdempotencyKey();
+        if (idempotencyKey == null) {
+            return findConsentCreatedByRequest(repo, consent).orElseGet(() -> insert.apply(consent));
+        }
+
+        final Optional<RecentKey> recentKey = idempotencyKeyCache.getRecentKey(apiClientId, idempotencyKey, DateTime.now());
+        if (recentKey.isPresent()) {
+            if (!Objects.equals(recentKey.get().requestFingerprint(), requestFingerprint)) {
+                throw requestChanged(recentKey.get().consentId(), consent);
+            }
+            final Optional<T> existingConsent = repo.findById(recentKey.get().consentId());
+            if (existingConsent.isPresent()) {
+                return existingConsent.get();
+            }
+        } else if (!idempotencyKeyCache.isUniqueIndexReady() || idempotencyKeyCache.mightContain(apiClientId, idempotencyKey)) {
+            final Optional<T> existingConsent = findConsentCreatedByRequest(repo, consent);
+            if (existingConsent.isPresent()) {
+                return existingConsent.get();
+            }
+        }
+
+        final String consentId = consent.getId();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                final T createdConsent = insert.apply(consent);
+                idempotencyKeyCache.put(apiClientId, idempotencyKey, new RecentKey(createdConsent.getId(),
+                        requestFingerprint, createdConsent.getIdempotencyKeyExpiration()));
+                return createdConsent;
+            } catch (DuplicateKeyException ex) {
+                // The key is in use by a Consent which is not in the cache
+                consent.setId(consentId);
+                final Optional<T> existingConsent = findConsentCreatedByRequest(repo, consent);
+                if (existingConsent.isPresent()) {
+                    return existingConsent.get();
+                }
+                if (attempt == MAX_INSERT_ATTEMPTS || repo.releaseExpiredIdempotencyKey(apiClientId, idempotencyKey, DateTime.now()) == 0) {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds any existing Consent created with the same idempotency data as the Consent to create.
+     *
+     * @return the existing Consent if it was created by the same request, or an empty Optional if there is no
+     *         existing Consent
+     */
+    private static <T extends BasePaymentConsentEntity<?>> Optional<T> findConsentCreatedByRequest(PaymentConsentRepository<T> repo, T consent) {
+        final Optional<T> idempotencyMatch = repo.findIdempotencyFingerprint(consent.getApiClientId(), consent.getIdempotencyKey(), DateTime.now());
+        if (idempotencyMatch.isEmpty()) {
+            return Optional.empty();
+        }
+        final String existingConsentId = idempotencyMatch.get().getId();
+        final String existingFingerprint = idempotencyMatch.get().getRequestFingerprint();
+        if (existingFingerprint != null && !existingFingerprint.equals(consent.getRequestFingerprint())) {
+            throw requestChanged(existingConsentId, consent);
+        }
+
+        final Optional<T> existingConsent = repo.findById(existingConsentId);
+        // Consents created by earlier versions do not have a fingerprint, so the requests are compared
+        if (existingFingerprint == null && existingConsent.isPresent()
+                && !Objects.equals(existingConsent.get().getRequestObj(), consent.getRequestObj())) {
+            throw requestChanged(existingConsentId, consent);
+        }
+        return existingConsent;
+    }
+
+    private static ConsentStoreException requestChanged(String existingConsentId, BasePaymentConsentEntity<?> consent) {
+        return new ConsentStoreException(ErrorType.IDEMPOTENCY_ERROR, existingConsentId,
+                "The provided Idempotency Key: '" + consent.getIdempotencyKey() + "' header matched a previous request but the request body has been changed.");
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment;
+
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.BasePaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.PaymentConsentRepository;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.BaseConsentService;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentServiceFactory;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.version.ApiVersionValidator;
+
+/**
+ * Factory for the Payment Consent services, which owns the {@link IdempotencyKeyCache} of the Consent type.
+ * <p>
+ * The factories are singletons per Consent type, so the cache is shared by the service created and is available to the
+ * {@link com.forgerock.sapi.gateway.rcs.consent.store.repo.index.ConsentStoreIndexInitializer}, which marks it as
+ * ready once the unique activeIdempotencyKey index exists.
+ */
+public abstract class PaymentConsentServiceFactory<T extends BasePaymentConsentEntity<?>, S extends BaseConsentService<T, PaymentAuthoriseConsentArgs>>
+        extends ConsentServiceFactory<T, PaymentAuthoriseConsentArgs, S> {
+
+    protected final IdempotencyKeyCache idempotencyKeyCache = new IdempotencyKeyCache();
+
+    protected PaymentConsentServiceFactory(PaymentConsentRepository<T> repo, ApiVersionValidator apiVersionValidator) {
+        super(repo, apiVersionValidator);
+    }
+
+    public IdempotencyKeyCache getIdempotencyKeyCache() {
+        return idempotencyKeyCache;
+    }
+}
@@ -18,12 +18,13 @@ package com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.domest
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.domestic.DomesticPaymentConsentEntity;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.PaymentConsentRepository;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.BasePaymentConsentService;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.IdempotencyKeyCache;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentAuthoriseConsentArgs;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 public class DefaultDomesticPaymentConsentService extends BasePaymentConsentService<DomesticPaymentConsentEntity, PaymentAuthoriseConsentArgs> implements DomesticPaymentConsentService {
 
-    public DefaultDomesticPaymentConsentService(PaymentConsentRepository<DomesticPaymentConsentEntity> repo) {
-        super(repo, IntentType.PAYMENT_DOMESTIC_CONSENT::generateIntentId);
+    public DefaultDomesticPaymentConsentService(PaymentConsentRepository<DomesticPaymentConsentEntity> repo, IdempotencyKeyCache idempotencyKeyCache) {
+        super(repo, idempotencyKeyCache, IntentType.PAYMENT_DOMESTIC_CONSENT::generateIntentId);
     }
 }
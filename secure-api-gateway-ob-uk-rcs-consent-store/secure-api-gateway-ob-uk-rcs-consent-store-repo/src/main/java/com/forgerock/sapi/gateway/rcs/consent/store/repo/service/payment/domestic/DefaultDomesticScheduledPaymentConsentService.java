@@ -18,13 +18,14 @@ package com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.domest
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.domestic.DomesticScheduledPaymentConsentEntity;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.PaymentConsentRepository;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.BasePaymentConsentService;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.IdempotencyKeyCache;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentAuthoriseConsentArgs;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 public class DefaultDomesticScheduledPaymentConsentService extends BasePaymentConsentService<DomesticScheduledPaymentConsentEntity, PaymentAuthoriseConsentArgs> implements DomesticScheduledPaymentConsentService {
 
-    public DefaultDomesticScheduledPaymentConsentService(PaymentConsentRepository<DomesticScheduledPaymentConsentEntity> repo) {
-        super(repo, IntentType.PAYMENT_DOMESTIC_SCHEDULED_CONSENT::generateIntentId);
+    public DefaultDomesticScheduledPaymentConsentService(PaymentConsentRepository<DomesticScheduledPaymentConsentEntity> repo, IdempotencyKeyCache idempotencyKeyCache) {
+        super(repo, idempotencyKeyCache, IntentType.PAYMENT_DOMESTIC_SCHEDULED_CONSENT::generateIntentId);
     }
 }
 
@@ -18,12 +18,13 @@ package com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.domest
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.domestic.DomesticStandingOrderConsentEntity;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.PaymentConsentRepository;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.BasePaymentConsentService;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.IdempotencyKeyCache;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentAuthoriseConsentArgs;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 public class DefaultDomesticStandingOrderConsentService extends BasePaymentConsentService<DomesticStandingOrderConsentEntity, PaymentAuthoriseConsentArgs> implements DomesticStandingOrderConsentService {
 
-    public DefaultDomesticStandingOrderConsentService(PaymentConsentRepository<DomesticStandingOrderConsentEntity> repo) {
-        super(repo, IntentType.PAYMENT_DOMESTIC_STANDING_ORDERS_CONSENT::generateIntentId);
+    public DefaultDomesticStandingOrderConsentService(PaymentConsentRepository<DomesticStandingOrderConsentEntity> repo, IdempotencyKeyCache idempotencyKeyCache) {
+        super(repo, idempotencyKeyCache, IntentType.PAYMENT_DOMESTIC_STANDING_ORDERS_CONSENT::generateIntentId);
     }
 }
@@ -20,12 +20,12 @@ import org.springframework.stereotype.Service;
 
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.domestic.DomesticPaymentConsentEntity;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.PaymentConsentRepository;
-import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentServiceFactory;
-import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentAuthoriseConsentArgs;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentConsentServiceFactory;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.version.ApiVersionValidator;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 @Service
-public class DomesticPaymentConsentServiceFactory extends ConsentServiceFactory<DomesticPaymentConsentEntity, PaymentAuthoriseConsentArgs, DefaultDomesticPaymentConsentService> {
+public class DomesticPaymentConsentServiceFactory extends PaymentConsentServiceFactory<DomesticPaymentConsentEntity, DefaultDomesticPaymentConsentService> {
 
     @Autowired
     public DomesticPaymentConsentServiceFactory(PaymentConsentRepository<DomesticPaymentConsentEntity> repo, ApiVersionValidator apiVersionValidator) {
@@ -34,6 +34,11 @@ public class DomesticPaymentConsentServiceFactory extends ConsentServiceFactory<
 
     @Override
     protected DefaultDomesticPaymentConsentService createBaseConsentService() {
-        return new DefaultDomesticPaymentConsentService((PaymentConsentRepository)repo);
+        return new DefaultDomesticPaymentConsentService((PaymentConsentRepository)repo, idempotencyKeyCache);
+    }
+
+    @Override
+    protected IntentType getIntentType() {
+        return IntentType.PAYMENT_DOMESTIC_CONSENT;
     }
 }
@@ -20,12 +20,12 @@ import org.springframework.stereotype.Service;
 
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.domestic.DomesticScheduledPaymentConsentEntity;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.PaymentConsentRepository;
-import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentServiceFactory;
-import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentAuthoriseConsentArgs;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentConsentServiceFactory;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.version.ApiVersionValidator;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 @Service
-public class DomesticScheduledPaymentConsentServiceFactory extends ConsentServiceFactory<DomesticScheduledPaymentConsentEntity, PaymentAuthoriseConsentArgs, DefaultDomesticScheduledPaymentConsentService> {
+public class DomesticScheduledPaymentConsentServiceFactory extends PaymentConsentServiceFactory<DomesticScheduledPaymentConsentEntity, DefaultDomesticScheduledPaymentConsentService> {
 
     @Autowired
     public DomesticScheduledPaymentConsentServiceFactory(PaymentConsentRepository<DomesticScheduledPaymentConsentEntity> repo, ApiVersionValidator apiVersionValidator) {
@@ -34,6 +34,11 @@ public class DomesticScheduledPaymentConsentServiceFactory extends ConsentServic
 
     @Override
     protected DefaultDomesticScheduledPaymentConsentService createBaseConsentService() {
-        return new DefaultDomesticScheduledPaymentConsentService((PaymentConsentRepository)repo);
+        return new DefaultDomesticScheduledPaymentConsentService((PaymentConsentRepository)repo, idempotencyKeyCache);
+    }
+
+    @Override
+    protected IntentType getIntentType() {
+        return IntentType.PAYMENT_DOMESTIC_SCHEDULED_CONSENT;
     }
 }
@@ -20,12 +20,12 @@ import org.springframework.stereotype.Service;
 
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.domestic.DomesticStandingOrderConsentEntity;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.PaymentConsentRepository;
-import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentServiceFactory;
-import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentAuthoriseConsentArgs;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentConsentServiceFactory;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.version.ApiVersionValidator;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 @Service
-public class DomesticStandingOrderConsentServiceFactory extends ConsentServiceFactory<DomesticStandingOrderConsentEntity, PaymentAuthoriseConsentArgs, DefaultDomesticStandingOrderConsentService> {
+public class DomesticStandingOrderConsentServiceFactory extends PaymentConsentServiceFactory<DomesticStandingOrderConsentEntity, DefaultDomesticStandingOrderConsentService> {
 
     @Autowired
     public DomesticStandingOrderConsentServiceFactory(PaymentConsentRepository<DomesticStandingOrderConsentEntity> repo, ApiVersionValidator apiVersionValidator) {
@@ -34,6 +34,11 @@ public class DomesticStandingOrderConsentServiceFactory extends ConsentServiceFa
 
     @Override
     protected DefaultDomesticStandingOrderConsentService createBaseConsentService() {
-        return new DefaultDomesticStandingOrderConsentService((PaymentConsentRepository)repo);
+        return new DefaultDomesticStandingOrderConsentService((PaymentConsentRepository)repo, idempotencyKeyCache);
+    }
+
+    @Override
+    protected IntentType getIntentType() {
+        return IntentType.PAYMENT_DOMESTIC_STANDING_ORDERS_CONSENT;
     }
 }
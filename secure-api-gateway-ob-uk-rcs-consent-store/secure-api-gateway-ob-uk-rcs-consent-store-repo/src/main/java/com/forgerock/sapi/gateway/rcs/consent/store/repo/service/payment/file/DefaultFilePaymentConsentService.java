@@ -15,18 +15,40 @@
  */
 package com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.file;
 
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.ConsentStatus;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.file.FilePaymentConsentEntity;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException.ErrorType;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.PaymentConsentRepository;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.file.FilePaymentContentStore;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.file.FilePaymentContentStore.StoredFileContent;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentProjection;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.BasePaymentConsentService;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.IdempotencyKeyCache;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentAuthoriseConsentArgs;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 public class DefaultFilePaymentConsentService extends BasePaymentConsentService<FilePaymentConsentEntity, PaymentAuthoriseConsentArgs> implements FilePaymentConsentService {
 
-    public DefaultFilePaymentConsentService(PaymentConsentRepository<FilePaymentConsentEntity> repo) {
-        super(repo, IntentType.PAYMENT_FILE_CONSENT::generateIntentId, FilePaymentConsentStateModel.getInstance());
+    private static final ConsentProjection FILE_CONTENT_PROJECTION = ConsentProjection.of("fileContentId", "fileContent");
+
+    private final FilePaymentContentStore fileContentStore;
+
+    public DefaultFilePaymentConsentService(PaymentConsentRepository<FilePaymentConsentEntity> repo,
+                                            IdempotencyKeyCache idempotencyKeyCache,
+                                            FilePaymentContentStore fileContentStore) {
+        super(repo, idempotencyKeyCache, IntentType.PAYMENT_FILE_CONSENT::generateIntentId, FilePaymentConsentStateModel.getInstance());
+        this.fileContentStore = requireNonNull(fileContentStore, "fileContentStore must be provided");
     }
 
     @Override
@@ -34,20 +56,52 @@ public class DefaultFilePaymentConsentService extends BasePaymentConsentService<
         final FilePaymentConsentEntity consent = getConsent(fileUploadArgs.getConsentId(), fileUploadArgs.getApiClientId());
 
         // fileUpload idempotency check
-        if (consent.getStatus().equals(FilePaymentConsentStateModel.AWAITING_AUTHORISATION)) {
-           if (consent.getFileUploadIdempotencyKey().equals(fileUploadArgs.getFileUploadIdempotencyKey())
-                   && consent.getFileContent().equals(fileUploadArgs.getFileContents())) {
+        if (consent.getConsentStatus() == ConsentStatus.AWAITING_AUTHORISATION) {
+           if (Objects.equals(consent.getFileUploadIdempotencyKey(), fileUploadArgs.getFileUploadIdempotencyKey())
+                   && getFileContentSha256(consent).equals(FilePaymentContentStore.computeSha256(fileUploadArgs.getFileContents()))) {
                return consent;
            } else {
                throw new ConsentStoreException(ErrorType.IDEMPOTENCY_ERROR, fileUploadArgs.getConsentId(),
                        "File has already been uploaded for this consent but the fileUploadIdempotencyKey and fileContents do not match with this request");
            }
         } else {
-            validateStateTransition(consent, FilePaymentConsentStateModel.AWAITING_AUTHORISATION);
-            consent.setStatus(FilePaymentConsentStateModel.AWAITING_AUTHORISATION);
-            consent.setFileContent(fileUploadArgs.getFileContents());
-            consent.setFileUploadIdempotencyKey(fileUploadArgs.getFileUploadIdempotencyKey());
-            return repo.save(consent);
+            validateStateTransition(consent, ConsentStatus.AWAITING_AUTHORISATION);
+            final StoredFileContent storedFile = fileContentStore.store(consent.getId(), fileUploadArgs.getFileContents());
+            final Update update = new Update().set("fileContentId", storedFile.fileContentId())
+                                              .set("fileContentSha256", storedFile.sha256())
+                                              .set("fileUploadIdempotencyKey", fileUploadArgs.getFileUploadIdempotencyKey());
+            try {
+                return transitionConsent(consent.getId(), consent.getApiClientId(), ConsentStatus.AWAITING_AUTHORISATION, update);
+            } catch (RuntimeException e) {
+                // The file belongs to an upload which did not complete, there is no Consent which references it
+                fileContentStore.delete(storedFile.fileContentId());
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Consents uploaded by earlier versions store the fileContent inline and do not have a digest
+     */
+    private static String getFileContentSha256(FilePaymentConsentEntity consent) {
+        if (consent.getFileContentSha256() != null) {
+            return consent.getFileContentSha256();
+        }
+        return FilePaymentContentStore.computeSha256(new ByteArrayInputStream(consent.getFileContent().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Override
+    public Optional<InputStream> getFileContent(String consentId, String apiClientId) {
+        return openFileContent(getConsent(consentId, apiClientId, FILE_CONTENT_PROJECTION));
+    }
+
+    @Override
+    public Optional<InputStream> openFileContent(FilePaymentConsentEntity consent) {
+        if (consent.getFileContentId() != null) {
+            return Optional.of(fileContentStore.openContent(consent.getFileContentId()));
+        } else if (consent.getFileContent() != null) {
+            return Optional.of(new ByteArrayInputStream(consent.getFileContent().getBytes(StandardCharsets.UTF_8)));
         }
+        return Optional.empty();
     }
 }
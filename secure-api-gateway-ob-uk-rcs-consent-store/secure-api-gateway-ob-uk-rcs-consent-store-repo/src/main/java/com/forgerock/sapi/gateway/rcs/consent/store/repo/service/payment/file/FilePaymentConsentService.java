@@ -15,6 +15,9 @@
  */
 package com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.file;
 
+import java.io.InputStream;
+import java.util.Optional;
+
 import jakarta.validation.Valid;
 
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.file.FilePaymentConsentEntity;
@@ -25,4 +28,21 @@ public interface FilePaymentConsentService extends PaymentConsentService<FilePay
 
     FilePaymentConsentEntity uploadFile(@Valid FileUploadArgs fileUploadArgs);
 
+    /**
+     * Opens the file uploaded for a Consent, the same access checks are applied as for
+     * {@link #getConsent(String, String)}
+     *
+     * @return a stream of the file content which must be closed by the caller, or an empty Optional if no file has
+     *         been uploaded
+     */
+    Optional<InputStream> getFileContent(String consentId, String apiClientId);
+
+    /**
+     * Opens the file uploaded for a Consent which has already been retrieved
+     *
+     * @return a stream of the file content which must be closed by the caller, or an empty Optional if no file has
+     *         been uploaded
+     */
+    Optional<InputStream> openFileContent(FilePaymentConsentEntity consent);
+
 }
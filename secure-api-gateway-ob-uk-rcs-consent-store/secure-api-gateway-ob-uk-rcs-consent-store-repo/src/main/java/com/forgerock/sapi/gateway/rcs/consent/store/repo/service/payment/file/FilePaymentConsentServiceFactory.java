@@ -20,20 +20,30 @@ import org.springframework.stereotype.Service;
 
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.file.FilePaymentConsentEntity;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.PaymentConsentRepository;
-import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentServiceFactory;
-import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentAuthoriseConsentArgs;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.file.FilePaymentContentStore;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentConsentServiceFactory;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.version.ApiVersionValidator;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 @Service
-public class FilePaymentConsentServiceFactory extends ConsentServiceFactory<FilePaymentConsentEntity, PaymentAuthoriseConsentArgs, DefaultFilePaymentConsentService> {
+public class FilePaymentConsentServiceFactory extends PaymentConsentServiceFactory<FilePaymentConsentEntity, DefaultFilePaymentConsentService> {
+
+    private final FilePaymentContentStore fileContentStore;
 
     @Autowired
-    public FilePaymentConsentServiceFactory(PaymentConsentRepository<FilePaymentConsentEntity> repo, ApiVersionValidator apiVersionValidator) {
+    public FilePaymentConsentServiceFactory(PaymentConsentRepository<FilePaymentConsentEntity> repo, ApiVersionValidator apiVersionValidator,
+                                            FilePaymentContentStore fileContentStore) {
         super(repo, apiVersionValidator);
+        this.fileContentStore = fileContentStore;
     }
 
     @Override
     protected DefaultFilePaymentConsentService createBaseConsentService() {
-        return new DefaultFilePaymentConsentService((PaymentConsentRepository)repo);
+        return new DefaultFilePaymentConsentService((PaymentConsentRepository)repo, idempotencyKeyCache, fileContentStore);
+    }
+
+    @Override
+    protected IntentType getIntentType() {
+        return IntentType.PAYMENT_FILE_CONSENT;
     }
 }
@@ -15,12 +15,9 @@
  */
 package com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.file;
 
-import java.util.List;
-
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.ConsentStatus;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentStateModel;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentStatusTransitions;
 
 import uk.org.openbanking.datamodel.v3.payment.OBWriteFileConsentResponse4DataStatus;
 
@@ -41,13 +38,14 @@ public class FilePaymentConsentStateModel implements ConsentStateModel {
         return INSTANCE;
     }
 
-    private final MultiValueMap<String, String> stateTransitions;
+    private final ConsentStatusTransitions statusTransitions;
 
     private FilePaymentConsentStateModel() {
-        stateTransitions = new LinkedMultiValueMap<>();
-        stateTransitions.addAll(AWAITING_UPLOAD, List.of(AWAITING_AUTHORISATION));
-        stateTransitions.addAll(AWAITING_AUTHORISATION, List.of(AUTHORISED, REJECTED));
-        stateTransitions.addAll(AUTHORISED, List.of(CONSUMED));
+        statusTransitions = ConsentStatusTransitions.builder()
+                .allow(ConsentStatus.AWAITING_UPLOAD, ConsentStatus.AWAITING_AUTHORISATION)
+                .allow(ConsentStatus.AWAITING_AUTHORISATION, ConsentStatus.AUTHORISED, ConsentStatus.REJECTED)
+                .allow(ConsentStatus.AUTHORISED, ConsentStatus.CONSUMED)
+                .build();
     }
 
     @Override
@@ -71,8 +69,8 @@ public class FilePaymentConsentStateModel implements ConsentStateModel {
     }
 
     @Override
-    public MultiValueMap<String, String> getValidStateTransitions() {
-        return new LinkedMultiValueMap<>(stateTransitions);
+    public ConsentStatusTransitions getStatusTransitions() {
+        return statusTransitions;
     }
 
 }
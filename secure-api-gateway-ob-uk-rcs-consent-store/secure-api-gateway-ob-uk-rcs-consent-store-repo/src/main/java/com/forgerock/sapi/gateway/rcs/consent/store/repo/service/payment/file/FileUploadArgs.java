@@ -15,6 +15,8 @@
  */
 package com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.file;
 
+import java.io.InputStream;
+
 import jakarta.validation.constraints.NotNull;
 
 import org.springframework.validation.annotation.Validated;
@@ -28,8 +30,11 @@ public class FileUploadArgs {
     @NotNull
     private String apiClientId;
 
+    /**
+     * Stream of the file contents, the stream is read by the upload but is not closed
+     */
     @NotNull
-    private String fileContents;
+    private InputStream fileContents;
 
     @NotNull
     private String fileUploadIdempotencyKey;
@@ -50,11 +55,11 @@ public class FileUploadArgs {
         this.apiClientId = apiClientId;
     }
 
-    public String getFileContents() {
+    public InputStream getFileContents() {
         return fileContents;
     }
 
-    public void setFileContents(String fileContents) {
+    public void setFileContents(InputStream fileContents) {
         this.fileContents = fileContents;
     }
 
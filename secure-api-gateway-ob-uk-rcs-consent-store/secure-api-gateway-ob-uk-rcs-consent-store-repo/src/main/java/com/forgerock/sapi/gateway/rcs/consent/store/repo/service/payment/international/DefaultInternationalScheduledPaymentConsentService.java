@@ -18,12 +18,13 @@ package com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.intern
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.international.InternationalScheduledPaymentConsentEntity;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.PaymentConsentRepository;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.BasePaymentConsentService;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.IdempotencyKeyCache;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentAuthoriseConsentArgs;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 public class DefaultInternationalScheduledPaymentConsentService extends BasePaymentConsentService<InternationalScheduledPaymentConsentEntity, PaymentAuthoriseConsentArgs> implements InternationalScheduledPaymentConsentService {
 
-    public DefaultInternationalScheduledPaymentConsentService(PaymentConsentRepository<InternationalScheduledPaymentConsentEntity> repo) {
-        super(repo, IntentType.PAYMENT_INTERNATIONAL_SCHEDULED_CONSENT::generateIntentId);
+    public DefaultInternationalScheduledPaymentConsentService(PaymentConsentRepository<InternationalScheduledPaymentConsentEntity> repo, IdempotencyKeyCache idempotencyKeyCache) {
+        super(repo, idempotencyKeyCache, IntentType.PAYMENT_INTERNATIONAL_SCHEDULED_CONSENT::generateIntentId);
     }
 }
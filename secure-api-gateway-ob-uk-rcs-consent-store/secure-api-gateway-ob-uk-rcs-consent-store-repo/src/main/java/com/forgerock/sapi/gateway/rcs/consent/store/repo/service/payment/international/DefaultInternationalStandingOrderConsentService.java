@@ -18,12 +18,13 @@ package com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.intern
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.international.InternationalStandingOrderConsentEntity;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.PaymentConsentRepository;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.BasePaymentConsentService;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.IdempotencyKeyCache;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentAuthoriseConsentArgs;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 public class DefaultInternationalStandingOrderConsentService extends BasePaymentConsentService<InternationalStandingOrderConsentEntity, PaymentAuthoriseConsentArgs> implements InternationalStandingOrderConsentService {
 
-    public DefaultInternationalStandingOrderConsentService(PaymentConsentRepository<InternationalStandingOrderConsentEntity> repo) {
-        super(repo, IntentType.PAYMENT_INTERNATIONAL_STANDING_ORDERS_CONSENT::generateIntentId);
+    public DefaultInternationalStandingOrderConsentService(PaymentConsentRepository<InternationalStandingOrderConsentEntity> repo, IdempotencyKeyCache idempotencyKeyCache) {
+        super(repo, idempotencyKeyCache, IntentType.PAYMENT_INTERNATIONAL_STANDING_ORDERS_CONSENT::generateIntentId);
     }
 }
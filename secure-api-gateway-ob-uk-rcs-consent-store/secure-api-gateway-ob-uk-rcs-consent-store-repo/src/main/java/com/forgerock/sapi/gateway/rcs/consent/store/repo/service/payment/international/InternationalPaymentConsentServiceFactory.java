@@ -20,12 +20,12 @@ import org.springframework.stereotype.Service;
 
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.international.InternationalPaymentConsentEntity;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.PaymentConsentRepository;
-import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentServiceFactory;
-import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentAuthoriseConsentArgs;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentConsentServiceFactory;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.version.ApiVersionValidator;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 @Service
-public class InternationalPaymentConsentServiceFactory extends ConsentServiceFactory<InternationalPaymentConsentEntity, PaymentAuthoriseConsentArgs, DefaultInternationalPaymentConsentService> {
+public class InternationalPaymentConsentServiceFactory extends PaymentConsentServiceFactory<InternationalPaymentConsentEntity, DefaultInternationalPaymentConsentService> {
 
     @Autowired
     public InternationalPaymentConsentServiceFactory(PaymentConsentRepository<InternationalPaymentConsentEntity> repo, ApiVersionValidator apiVersionValidator) {
@@ -34,6 +34,11 @@ public class InternationalPaymentConsentServiceFactory extends ConsentServiceFac
 
     @Override
     protected DefaultInternationalPaymentConsentService createBaseConsentService() {
-        return new DefaultInternationalPaymentConsentService((PaymentConsentRepository)repo);
+        return new DefaultInternationalPaymentConsentService((PaymentConsentRepository)repo, idempotencyKeyCache);
+    }
+
+    @Override
+    protected IntentType getIntentType() {
+        return IntentType.PAYMENT_INTERNATIONAL_CONSENT;
     }
 }
@@ -20,12 +20,12 @@ import org.springframework.stereotype.Service;
 
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.international.InternationalScheduledPaymentConsentEntity;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.PaymentConsentRepository;
-import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentServiceFactory;
-import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentAuthoriseConsentArgs;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentConsentServiceFactory;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.version.ApiVersionValidator;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 @Service
-public class InternationalScheduledPaymentConsentServiceFactory extends ConsentServiceFactory<InternationalScheduledPaymentConsentEntity, PaymentAuthoriseConsentArgs, DefaultInternationalScheduledPaymentConsentService> {
+public class InternationalScheduledPaymentConsentServiceFactory extends PaymentConsentServiceFactory<InternationalScheduledPaymentConsentEntity, DefaultInternationalScheduledPaymentConsentService> {
 
     @Autowired
     public InternationalScheduledPaymentConsentServiceFactory(PaymentConsentRepository<InternationalScheduledPaymentConsentEntity> repo, ApiVersionValidator apiVersionValidator) {
@@ -34,6 +34,11 @@ public class InternationalScheduledPaymentConsentServiceFactory extends ConsentS
 
     @Override
     protected DefaultInternationalScheduledPaymentConsentService createBaseConsentService() {
-        return new DefaultInternationalScheduledPaymentConsentService((PaymentConsentRepository)repo);
+        return new DefaultInternationalScheduledPaymentConsentService((PaymentConsentRepository)repo, idempotencyKeyCache);
+    }
+
+    @Override
+    protected IntentType getIntentType() {
+        return IntentType.PAYMENT_INTERNATIONAL_SCHEDULED_CONSENT;
     }
 }
@@ -20,12 +20,12 @@ import org.springframework.stereotype.Service;
 
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.international.InternationalStandingOrderConsentEntity;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.PaymentConsentRepository;
-import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentServiceFactory;
-import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentAuthoriseConsentArgs;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentConsentServiceFactory;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.version.ApiVersionValidator;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 @Service
-public class InternationalStandingOrderConsentServiceFactory extends ConsentServiceFactory<InternationalStandingOrderConsentEntity, PaymentAuthoriseConsentArgs, DefaultInternationalStandingOrderConsentService> {
+public class InternationalStandingOrderConsentServiceFactory extends PaymentConsentServiceFactory<InternationalStandingOrderConsentEntity, DefaultInternationalStandingOrderConsentService> {
 
     @Autowired
     public InternationalStandingOrderConsentServiceFactory(PaymentConsentRepository<InternationalStandingOrderConsentEntity> repo, ApiVersionValidator apiVersionValidator) {
@@ -34,6 +34,11 @@ public class InternationalStandingOrderConsentServiceFactory extends ConsentServ
 
     @Override
     protected DefaultInternationalStandingOrderConsentService createBaseConsentService() {
-        return new DefaultInternationalStandingOrderConsentService((PaymentConsentRepository)repo);
+        return new DefaultInternationalStandingOrderConsentService((PaymentConsentRepository)repo, idempotencyKeyCache);
+    }
+
+    @Override
+    protected IntentType getIntentType() {
+        return IntentType.PAYMENT_INTERNATIONAL_STANDING_ORDERS_CONSENT;
     }
 }
@@ -15,22 +15,26 @@
  */
 package com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.vrp;
 
-import java.util.Optional;
+import static java.util.Objects.requireNonNull;
 
-import org.joda.time.DateTime;
+import org.springframework.data.mongodb.core.query.Update;
 
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.vrp.DomesticVRPConsentEntity;
-import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException;
-import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException.ErrorType;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.PaymentConsentRepository;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.BaseConsentService;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.IdempotencyKeyCache;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentAuthoriseConsentArgs;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentConsentIdempotency;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 public class DefaultDomesticVRPConsentService extends BaseConsentService<DomesticVRPConsentEntity, PaymentAuthoriseConsentArgs> implements DomesticVRPConsentService {
 
-    public DefaultDomesticVRPConsentService(PaymentConsentRepository<DomesticVRPConsentEntity> repo) {
+    private final IdempotencyKeyCache idempotencyKeyCache;
+
+    public DefaultDomesticVRPConsentService(PaymentConsentRepository<DomesticVRPConsentEntity> repo,
+                                            IdempotencyKeyCache idempotencyKeyCache) {
         super(repo, IntentType.DOMESTIC_VRP_PAYMENT_CONSENT::generateIntentId, VRPConsentStateModel.getInstance());
+        this.idempotencyKeyCache = requireNonNull(idempotencyKeyCache, "idempotencyKeyCache must be provided");
     }
 
     private PaymentConsentRepository<DomesticVRPConsentEntity> getRepo() {
@@ -38,19 +42,11 @@ public class DefaultDomesticVRPConsentService extends BaseConsentService<Domesti
     }
 
     public DomesticVRPConsentEntity createConsent(DomesticVRPConsentEntity consent) {
-        final Optional<DomesticVRPConsentEntity> consentMatchingIdempotencyData = getRepo().findByIdempotencyData(consent.getApiClientId(), consent.getIdempotencyKey(), DateTime.now());
-        if (consentMatchingIdempotencyData.isPresent()) {
-            final DomesticVRPConsentEntity existingConsent = consentMatchingIdempotencyData.get();
-            if (!existingConsent.getRequestObj().equals(consent.getRequestObj())) {
-                throw new ConsentStoreException(ErrorType.IDEMPOTENCY_ERROR, existingConsent.getId(),
-                        "The provided Idempotency Key: '" + consent.getIdempotencyKey() + "' header matched a previous request but the request body has been changed.");
-            }
-        }
-        return consentMatchingIdempotencyData.orElseGet(() -> super.createConsent(consent));
+        return PaymentConsentIdempotency.createConsent(getRepo(), idempotencyKeyCache, consent, super::createConsent);
     }
 
     @Override
-    protected void addConsentSpecificAuthorisationData(DomesticVRPConsentEntity consent, PaymentAuthoriseConsentArgs authoriseConsentArgs) {
-        consent.setAuthorisedDebtorAccountId(authoriseConsentArgs.getAuthorisedDebtorAccountId());
+    protected void addConsentSpecificAuthorisationData(Update update, PaymentAuthoriseConsentArgs authoriseConsentArgs) {
+        update.set("authorisedDebtorAccountId", authoriseConsentArgs.getAuthorisedDebtorAccountId());
     }
 }
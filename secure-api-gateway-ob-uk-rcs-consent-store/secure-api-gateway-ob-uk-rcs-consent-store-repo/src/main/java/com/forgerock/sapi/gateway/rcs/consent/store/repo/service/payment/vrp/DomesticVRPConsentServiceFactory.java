@@ -20,12 +20,12 @@ import org.springframework.stereotype.Service;
 
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.vrp.DomesticVRPConsentEntity;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.PaymentConsentRepository;
-import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentServiceFactory;
-import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentAuthoriseConsentArgs;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentConsentServiceFactory;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.version.ApiVersionValidator;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 @Service
-public class DomesticVRPConsentServiceFactory extends ConsentServiceFactory<DomesticVRPConsentEntity, PaymentAuthoriseConsentArgs, DefaultDomesticVRPConsentService> {
+public class DomesticVRPConsentServiceFactory extends PaymentConsentServiceFactory<DomesticVRPConsentEntity, DefaultDomesticVRPConsentService> {
 
     @Autowired
     public DomesticVRPConsentServiceFactory(PaymentConsentRepository<DomesticVRPConsentEntity> repo, ApiVersionValidator apiVersionValidator) {
@@ -34,6 +34,11 @@ public class DomesticVRPConsentServiceFactory extends ConsentServiceFactory<Dome
 
     @Override
     protected DefaultDomesticVRPConsentService createBaseConsentService() {
-        return new DefaultDomesticVRPConsentService((PaymentConsentRepository)repo);
+        return new DefaultDomesticVRPConsentService((PaymentConsentRepository)repo, idempotencyKeyCache);
+    }
+
+    @Override
+    protected IntentType getIntentType() {
+        return IntentType.DOMESTIC_VRP_PAYMENT_CONSENT;
     }
 }
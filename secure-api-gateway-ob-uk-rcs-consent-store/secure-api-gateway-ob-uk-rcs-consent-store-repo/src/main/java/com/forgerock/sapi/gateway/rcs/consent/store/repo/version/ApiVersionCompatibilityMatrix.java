@@ -0,0 +1,78 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.version;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBVersion;
+
+/**
+ * {@link ApiVersionValidator} which precomputes the result of another validator for every pair of {@link OBVersion}s,
+ * so that the checks made on each Consent Store operation are lookups.
+ */
+public final class ApiVersionCompatibilityMatrix implements ApiVersionValidator {
+
+    /**
+     * Map of access version to the creation versions which can be accessed using it
+     */
+    private final Map<OBVersion, Set<OBVersion>> accessibleCreationVersions;
+
+    private ApiVersionCompatibilityMatrix(ApiVersionValidator apiVersionValidator) {
+        accessibleCreationVersions = new EnumMap<>(OBVersion.class);
+        for (OBVersion accessVersion : OBVersion.values()) {
+            final Set<OBVersion> creationVersions = EnumSet.noneOf(OBVersion.class);
+            for (OBVersion creationVersion : OBVersion.values()) {
+                if (apiVersionValidator.canAccessResourceUsingApiVersion(creationVersion, accessVersion)) {
+                    creationVersions.add(creationVersion);
+                }
+            }
+            accessibleCreationVersions.put(accessVersion, Collections.unmodifiableSet(creationVersions));
+        }
+    }
+
+    /**
+     * @param apiVersionValidator the validator to precompute
+     * @return matrix of the results of the apiVersionValidator, or the apiVersionValidator if it is already a matrix
+     */
+    public static ApiVersionCompatibilityMatrix of(ApiVersionValidator apiVersionValidator) {
+        requireNonNull(apiVersionValidator, "apiVersionValidator must be provided");
+        if (apiVersionValidator instanceof ApiVersionCompatibilityMatrix matrix) {
+            return matrix;
+        }
+        return new ApiVersionCompatibilityMatrix(apiVersionValidator);
+    }
+
+    @Override
+    public boolean canAccessResourceUsingApiVersion(OBVersion creationVersion, OBVersion accessVersion) {
+        requireNonNull(creationVersion, "creationVersion must be provided");
+        return getAccessibleCreationVersions(accessVersion).contains(creationVersion);
+    }
+
+    /**
+     * @param accessVersion the version of the API used to access resources
+     * @return the creation versions of the resources which can be accessed using the accessVersion
+     */
+    public Set<OBVersion> getAccessibleCreationVersions(OBVersion accessVersion) {
+        requireNonNull(accessVersion, "accessVersion must be provided");
+        return accessibleCreationVersions.get(accessVersion);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.version;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.Supplier;
+
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBVersion;
+
+/**
+ * Holds the API version that the Consent Store is being accessed with for the current thread.
+ * <p>
+ * The ConsentServices are shared by all API versions, the version is supplied per call via this context. The services
+ * validate that the Consents being accessed can be accessed using the version, see {@link ApiVersionValidator}.
+ * When no version has been set, the ConsentService is being used internally by the RCS and no version validation is
+ * applied.
+ */
+public final class ApiVersionContext {
+
+    private static final ThreadLocal<OBVersion> API_VERSION = new ThreadLocal<>();
+
+    private ApiVersionContext() {
+    }
+
+    /**
+     * @return the API version for the current thread, or null if no version has been set
+     */
+    public static OBVersion getApiVersion() {
+        return API_VERSION.get();
+    }
+
+    /**
+     * Sets the API version for the current thread, callers must call {@link #clear()} once the operation has completed.
+     */
+    public static void setApiVersion(OBVersion apiVersion) {
+        API_VERSION.set(requireNonNull(apiVersion, "apiVersion must be provided"));
+    }
+
+    public static void clear() {
+        API_VERSION.remove();
+    }
+
+    /**
+     * Calls the operation with the API version set for the current thread, the previous version is restored afterwards.
+     */
+    public static <R> R callWithApiVersion(OBVersion apiVersion, Supplier<R> operation) {
+        requireNonNull(apiVersion, "apiVersion must be provided");
+        final OBVersion previousApiVersion = API_VERSION.get();
+        API_VERSION.set(apiVersion);
+        try {
+            return operation.get();
+        } finally {
+            if (previousApiVersion == null) {
+                API_VERSION.remove();
+            } else {
+                API_VERSION.set(previousApiVersion);
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.bson.BsonBoolean;
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.ConsentStoreEnabledIntentTypes;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.ConsentStatus;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.account.AccountAccessConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.domestic.DomesticPaymentConsentEntity;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataMongoTest(properties = "consent.store.indexes.createOnStartup=false")
+class ConsentChangeStreamPublisherTest {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ConsentEventConfiguration configuration;
+
+    private ConsentEventResumeTokenStore resumeTokenStore;
+
+    private List<ConsentStatusEvent> publishedEvents;
+
+    private ConsentChangeStreamPublisher publisher;
+
+    @BeforeEach
+    void beforeEach() {
+        mongoTemplate.dropCollection(ConsentEventResumeTokenStore.COLLECTION);
+        meterRegistry = new SimpleMeterRegistry();
+        configuration = new ConsentEventConfiguration();
+        resumeTokenStore = new ConsentEventResumeTokenStore(mongoTemplate);
+        publishedEvents = new ArrayList<>();
+        publisher = createPublisher(List.of(publishedEvents::add));
+    }
+
+    private ConsentChangeStreamPublisher createPublisher(List<ConsentEventSink> sinks) {
+        return new ConsentChangeStreamPublisher(mongoTemplate, configuration,
+                new ConsentStoreEnabledIntentTypes(EnumSet.of(IntentType.ACCOUNT_ACCESS_CONSENT)), resumeTokenStore,
+                sinks, meterRegistry);
+    }
+
+    private String getCollectionName(Class<?> entityClass) {
+        return mongoTemplate.getCollectionName(entityClass);
+    }
+
+    private static ChangeStreamDocument<Document> createChange(String collectionName, String consentId,
+                                                               BsonDocument updatedFields, BsonDocument fullDocument) {
+        final BsonDocument change = new BsonDocument("_id", new BsonDocument("_data", new BsonString("826500000000000001")))
+                .append("operationType", new BsonString("update"))
+                .append("ns", new BsonDocument("db", new BsonString("consent")).append("coll", new BsonString(collectionName)))
+                .append("documentKey", new BsonDocument("_id", new BsonString(consentId)))
+                .append("updateDescription", new BsonDocument("updatedFields", updatedFields));
+        if (fullDocument != null) {
+            change.append("fullDocument", fullDocument);
+        }
+        return ChangeStreamDocument.createCodec(Document.class, MongoClientSettings.getDefaultCodecRegistry())
+                                   .decode(new BsonDocumentReader(change), DecoderContext.builder().build());
+    }
+
+    @Test
+    void shouldCreateEventForAuthorisedConsent() {
+        final Date statusUpdatedDateTime = new Date();
+        final BsonDocument updatedFields = new BsonDocument("status", new BsonString("Authorised"))
+                .append("resourceOwnerId", new BsonString("user-1"))
+                .append("statusUpdatedDateTime", new BsonDateTime(statusUpdatedDateTime.getTime()))
+                .append("entityVersion", new BsonInt32(2));
+        final BsonDocument consent = new BsonDocument("apiClientId", new BsonString("client-1"))
+                .append("resourceOwnerId", new BsonString("user-1"))
+                .append("deleted", BsonBoolean.FALSE);
+
+        final ConsentStatusEvent event = publisher.toEvent(createChange(getCollectionName(AccountAccessConsentEntity.class),
+                "AAC_1", updatedFields, consent));
+
+        assertThat(event).isEqualTo(new ConsentStatusEvent(IntentType.ACCOUNT_ACCESS_CONSENT, "AAC_1", "client-1",
+                "user-1", ConsentStatus.AUTHORISED, false, statusUpdatedDateTime, 2));
+    }
+
+    @Test
+    void shouldCreateEventForDeletedConsentWhichHasBeenRemoved() {
+        final BsonDocument updatedFields = new BsonDocument("status", new BsonString("Revoked"))
+                .append("deleted", BsonBoolean.TRUE)
+                .append("entityVersion", new BsonInt32(3));
+
+        final ConsentStatusEvent event = publisher.toEvent(createChange(getCollectionName(AccountAccessConsentEntity.class),
+                "AAC_2", updatedFields, null));
+
+        assertThat(event.consentId()).isEqualTo("AAC_2");
+        assertThat(event.status()).isEqualTo(ConsentStatus.REVOKED);
+        assertThat(event.deleted()).isTrue();
+        assertThat(event.apiClientId()).isNull();
+        assertThat(event.resourceOwnerId()).isNull();
+        assertThat(event.entityVersion()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldIgnoreChangesWhichAreNotWatched() {
+        final BsonDocument statusUpdate = new BsonDocument("status", new BsonString("Authorised"));
+        // IntentType is not enabled
+        assertThat(publisher.toEvent(createChange(getCollectionName(DomesticPaymentConsentEntity.class),
+                "PDC_1", statusUpdate, null))).isNull();
+        // Not a status change
+        assertThat(publisher.toEvent(createChange(getCollectionName(AccountAccessConsentEntity.class),
+                "AAC_3", new BsonDocument("resourceOwnerId", new BsonString("user-2")), null))).isNull();
+        // Unexpected status value
+        assertThat(publisher.toEvent(createChange(getCollectionName(AccountAccessConsentEntity.class),
+                "AAC_4", new BsonDocument("status", new BsonString("Unknown")), null))).isNull();
+    }
+
+    @Test
+    void shouldPublishToAllSinksWhenOneFails() {
+        final ConsentEventSink failingSink = event -> {
+            throw new IllegalStateException("sink unavailable");
+        };
+        publisher = createPublisher(List.of(failingSink, publishedEvents::add));
+        final ConsentStatusEvent event = new ConsentStatusEvent(IntentType.ACCOUNT_ACCESS_CONSENT, "AAC_5", "client-1",
+                "user-1", ConsentStatus.REJECTED, false, new Date(), 2);
+
+        publisher.publish(event);
+
+        assertThat(publishedEvents).containsExactly(event);
+        assertThat(meterRegistry.get(ConsentChangeStreamPublisher.PUBLISHED_EVENTS_METRIC)
+                                .tag("intentType", IntentType.ACCOUNT_ACCESS_CONSENT.name())
+                                .tag("status", ConsentStatus.REJECTED.name())
+                                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(ConsentChangeStreamPublisher.SINK_FAILURES_METRIC).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSaveAndLoadResumeTokens() {
+        assertThat(resumeTokenStore.load("feed-1")).isNull();
+
+        final BsonDocument firstToken = new BsonDocument("_data", new BsonString("826500000000000001"));
+        resumeTokenStore.save("feed-1", firstToken);
+        assertThat(resumeTokenStore.load("feed-1")).isEqualTo(firstToken);
+
+        final BsonDocument secondToken = new BsonDocument("_data", new BsonString("826500000000000002"));
+        resumeTokenStore.save("feed-1", secondToken);
+        assertThat(resumeTokenStore.load("feed-1")).isEqualTo(secondToken);
+        assertThat(resumeTokenStore.load("feed-2")).isNull();
+        assertThat(mongoTemplate.getCollection(ConsentEventResumeTokenStore.COLLECTION).countDocuments()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotStartWhenDisabled() {
+        publisher.start();
+
+        assertThat(publisher.isRunning()).isFalse();
+        publisher.stop();
+    }
+}
@@ -0,0 +1,371 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.index;
+
+import static com.forgerock.sapi.gateway.rcs.consent.store.repo.index.ConsentStoreIndexes.ACTIVE_IDEMPOTENCY_KEY_INDEX;
+import static com.forgerock.sapi.gateway.rcs.consent.store.repo.index.ConsentStoreIndexes.API_CLIENT_CREATED_INDEX;
+import static com.forgerock.sapi.gateway.rcs.consent.store.repo.index.ConsentStoreIndexes.DELETED_UPDATED_INDEX;
+import static com.forgerock.sapi.gateway.rcs.consent.store.repo.index.ConsentStoreIndexes.IDEMPOTENCY_FINGERPRINT_INDEX;
+import static com.forgerock.sapi.gateway.rcs.consent.store.repo.index.ConsentStoreIndexes.RESOURCE_OWNER_CREATED_INDEX;
+import static com.forgerock.sapi.gateway.rcs.consent.store.repo.index.ConsentStoreIndexes.STATUS_UPDATED_INDEX;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.BaseConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.BasePaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.domestic.DomesticPaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.IdempotencyKeyCache;
+import com.mongodb.ExplainVerbosity;
+
+/**
+ * Tests for {@link ConsentStoreIndexes} and {@link ConsentStoreIndexInitializer}, verifies that the indexes can be
+ * created and that the query plans for the Consent Store queries use them.
+ */
+@DataMongoTest(properties = "consent.store.indexes.createOnStartup=false")
+class ConsentStoreIndexesTest {
+
+    private static final int NUM_CONSENTS = 200;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final IdempotencyKeyCache idempotencyKeyCache = new IdempotencyKeyCache();
+
+    @BeforeEach
+    void dropCollections() {
+        ConsentStoreIndexes.CONSENT_ENTITY_CLASSES.forEach(mongoTemplate::dropCollection);
+    }
+
+    private ConsentStoreIndexInitializer createInitializer(boolean createIndexes) {
+        return new ConsentStoreIndexInitializer(mongoTemplate, createIndexes, Runnable::run, List.of(idempotencyKeyCache));
+    }
+
+    private boolean isUniqueIndexReady() {
+        return idempotencyKeyCache.isUniqueIndexReady();
+    }
+
+    private static Stream<Class<? extends BaseConsentEntity<?>>> paymentConsentEntityClasses() {
+        return ConsentStoreIndexes.CONSENT_ENTITY_CLASSES.stream()
+                                                         .filter(BasePaymentConsentEntity.class::isAssignableFrom);
+    }
+
+    private List<String> getIndexNames(Class<?> entityClass) {
+        return mongoTemplate.indexOps(entityClass).getIndexInfo().stream().map(IndexInfo::getName).toList();
+    }
+
+    @Test
+    void shouldCreateIndexesForAllConsentCollections() {
+        assertThat(createInitializer(true).ensureIndexes()).isZero();
+
+        for (Class<? extends BaseConsentEntity<?>> entityClass : ConsentStoreIndexes.CONSENT_ENTITY_CLASSES) {
+            final List<String> expectedIndexNames = new ArrayList<>(List.of("_id_"));
+            ConsentStoreIndexes.getIndexes(entityClass)
+                               .forEach(index -> expectedIndexNames.add(index.getIndexOptions().getString("name")));
+            assertThat(getIndexNames(entityClass)).as(entityClass.getSimpleName())
+                                                  .containsExactlyInAnyOrderElementsOf(expectedIndexNames);
+        }
+        assertThat(getIndexNames(DomesticPaymentConsentEntity.class)).contains(IDEMPOTENCY_FINGERPRINT_INDEX);
+        assertThat(isUniqueIndexReady()).isTrue();
+    }
+
+    @Test
+    void shouldBeIdempotent() {
+        final ConsentStoreIndexInitializer initializer = createInitializer(true);
+        assertThat(initializer.ensureIndexes()).isZero();
+        assertThat(initializer.ensureIndexes()).isZero();
+
+        assertThat(getIndexNames(DomesticPaymentConsentEntity.class)).containsExactlyInAnyOrder("_id_", IDEMPOTENCY_FINGERPRINT_INDEX,
+                ACTIVE_IDEMPOTENCY_KEY_INDEX, STATUS_UPDATED_INDEX, DELETED_UPDATED_INDEX, API_CLIENT_CREATED_INDEX,
+                RESOURCE_OWNER_CREATED_INDEX);
+    }
+
+    @Test
+    void shouldCreateIndexesInBackgroundOnStartup() {
+        final ConsentStoreIndexInitializer initializer = createInitializer(true);
+        initializer.createIndexesInBackground();
+
+        assertThat(initializer.getIndexCreation()).isCompleted();
+        assertThat(getIndexNames(DomesticPaymentConsentEntity.class)).contains(IDEMPOTENCY_FINGERPRINT_INDEX);
+    }
+
+    @Test
+    void shouldNotCreateIndexesWhenDisabled() {
+        final ConsentStoreIndexInitializer initializer = createInitializer(false);
+        initializer.createIndexesInBackground();
+
+        assertThat(initializer.getIndexCreation()).isCompleted();
+        assertThat(mongoTemplate.collectionExists(DomesticPaymentConsentEntity.class)).isFalse();
+        assertThat(isUniqueIndexReady()).isFalse();
+    }
+
+    @Test
+    void shouldContinueWhenIndexCannotBeCreated() {
+        // Index with the same name but a different key specification
+        mongoTemplate.indexOps(DomesticPaymentConsentEntity.class)
+                     .ensureIndex(new Index().named(IDEMPOTENCY_FINGERPRINT_INDEX).on("idempotencyKey", Direction.ASC));
+
+        assertThat(createInitializer(true).ensureIndexes()).isEqualTo(1);
+        assertThat(isUniqueIndexReady()).isFalse();
+        assertThat(getIndexNames(DomesticPaymentConsentEntity.class)).containsExactlyInAnyOrder("_id_", IDEMPOTENCY_FINGERPRINT_INDEX,
+                ACTIVE_IDEMPOTENCY_KEY_INDEX, STATUS_UPDATED_INDEX, DELETED_UPDATED_INDEX, API_CLIENT_CREATED_INDEX,
+                RESOURCE_OWNER_CREATED_INDEX);
+    }
+
+    @Test
+    void activeIdempotencyKeyShouldBeUniquePerApiClient() {
+        createInitializer(true).ensureIndexes();
+        mongoTemplate.insert(createPaymentConsent("test-client", "key-1", "key-1"));
+        mongoTemplate.insert(createPaymentConsent("other-client", "key-1", "key-1"));
+        // Consents which have released their key do not conflict
+        mongoTemplate.insert(createPaymentConsent("test-client", "key-1", null));
+        mongoTemplate.insert(createPaymentConsent("test-client", "key-1", null));
+
+        assertThatThrownBy(() -> mongoTemplate.insert(createPaymentConsent("test-client", "key-1", "key-1")))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    void shouldSetActiveIdempotencyKeyOnUnexpiredConsentsCreatedByEarlierVersions() {
+        final DomesticPaymentConsentEntity unexpiredConsent = mongoTemplate.insert(createPaymentConsent("test-client", "key-1", null));
+        final DomesticPaymentConsentEntity expiredConsent = createPaymentConsent("test-client", "key-2", null);
+        expiredConsent.setIdempotencyKeyExpiration(DateTime.now().minusHours(1));
+        mongoTemplate.insert(expiredConsent);
+
+        assertThat(createInitializer(true).ensureIndexes()).isZero();
+
+        assertThat(mongoTemplate.findById(unexpiredConsent.getId(), DomesticPaymentConsentEntity.class).getActiveIdempotencyKey())
+                .isEqualTo("key-1");
+        assertThat(mongoTemplate.findById(expiredConsent.getId(), DomesticPaymentConsentEntity.class).getActiveIdempotencyKey())
+                .isNull();
+    }
+
+    private static DomesticPaymentConsentEntity createPaymentConsent(String apiClientId, String idempotencyKey,
+                                                                     String activeIdempotencyKey) {
+        final DomesticPaymentConsentEntity consent = new DomesticPaymentConsentEntity();
+        consent.setId(UUID.randomUUID().toString());
+        consent.setApiClientId(apiClientId);
+        consent.setIdempotencyKey(idempotencyKey);
+        consent.setActiveIdempotencyKey(activeIdempotencyKey);
+        consent.setIdempotencyKeyExpiration(DateTime.now().plusHours(24));
+        return consent;
+    }
+
+    @ParameterizedTest
+    @MethodSource("paymentConsentEntityClasses")
+    void idempotencyDataQueryShouldUseIndex(Class<? extends BasePaymentConsentEntity<?>> entityClass) throws Exception {
+        createInitializer(true).ensureIndexes();
+
+        final String apiClientId = "test-client";
+        String idempotencyKey = null;
+        for (int i = 0; i < NUM_CONSENTS; i++) {
+            final BasePaymentConsentEntity<?> consent = entityClass.getDeclaredConstructor().newInstance();
+            consent.setApiClientId(i % 2 == 0 ? apiClientId : "other-client");
+            idempotencyKey = UUID.randomUUID().toString();
+            consent.setIdempotencyKey(idempotencyKey);
+            consent.setIdempotencyKeyExpiration(DateTime.now().plusHours(i % 3 == 0 ? -1 : 24));
+            mongoTemplate.insert(consent);
+        }
+
+        // Query as issued by PaymentConsentRepository.findByIdempotencyData
+        final Document query = new Document("apiClientId", "other-client")
+                .append("idempotencyKey", idempotencyKey)
+                .append("idempotencyKeyExpiration", new Document("$gt", new Date()));
+
+        final Document explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(entityClass))
+                                              .find(query)
+                                              .explain(ExplainVerbosity.EXECUTION_STATS);
+
+        final Document winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+        final List<Document> stages = new ArrayList<>();
+        collectStages(winningPlan, stages);
+        assertThat(stages).extracting(stage -> stage.getString("stage")).contains("IXSCAN").doesNotContain("COLLSCAN");
+        assertThat(stages).filteredOn(stage -> "IXSCAN".equals(stage.getString("stage")))
+                          .extracting(stage -> stage.getString("indexName"))
+                          .containsOnly(IDEMPOTENCY_FINGERPRINT_INDEX);
+
+        final Document executionStats = explain.get("executionStats", Document.class);
+        assertThat(executionStats.getInteger("nReturned")).isEqualTo(1);
+        assertThat(((Number) executionStats.get("totalDocsExamined")).intValue()).isEqualTo(1);
+        assertThat(((Number) executionStats.get("totalKeysExamined")).intValue()).isLessThanOrEqualTo(2);
+    }
+
+    @ParameterizedTest
+    @MethodSource("paymentConsentEntityClasses")
+    void idempotencyFingerprintQueryShouldBeCoveredByIndex(Class<? extends BasePaymentConsentEntity<?>> entityClass) throws Exception {
+        createInitializer(true).ensureIndexes();
+
+        final String idempotencyKey = UUID.randomUUID().toString();
+        for (int i = 0; i < NUM_CONSENTS; i++) {
+            final BasePaymentConsentEntity<?> consent = entityClass.getDeclaredConstructor().newInstance();
+            consent.setApiClientId("test-client");
+            consent.setIdempotencyKey(i == 0 ? idempotencyKey : UUID.randomUUID().toString());
+            consent.setIdempotencyKeyExpiration(DateTime.now().plusHours(24));
+            consent.setRequestFingerprint(UUID.randomUUID().toString());
+            mongoTemplate.insert(consent);
+        }
+
+        // Query as issued by PaymentConsentRepository.findIdempotencyFingerprint
+        final Document query = new Document("apiClientId", "test-client")
+                .append("idempotencyKey", idempotencyKey)
+                .append("idempotencyKeyExpiration", new Document("$gt", new Date()));
+        final Document explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(entityClass))
+                                              .find(query)
+                                              .projection(new Document("_id", 1).append("requestFingerprint", 1))
+                                              .explain(ExplainVerbosity.EXECUTION_STATS);
+
+        final Document winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+        final List<Document> stages = new ArrayList<>();
+        collectStages(winningPlan, stages);
+        assertThat(stages).extracting(stage -> stage.getString("stage")).contains("IXSCAN").doesNotContain("FETCH", "COLLSCAN");
+
+        final Document executionStats = explain.get("executionStats", Document.class);
+        assertThat(executionStats.getInteger("nReturned")).isEqualTo(1);
+        assertThat(((Number) executionStats.get("totalDocsExamined")).intValue()).isZero();
+    }
+
+    @ParameterizedTest
+    @MethodSource("paymentConsentEntityClasses")
+    void idempotencyDataQueryWithoutIndexIsCollectionScan(Class<? extends BasePaymentConsentEntity<?>> entityClass) throws Exception {
+        final BasePaymentConsentEntity<?> consent = entityClass.getDeclaredConstructor().newInstance();
+        consent.setApiClientId("test-client");
+        consent.setIdempotencyKey("key");
+        consent.setIdempotencyKeyExpiration(DateTime.now().plusHours(1));
+        mongoTemplate.insert(consent);
+
+        final Document query = new Document("apiClientId", "test-client")
+                .append("idempotencyKey", "key")
+                .append("idempotencyKeyExpiration", new Document("$gt", new Date()));
+        final Document winningPlan = mongoTemplate.getCollection(mongoTemplate.getCollectionName(entityClass))
+                                                  .find(query).explain()
+                                                  .get("queryPlanner", Document.class).get("winningPlan", Document.class);
+        final List<Document> stages = new ArrayList<>();
+        collectStages(winningPlan, stages);
+
+        // Sanity check that the plan inspection detects a collection scan
+        assertThat(stages).extracting(stage -> stage.getString("stage")).contains("COLLSCAN");
+    }
+
+    @Test
+    void lifecycleQueriesShouldUseIndexes() {
+        createInitializer(true).ensureIndexes();
+        final String collectionName = mongoTemplate.getCollectionName(DomesticPaymentConsentEntity.class);
+        for (int i = 0; i < NUM_CONSENTS; i++) {
+            mongoTemplate.getCollection(collectionName).insertOne(new Document("_id", UUID.randomUUID().toString())
+                    .append("status", i % 2 == 0 ? "AwaitingAuthorisation" : "Authorised")
+                    .append("deleted", i % 10 == 0)
+                    .append("statusUpdatedDateTime", new Date(System.currentTimeMillis() - i * 60_000L)));
+        }
+        final Date cutoff = new Date(System.currentTimeMillis() - 60 * 60_000L);
+
+        // Queries as issued by ConsentLifecycleManager
+        assertIndexScan(collectionName, new Document("status", new Document("$in", List.of("AwaitingAuthorisation")))
+                .append("statusUpdatedDateTime", new Document("$lt", cutoff)), STATUS_UPDATED_INDEX);
+        assertIndexScan(collectionName, new Document("deleted", true)
+                .append("statusUpdatedDateTime", new Document("$lt", cutoff)), DELETED_UPDATED_INDEX);
+    }
+
+    @Test
+    void listQueriesShouldUseIndexesWithoutSorting() {
+        createInitializer(true).ensureIndexes();
+        final String collectionName = mongoTemplate.getCollectionName(DomesticPaymentConsentEntity.class);
+        final long now = System.currentTimeMillis();
+        for (int i = 0; i < NUM_CONSENTS; i++) {
+            final Document consent = new Document("_id", UUID.randomUUID().toString())
+                    .append("apiClientId", "client-" + i % 4)
+                    .append("status", i % 2 == 0 ? "AwaitingAuthorisation" : "Authorised")
+                    .append("deleted", i % 10 == 0)
+                    .append("creationDateTime", new Date(now - i * 60_000L));
+            if (i % 2 == 1) {
+                consent.append("resourceOwnerId", "psu-" + i % 3);
+            }
+            mongoTemplate.getCollection(collectionName).insertOne(consent);
+        }
+        final Document sort = new Document("creationDateTime", 1).append("_id", 1);
+        final Date afterCreationDateTime = new Date(now - 60 * 60_000L);
+        final Document keysetCondition = new Document("$gte", afterCreationDateTime);
+        final List<Document> keysetTieBreak = List.of(new Document("creationDateTime", new Document("$gt", afterCreationDateTime)),
+                                                      new Document("_id", new Document("$gt", "after-consent-id")));
+
+        // Queries as issued by BaseConsentService.listConsents
+        assertSortedIndexScan(collectionName, new Document("deleted", false).append("apiClientId", "client-1"), sort,
+                API_CLIENT_CREATED_INDEX);
+        assertSortedIndexScan(collectionName, new Document("deleted", false).append("apiClientId", "client-1")
+                .append("status", new Document("$in", List.of("Authorised")))
+                .append("creationDateTime", keysetCondition).append("$or", keysetTieBreak), sort,
+                API_CLIENT_CREATED_INDEX);
+        assertSortedIndexScan(collectionName, new Document("deleted", false).append("resourceOwnerId", "psu-1"), sort,
+                RESOURCE_OWNER_CREATED_INDEX);
+        assertSortedIndexScan(collectionName, new Document("deleted", false).append("resourceOwnerId", "psu-1")
+                .append("creationDateTime", keysetCondition).append("$or", keysetTieBreak), sort, RESOURCE_OWNER_CREATED_INDEX);
+    }
+
+    private void assertSortedIndexScan(String collectionName, Document query, Document sort, String expectedIndexName) {
+        final Document winningPlan = mongoTemplate.getCollection(collectionName).find(query).sort(sort).limit(10).explain()
+                                                  .get("queryPlanner", Document.class).get("winningPlan", Document.class);
+        final List<Document> stages = new ArrayList<>();
+        collectStages(winningPlan, stages);
+        assertThat(stages).extracting(stage -> stage.getString("stage")).contains("IXSCAN").doesNotContain("COLLSCAN", "SORT");
+        assertThat(stages).filteredOn(stage -> "IXSCAN".equals(stage.getString("stage")))
+                          .extracting(stage -> stage.getString("indexName"))
+                          .containsOnly(expectedIndexName);
+    }
+
+    private void assertIndexScan(String collectionName, Document query, String expectedIndexName) {
+        final Document winningPlan = mongoTemplate.getCollection(collectionName).find(query).explain()
+                                                  .get("queryPlanner", Document.class).get("winningPlan", Document.class);
+        final List<Document> stages = new ArrayList<>();
+        collectStages(winningPlan, stages);
+        assertThat(stages).extracting(stage -> stage.getString("stage")).contains("IXSCAN").doesNotContain("COLLSCAN");
+        assertThat(stages).filteredOn(stage -> "IXSCAN".equals(stage.getString("stage")))
+                          .extracting(stage -> stage.getString("indexName"))
+                          .containsOnly(expectedIndexName);
+    }
+
+    /**
+     * Flattens the plan tree, stages have a single inputStage or multiple inputStages
+     */
+    private static void collectStages(Document stage, List<Document> stages) {
+        stages.add(stage);
+        final Document inputStage = stage.get("inputStage", Document.class);
+        if (inputStage != null) {
+            collectStages(inputStage, stages);
+        }
+        final List<Document> inputStages = stage.getList("inputStages", Document.class);
+        if (inputStages != null) {
+            inputStages.forEach(s -> collectStages(s, stages));
+        }
+    }
+}
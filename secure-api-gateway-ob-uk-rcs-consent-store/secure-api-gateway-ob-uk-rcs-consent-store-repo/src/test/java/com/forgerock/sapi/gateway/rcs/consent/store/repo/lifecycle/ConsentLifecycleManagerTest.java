@@ -0,0 +1,296 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.lifecycle;
+
+import static com.forgerock.sapi.gateway.rcs.consent.store.repo.lifecycle.ConsentLifecycleManager.ARCHIVE_COLLECTION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.ConsentStoreEnabledIntentTypes;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.BaseConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.account.AccountAccessConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.domestic.DomesticPaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.file.FilePaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.index.ConsentStoreIndexes;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.lifecycle.ConsentLifecycleManager.ArchiveReason;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.lifecycle.ConsentLifecycleManager.ArchiveResult;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.file.FilePaymentContentStore;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.account.AccountAccessConsentStateModel;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentConsentStateModel;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.file.FilePaymentConsentStateModel;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataMongoTest(properties = "consent.store.indexes.createOnStartup=false")
+class ConsentLifecycleManagerTest {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ConsentLifecycleConfiguration configuration;
+
+    private ConsentLifecycleManager consentLifecycleManager;
+
+    @BeforeEach
+    void beforeEach() {
+        ConsentStoreIndexes.CONSENT_ENTITY_CLASSES.forEach(mongoTemplate::dropCollection);
+        mongoTemplate.dropCollection(ARCHIVE_COLLECTION);
+        mongoTemplate.dropCollection(FilePaymentContentStore.BUCKET + ".files");
+        mongoTemplate.dropCollection(FilePaymentContentStore.BUCKET + ".chunks");
+
+        meterRegistry = new SimpleMeterRegistry();
+        configuration = new ConsentLifecycleConfiguration();
+        configuration.setAwaitingAuthorisationRetention(Duration.ofDays(7));
+        configuration.setDeletedRetention(Duration.ofDays(30));
+        consentLifecycleManager = new ConsentLifecycleManager(mongoTemplate, configuration,
+                new ConsentStoreEnabledIntentTypes(EnumSet.of(IntentType.PAYMENT_DOMESTIC_CONSENT, IntentType.PAYMENT_FILE_CONSENT)),
+                meterRegistry);
+    }
+
+    private <T extends BaseConsentEntity<?>> T insertConsent(T consent, String status, boolean deleted, Duration age) {
+        consent.setId(UUID.randomUUID().toString());
+        consent.setApiClientId("test-client");
+        consent.setStatus(status);
+        consent.setDeleted(deleted);
+        mongoTemplate.insert(consent);
+        // Update outside the repository so that the audit timestamp is not overwritten
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(consent.getId())),
+                Update.update("statusUpdatedDateTime", new Date(System.currentTimeMillis() - age.toMillis())),
+                consent.getClass());
+        return consent;
+    }
+
+    private boolean consentExists(BaseConsentEntity<?> consent) {
+        return mongoTemplate.exists(Query.query(Criteria.where("_id").is(consent.getId())), consent.getClass());
+    }
+
+    private Document findArchivedConsent(String consentId) {
+        return mongoTemplate.getCollection(ARCHIVE_COLLECTION).find(new Document("_id", consentId)).first();
+    }
+
+    private static ArchiveResult findResult(List<ArchiveResult> results, IntentType intentType, ArchiveReason reason) {
+        return results.stream().filter(result -> result.intentType() == intentType && result.reason() == reason)
+                      .findFirst().orElseThrow();
+    }
+
+    @Test
+    void shouldArchiveAbandonedConsents() {
+        final DomesticPaymentConsentEntity abandoned = insertConsent(new DomesticPaymentConsentEntity(),
+                PaymentConsentStateModel.AWAITING_AUTHORISATION, false, Duration.ofDays(8));
+        final DomesticPaymentConsentEntity recent = insertConsent(new DomesticPaymentConsentEntity(),
+                PaymentConsentStateModel.AWAITING_AUTHORISATION, false, Duration.ofDays(1));
+        final DomesticPaymentConsentEntity authorised = insertConsent(new DomesticPaymentConsentEntity(),
+                PaymentConsentStateModel.AUTHORISED, false, Duration.ofDays(8));
+
+        final List<ArchiveResult> results = consentLifecycleManager.run();
+
+        assertThat(consentExists(abandoned)).isFalse();
+        assertThat(consentExists(recent)).isTrue();
+        assertThat(consentExists(authorised)).isTrue();
+
+        final ArchiveResult result = findResult(results, IntentType.PAYMENT_DOMESTIC_CONSENT, ArchiveReason.ABANDONED);
+        assertThat(result.consentsArchived()).isEqualTo(1);
+        assertThat(result.bytesReclaimed()).isPositive();
+
+        final Document archivedConsent = findArchivedConsent(abandoned.getId());
+        assertThat(archivedConsent.getString("intentType")).isEqualTo(IntentType.PAYMENT_DOMESTIC_CONSENT.name());
+        assertThat(archivedConsent.getString("reason")).isEqualTo(ArchiveReason.ABANDONED.name());
+        assertThat(archivedConsent.getString("status")).isEqualTo(PaymentConsentStateModel.AWAITING_AUTHORISATION);
+        assertThat(archivedConsent.getString("apiClientId")).isEqualTo("test-client");
+        assertThat(archivedConsent.getInteger("sizeBytes")).isEqualTo((int) result.bytesReclaimed());
+        assertThat(archivedConsent.get("archivedDateTime")).isInstanceOf(Date.class);
+        assertThat(archivedConsent).doesNotContainKey("requestObj");
+        assertThat(mongoTemplate.getCollection(ARCHIVE_COLLECTION).countDocuments()).isEqualTo(1);
+
+        assertThat(meterRegistry.get(ConsentLifecycleManager.ARCHIVED_CONSENTS_METRIC)
+                                .tag("intentType", IntentType.PAYMENT_DOMESTIC_CONSENT.name())
+                                .tag("reason", ArchiveReason.ABANDONED.name()).counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(ConsentLifecycleManager.RECLAIMED_BYTES_METRIC)
+                                .tag("intentType", IntentType.PAYMENT_DOMESTIC_CONSENT.name())
+                                .tag("reason", ArchiveReason.ABANDONED.name()).counter().count())
+                .isEqualTo(result.bytesReclaimed());
+    }
+
+    @Test
+    void shouldArchiveAbandonedConsentsUsingStatusesFromStateModel() {
+        final FilePaymentConsentEntity awaitingUpload = insertConsent(new FilePaymentConsentEntity(),
+                FilePaymentConsentStateModel.AWAITING_UPLOAD, false, Duration.ofDays(8));
+        final FilePaymentConsentEntity awaitingAuthorisation = insertConsent(new FilePaymentConsentEntity(),
+                FilePaymentConsentStateModel.AWAITING_AUTHORISATION, false, Duration.ofDays(8));
+        final FilePaymentConsentEntity consumed = insertConsent(new FilePaymentConsentEntity(),
+                FilePaymentConsentStateModel.CONSUMED, false, Duration.ofDays(8));
+
+        consentLifecycleManager.run();
+
+        assertThat(consentExists(awaitingUpload)).isFalse();
+        assertThat(consentExists(awaitingAuthorisation)).isFalse();
+        assertThat(consentExists(consumed)).isTrue();
+    }
+
+    @Test
+    void shouldDeleteFilesOfArchivedFilePaymentConsents() {
+        final FilePaymentConsentEntity abandoned = insertConsent(new FilePaymentConsentEntity(),
+                FilePaymentConsentStateModel.AWAITING_AUTHORISATION, false, Duration.ofDays(8));
+        final FilePaymentConsentEntity authorised = insertConsent(new FilePaymentConsentEntity(),
+                FilePaymentConsentStateModel.AUTHORISED, false, Duration.ofDays(8));
+        final FilePaymentContentStore fileContentStore = new FilePaymentContentStore(mongoTemplate);
+        for (FilePaymentConsentEntity consent : List.of(abandoned, authorised)) {
+            fileContentStore.store(consent.getId(), new ByteArrayInputStream("<xml>file</xml>".getBytes(StandardCharsets.UTF_8)));
+        }
+
+        consentLifecycleManager.run();
+
+        final List<String> remainingFiles = mongoTemplate.getCollection(FilePaymentContentStore.BUCKET + ".files")
+                                                         .find().map(file -> file.getString("filename"))
+                                                         .into(new ArrayList<>());
+        assertThat(remainingFiles).containsExactly(authorised.getId());
+    }
+
+    @Test
+    void shouldArchiveDeletedConsents() {
+        final DomesticPaymentConsentEntity deleted = insertConsent(new DomesticPaymentConsentEntity(),
+                PaymentConsentStateModel.REJECTED, true, Duration.ofDays(31));
+        final DomesticPaymentConsentEntity recentlyDeleted = insertConsent(new DomesticPaymentConsentEntity(),
+                PaymentConsentStateModel.REJECTED, true, Duration.ofDays(10));
+        final DomesticPaymentConsentEntity rejected = insertConsent(new DomesticPaymentConsentEntity(),
+                PaymentConsentStateModel.REJECTED, false, Duration.ofDays(31));
+
+        final List<ArchiveResult> results = consentLifecycleManager.run();
+
+        assertThat(consentExists(deleted)).isFalse();
+        assertThat(consentExists(recentlyDeleted)).isTrue();
+        assertThat(consentExists(rejected)).isTrue();
+        assertThat(findResult(results, IntentType.PAYMENT_DOMESTIC_CONSENT, ArchiveReason.DELETED).consentsArchived()).isEqualTo(1);
+        assertThat(findArchivedConsent(deleted.getId()).getString("reason")).isEqualTo(ArchiveReason.DELETED.name());
+    }
+
+    @Test
+    void shouldApplyIntentTypeRetentionOverride() {
+        final ConsentLifecycleConfiguration.RetentionOverride retentionOverride = new ConsentLifecycleConfiguration.RetentionOverride();
+        retentionOverride.setAwaitingAuthorisationRetention(Duration.ofHours(1));
+        configuration.getIntentTypes().put(IntentType.PAYMENT_DOMESTIC_CONSENT, retentionOverride);
+
+        final DomesticPaymentConsentEntity domesticPayment = insertConsent(new DomesticPaymentConsentEntity(),
+                PaymentConsentStateModel.AWAITING_AUTHORISATION, false, Duration.ofHours(2));
+        final FilePaymentConsentEntity filePayment = insertConsent(new FilePaymentConsentEntity(),
+                FilePaymentConsentStateModel.AWAITING_UPLOAD, false, Duration.ofHours(2));
+
+        consentLifecycleManager.run();
+
+        assertThat(consentExists(domesticPayment)).isFalse();
+        assertThat(consentExists(filePayment)).isTrue();
+    }
+
+    @Test
+    void shouldArchiveInBoundedBatches() {
+        configuration.setBatchSize(2);
+        configuration.setMaxBatchesPerRun(2);
+        for (int i = 0; i < 5; i++) {
+            insertConsent(new DomesticPaymentConsentEntity(), PaymentConsentStateModel.AWAITING_AUTHORISATION, false, Duration.ofDays(8));
+        }
+
+        assertThat(findResult(consentLifecycleManager.run(), IntentType.PAYMENT_DOMESTIC_CONSENT, ArchiveReason.ABANDONED)
+                .consentsArchived()).isEqualTo(4);
+        assertThat(findResult(consentLifecycleManager.run(), IntentType.PAYMENT_DOMESTIC_CONSENT, ArchiveReason.ABANDONED)
+                .consentsArchived()).isEqualTo(1);
+        assertThat(mongoTemplate.count(new Query(), DomesticPaymentConsentEntity.class)).isZero();
+        assertThat(mongoTemplate.getCollection(ARCHIVE_COLLECTION).countDocuments()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldNotArchiveConsentsForIntentTypesNotUsingConsentStore() {
+        final AccountAccessConsentEntity accountAccessConsent = insertConsent(new AccountAccessConsentEntity(),
+                AccountAccessConsentStateModel.AWAITING_AUTHORISATION, false, Duration.ofDays(8));
+
+        final List<ArchiveResult> results = consentLifecycleManager.run();
+
+        assertThat(consentExists(accountAccessConsent)).isTrue();
+        assertThat(results).extracting(ArchiveResult::intentType)
+                           .containsOnly(IntentType.PAYMENT_DOMESTIC_CONSENT, IntentType.PAYMENT_FILE_CONSENT);
+    }
+
+    @Test
+    void shouldCreateArchiveTtlIndex() {
+        configuration.setArchiveRetention(Duration.ofDays(90));
+        consentLifecycleManager.run();
+
+        final IndexInfo ttlIndex = mongoTemplate.indexOps(ARCHIVE_COLLECTION).getIndexInfo().stream()
+                                                .filter(index -> index.getName().equals(ConsentLifecycleManager.ARCHIVE_TTL_INDEX))
+                                                .findFirst().orElseThrow();
+        assertThat(ttlIndex.getExpireAfter()).contains(Duration.ofDays(90));
+    }
+
+    @Test
+    void shouldUpdateArchiveTtlIndexWhenRetentionChanges() {
+        configuration.setArchiveRetention(Duration.ofDays(90));
+        consentLifecycleManager.ensureArchiveTtlIndex();
+
+        final ConsentLifecycleConfiguration updatedConfiguration = new ConsentLifecycleConfiguration();
+        updatedConfiguration.setArchiveRetention(Duration.ofDays(30));
+        final ConsentLifecycleManager restartedLifecycleManager = new ConsentLifecycleManager(mongoTemplate, updatedConfiguration,
+                new ConsentStoreEnabledIntentTypes(EnumSet.of(IntentType.PAYMENT_DOMESTIC_CONSENT)), meterRegistry);
+        restartedLifecycleManager.run();
+
+        final IndexInfo ttlIndex = mongoTemplate.indexOps(ARCHIVE_COLLECTION).getIndexInfo().stream()
+                                                .filter(index -> index.getName().equals(ConsentLifecycleManager.ARCHIVE_TTL_INDEX))
+                                                .findFirst().orElseThrow();
+        assertThat(ttlIndex.getExpireAfter()).contains(Duration.ofDays(30));
+    }
+
+    @Test
+    void awaitingAuthorisationStatusesShouldBeDerivedFromStateModel() {
+        assertThat(PaymentConsentStateModel.getInstance().getAwaitingAuthorisationStatuses())
+                .containsExactly(PaymentConsentStateModel.AWAITING_AUTHORISATION);
+        assertThat(AccountAccessConsentStateModel.getInstance().getAwaitingAuthorisationStatuses())
+                .containsExactly(AccountAccessConsentStateModel.AWAITING_AUTHORISATION);
+        assertThat(FilePaymentConsentStateModel.getInstance().getAwaitingAuthorisationStatuses())
+                .containsExactly(FilePaymentConsentStateModel.AWAITING_UPLOAD, FilePaymentConsentStateModel.AWAITING_AUTHORISATION);
+    }
+
+    @Test
+    void failsToCreateConfigurationWithInvalidRetention() {
+        final ConsentLifecycleConfiguration.RetentionOverride retentionOverride = new ConsentLifecycleConfiguration.RetentionOverride();
+        retentionOverride.setDeletedRetention(Duration.ZERO);
+        configuration.getIntentTypes().put(IntentType.PAYMENT_FILE_CONSENT, retentionOverride);
+
+        assertThatThrownBy(configuration::validateConfig)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("PAYMENT_FILE_CONSENT");
+    }
+}
@@ -17,23 +17,53 @@ package com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.domestic
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.assertj.core.api.Assertions;
+import org.bson.Document;
 import org.joda.time.DateTime;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
 
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.payment.FRWriteDomesticConsentConverter;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.payment.FRWriteDomesticConsent;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.ConsentStatus;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.domestic.DomesticPaymentConsentEntity;
 
+import uk.org.openbanking.datamodel.v4.payment.OBWriteDomesticConsent4;
+import uk.org.openbanking.testsupport.v4.payment.OBWriteDomesticConsentTestDataFactory;
+
 @DataMongoTest
 class DomesticPaymentConsentRepositoryTest {
 
     @Autowired
     private DomesticPaymentConsentRepository repo;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    public void consentStatusIsPersistedAsObieStatusValue() {
+        final DomesticPaymentConsentEntity entity = new DomesticPaymentConsentEntity();
+        entity.setApiClientId("client-id-987");
+        entity.setConsentStatus(ConsentStatus.AWAITING_AUTHORISATION);
+        final DomesticPaymentConsentEntity savedEntity = repo.save(entity);
+
+        final Document document = mongoTemplate.findById(savedEntity.getId(), Document.class,
+                mongoTemplate.getCollectionName(DomesticPaymentConsentEntity.class));
+        assertEquals("AwaitingAuthorisation", document.getString("status"));
+
+        final DomesticPaymentConsentEntity fetchedEntity = repo.findById(savedEntity.getId()).orElseThrow();
+        assertSame(ConsentStatus.AWAITING_AUTHORISATION, fetchedEntity.getConsentStatus());
+        assertEquals("AwaitingAuthorisation", fetchedEntity.getStatus());
+    }
+
     @Test
     public void findConsentUsingIdempotencyData() {
         final String key1 = UUID.randomUUID().toString();
@@ -88,4 +118,49 @@ class DomesticPaymentConsentRepositoryTest {
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    public void findIdempotencyFingerprintReadsOnlyIdAndFingerprint() {
+        final String key = UUID.randomUUID().toString();
+        final String apiClientId = "client-id-987";
+        final DomesticPaymentConsentEntity entity = new DomesticPaymentConsentEntity();
+        entity.setIdempotencyKey(key);
+        entity.setIdempotencyKeyExpiration(DateTime.now().plusDays(1));
+        entity.setApiClientId(apiClientId);
+        entity.setRequestFingerprint("fingerprint-123");
+        final DomesticPaymentConsentEntity savedEntity = repo.save(entity);
+
+        final DomesticPaymentConsentEntity result = repo.findIdempotencyFingerprint(apiClientId, key, DateTime.now()).orElseThrow();
+        assertEquals(savedEntity.getId(), result.getId());
+        assertEquals("fingerprint-123", result.getRequestFingerprint());
+        assertNull(result.getApiClientId());
+        assertNull(result.getIdempotencyKey());
+
+        assertFalse(repo.findIdempotencyFingerprint("client-2", key, DateTime.now()).isPresent());
+    }
+
+    @Test
+    public void requestFingerprintIsStableForEqualRequests() {
+        final OBWriteDomesticConsent4 obConsent = OBWriteDomesticConsentTestDataFactory.aValidOBWriteDomesticConsent4();
+        final FRWriteDomesticConsent request = FRWriteDomesticConsentConverter.toFRWriteDomesticConsent(obConsent);
+        final String fingerprint = repo.computeRequestFingerprint(request);
+
+        assertEquals(64, fingerprint.length());
+        assertEquals(fingerprint, repo.computeRequestFingerprint(FRWriteDomesticConsentConverter.toFRWriteDomesticConsent(obConsent)));
+
+        obConsent.getData().getInitiation().setEndToEndIdentification("changed-e2e-id");
+        assertNotEquals(fingerprint, repo.computeRequestFingerprint(FRWriteDomesticConsentConverter.toFRWriteDomesticConsent(obConsent)));
+    }
+
+    @Test
+    public void requestFingerprintIgnoresMapEntryOrder() {
+        final Map<String, Object> request = new LinkedHashMap<>();
+        request.put("a", "1");
+        request.put("b", List.of(Map.of("c", 2)));
+        final Map<String, Object> reorderedRequest = new LinkedHashMap<>();
+        reorderedRequest.put("b", List.of(Map.of("c", 2)));
+        reorderedRequest.put("a", "1");
+
+        assertEquals(repo.computeRequestFingerprint(request), repo.computeRequestFingerprint(reorderedRequest));
+        assertNotEquals(repo.computeRequestFingerprint(request), repo.computeRequestFingerprint(Map.of("a", "2")));
+    }
+}
@@ -17,24 +17,37 @@ package com.forgerock.sapi.gateway.rcs.consent.store.repo.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import org.assertj.core.api.recursive.comparison.RecursiveComparisonConfiguration;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.data.mongodb.repository.MongoRepository;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.BaseConsentEntity;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.account.AccountAccessConsentEntity;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException.ErrorType;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.ConsentRepository;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.account.AccountAccessConsentStateModel;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.version.ApiVersionCompatibilityMatrix;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.version.ApiVersionContext;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBVersion;
 
 import jakarta.validation.ConstraintViolationException;
@@ -119,6 +132,146 @@ public abstract class BaseConsentServiceTest<T extends BaseConsentEntity<?>, A e
         assertThat(consentStoreException.getErrorType()).isEqualTo(ErrorType.NOT_FOUND);
     }
 
+    @Test
+    void getConsentsShouldReturnAccessibleConsentsInRequestedOrder() {
+        final T consent1 = consentService.createConsent(getValidConsentEntity());
+        final T consent2 = consentService.createConsent(getValidConsentEntity());
+        final T deletedConsent = consentService.createConsent(getValidConsentEntity());
+        consentService.deleteConsent(deletedConsent.getId(), deletedConsent.getApiClientId());
+        final T otherClientConsent = getValidConsentEntity();
+        otherClientConsent.setApiClientId("different-api-client-id");
+        consentService.createConsent(otherClientConsent);
+
+        final List<T> consents = consentService.getConsents(List.of(consent2.getId(), "does-not-exist", deletedConsent.getId(),
+                otherClientConsent.getId(), consent1.getId(), consent2.getId()), consent1.getApiClientId());
+
+        assertThat(consents).extracting(BaseConsentEntity::getId).containsExactly(consent2.getId(), consent1.getId());
+        assertThat(consents.get(0)).usingRecursiveComparison().isEqualTo(consentService.getConsent(consent2.getId(), consent2.getApiClientId()));
+    }
+
+    @Test
+    void getConsentsShouldOnlyReadProjectedFields() {
+        final T persistedConsent = consentService.createConsent(getValidConsentEntity());
+
+        final List<T> consents = consentService.getConsents(List.of(persistedConsent.getId()),
+                persistedConsent.getApiClientId(), ConsentProjection.STATUS);
+
+        assertThat(consents).hasSize(1);
+        final T statusOnlyConsent = consents.get(0);
+        assertThat(statusOnlyConsent.getId()).isEqualTo(persistedConsent.getId());
+        assertThat(statusOnlyConsent.getStatus()).isEqualTo(persistedConsent.getStatus());
+        assertThat(statusOnlyConsent.getStatusUpdatedDateTime()).isEqualTo(persistedConsent.getStatusUpdatedDateTime());
+        assertThat(statusOnlyConsent.getRequestObj()).isNull();
+        assertThat(statusOnlyConsent.getCreationDateTime()).isNull();
+    }
+
+    @Test
+    void listConsentsShouldPageInCreationOrder() {
+        final String apiClientId = UUID.randomUUID().toString();
+        final List<T> createdConsents = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final T consent = getValidConsentEntity();
+            consent.setApiClientId(apiClientId);
+            createdConsents.add(consentService.createConsent(consent));
+        }
+        final T deletedConsent = createdConsents.remove(2);
+        consentService.deleteConsent(deletedConsent.getId(), apiClientId);
+        final T otherClientConsent = getValidConsentEntity();
+        otherClientConsent.setApiClientId(UUID.randomUUID().toString());
+        consentService.createConsent(otherClientConsent);
+
+        // Consents created within the same millisecond are ordered by id
+        final List<String> expectedIds = createdConsents.stream()
+                .sorted(Comparator.comparing((T consent) -> consent.getCreationDateTime()).thenComparing(BaseConsentEntity::getId))
+                .map(BaseConsentEntity::getId)
+                .toList();
+
+        final int pageSize = 2;
+        final List<String> listedIds = new ArrayList<>();
+        String afterConsentId = null;
+        List<String> page;
+        do {
+            try (Stream<T> consents = consentService.listConsents(new ConsentListQuery(apiClientId, null, null, afterConsentId, pageSize))) {
+                page = consents.map(BaseConsentEntity::getId).toList();
+            }
+            listedIds.addAll(page);
+            afterConsentId = page.isEmpty() ? null : page.get(page.size() - 1);
+        } while (page.size() == pageSize);
+
+        assertThat(listedIds).containsExactlyElementsOf(expectedIds);
+    }
+
+    @Test
+    void listConsentsByResourceOwnerAndStatus() {
+        final String resourceOwnerId = UUID.randomUUID().toString();
+        final T consent = getConsentInStateToAuthoriseOrReject();
+        consentService.rejectConsent(consent.getId(), consent.getApiClientId(), resourceOwnerId);
+        final String rejectedStatus = getConsentStateModel().getRejectedConsentStatus();
+        final String authorisedStatus = getConsentStateModel().getAuthorisedConsentStatus();
+
+        assertThat(listConsentIds(new ConsentListQuery(null, resourceOwnerId, null, null, 10))).containsExactly(consent.getId());
+        assertThat(listConsentIds(new ConsentListQuery(consent.getApiClientId(), resourceOwnerId, List.of(rejectedStatus), null, 10)))
+                .containsExactly(consent.getId());
+        assertThat(listConsentIds(new ConsentListQuery(null, resourceOwnerId, List.of(authorisedStatus), null, 10))).isEmpty();
+        assertThat(listConsentIds(new ConsentListQuery("different-api-client-id", resourceOwnerId, null, null, 10))).isEmpty();
+    }
+
+    private List<String> listConsentIds(ConsentListQuery query) {
+        try (Stream<T> consents = consentService.listConsents(query)) {
+            return consents.map(BaseConsentEntity::getId).toList();
+        }
+    }
+
+    @Test
+    void failToListConsentsWithInvalidQuery() {
+        final List<ConsentListQuery> invalidQueries = List.of(
+                new ConsentListQuery(null, null, null, null, 10),
+                new ConsentListQuery("client-1", null, List.of("not-a-status"), null, 10),
+                new ConsentListQuery("client-1", null, null, "does-not-exist", 10),
+                new ConsentListQuery("client-1", null, null, null, 0),
+                new ConsentListQuery("client-1", null, null, null, BaseConsentService.DEFAULT_MAX_PAGE_SIZE + 1));
+        for (ConsentListQuery invalidQuery : invalidQueries) {
+            final ConsentStoreException consentStoreException = assertThrows(ConsentStoreException.class,
+                    () -> consentService.listConsents(invalidQuery), invalidQuery.toString());
+            assertThat(consentStoreException.getErrorType()).isEqualTo(ErrorType.BAD_REQUEST);
+        }
+    }
+
+    @Test
+    void failToListConsentsAfterConsentBelongingToDifferentClient() {
+        final T otherClientConsent = getValidConsentEntity();
+        otherClientConsent.setApiClientId(UUID.randomUUID().toString());
+        final String otherClientConsentId = consentService.createConsent(otherClientConsent).getId();
+        final T deletedConsent = consentService.createConsent(getValidConsentEntity());
+        consentService.deleteConsent(deletedConsent.getId(), deletedConsent.getApiClientId());
+
+        // Another client's Consent and a deleted Consent are reported in the same way as a Consent which does not exist
+        for (ConsentListQuery query : List.of(new ConsentListQuery("client-1", null, null, otherClientConsentId, 10),
+                                              new ConsentListQuery(null, TEST_RESOURCE_OWNER, null, otherClientConsentId, 10),
+                                              new ConsentListQuery(deletedConsent.getApiClientId(), null, null, deletedConsent.getId(), 10),
+                                              new ConsentListQuery("client-1", null, null, "does-not-exist", 10))) {
+            final ConsentStoreException consentStoreException = assertThrows(ConsentStoreException.class,
+                    () -> consentService.listConsents(query), query.toString());
+            assertThat(consentStoreException.getErrorType()).isEqualTo(ErrorType.BAD_REQUEST);
+            assertThat(consentStoreException.getMessage()).contains("afterConsentId does not exist");
+        }
+    }
+
+    @Test
+    void failToGetConsentsWhenMaxBatchSizeExceeded() {
+        consentService.setMaxBatchSize(2);
+        try {
+            final ConsentStoreException consentStoreException = assertThrows(ConsentStoreException.class,
+                    () -> consentService.getConsents(List.of("consent1", "consent2", "consent3"), "client-1"));
+            assertThat(consentStoreException.getErrorType()).isEqualTo(ErrorType.BAD_REQUEST);
+
+            // Duplicate ids do not count towards the limit
+            assertThat(consentService.getConsents(List.of("consent1", "consent2", "consent1"), "client-1")).isEmpty();
+        } finally {
+            consentService.setMaxBatchSize(BaseConsentService.DEFAULT_MAX_BATCH_SIZE);
+        }
+    }
+
     @Test
     void authoriseConsent() {
         final T consentToAuthorise = getConsentInStateToAuthoriseOrReject();
@@ -177,13 +330,104 @@ public abstract class BaseConsentServiceTest<T extends BaseConsentEntity<?>, A e
     }
 
     @Test
-    public void shouldAllowConsentVersionValidationToBeConfigured() {
-        final MongoRepository mockRepo = mock(MongoRepository.class);
-        final BaseConsentService<BaseConsentEntity<?>, AuthoriseConsentArgs> consentService = new BaseConsentService<>(mockRepo, () -> UUID.randomUUID().toString(), AccountAccessConsentStateModel.getInstance()) {
+    void failToAuthoriseConsentWhenApiClientIdDoesNotMatch() {
+        final T consentToAuthorise = getConsentInStateToAuthoriseOrReject();
+
+        final ConsentStoreException consentStoreException = assertThrows(ConsentStoreException.class,
+                () -> consentService.authoriseConsent(getAuthoriseConsentArgs(consentToAuthorise.getId(), TEST_RESOURCE_OWNER, "different-api-client-id")));
+        assertThat(consentStoreException.getErrorType()).isEqualTo(ErrorType.INVALID_PERMISSIONS);
+
+        final T consent = consentService.getConsent(consentToAuthorise.getId(), consentToAuthorise.getApiClientId());
+        assertThat(consent).usingRecursiveComparison().isEqualTo(consentToAuthorise);
+    }
+
+    @Test
+    void failToRejectConsentThatHasAlreadyBeenRejected() {
+        final T consentToReject = getConsentInStateToAuthoriseOrReject();
+        final T rejectedConsent = consentService.rejectConsent(consentToReject.getId(), consentToReject.getApiClientId(), TEST_RESOURCE_OWNER);
+
+        final ConsentStoreException consentStoreException = assertThrows(ConsentStoreException.class,
+                () -> consentService.rejectConsent(consentToReject.getId(), consentToReject.getApiClientId(), "another-user"));
+        assertThat(consentStoreException.getErrorType()).isEqualTo(ErrorType.INVALID_STATE_TRANSITION);
+        assertThat(consentStoreException.getMessage()).contains("cannot transition from consentStatus: "
+                + getConsentStateModel().getRejectedConsentStatus() + " to status: " + getConsentStateModel().getRejectedConsentStatus());
+
+        final T consent = consentService.getConsent(consentToReject.getId(), consentToReject.getApiClientId());
+        assertThat(consent).usingRecursiveComparison().isEqualTo(rejectedConsent);
+    }
+
+    @Test
+    void failToAuthoriseDeletedConsent() {
+        final T consentToAuthorise = getConsentInStateToAuthoriseOrReject();
+        consentService.deleteConsent(consentToAuthorise.getId(), consentToAuthorise.getApiClientId());
+
+        final ConsentStoreException consentStoreException = assertThrows(ConsentStoreException.class,
+                () -> consentService.authoriseConsent(getAuthoriseConsentArgs(consentToAuthorise.getId(), TEST_RESOURCE_OWNER, consentToAuthorise.getApiClientId())));
+        assertThat(consentStoreException.getErrorType()).isEqualTo(ErrorType.NOT_FOUND);
+    }
+
+    @Test
+    public void shouldApplyConsentVersionValidationToUpdates() {
+        final ConsentRepository mockRepo = mock(ConsentRepository.class);
+        final BaseConsentService<BaseConsentEntity<?>, AuthoriseConsentArgs> consentService = createServiceWithMockRepo(mockRepo);
+        consentService.setApiVersionCompatibilityMatrix(ApiVersionCompatibilityMatrix.of(
+                (creationVersion, accessVersion) -> creationVersion != OBVersion.v3_1_9));
+
+        final AccountAccessConsentEntity repoConsentv3 = new AccountAccessConsentEntity();
+        repoConsentv3.setId("consent1");
+        repoConsentv3.setApiClientId("client1");
+        repoConsentv3.setRequestVersion(OBVersion.v3_1_9);
+        repoConsentv3.setStatus(AccountAccessConsentStateModel.AWAITING_AUTHORISATION);
+        when(mockRepo.findAndModify(any(), any())).thenReturn(Optional.empty());
+        when(mockRepo.findById(eq("consent1"))).thenReturn(Optional.of(repoConsentv3));
+
+        final ConsentStoreException ex = assertThrows(ConsentStoreException.class,
+                () -> ApiVersionContext.callWithApiVersion(OBVersion.v4_0_0,
+                        () -> consentService.rejectConsent("consent1", "client1", TEST_RESOURCE_OWNER)));
+        assertThat(ex.getErrorType()).isEqualTo(ErrorType.INVALID_API_VERSION);
+
+        // The update must only be able to match consents which pass the version validation
+        final ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        verify(mockRepo).findAndModify(queryCaptor.capture(), any(Update.class));
+        final Document requestVersionCondition = (Document) queryCaptor.getValue().getQueryObject().get("requestVersion");
+        assertThat((Collection<OBVersion>) requestVersionCondition.get("$in")).doesNotContain(OBVersion.v3_1_9)
+                                                                          .contains(OBVersion.v3_1_10, OBVersion.v4_0_0);
+    }
+
+    @Test
+    public void shouldApplyConsentVersionValidationToBatchQuery() {
+        final ConsentRepository mockRepo = mock(ConsentRepository.class);
+        final BaseConsentService<BaseConsentEntity<?>, AuthoriseConsentArgs> consentService = createServiceWithMockRepo(mockRepo);
+        consentService.setApiVersionCompatibilityMatrix(ApiVersionCompatibilityMatrix.of(
+                (creationVersion, accessVersion) -> creationVersion != OBVersion.v3_1_9));
+        when(mockRepo.find(any())).thenReturn(List.of());
+
+        ApiVersionContext.callWithApiVersion(OBVersion.v4_0_0,
+                () -> consentService.getConsents(List.of("consent1", "consent2"), "client1"));
+
+        final ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        verify(mockRepo).find(queryCaptor.capture());
+        final Document queryObject = queryCaptor.getValue().getQueryObject();
+        assertThat((Collection<String>) ((Document) queryObject.get("_id")).get("$in")).containsExactly("consent1", "consent2");
+        assertThat(queryObject.get("apiClientId")).isEqualTo("client1");
+        assertThat(queryObject.get("deleted")).isEqualTo(false);
+        final Document requestVersionCondition = (Document) queryObject.get("requestVersion");
+        assertThat((Collection<OBVersion>) requestVersionCondition.get("$in")).doesNotContain(OBVersion.v3_1_9)
+                                                                          .contains(OBVersion.v3_1_10, OBVersion.v4_0_0);
+    }
+
+    private static BaseConsentService<BaseConsentEntity<?>, AuthoriseConsentArgs> createServiceWithMockRepo(ConsentRepository mockRepo) {
+        return new BaseConsentService<>(mockRepo, () -> UUID.randomUUID().toString(), AccountAccessConsentStateModel.getInstance()) {
             @Override
-            protected void addConsentSpecificAuthorisationData(BaseConsentEntity consent, AuthoriseConsentArgs authoriseConsentArgs) {
+            protected void addConsentSpecificAuthorisationData(Update update, AuthoriseConsentArgs authoriseConsentArgs) {
             }
         };
+    }
+
+    @Test
+    public void shouldAllowConsentVersionValidationToBeConfigured() {
+        final ConsentRepository mockRepo = mock(ConsentRepository.class);
+        final BaseConsentService<BaseConsentEntity<?>, AuthoriseConsentArgs> consentService = createServiceWithMockRepo(mockRepo);
 
         final String v4ConsentId = "consent1";
         final String apiClientId = "client1";
@@ -205,18 +449,19 @@ public abstract class BaseConsentServiceTest<T extends BaseConsentEntity<?>, A e
         BaseConsentEntity<?> consent = consentService.getConsent(v4ConsentId, apiClientId);
         assertThat(consent).isEqualTo(repoConsentv4);
 
-        consentService.setApiVersionValidationStrategy(consentToValidate -> {
-            if (consentToValidate.getRequestVersion().equals(OBVersion.v3_1_9)) {
-                throw new ConsentStoreException(ErrorType.INVALID_API_VERSION, "v3.1.9 not supported");
-            }
-        });
+        consentService.setApiVersionCompatibilityMatrix(ApiVersionCompatibilityMatrix.of(
+                (creationVersion, accessVersion) -> creationVersion != OBVersion.v3_1_9));
 
         // Fetch the v4 consent and ensure it passes the validation rule
-        consent = consentService.getConsent(v4ConsentId, apiClientId);
+        consent = ApiVersionContext.callWithApiVersion(OBVersion.v4_0_0, () -> consentService.getConsent(v4ConsentId, apiClientId));
         assertThat(consent).isEqualTo(repoConsentv4);
 
         // Fetch the v3 consent and ensure it fails the validation rule
-        final ConsentStoreException ex = assertThrows(ConsentStoreException.class, () -> consentService.getConsent(v319ConsentId, apiClientId));
+        final ConsentStoreException ex = assertThrows(ConsentStoreException.class,
+                () -> ApiVersionContext.callWithApiVersion(OBVersion.v4_0_0, () -> consentService.getConsent(v319ConsentId, apiClientId)));
         assertThat(ex.getErrorType()).isEqualTo(ErrorType.INVALID_API_VERSION);
+
+        // No validation is applied to calls made without an API version
+        assertThat(consentService.getConsent(v319ConsentId, apiClientId)).isEqualTo(repoConsentv3);
     }
 }
\ No newline at end of file
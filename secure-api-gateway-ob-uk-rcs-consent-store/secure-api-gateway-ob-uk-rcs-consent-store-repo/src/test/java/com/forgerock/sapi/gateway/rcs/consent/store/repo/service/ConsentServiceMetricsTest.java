@@ -0,0 +1,147 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.service;
+
+import static com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentServiceMetricsInterceptor.CONSENT_STORE_OPERATION_METRIC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.domestic.DomesticPaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException.ErrorType;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.domestic.DomesticPaymentConsentRepository;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentAuthoriseConsentArgs;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.domestic.DefaultDomesticPaymentConsentService;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.domestic.DomesticPaymentConsentServiceFactory;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.domestic.v3_1_10.DefaultDomesticPaymentConsentServiceTest;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.version.ApiVersionContext;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.version.BackwardsCompatibilityApiVersionValidator;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBVersion;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for the Consent Store operation metrics recorded by {@link ConsentServiceMetricsInterceptor}
+ */
+@DataMongoTest
+class ConsentServiceMetricsTest {
+
+    private static final String API_CLIENT_ID = "test-client-987";
+
+    @Autowired
+    private DomesticPaymentConsentRepository repo;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private DomesticPaymentConsentServiceFactory consentServiceFactory;
+
+    @BeforeEach
+    void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        consentServiceFactory = new DomesticPaymentConsentServiceFactory(repo, new BackwardsCompatibilityApiVersionValidator());
+        consentServiceFactory.setMeterRegistry(meterRegistry);
+    }
+
+    private long getOperationCount(String apiVersion, String operation, String outcome) {
+        return meterRegistry.find(CONSENT_STORE_OPERATION_METRIC)
+                            .tag("intentType", IntentType.PAYMENT_DOMESTIC_CONSENT.name())
+                            .tag("apiVersion", apiVersion)
+                            .tag("operation", operation)
+                            .tag("outcome", outcome)
+                            .timers().stream().mapToLong(Timer::count).sum();
+    }
+
+    @Test
+    void shouldRecordSuccessfulOperations() {
+        final DefaultDomesticPaymentConsentService service = consentServiceFactory.createConsentService();
+        assertThat(AopUtils.isCglibProxy(service)).isTrue();
+
+        ApiVersionContext.callWithApiVersion(OBVersion.v3_1_10, () -> {
+            final DomesticPaymentConsentEntity consent = service.createConsent(
+                    DefaultDomesticPaymentConsentServiceTest.createValidConsentEntity(API_CLIENT_ID));
+            service.getConsent(consent.getId(), API_CLIENT_ID);
+            service.authoriseConsent(new PaymentAuthoriseConsentArgs(consent.getId(), API_CLIENT_ID, "test-user", "acc-1"));
+            return service.consumeConsent(consent.getId(), API_CLIENT_ID);
+        });
+
+        assertThat(getOperationCount("v3.1.10", "create", "success")).isEqualTo(1);
+        assertThat(getOperationCount("v3.1.10", "authorise", "success")).isEqualTo(1);
+        assertThat(getOperationCount("v3.1.10", "consume", "success")).isEqualTo(1);
+        // The getConsent calls made within authorise and consume are not recorded
+        assertThat(getOperationCount("v3.1.10", "get", "success")).isEqualTo(1);
+        assertThat(meterRegistry.find(CONSENT_STORE_OPERATION_METRIC).tag("operation", "canTransitionToAuthorisedState").timer()).isNull();
+    }
+
+    @Test
+    void shouldRecordConsentStoreErrorTypeAsOutcome() {
+        final DefaultDomesticPaymentConsentService service = consentServiceFactory.createConsentService();
+        ApiVersionContext.setApiVersion(OBVersion.v4_0_0);
+        try {
+            final DomesticPaymentConsentEntity consent = service.createConsent(
+                    DefaultDomesticPaymentConsentServiceTest.createValidConsentEntity(API_CLIENT_ID));
+
+            assertThatThrownBy(() -> service.getConsent("PDC_unknown", API_CLIENT_ID)).isInstanceOf(ConsentStoreException.class);
+            assertThatThrownBy(() -> service.getConsent(consent.getId(), "another-client")).isInstanceOf(ConsentStoreException.class);
+            assertThatThrownBy(() -> service.consumeConsent(consent.getId(), API_CLIENT_ID)).isInstanceOf(ConsentStoreException.class);
+        } finally {
+            ApiVersionContext.clear();
+        }
+
+        assertThat(getOperationCount("v4.0.0", "get", ErrorType.NOT_FOUND.name())).isEqualTo(1);
+        assertThat(getOperationCount("v4.0.0", "get", ErrorType.INVALID_PERMISSIONS.name())).isEqualTo(1);
+        assertThat(getOperationCount("v4.0.0", "consume", ErrorType.INVALID_STATE_TRANSITION.name())).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRecordInternalServiceOperations() {
+        final DefaultDomesticPaymentConsentService service = consentServiceFactory.createConsentService();
+        final DomesticPaymentConsentEntity consent = service.createConsent(
+                DefaultDomesticPaymentConsentServiceTest.createValidConsentEntity(API_CLIENT_ID));
+        service.rejectConsent(consent.getId(), API_CLIENT_ID, "test-user");
+
+        assertThat(getOperationCount("internal", "create", "success")).isEqualTo(1);
+        assertThat(getOperationCount("internal", "reject", "success")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldTagOperationsWithApiVersionOfEachCall() {
+        final DefaultDomesticPaymentConsentService service = consentServiceFactory.createConsentService();
+        final DomesticPaymentConsentEntity consent = service.createConsent(
+                DefaultDomesticPaymentConsentServiceTest.createValidConsentEntity(API_CLIENT_ID));
+
+        ApiVersionContext.callWithApiVersion(OBVersion.v3_1_10, () -> service.getConsent(consent.getId(), API_CLIENT_ID));
+        ApiVersionContext.callWithApiVersion(OBVersion.v4_0_0, () -> service.getConsent(consent.getId(), API_CLIENT_ID));
+        service.getConsent(consent.getId(), API_CLIENT_ID);
+
+        assertThat(getOperationCount("v3.1.10", "get", "success")).isEqualTo(1);
+        assertThat(getOperationCount("v4.0.0", "get", "success")).isEqualTo(1);
+        assertThat(getOperationCount("internal", "get", "success")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotInstrumentServicesWithoutMeterRegistry() {
+        final DomesticPaymentConsentServiceFactory factory = new DomesticPaymentConsentServiceFactory(repo, new BackwardsCompatibilityApiVersionValidator());
+        assertThat(AopUtils.isAopProxy(factory.createConsentService())).isFalse();
+    }
+}
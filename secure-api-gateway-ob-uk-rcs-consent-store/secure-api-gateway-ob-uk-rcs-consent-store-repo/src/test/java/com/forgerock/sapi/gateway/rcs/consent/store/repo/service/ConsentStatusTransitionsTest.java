@@ -0,0 +1,146 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.ConsentStatus;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.account.AccountAccessConsentStateModel;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.customerinfo.CustomerInfoConsentStateModel;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.funds.FundsConfirmationConsentStateModel;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentConsentStateModel;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.file.FilePaymentConsentStateModel;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.vrp.VRPConsentStateModel;
+
+import uk.org.openbanking.datamodel.v3.payment.OBPaymentConsentStatus;
+import uk.org.openbanking.datamodel.v3.payment.OBWriteFileConsentResponse4DataStatus;
+
+class ConsentStatusTransitionsTest {
+
+    private static Stream<ConsentStateModel> consentStateModels() {
+        return Stream.of(AccountAccessConsentStateModel.getInstance(), CustomerInfoConsentStateModel.getInstance(),
+                FundsConfirmationConsentStateModel.getInstance(), PaymentConsentStateModel.getInstance(),
+                FilePaymentConsentStateModel.getInstance(), VRPConsentStateModel.getInstance());
+    }
+
+    @ParameterizedTest
+    @MethodSource("consentStateModels")
+    void allConsentStateModelsAreValid(ConsentStateModel consentStateModel) {
+        ConsentStatusTransitions.validate(consentStateModel);
+    }
+
+    @ParameterizedTest
+    @MethodSource("consentStateModels")
+    void transitionTableMatchesValidStateTransitions(ConsentStateModel consentStateModel) {
+        final ConsentStatusTransitions statusTransitions = consentStateModel.getStatusTransitions();
+        for (ConsentStatus source : ConsentStatus.values()) {
+            final List<String> validTargets = consentStateModel.getValidStateTransitions().getOrDefault(source.getValue(), List.of());
+            for (ConsentStatus target : ConsentStatus.values()) {
+                assertThat(statusTransitions.isTransitionAllowed(source, target)).isEqualTo(validTargets.contains(target.getValue()));
+                assertThat(statusTransitions.getSourceStatuses(target).contains(source)).isEqualTo(validTargets.contains(target.getValue()));
+            }
+        }
+    }
+
+    @Test
+    void paymentConsentTransitions() {
+        final ConsentStatusTransitions statusTransitions = PaymentConsentStateModel.getInstance().getStatusTransitions();
+        assertThat(statusTransitions.getTargetStatuses(ConsentStatus.AWAITING_AUTHORISATION)).containsExactly(ConsentStatus.AUTHORISED, ConsentStatus.REJECTED);
+        assertThat(statusTransitions.getTargetStatuses(ConsentStatus.AUTHORISED)).containsExactly(ConsentStatus.CONSUMED);
+        assertThat(statusTransitions.getTargetStatuses(ConsentStatus.CONSUMED)).isEmpty();
+        assertThat(statusTransitions.getSourceStatuses(ConsentStatus.CONSUMED)).containsExactly(ConsentStatus.AUTHORISED);
+        assertThat(statusTransitions.isTransitionAllowed(null, ConsentStatus.AUTHORISED)).isFalse();
+    }
+
+    @Test
+    void consentStatusValuesMatchObieStatusValues() {
+        for (OBPaymentConsentStatus obStatus : OBPaymentConsentStatus.values()) {
+            assertThat(ConsentStatus.fromValue(obStatus.toString()).getValue()).isEqualTo(obStatus.toString());
+        }
+        for (OBWriteFileConsentResponse4DataStatus obStatus : OBWriteFileConsentResponse4DataStatus.values()) {
+            assertThat(ConsentStatus.fromValue(obStatus.toString()).getValue()).isEqualTo(obStatus.toString());
+        }
+        assertThrows(IllegalArgumentException.class, () -> ConsentStatus.fromValue("Unknown"));
+    }
+
+    @Test
+    void failToValidateModelWhereAuthorisedIsUnreachable() {
+        final ConsentStateModel invalidModel = new TestConsentStateModel(ConsentStatusTransitions.builder()
+                .allow(ConsentStatus.AWAITING_AUTHORISATION, ConsentStatus.REJECTED)
+                .build());
+
+        final IllegalStateException ex = assertThrows(IllegalStateException.class, () -> ConsentStatusTransitions.validate(invalidModel));
+        assertThat(ex.getMessage()).isEqualTo("TestConsentStateModel must allow transitions from AwaitingAuthorisation to Authorised and Rejected");
+    }
+
+    @Test
+    void failToBuildEmptyTransitions() {
+        assertThrows(IllegalStateException.class, () -> ConsentStatusTransitions.builder().build());
+        assertThrows(IllegalArgumentException.class, () -> ConsentStatusTransitions.builder().allow(ConsentStatus.AUTHORISED));
+    }
+
+    @Test
+    void transitionTablesAreImmutable() {
+        final ConsentStatusTransitions statusTransitions = PaymentConsentStateModel.getInstance().getStatusTransitions();
+        assertThrows(UnsupportedOperationException.class,
+                () -> statusTransitions.getTargetStatuses(ConsentStatus.AUTHORISED).addAll(EnumSet.allOf(ConsentStatus.class)));
+        assertThrows(UnsupportedOperationException.class,
+                () -> statusTransitions.getSourceStatuses(ConsentStatus.AUTHORISED).clear());
+    }
+
+    private static class TestConsentStateModel implements ConsentStateModel {
+
+        private final ConsentStatusTransitions statusTransitions;
+
+        private TestConsentStateModel(ConsentStatusTransitions statusTransitions) {
+            this.statusTransitions = statusTransitions;
+        }
+
+        @Override
+        public String getInitialConsentStatus() {
+            return ConsentStatus.AWAITING_AUTHORISATION.getValue();
+        }
+
+        @Override
+        public String getAuthorisedConsentStatus() {
+            return ConsentStatus.AUTHORISED.getValue();
+        }
+
+        @Override
+        public String getRejectedConsentStatus() {
+            return ConsentStatus.REJECTED.getValue();
+        }
+
+        @Override
+        public String getRevokedConsentStatus() {
+            return ConsentStatus.REJECTED.getValue();
+        }
+
+        @Override
+        public ConsentStatusTransitions getStatusTransitions() {
+            return statusTransitions;
+        }
+    }
+}
@@ -50,7 +50,7 @@ import uk.org.openbanking.datamodel.v3.common.OBExternalRequestStatus1Code;
 
 @ExtendWith(SpringExtension.class)
 @SpringBootTest
-@DependsOn({"internalConsentServices"})
+@DependsOn({"consentServices"})
 public class DefaultAccountAccessConsentServiceTest extends BaseConsentServiceTest<AccountAccessConsentEntity, AccountAccessAuthoriseConsentArgs> {
 
     @Autowired
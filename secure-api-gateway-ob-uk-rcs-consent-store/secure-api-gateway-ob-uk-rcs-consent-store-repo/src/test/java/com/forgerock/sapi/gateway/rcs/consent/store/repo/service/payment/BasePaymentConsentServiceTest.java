@@ -18,7 +18,14 @@ package com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.joda.time.DateTime;
 import org.junit.jupiter.api.Test;
@@ -76,6 +83,7 @@ public abstract class BasePaymentConsentServiceTest<T extends BasePaymentConsent
                 assertThat(consentResponse).usingRecursiveComparison().isEqualTo(firstCreateResponse);
             }
         }
+        assertThat(firstCreateResponse.getRequestFingerprint()).isNotNull();
     }
 
     @Test
@@ -97,6 +105,26 @@ public abstract class BasePaymentConsentServiceTest<T extends BasePaymentConsent
         assertThat(consentStoreException.getMessage()).contains("The provided Idempotency Key: '" + idempotencyKey + "' header matched a previous request but the request body has been changed");
     }
 
+    @Test
+    void createConsentShouldAllowExpiredIdempotencyKeyToBeReused() {
+        final String idempotencyKey = UUID.randomUUID().toString();
+
+        final T expiredConsentEntity = getValidConsentEntity();
+        expiredConsentEntity.setIdempotencyKey(idempotencyKey);
+        expiredConsentEntity.setIdempotencyKeyExpiration(DateTime.now().minusMinutes(1));
+        final T expiredConsent = getPaymentConsentService().createConsent(expiredConsentEntity);
+
+        final T consentEntity = getValidConsentEntity();
+        consentEntity.setIdempotencyKey(idempotencyKey);
+        consentEntity.setIdempotencyKeyExpiration(DateTime.now().plusDays(1));
+        final T consent = getPaymentConsentService().createConsent(consentEntity);
+        assertThat(consent.getId()).isNotEqualTo(expiredConsent.getId());
+        assertThat(consent.getActiveIdempotencyKey()).isEqualTo(idempotencyKey);
+
+        // The new Consent now holds the key
+        assertThat(getPaymentConsentService().createConsent(consentEntity).getId()).isEqualTo(consent.getId());
+    }
+
     @Test
     void consumeConsent() {
         final T consentInStateToConsume = getConsentInStateToConsume();
@@ -104,6 +132,38 @@ public abstract class BasePaymentConsentServiceTest<T extends BasePaymentConsent
         assertThat(consumedConsent.getStatus()).isEqualTo(OBPaymentConsentStatus.CONSUMED.toString());
     }
 
+    @Test
+    void concurrentConsumeShouldOnlySucceedOnce() throws Exception {
+        final T consentInStateToConsume = getConsentInStateToConsume();
+        final int numThreads = 8;
+        final ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+        try {
+            final List<Callable<T>> consumeTasks = new ArrayList<>();
+            for (int i = 0; i < numThreads; i++) {
+                consumeTasks.add(() -> getPaymentConsentService().consumeConsent(consentInStateToConsume.getId(),
+                                                                                 consentInStateToConsume.getApiClientId()));
+            }
+
+            int successCount = 0;
+            for (Future<T> result : executorService.invokeAll(consumeTasks)) {
+                try {
+                    assertThat(result.get().getStatus()).isEqualTo(OBPaymentConsentStatus.CONSUMED.toString());
+                    successCount++;
+                } catch (ExecutionException ex) {
+                    // Calls which lose the race must fail the state transition check rather than raising optimistic locking errors
+                    assertThat(ex.getCause()).isInstanceOf(ConsentStoreException.class);
+                    assertThat(((ConsentStoreException) ex.getCause()).getErrorType()).isEqualTo(ErrorType.INVALID_STATE_TRANSITION);
+                }
+            }
+            assertThat(successCount).isEqualTo(1);
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        final T consumedConsent = consentService.getConsent(consentInStateToConsume.getId(), consentInStateToConsume.getApiClientId());
+        assertThat(consumedConsent.getEntityVersion()).isEqualTo(consentInStateToConsume.getEntityVersion() + 1);
+    }
+
     @Test
     void failToConsumeConsentAwaitingAuthorisation() {
         final T persistedConsent = getConsentInStateToAuthoriseOrReject();
@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.Test;
+
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.IdempotencyKeyCache.RecentKey;
+
+class IdempotencyKeyCacheTest {
+
+    private static RecentKey recentKey(String consentId, DateTime expiration) {
+        return new RecentKey(consentId, "fingerprint-" + consentId, expiration);
+    }
+
+    @Test
+    void shouldNotContainKeyWhichHasNotBeenRecorded() {
+        final IdempotencyKeyCache cache = new IdempotencyKeyCache();
+
+        assertThat(cache.mightContain("client-1", "key-1")).isFalse();
+        assertThat(cache.getRecentKey("client-1", "key-1", DateTime.now())).isEmpty();
+    }
+
+    @Test
+    void shouldContainRecordedKey() {
+        final IdempotencyKeyCache cache = new IdempotencyKeyCache();
+        final RecentKey recentKey = recentKey("consent-1", DateTime.now().plusDays(1));
+        cache.put("client-1", "key-1", recentKey);
+
+        assertThat(cache.mightContain("client-1", "key-1")).isTrue();
+        assertThat(cache.getRecentKey("client-1", "key-1", DateTime.now())).contains(recentKey);
+        // Keys are scoped to the apiClientId
+        assertThat(cache.getRecentKey("client-2", "key-1", DateTime.now())).isEmpty();
+    }
+
+    @Test
+    void shouldNotReturnExpiredRecentKey() {
+        final IdempotencyKeyCache cache = new IdempotencyKeyCache();
+        final DateTime expiration = DateTime.now().plusMinutes(5);
+        cache.put("client-1", "key-1", recentKey("consent-1", expiration));
+
+        assertThat(cache.getRecentKey("client-1", "key-1", expiration)).isEmpty();
+        assertThat(cache.getRecentKey("client-1", "key-1", expiration.minusMinutes(1))).isEmpty();
+        assertThat(cache.mightContain("client-1", "key-1")).isTrue();
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedKeys() {
+        final IdempotencyKeyCache cache = new IdempotencyKeyCache(1000, 0.01, 2);
+        final DateTime expiration = DateTime.now().plusDays(1);
+        cache.put("client-1", "key-1", recentKey("consent-1", expiration));
+        cache.put("client-1", "key-2", recentKey("consent-2", expiration));
+        assertThat(cache.getRecentKey("client-1", "key-1", DateTime.now())).isPresent();
+        cache.put("client-1", "key-3", recentKey("consent-3", expiration));
+
+        assertThat(cache.getRecentKey("client-1", "key-1", DateTime.now())).isPresent();
+        assertThat(cache.getRecentKey("client-1", "key-2", DateTime.now())).isEmpty();
+        assertThat(cache.getRecentKey("client-1", "key-3", DateTime.now())).isPresent();
+        assertThat(cache.mightContain("client-1", "key-2")).isTrue();
+    }
+
+    @Test
+    void shouldForgetKeysOnceTwoGenerationsHaveBeenRecorded() {
+        final int expectedKeys = 100;
+        final IdempotencyKeyCache cache = new IdempotencyKeyCache(expectedKeys, 0.01, 10);
+        final DateTime expiration = DateTime.now().plusDays(1);
+        cache.put("client-1", "first-key", recentKey("consent-0", expiration));
+        for (int i = 1; i < expectedKeys; i++) {
+            cache.put("client-1", "key-" + i, recentKey("consent-" + i, expiration));
+        }
+        // The first generation is retained while the second generation is recorded
+        for (int i = expectedKeys; i < 2 * expectedKeys; i++) {
+            cache.put("client-1", "key-" + i, recentKey("consent-" + i, expiration));
+            assertThat(cache.mightContain("client-1", "first-key")).isTrue();
+        }
+        cache.put("client-1", "last-key", recentKey("consent-last", expiration));
+
+        assertThat(cache.mightContain("client-1", "last-key")).isTrue();
+        assertThat(cache.mightContain("client-1", "key-" + (2 * expectedKeys - 1))).isTrue();
+        // The first generation has been dropped, allow for false positives
+        int firstGenerationKeysContained = 0;
+        for (int i = 1; i < expectedKeys; i++) {
+            if (cache.mightContain("client-1", "key-" + i)) {
+                firstGenerationKeysContained++;
+            }
+        }
+        assertThat(firstGenerationKeysContained).isLessThan(expectedKeys / 10);
+    }
+
+    @Test
+    void shouldValidateArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new IdempotencyKeyCache(0, 0.01, 10));
+        assertThrows(IllegalArgumentException.class, () -> new IdempotencyKeyCache(10, 1, 10));
+        assertThrows(IllegalArgumentException.class, () -> new IdempotencyKeyCache(10, 0.01, 0));
+    }
+}
@@ -15,13 +15,19 @@
  */
 package com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.domestic.v4_0_0;
 
+import static com.forgerock.sapi.gateway.rcs.consent.store.repo.index.ConsentStoreIndexes.ACTIVE_IDEMPOTENCY_KEY_INDEX;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
 import java.util.List;
 import java.util.UUID;
 
 import org.joda.time.DateTime;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRAmount;
@@ -29,10 +35,15 @@ import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRCharge;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRChargeBearerType;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.payment.FRWriteDomesticConsentConverter;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.domestic.DomesticPaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException.ErrorType;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.index.ConsentStoreIndexInitializer;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.domestic.DomesticPaymentConsentRepository;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.BaseConsentService;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.BasePaymentConsentServiceTest;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentAuthoriseConsentArgs;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.domestic.DefaultDomesticPaymentConsentService;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.domestic.DomesticPaymentConsentServiceFactory;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBVersion;
 
 import uk.org.openbanking.datamodel.v3.payment.OBPaymentConsentStatus;
@@ -46,11 +57,72 @@ public class DefaultDomesticPaymentConsentServiceTest extends BasePaymentConsent
     @Autowired
     private DefaultDomesticPaymentConsentService service;
 
+    @Autowired
+    private DomesticPaymentConsentRepository repository;
+
+    @Autowired
+    private DomesticPaymentConsentServiceFactory serviceFactory;
+
+    @Autowired
+    private ConsentStoreIndexInitializer indexInitializer;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     @Override
     protected BaseConsentService<DomesticPaymentConsentEntity, PaymentAuthoriseConsentArgs> getConsentServiceToTest() {
         return service;
     }
 
+    @Test
+    void createConsentShouldReturnConsentWhenIdempotencyKeyIsNotCached() {
+        indexInitializer.getIndexCreation().join();
+
+        // Consent created by another instance of the service, so its key is not in the IdempotencyKeyCache
+        final OBWriteDomesticConsent4 obConsent = OBWriteDomesticConsentTestDataFactory.aValidOBWriteDomesticConsent4();
+        final DomesticPaymentConsentEntity existingConsent = createValidConsentEntity(obConsent, "test-client-987");
+        existingConsent.setId(UUID.randomUUID().toString());
+        existingConsent.setActiveIdempotencyKey(existingConsent.getIdempotencyKey());
+        existingConsent.setRequestFingerprint(repository.computeRequestFingerprint(existingConsent.getRequestObj()));
+        repository.insert(existingConsent);
+
+        final DomesticPaymentConsentEntity consentEntity = createValidConsentEntity(obConsent, existingConsent.getApiClientId());
+        consentEntity.setIdempotencyKey(existingConsent.getIdempotencyKey());
+        consentEntity.setIdempotencyKeyExpiration(existingConsent.getIdempotencyKeyExpiration());
+        assertThat(service.createConsent(consentEntity).getId()).isEqualTo(existingConsent.getId());
+    }
+
+    @Test
+    void createConsentShouldLookUpIdempotencyKeyWhenUniqueIndexIsAbsent() {
+        indexInitializer.getIndexCreation().join();
+        mongoTemplate.indexOps(DomesticPaymentConsentEntity.class).dropIndex(ACTIVE_IDEMPOTENCY_KEY_INDEX);
+        serviceFactory.getIdempotencyKeyCache().setUniqueIndexReady(false);
+        try {
+            // Consent created on another instance before the index was built and the activeIdempotencyKey backfilled,
+            // so the key is not in the IdempotencyKeyCache and nothing prevents a duplicate insert
+            final OBWriteDomesticConsent4 obConsent = OBWriteDomesticConsentTestDataFactory.aValidOBWriteDomesticConsent4();
+            final DomesticPaymentConsentEntity existingConsent = createValidConsentEntity(obConsent, "test-client-987");
+            existingConsent.setId(UUID.randomUUID().toString());
+            existingConsent.setRequestFingerprint(repository.computeRequestFingerprint(existingConsent.getRequestObj()));
+            repository.insert(existingConsent);
+
+            final DomesticPaymentConsentEntity consentEntity = createValidConsentEntity(obConsent, existingConsent.getApiClientId());
+            consentEntity.setIdempotencyKey(existingConsent.getIdempotencyKey());
+            consentEntity.setIdempotencyKeyExpiration(existingConsent.getIdempotencyKeyExpiration());
+            assertThat(service.createConsent(consentEntity).getId()).isEqualTo(existingConsent.getId());
+
+            // The test data factory generates a different request
+            final DomesticPaymentConsentEntity changedConsentEntity = createValidConsentEntity(existingConsent.getApiClientId());
+            changedConsentEntity.setIdempotencyKey(existingConsent.getIdempotencyKey());
+            changedConsentEntity.setIdempotencyKeyExpiration(existingConsent.getIdempotencyKeyExpiration());
+            assertThatThrownBy(() -> service.createConsent(changedConsentEntity))
+                    .isInstanceOfSatisfying(ConsentStoreException.class,
+                            ex -> assertThat(ex.getErrorType()).isEqualTo(ErrorType.IDEMPOTENCY_ERROR));
+        } finally {
+            assertThat(indexInitializer.ensureIndexes()).isZero();
+        }
+    }
+
     @Override
     protected DomesticPaymentConsentEntity getValidConsentEntity() {
         final String apiClientId = "test-client-987";
@@ -18,9 +18,14 @@ package com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.file;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.assertj.core.api.AssertionsForClassTypes;
@@ -38,7 +43,9 @@ import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.payment.FR
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.file.FilePaymentConsentEntity;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException.ErrorType;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.mongo.payment.file.FilePaymentContentStore;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.BaseConsentService;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentProjection;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentStateModel;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.BasePaymentConsentServiceTest;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.PaymentAuthoriseConsentArgs;
@@ -53,6 +60,8 @@ import uk.org.openbanking.testsupport.v3.payment.OBWriteFileConsentTestDataFacto
 @SpringBootTest
 public class DefaultFilePaymentConsentServiceTest extends BasePaymentConsentServiceTest<FilePaymentConsentEntity> {
 
+    private static final String FILE_CONTENTS = "<xml>sdffsddf</xml>";
+
     @Autowired
     private DefaultFilePaymentConsentService service;
 
@@ -114,7 +123,10 @@ public class DefaultFilePaymentConsentServiceTest extends BasePaymentConsentServ
         final FilePaymentConsentEntity consentWithFile = service.uploadFile(fileUploadArgs);
 
         assertThat(consentWithFile.getStatus()).isEqualTo(OBWriteFileConsentResponse4DataStatus.AWAITINGAUTHORISATION.toString());
-        assertThat(consentWithFile.getFileContent()).isEqualTo(fileUploadArgs.getFileContents());
+        assertThat(consentWithFile.getFileContent()).isNull();
+        assertThat(consentWithFile.getFileContentId()).isNotNull();
+        assertThat(consentWithFile.getFileContentSha256()).isEqualTo(FilePaymentContentStore.computeSha256(createFileContents(FILE_CONTENTS)));
+        assertThat(readFileContent(service.getFileContent(consentWithFile.getId(), consentWithFile.getApiClientId()))).isEqualTo(FILE_CONTENTS);
         assertThat(consentWithFile.getFileUploadIdempotencyKey()).isEqualTo(fileUploadArgs.getFileUploadIdempotencyKey());
         assertThat(consentWithFile.getId()).isEqualTo(persistedConsent.getId());
         assertThat(consentWithFile.getCharges()).isEqualTo(persistedConsent.getCharges());
@@ -176,11 +188,32 @@ public class DefaultFilePaymentConsentServiceTest extends BasePaymentConsentServ
         final FileUploadArgs validFileUploadArgs = createValidFileUploadArgs(persistedConsent);
         service.uploadFile(validFileUploadArgs);
 
-        validFileUploadArgs.setFileContents(validFileUploadArgs.getFileContents() + "sdfsfsfd");
+        validFileUploadArgs.setFileContents(createFileContents(FILE_CONTENTS + "sdfsfsfd"));
         final ConsentStoreException consentStoreException = assertThrows(ConsentStoreException.class, () -> service.uploadFile(validFileUploadArgs));
         assertThat(consentStoreException.getErrorType()).isEqualTo(ErrorType.IDEMPOTENCY_ERROR);
     }
 
+    @Test
+    void getFileContent() {
+        final FilePaymentConsentEntity persistedConsent = service.createConsent(getValidConsentEntity());
+        assertThat(service.getFileContent(persistedConsent.getId(), persistedConsent.getApiClientId())).isEmpty();
+
+        service.uploadFile(createValidFileUploadArgs(persistedConsent));
+        assertThat(readFileContent(service.getFileContent(persistedConsent.getId(), persistedConsent.getApiClientId()))).isEqualTo(FILE_CONTENTS);
+
+        final ConsentStoreException invalidPermissions = assertThrows(ConsentStoreException.class,
+                () -> service.getFileContent(persistedConsent.getId(), "another-client"));
+        assertThat(invalidPermissions.getErrorType()).isEqualTo(ErrorType.INVALID_PERMISSIONS);
+    }
+
+    @Test
+    void openFileContentStoredInlineByEarlierVersions() {
+        final FilePaymentConsentEntity legacyConsent = getValidConsentEntity();
+        legacyConsent.setFileContent(FILE_CONTENTS);
+
+        assertThat(readFileContent(service.openFileContent(legacyConsent))).isEqualTo(FILE_CONTENTS);
+    }
+
     @Test
     void failToAuthoriseConsentAwaitingUpload() {
         final FilePaymentConsentEntity consentObj = getValidConsentEntity();
@@ -205,15 +238,57 @@ public class DefaultFilePaymentConsentServiceTest extends BasePaymentConsentServ
         assertThat(consentService.canTransitionToAuthorisedState(consent)).isFalse();
     }
 
-
+    @Test
+    void getConsentUsingProjection() {
+        final FilePaymentConsentEntity consentWithFile = getConsentInStateToAuthoriseOrReject();
+        final ConsentProjection projection = ConsentProjection.of("charges", "requestObj.data.initiation");
+
+        final FilePaymentConsentEntity projectedConsent = service.getConsent(consentWithFile.getId(),
+                consentWithFile.getApiClientId(), projection);
+
+        assertThat(projectedConsent.getId()).isEqualTo(consentWithFile.getId());
+        assertThat(projectedConsent.getApiClientId()).isEqualTo(consentWithFile.getApiClientId());
+        assertThat(projectedConsent.getStatus()).isEqualTo(consentWithFile.getStatus());
+        assertThat(projectedConsent.getRequestVersion()).isEqualTo(consentWithFile.getRequestVersion());
+        assertThat(projectedConsent.getCharges()).isEqualTo(consentWithFile.getCharges());
+        assertThat(projectedConsent.getRequestObj().getData().getInitiation())
+                .isEqualTo(consentWithFile.getRequestObj().getData().getInitiation());
+        assertThat(consentService.canTransitionToAuthorisedState(projectedConsent)).isTrue();
+
+        // Fields not in the projection are not read
+        assertThat(projectedConsent.getFileContent()).isNull();
+        assertThat(projectedConsent.getIdempotencyKey()).isNull();
+
+        final ConsentStoreException invalidPermissions = assertThrows(ConsentStoreException.class,
+                () -> service.getConsent(consentWithFile.getId(), "another-client", projection));
+        assertThat(invalidPermissions.getErrorType()).isEqualTo(ErrorType.INVALID_PERMISSIONS);
+
+        service.deleteConsent(consentWithFile.getId(), consentWithFile.getApiClientId());
+        final ConsentStoreException notFound = assertThrows(ConsentStoreException.class,
+                () -> service.getConsent(consentWithFile.getId(), consentWithFile.getApiClientId(), projection));
+        assertThat(notFound.getErrorType()).isEqualTo(ErrorType.NOT_FOUND);
+    }
 
     private static FileUploadArgs createValidFileUploadArgs(FilePaymentConsentEntity persistedConsent) {
         final FileUploadArgs fileUploadArgs = new FileUploadArgs();
-        fileUploadArgs.setFileContents("<xml>sdffsddf</xml>");
+        fileUploadArgs.setFileContents(createFileContents(FILE_CONTENTS));
         fileUploadArgs.setConsentId(persistedConsent.getId());
         fileUploadArgs.setApiClientId(persistedConsent.getApiClientId());
         fileUploadArgs.setFileUploadIdempotencyKey(UUID.randomUUID().toString());
         return fileUploadArgs;
     }
 
+    private static InputStream createFileContents(String fileContents) {
+        return new ByteArrayInputStream(fileContents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readFileContent(Optional<InputStream> fileContent) {
+        assertThat(fileContent).isPresent();
+        try (InputStream inputStream = fileContent.get()) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.version;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBVersion;
+
+class ApiVersionCompatibilityMatrixTest {
+
+    private final BackwardsCompatibilityApiVersionValidator apiVersionValidator = new BackwardsCompatibilityApiVersionValidator();
+
+    private final ApiVersionCompatibilityMatrix matrix = ApiVersionCompatibilityMatrix.of(apiVersionValidator);
+
+    @Test
+    void shouldMatchValidatorForAllVersions() {
+        for (OBVersion creationVersion : OBVersion.values()) {
+            for (OBVersion accessVersion : OBVersion.values()) {
+                assertThat(matrix.canAccessResourceUsingApiVersion(creationVersion, accessVersion))
+                        .as("creationVersion: %s, accessVersion: %s", creationVersion, accessVersion)
+                        .isEqualTo(apiVersionValidator.canAccessResourceUsingApiVersion(creationVersion, accessVersion));
+            }
+        }
+    }
+
+    @Test
+    void shouldReturnAccessibleCreationVersions() {
+        assertThat(matrix.getAccessibleCreationVersions(OBVersion.v3_1_10)).contains(OBVersion.v3_1_9, OBVersion.v3_1_10)
+                                                                             .doesNotContain(OBVersion.v4_0_0);
+        assertThat(matrix.getAccessibleCreationVersions(OBVersion.v4_0_0)).contains(OBVersion.v3_1_10, OBVersion.v4_0_0);
+    }
+
+    @Test
+    void shouldNotRecomputeMatrix() {
+        assertThat(ApiVersionCompatibilityMatrix.of(matrix)).isSameAs(matrix);
+    }
+
+    @Test
+    void shouldFailIfParamsAreNull() {
+        assertThrows(NullPointerException.class, () -> ApiVersionCompatibilityMatrix.of(null));
+        assertThrows(NullPointerException.class, () -> matrix.canAccessResourceUsingApiVersion(null, OBVersion.v4_0_0));
+        assertThrows(NullPointerException.class, () -> matrix.canAccessResourceUsingApiVersion(OBVersion.v4_0_0, null));
+    }
+}
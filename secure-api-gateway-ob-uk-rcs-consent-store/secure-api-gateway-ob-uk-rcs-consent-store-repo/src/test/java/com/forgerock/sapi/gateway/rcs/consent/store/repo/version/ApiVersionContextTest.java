@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rcs.consent.store.repo.version;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBVersion;
+
+class ApiVersionContextTest {
+
+    @AfterEach
+    void clearContext() {
+        ApiVersionContext.clear();
+    }
+
+    @Test
+    void shouldHaveNoApiVersionByDefault() {
+        assertThat(ApiVersionContext.getApiVersion()).isNull();
+    }
+
+    @Test
+    void shouldSetApiVersionForOperation() {
+        final OBVersion apiVersion = ApiVersionContext.callWithApiVersion(OBVersion.v4_0_0, ApiVersionContext::getApiVersion);
+
+        assertThat(apiVersion).isEqualTo(OBVersion.v4_0_0);
+        assertThat(ApiVersionContext.getApiVersion()).isNull();
+    }
+
+    @Test
+    void shouldRestorePreviousApiVersion() {
+        ApiVersionContext.setApiVersion(OBVersion.v3_1_10);
+        assertThrows(IllegalStateException.class, () -> ApiVersionContext.callWithApiVersion(OBVersion.v4_0_0, () -> {
+            throw new IllegalStateException("operation failed");
+        }));
+
+        assertThat(ApiVersionContext.getApiVersion()).isEqualTo(OBVersion.v3_1_10);
+    }
+
+    @Test
+    void shouldNotShareApiVersionBetweenThreads() throws Exception {
+        ApiVersionContext.setApiVersion(OBVersion.v3_1_10);
+        final OBVersion[] otherThreadApiVersion = new OBVersion[1];
+        final Thread thread = new Thread(() -> otherThreadApiVersion[0] = ApiVersionContext.getApiVersion());
+        thread.start();
+        thread.join();
+
+        assertThat(otherThreadApiVersion[0]).isNull();
+    }
+}
@@ -22,19 +22,17 @@ import com.forgerock.sapi.gateway.ob.uk.rcs.api.ConsentDecisionApi;
 import com.forgerock.sapi.gateway.ob.uk.rcs.api.dto.RedirectionAction;
 import com.forgerock.sapi.gateway.ob.uk.rcs.api.dto.consent.decision.ConsentDecisionDeserialized;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.Constants;
-import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ErrorClient;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ErrorType;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ExceptionClient;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ConsentClientDecisionRequest;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ConsentClientDecisionRequestData;
-import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.utils.jwt.JwtUtil;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ConsentRequestContext;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.exception.InvalidConsentException;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.jwt.RcsJwtSigner;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jwt.JWTClaimsSet;
-import com.nimbusds.jwt.SignedJWT;
 import lombok.extern.slf4j.Slf4j;
 import org.joda.time.DateTime;
 import org.springframework.beans.factory.annotation.Value;
@@ -44,12 +42,12 @@ import org.springframework.stereotype.Controller;
 
 import java.text.ParseException;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 import static com.forgerock.sapi.gateway.ob.uk.common.error.OBRIErrorType.RCS_CONSENT_DECISION_EMPTY;
 import static com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ErrorType.INTERNAL_SERVER_ERROR;
 import static com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ErrorType.JWT_INVALID;
 import static com.forgerock.sapi.gateway.ob.uk.rcs.server.util.ConsentDecisionDeserializer.deserializeConsentDecision;
+import static com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBConstants.OIDCClaim.CONSENT_APPROVAL_REDIRECT_URI;
 
 @Controller
 @Slf4j
@@ -87,15 +85,16 @@ public class ConsentDecisionApiController implements ConsentDecisionApi {
         );
 
         log.debug("decision deserialised \n {}", consentDecisionDeserialized);
+        ConsentRequestContext consentRequestContext = null;
         try {
             boolean authorised = Constants.ConsentDecisionStatus.AUTHORISED.equals(consentDecisionDeserialized.getDecision());
             log.debug("The resource owner has authorised the consent: '{}'", authorised);
-            SignedJWT signedJWT = JwtUtil.getSignedJWT(consentDecisionDeserialized.getConsentJwt());
-            String intentId = JwtUtil.getIdTokenClaim(signedJWT, Constants.Claims.INTENT_ID);
+            consentRequestContext = ConsentRequestContext.parse(consentDecisionDeserialized.getConsentJwt());
+            String intentId = consentRequestContext.getIntentId();
             log.debug("Intent Id from the requested claims '{}'", intentId);
-            String clientId = JwtUtil.getClaimValue(signedJWT, Constants.Claims.CLIENT_ID);
+            String clientId = consentRequestContext.getClientId();
             log.debug("Client Id from the JWT claims '{}'", clientId);
-            String resourceOwner = JwtUtil.getClaimValue(signedJWT, Constants.Claims.USER_NAME);
+            String resourceOwner = consentRequestContext.getUsername();
             log.debug("Resource owner from the JWT claims '{}'", resourceOwner);
 
             IntentType intentType = IntentType.identify(intentId);
@@ -113,11 +112,9 @@ public class ConsentDecisionApiController implements ConsentDecisionApi {
                                 .status(consentDecisionDeserialized.getDecision())
                                 .build())
                         .intentId(intentId)
-                        .jwtClaimsSet(signedJWT.getJWTClaimsSet())
+                        .jwtClaimsSet(consentRequestContext.getClaimsSet())
                         .resourceOwnerUsername(resourceOwner)
-                        .scopes(
-                                JwtUtil.getClaimValueMap(signedJWT, "scopes").values().stream().map(o -> (String) o).collect(Collectors.toList())
-                        )
+                        .scopes(consentRequestContext.getScopes())
                         .build();
                 log.debug("consentClientDecisionRequest \n {}", consentClientDecisionRequest);
 
@@ -138,7 +135,8 @@ public class ConsentDecisionApiController implements ConsentDecisionApi {
                 String consentSignedJwt = jwtSigner.createSignedJwt(jwtClaimsSetGenerated);
                 log.debug("consentSignedJwt '{}'", consentSignedJwt);
 
-                String consentApprovalRedirectUri = JwtUtil.getClaimValue(consentSignedJwt, "consentApprovalRedirectUri");
+                // The response claims are a copy of the request claims, no need to parse the JWT we have just signed
+                String consentApprovalRedirectUri = jwtClaimsSetGenerated.getStringClaim(CONSENT_APPROVAL_REDIRECT_URI);
                 log.debug("consentApprovalRedirectUri: {} ", consentApprovalRedirectUri);
                 return ResponseEntity.ok(RedirectionAction.builder()
                         .redirectUri(consentApprovalRedirectUri)
@@ -148,7 +146,7 @@ public class ConsentDecisionApiController implements ConsentDecisionApi {
                 String message = String.format("Invalid type for intent ID: '%s'", intentId);
                 log.error(message);
                 throw new InvalidConsentException(
-                        consentDecisionDeserialized.getConsentJwt(),
+                        consentRequestContext,
                         ErrorType.UNKNOWN_INTENT_TYPE,
                         OBRIErrorType.REQUEST_BINDING_FAILED,
                         message,
@@ -160,6 +158,16 @@ public class ConsentDecisionApiController implements ConsentDecisionApi {
             String errorMessage = String.format("%s", e.getMessage());
             log.error(errorMessage);
             if (e instanceof ExceptionClient) {
+                if (consentRequestContext != null) {
+                    throw new InvalidConsentException(
+                            consentRequestContext,
+                            ((ExceptionClient) e).getErrorClient().getErrorType(),
+                            OBRIErrorType.REQUEST_BINDING_FAILED,
+                            errorMessage,
+                            ((ExceptionClient) e).getErrorClient().getClientId(),
+                            ((ExceptionClient) e).getErrorClient().getIntentId()
+                    );
+                }
                 throw new InvalidConsentException(
                         consentDecisionDeserialized.getConsentJwt(),
                         ((ExceptionClient) e).getErrorClient().getErrorType(),
@@ -170,48 +178,32 @@ public class ConsentDecisionApiController implements ConsentDecisionApi {
                 );
             } else {
                 log.error("Could not parse the signedJWT to retrieve the claim set.", e);
-                throw new InvalidConsentException(
-                        consentDecisionDeserialized.getConsentJwt(),
-                        JWT_INVALID,
-                        OBRIErrorType.REQUEST_BINDING_FAILED,
-                        errorMessage,
-                        null,
-                        null
-                );
+                throw InvalidConsentException.of(consentRequestContext, consentDecisionDeserialized.getConsentJwt(),
+                        JWT_INVALID, OBRIErrorType.REQUEST_BINDING_FAILED, errorMessage, null, null);
             }
         } catch (JOSEException e) {
             final String errorMessage = "Failed to sign consent decision response JWT";
             log.error(errorMessage, e);
-            throw new InvalidConsentException(consentDecisionDeserialized.getConsentJwt(), INTERNAL_SERVER_ERROR,
-                    OBRIErrorType.RCS_CONSENT_RESPONSE_FAILURE, errorMessage, null, null);
+            throw InvalidConsentException.of(consentRequestContext, consentDecisionDeserialized.getConsentJwt(),
+                    INTERNAL_SERVER_ERROR, OBRIErrorType.RCS_CONSENT_RESPONSE_FAILURE, errorMessage, null, null);
         } catch (ConsentStoreException cse) {
             log.error("Consent Store Exception raised when processing decision", cse);
-            throw new InvalidConsentException(consentDecisionDeserialized.getConsentJwt(), INTERNAL_SERVER_ERROR,
-                    OBRIErrorType.RCS_CONSENT_RESPONSE_FAILURE, "Internal Server Error", null, null);
+            throw InvalidConsentException.of(consentRequestContext, consentDecisionDeserialized.getConsentJwt(),
+                    INTERNAL_SERVER_ERROR, OBRIErrorType.RCS_CONSENT_RESPONSE_FAILURE, "Internal Server Error", null, null);
         }
     }
 
     private JWTClaimsSet generateJWTResponse(
             boolean decision, ConsentClientDecisionRequest consentClientDecisionRequest
-    ) throws ExceptionClient {
-        try {
-            JWTClaimsSet jwtClaimsSet = JWTClaimsSet.parse(consentClientDecisionRequest.getJwtClaimsSet().toJSONObject());
-            return new JWTClaimsSet.Builder(jwtClaimsSet)
-                    .claim("decision", decision)
-                    .claim("scopes", consentClientDecisionRequest.getScopes().toArray())
-                    .expirationTime(DateTime.now().plusMinutes(5).toDate())
-                    .issuer(rcsJwtIssuer)
-                    .audience(jwtClaimsSet.getIssuer())
-                    .build();
-        } catch (ParseException exception) {
-            log.error("generateConsentResponse(decision, consentDecision) Could not parse the consentJwt from consent decision object.", exception);
-            throw new ExceptionClient(
-                    ErrorClient.builder()
-                            .errorType(JWT_INVALID)
-                            .build(),
-                    String.format(JWT_INVALID.getDescription(), exception.getMessage()),
-                    exception
-            );
-        }
+    ) {
+        // The builder copies the request claims, so the already parsed claims set can be used as the template
+        JWTClaimsSet jwtClaimsSet = consentClientDecisionRequest.getJwtClaimsSet();
+        return new JWTClaimsSet.Builder(jwtClaimsSet)
+                .claim("decision", decision)
+                .claim("scopes", consentClientDecisionRequest.getScopes().toArray())
+                .expirationTime(DateTime.now().plusMinutes(5).toDate())
+                .issuer(rcsJwtIssuer)
+                .audience(jwtClaimsSet.getIssuer())
+                .build();
     }
 }
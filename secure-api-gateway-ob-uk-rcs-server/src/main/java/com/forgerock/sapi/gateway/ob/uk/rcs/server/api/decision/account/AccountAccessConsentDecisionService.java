@@ -31,10 +31,10 @@ import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.account.Account
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 @Component
-@DependsOn({"internalConsentServices"})
+@DependsOn({"consentServices"})
 public class AccountAccessConsentDecisionService extends BaseConsentDecisionService<AccountAccessConsentEntity, AccountAccessAuthoriseConsentArgs> {
 
-    public AccountAccessConsentDecisionService(@Qualifier("internalAccountAccessConsentService") AccountAccessConsentService accountAccessConsentService) {
+    public AccountAccessConsentDecisionService(@Qualifier("accountAccessConsentService") AccountAccessConsentService accountAccessConsentService) {
         super(IntentType.ACCOUNT_ACCESS_CONSENT, accountAccessConsentService);
     }
 
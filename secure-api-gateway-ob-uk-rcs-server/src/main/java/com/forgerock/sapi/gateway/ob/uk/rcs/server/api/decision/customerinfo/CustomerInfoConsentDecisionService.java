@@ -27,10 +27,10 @@ import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.customerinfo.Cu
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 @Component
-@DependsOn({"internalConsentServices"})
+@DependsOn({"consentServices"})
 public class CustomerInfoConsentDecisionService extends BaseConsentDecisionService<CustomerInfoConsentEntity, CustomerInfoAuthoriseConsentArgs> {
 
-    public CustomerInfoConsentDecisionService(@Qualifier("internalCustomerInfoConsentService")CustomerInfoConsentService customerInfoConsentService) {
+    public CustomerInfoConsentDecisionService(@Qualifier("customerInfoConsentService")CustomerInfoConsentService customerInfoConsentService) {
         super(IntentType.CUSTOMER_INFO_CONSENT, customerInfoConsentService);
     }
 
@@ -29,9 +29,9 @@ import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.funds.FundsConf
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 @Component
-@DependsOn({"internalConsentServices"})
+@DependsOn({"consentServices"})
 public class FundsConfirmationConsentDecisionService extends BaseConsentDecisionService<FundsConfirmationConsentEntity, FundsConfirmationAuthoriseConsentArgs> {
-    public FundsConfirmationConsentDecisionService(@Qualifier("internalFundsConfirmationConsentService") FundsConfirmationConsentService consentService) {
+    public FundsConfirmationConsentDecisionService(@Qualifier("fundsConfirmationConsentService") FundsConfirmationConsentService consentService) {
         super(IntentType.FUNDS_CONFIRMATION_CONSENT, consentService);
     }
 
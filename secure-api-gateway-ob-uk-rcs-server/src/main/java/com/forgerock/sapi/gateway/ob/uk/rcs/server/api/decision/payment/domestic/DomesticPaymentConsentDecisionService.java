@@ -25,10 +25,10 @@ import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.domesti
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 @Component
-@DependsOn({"internalConsentServices"})
+@DependsOn({"consentServices"})
 public class DomesticPaymentConsentDecisionService extends BasePaymentConsentDecisionService<DomesticPaymentConsentEntity> {
 
-    public DomesticPaymentConsentDecisionService(@Qualifier("internalDomesticPaymentConsentService") DomesticPaymentConsentService consentService) {
+    public DomesticPaymentConsentDecisionService(@Qualifier("domesticPaymentConsentService") DomesticPaymentConsentService consentService) {
         super(IntentType.PAYMENT_DOMESTIC_CONSENT, consentService);
     }
 
@@ -25,11 +25,11 @@ import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.domesti
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 @Component
-@DependsOn({"internalConsentServices"})
+@DependsOn({"consentServices"})
 public class DomesticScheduledPaymentConsentDecisionService extends BasePaymentConsentDecisionService<DomesticScheduledPaymentConsentEntity> {
 
     public DomesticScheduledPaymentConsentDecisionService(
-            @Qualifier("internalDomesticScheduledPaymentConsentService") DomesticScheduledPaymentConsentService consentService) {
+            @Qualifier("domesticScheduledPaymentConsentService") DomesticScheduledPaymentConsentService consentService) {
 
         super(IntentType.PAYMENT_DOMESTIC_SCHEDULED_CONSENT, consentService);
     }
@@ -25,11 +25,11 @@ import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.domesti
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 @Service
-@DependsOn({"internalConsentServices"})
+@DependsOn({"consentServices"})
 public class DomesticStandingOrderConsentDecisionService extends BasePaymentConsentDecisionService<DomesticStandingOrderConsentEntity> {
 
     public DomesticStandingOrderConsentDecisionService(
-            @Qualifier("internalDomesticStandingOrderConsentService") DomesticStandingOrderConsentService consentService) {
+            @Qualifier("domesticStandingOrderConsentService") DomesticStandingOrderConsentService consentService) {
 
         super(IntentType.PAYMENT_DOMESTIC_STANDING_ORDERS_CONSENT, consentService);
     }
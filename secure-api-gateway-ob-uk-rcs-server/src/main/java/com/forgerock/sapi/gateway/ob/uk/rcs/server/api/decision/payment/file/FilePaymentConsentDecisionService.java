@@ -25,11 +25,11 @@ import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.file.Fi
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 @Component
-@DependsOn({"internalConsentServices"})
+@DependsOn({"consentServices"})
 public class FilePaymentConsentDecisionService extends BasePaymentConsentDecisionService<FilePaymentConsentEntity> {
 
     public FilePaymentConsentDecisionService(
-            @Qualifier("internalFilePaymentConsentService") FilePaymentConsentService consentService) {
+            @Qualifier("filePaymentConsentService") FilePaymentConsentService consentService) {
 
         super(IntentType.PAYMENT_FILE_CONSENT, consentService);
     }
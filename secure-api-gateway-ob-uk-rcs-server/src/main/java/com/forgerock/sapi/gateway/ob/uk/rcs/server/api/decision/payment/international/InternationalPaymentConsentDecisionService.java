@@ -25,11 +25,11 @@ import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.interna
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 @Component
-@DependsOn({"internalConsentServices"})
+@DependsOn({"consentServices"})
 public class InternationalPaymentConsentDecisionService extends BasePaymentConsentDecisionService<InternationalPaymentConsentEntity> {
 
     public InternationalPaymentConsentDecisionService(
-            @Qualifier("internalInternationalPaymentConsentService") InternationalPaymentConsentService consentService) {
+            @Qualifier("internationalPaymentConsentService") InternationalPaymentConsentService consentService) {
 
         super(IntentType.PAYMENT_INTERNATIONAL_CONSENT, consentService);
     }
@@ -25,11 +25,11 @@ import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.interna
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 @Component
-@DependsOn({"internalConsentServices"})
+@DependsOn({"consentServices"})
 public class InternationalScheduledPaymentConsentDecisionService extends BasePaymentConsentDecisionService<InternationalScheduledPaymentConsentEntity> {
 
     public InternationalScheduledPaymentConsentDecisionService(
-            @Qualifier("internalInternationalScheduledPaymentConsentService") InternationalScheduledPaymentConsentService consentService) {
+            @Qualifier("internationalScheduledPaymentConsentService") InternationalScheduledPaymentConsentService consentService) {
         super(IntentType.PAYMENT_INTERNATIONAL_SCHEDULED_CONSENT, consentService);
     }
 
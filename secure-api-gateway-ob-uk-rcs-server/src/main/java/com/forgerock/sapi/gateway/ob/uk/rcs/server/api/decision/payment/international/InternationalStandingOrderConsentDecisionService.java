@@ -25,11 +25,11 @@ import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.interna
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 @Component
-@DependsOn({"internalConsentServices"})
+@DependsOn({"consentServices"})
 public class InternationalStandingOrderConsentDecisionService extends BasePaymentConsentDecisionService<InternationalStandingOrderConsentEntity> {
 
     public InternationalStandingOrderConsentDecisionService(
-            @Qualifier("internalInternationalStandingOrderConsentService") InternationalStandingOrderConsentService consentService) {
+            @Qualifier("internationalStandingOrderConsentService") InternationalStandingOrderConsentService consentService) {
 
         super(IntentType.PAYMENT_INTERNATIONAL_STANDING_ORDERS_CONSENT, consentService);
     }
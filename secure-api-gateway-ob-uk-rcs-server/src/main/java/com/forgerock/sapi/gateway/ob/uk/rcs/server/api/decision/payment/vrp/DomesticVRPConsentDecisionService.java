@@ -25,11 +25,11 @@ import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.vrp.Dom
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 @Component
-@DependsOn({"internalConsentServices"})
+@DependsOn({"consentServices"})
 public class DomesticVRPConsentDecisionService extends BasePaymentConsentDecisionService<DomesticVRPConsentEntity> {
 
     public DomesticVRPConsentDecisionService(
-            @Qualifier("internalDomesticVRPConsentService") DomesticVRPConsentService consentService) {
+            @Qualifier("domesticVRPConsentService") DomesticVRPConsentService consentService) {
         super(IntentType.DOMESTIC_VRP_PAYMENT_CONSENT, consentService);
     }
 
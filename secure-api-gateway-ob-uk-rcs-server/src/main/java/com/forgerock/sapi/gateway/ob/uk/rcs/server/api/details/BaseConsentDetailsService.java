@@ -16,23 +16,43 @@
 package com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import com.forgerock.sapi.gateway.ob.uk.rcs.api.dto.consent.details.ConsentDetails;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ExceptionClient;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ApiClient;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ConsentClientDetailsRequest;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.User;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.services.ApiClientServiceClient;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.services.UserServiceClient;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.ConsentDetailsLookupExecutor.Lookup;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.AccountsWithBalance;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.configuration.ApiProviderConfiguration;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.BaseConsentEntity;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException.ErrorType;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentProjection;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentService;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
+/**
+ * Base class for services which build the {@link ConsentDetails} for a particular {@link IntentType}.
+ * <p>
+ * The consent is fetched from the consent store concurrently with the User and ApiClient lookups and, for intent types
+ * which supply a {@link #getAccountsLookup}, the lookup of the PSU's accounts. The intent type specific data (which may
+ * require further lookups based on the consent, such as the debtor account) is added once the consent is available.
+ * The lookups are run by the {@link ConsentDetailsLookupExecutor}, if one has not been configured then the lookups run
+ * sequentially on the calling thread. If any lookup fails or times out, the service stops waiting on the lookups still
+ * outstanding.
+ * <p>
+ * The consent is retrieved using a {@link ConsentProjection}, which should only include the fields of the consent used
+ * by the {@link #addIntentTypeSpecificData} implementation.
+ */
 public abstract class BaseConsentDetailsService<T extends BaseConsentEntity, D extends ConsentDetails> implements ConsentStoreDetailsService {
 
     protected final Logger logger = LoggerFactory.getLogger(getClass());
@@ -41,54 +61,135 @@ public abstract class BaseConsentDetailsService<T extends BaseConsentEntity, D e
 
     protected final ConsentService<T, ?> consentService;
 
+    private final ConsentProjection consentProjection;
+
     private final Supplier<D> consentDetailsObjSupplier;
     private final ApiProviderConfiguration apiProviderConfiguration;
     private final ApiClientServiceClient apiClientService;
 
+    private ConsentDetailsLookupExecutor lookupExecutor = ConsentDetailsLookupExecutor.callerRuns();
+
+    private UserServiceClient userServiceClient;
+
     public BaseConsentDetailsService(IntentType supportedIntentType, Supplier<D> consentDetailsObjSupplier, ConsentService<T, ?> consentService,
-                                     ApiProviderConfiguration apiProviderConfiguration, ApiClientServiceClient apiClientService) {
+                                     ConsentProjection consentProjection, ApiProviderConfiguration apiProviderConfiguration,
+                                     ApiClientServiceClient apiClientService) {
         this.supportedIntentType = Objects.requireNonNull(supportedIntentType, "supportedIntentType must be provided");
         this.consentDetailsObjSupplier = Objects.requireNonNull(consentDetailsObjSupplier, "consentDetailsObjSupplier must be provided");
         this.consentService = Objects.requireNonNull(consentService, "consentService must be provided");
+        this.consentProjection = Objects.requireNonNull(consentProjection, "consentProjection must be provided");
         this.apiProviderConfiguration = Objects.requireNonNull(apiProviderConfiguration, "apiProviderConfiguration must be provided");
         this.apiClientService = Objects.requireNonNull(apiClientService, "apiClientService must be provided");
     }
 
+    @Autowired(required = false)
+    public void setLookupExecutor(ConsentDetailsLookupExecutor lookupExecutor) {
+        this.lookupExecutor = Objects.requireNonNull(lookupExecutor, "lookupExecutor must be provided");
+    }
+
+    @Autowired
+    public void setUserServiceClient(UserServiceClient userServiceClient) {
+        this.userServiceClient = Objects.requireNonNull(userServiceClient, "userServiceClient must be provided");
+    }
+
     @Override
     public ConsentDetails getDetailsFromConsentStore(ConsentClientDetailsRequest consentClientRequest) throws ExceptionClient {
-        final T consent = getConsent(consentClientRequest);
+        return getVersionedDetailsFromConsentStore(consentClientRequest).consentDetails();
+    }
 
-        if (!consentService.canTransitionToAuthorisedState(consent)) {
-            throw new ConsentStoreException(ErrorType.CONSENT_REAUTHENTICATION_NOT_SUPPORTED, consent.getId());
+    @Override
+    public VersionedConsentDetails getVersionedDetailsFromConsentStore(ConsentClientDetailsRequest consentClientRequest) throws ExceptionClient {
+        final CompletableFuture<User> userFuture = consentClientRequest.getUser() != null
+                ? CompletableFuture.completedFuture(consentClientRequest.getUser())
+                : lookupExecutor.submit(supportedIntentType, "user", () -> userServiceClient.getUser(getUserId(consentClientRequest)));
+        final CompletableFuture<T> consentFuture = lookupExecutor.submit(supportedIntentType, "consent",
+                () -> getAuthorisableConsent(consentClientRequest.getIntentId(), consentClientRequest.getClientId(), consentProjection));
+        final CompletableFuture<ApiClient> apiClientFuture = lookupExecutor.submit(supportedIntentType, "apiClient",
+                () -> apiClientService.getApiClient(consentClientRequest.getClientId()));
+        final Lookup<AccountsWithBalance> accountsLookup = getAccountsLookup(consentClientRequest);
+        final CompletableFuture<AccountsWithBalance> accountsFuture = accountsLookup != null
+                ? lookupExecutor.submit(supportedIntentType, "accounts", accountsLookup) : null;
+        try {
+            consentClientRequest.setUser(lookupExecutor.join(userFuture, consentClientRequest));
+            final T consent = lookupExecutor.join(consentFuture, consentClientRequest);
+            final ApiClient apiClient = lookupExecutor.join(apiClientFuture, consentClientRequest);
+            final AccountsWithBalance accounts = accountsFuture != null
+                    ? lookupExecutor.join(accountsFuture, consentClientRequest) : null;
+
+            final D consentDetails = consentDetailsObjSupplier.get();
+            populateCommonConsentDetailsFields(consentDetails, consentClientRequest, apiClient);
+            lookupExecutor.time(supportedIntentType, "intentTypeSpecificData", () -> {
+                addIntentTypeSpecificData(consentDetails, consent, consentClientRequest, accounts);
+                return consentDetails;
+            });
+            return new VersionedConsentDetails(consentDetails, consent.getEntityVersion());
+        } finally {
+            // No-op for the lookups which have completed, otherwise stops waiting on results that will not be used
+            userFuture.cancel(true);
+            consentFuture.cancel(true);
+            apiClientFuture.cancel(true);
+            if (accountsFuture != null) {
+                accountsFuture.cancel(true);
+            }
         }
+    }
 
-        final D consentDetails = consentDetailsObjSupplier.get();
-        populateCommonConsentDetailsFields(consentDetails, consentClientRequest);
-        addIntentTypeSpecificData(consentDetails, consent, consentClientRequest);
+    /**
+     * Returns the lookup of the PSU's accounts for intent types which always display them, the lookup is run
+     * concurrently with the consent, User and ApiClient lookups and its result is passed to
+     * {@link #addIntentTypeSpecificData}.
+     *
+     * @return the lookup, or null (the default) if the accounts depend on the consent, such as the debtor account
+     */
+    protected Lookup<AccountsWithBalance> getAccountsLookup(ConsentClientDetailsRequest consentClientDetailsRequest) {
+        return null;
+    }
 
-        return consentDetails;
+    /**
+     * Adds the data specific to the IntentType to the consentDetails, only the fields of the consent included in the
+     * {@link ConsentProjection} supplied on construction are populated.
+     *
+     * @param accounts the PSU's accounts returned by the {@link #getAccountsLookup} lookup, or null if the
+     *                 implementation does not supply one
+     */
+    protected abstract void addIntentTypeSpecificData(D consentDetails, T consent, ConsentClientDetailsRequest consentClientDetailsRequest,
+                                                      AccountsWithBalance accounts);
+
+    /**
+     * The id of the PSU, the User may not have been fetched yet so falls back to the username the consent request was
+     * issued for, which is the PSU's id.
+     */
+    protected static String getUserId(ConsentClientDetailsRequest consentClientDetailsRequest) {
+        final User user = consentClientDetailsRequest.getUser();
+        return user != null ? user.getId() : consentClientDetailsRequest.getConsentRequestContext().getUsername();
     }
 
+    @Override
+    public int getAuthorisableConsentVersion(String intentId, String clientId) {
+        return getAuthorisableConsent(intentId, clientId, ConsentProjection.VERSION).getEntityVersion();
+    }
 
-    protected abstract void addIntentTypeSpecificData(D consentDetails, T consent, ConsentClientDetailsRequest consentClientDetailsRequest);
+    private T getAuthorisableConsent(String intentId, String clientId, ConsentProjection projection) {
+        final T consent = getConsent(intentId, clientId, projection);
+        if (!consentService.canTransitionToAuthorisedState(consent)) {
+            throw new ConsentStoreException(ErrorType.CONSENT_REAUTHENTICATION_NOT_SUPPORTED, consent.getId());
+        }
+        return consent;
+    }
 
-    private T getConsent(ConsentClientDetailsRequest consentClientRequest) {
-        final String clientId = consentClientRequest.getClientId();
-        final String intentId = consentClientRequest.getIntentId();
+    private T getConsent(String intentId, String clientId, ConsentProjection projection) {
         logger.info("Fetching Data from RCS Consent Service - consentId: {}, clientId: {}", intentId, clientId);
-        final T consent = consentService.getConsent(intentId, clientId);
+        final T consent = consentService.getConsent(intentId, clientId, projection);
         logger.info("Got consent: {}", consent);
         return consent;
     }
 
-    private void populateCommonConsentDetailsFields(ConsentDetails details, ConsentClientDetailsRequest consentClientRequest) throws ExceptionClient {
+    private void populateCommonConsentDetailsFields(ConsentDetails details, ConsentClientDetailsRequest consentClientRequest, ApiClient apiClient) {
         details.setConsentId(consentClientRequest.getIntentId());
         details.setUsername(consentClientRequest.getUser().getUserName());
         details.setUserId(consentClientRequest.getUser().getId());
         details.setClientId(consentClientRequest.getClientId());
         details.setServiceProviderName(apiProviderConfiguration.getName());
-
-        final ApiClient apiClient = apiClientService.getApiClient(consentClientRequest.getClientId());
         details.setLogo(apiClient.getLogoUri());
         details.setClientName(apiClient.getName());
     }
@@ -18,73 +18,82 @@ package com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details;
 import static com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ErrorType.INVALID_REQUEST;
 
 import java.util.Objects;
+import java.util.Optional;
 
+import org.joda.time.DateTime;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.forgerock.sapi.gateway.ob.uk.common.error.OBRIErrorType;
 import com.forgerock.sapi.gateway.ob.uk.rcs.api.ConsentDetailsApi;
 import com.forgerock.sapi.gateway.ob.uk.rcs.api.dto.consent.details.ConsentDetails;
-import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.Constants;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ErrorType;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ExceptionClient;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ConsentClientDetailsRequest;
-import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.User;
-import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.services.UserServiceClient;
-import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.utils.jwt.JwtUtil;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ConsentRequestContext;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.exception.InvalidConsentException;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
-import com.forgerock.sapi.gateway.uk.common.shared.claim.Claims;
-import com.nimbusds.jwt.SignedJWT;
 
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Builds the {@link ConsentDetails} response for a consent request.
+ * <p>
+ * If a {@link ConsentDetailsResponseCache} is configured, then a cached response which is still fresh is returned
+ * without retrieving the user, ApiClient or accounts. Access to the consent and its entityVersion are checked before a
+ * cached response is used. Responses are cached against the entityVersion of the consent they were built from, so a
+ * miss reads the consent once.
+ */
 @Controller
 @Slf4j
 @ComponentScan(basePackages = {"com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.services", "com.forgerock.sapi.gateway.ob.uk.rcs.api"})
 public class ConsentDetailsApiController implements ConsentDetailsApi {
 
-    private final UserServiceClient userServiceClient;
     private final ConsentStoreDetailsServiceRegistry consentStoreDetailsServiceRegistry;
+    private final ConsentDetailsResponseCache responseCache;
 
-    public ConsentDetailsApiController(UserServiceClient userServiceClient,
-                                       ConsentStoreDetailsServiceRegistry consentStoreDetailsServiceRegistry) {
-        this.userServiceClient = userServiceClient;
+    public ConsentDetailsApiController(ConsentStoreDetailsServiceRegistry consentStoreDetailsServiceRegistry,
+                                       ObjectProvider<ConsentDetailsResponseCache> responseCache) {
         this.consentStoreDetailsServiceRegistry = consentStoreDetailsServiceRegistry;
+        this.responseCache = responseCache.getIfAvailable();
     }
 
     @Override
     public ResponseEntity<ConsentDetails> getConsentDetails(String consentRequestJws) throws InvalidConsentException {
+        ConsentRequestContext consentRequestContext = null;
         String intentId = null;
         String apiClientId = null;
         try {
-            SignedJWT signedJWT = JwtUtil.getSignedJWT(consentRequestJws);
-            Claims claims = JwtUtil.getClaims(signedJWT);
+            consentRequestContext = ConsentRequestContext.parse(consentRequestJws);
 
-            if (!claims.getIdTokenClaims().containsKey(Constants.Claims.INTENT_ID)) {
+            if (!consentRequestContext.hasIntentId()) {
                 log.error("(ConsentDetailsApiController#getConsentDetails) Missing Intent ID");
-                throw new InvalidConsentException(consentRequestJws, INVALID_REQUEST,
+                throw new InvalidConsentException(consentRequestContext, INVALID_REQUEST,
                         OBRIErrorType.RCS_CONSENT_REQUEST_INVALID_CONSENT,
                         "Missing intent Id", null, null);
             }
 
-            intentId = JwtUtil.getIdTokenClaim(signedJWT, Constants.Claims.INTENT_ID);
+            intentId = consentRequestContext.getIntentId();
             log.debug("Intent Id from the requested claims '{}'", intentId);
 
-            ConsentClientDetailsRequest consentClientRequest = buildConsentClientRequest(signedJWT);
-            log.debug("Intent type: '{}' with ID '{}'", IntentType.identify(intentId), intentId);
+            final IntentType intentType = IntentType.identify(intentId);
+            ConsentClientDetailsRequest consentClientRequest = buildConsentClientRequest(consentRequestContext);
+            log.debug("Intent type: '{}' with ID '{}'", intentType, intentId);
 
             apiClientId = consentClientRequest.getClientId();
 
-            IntentType intentType = IntentType.identify(intentId);
             if (Objects.nonNull(intentType)) {
                 final ConsentDetails details;
-                if (consentStoreDetailsServiceRegistry.isIntentTypeSupported(intentType)) {
-                    details = consentStoreDetailsServiceRegistry.getDetailsFromConsentStore(intentType, consentClientRequest);
-                } else {
+                if (!consentStoreDetailsServiceRegistry.isIntentTypeSupported(intentType)) {
                     throw new IllegalStateException(intentType + " not supported");
+                } else if (responseCache != null) {
+                    details = getDetailsUsingResponseCache(intentType, consentClientRequest);
+                } else {
+                    details = consentStoreDetailsServiceRegistry.getDetailsFromConsentStore(intentType, consentClientRequest);
                 }
                 return ResponseEntity.ok(details);
             } else {
@@ -95,16 +104,40 @@ public class ConsentDetailsApiController implements ConsentDetailsApi {
         } catch (ExceptionClient e) {
             String errorMessage = String.format("%s", e.getMessage());
             log.error(errorMessage);
-            throw new InvalidConsentException(consentRequestJws, e.getErrorClient().getErrorType(),
+            throw InvalidConsentException.of(consentRequestContext, consentRequestJws, e.getErrorClient().getErrorType(),
                     OBRIErrorType.REQUEST_BINDING_FAILED, errorMessage,
                     e.getErrorClient().getClientId(),
                     e.getErrorClient().getIntentId());
         } catch (ConsentStoreException cse) {
-            throw buildInvalidConsentException(consentRequestJws, intentId, apiClientId, cse);
+            throw buildInvalidConsentException(consentRequestContext, intentId, apiClientId, cse);
+        }
+    }
+
+    private ConsentDetails getDetailsUsingResponseCache(IntentType intentType, ConsentClientDetailsRequest consentClientRequest) throws ExceptionClient {
+        final String intentId = consentClientRequest.getIntentId();
+        final String apiClientId = consentClientRequest.getClientId();
+        final String userId = consentClientRequest.getConsentRequestContext().getUsername();
+        final Optional<ConsentDetails> cachedResponse = responseCache.get(intentId, userId, apiClientId,
+                () -> consentStoreDetailsServiceRegistry.getAuthorisableConsentVersion(intentType, intentId, apiClientId));
+        if (cachedResponse.isPresent()) {
+            log.debug("Using cached ConsentDetails for intent Id '{}'", intentId);
+            return cachedResponse.get();
+        }
+
+        final VersionedConsentDetails versionedDetails = consentStoreDetailsServiceRegistry.getVersionedDetailsFromConsentStore(
+                intentType, consentClientRequest);
+        try {
+            return responseCache.put(intentId, userId, apiClientId, versionedDetails.consentVersion(),
+                    versionedDetails.consentDetails(), DateTime.now());
+        } catch (JsonProcessingException e) {
+            final String errorMessage = "Failed to serialise ConsentDetails response";
+            log.error(errorMessage, e);
+            throw new InvalidConsentException(consentClientRequest.getConsentRequestContext(), ErrorType.INTERNAL_SERVER_ERROR,
+                    OBRIErrorType.RCS_CONSENT_RESPONSE_FAILURE, errorMessage, apiClientId, intentId);
         }
     }
 
-    private static InvalidConsentException buildInvalidConsentException(String consentRequestJws, String intentId, String apiClientId, ConsentStoreException cse) {
+    private static InvalidConsentException buildInvalidConsentException(ConsentRequestContext consentRequestContext, String intentId, String apiClientId, ConsentStoreException cse) {
         log.error("Failed to get Consent Details due to ConsentStoreException", cse);
         final ErrorType errorType;
         final String errorMessage;
@@ -130,24 +163,22 @@ public class ConsentDetailsApiController implements ConsentDetailsApi {
                 errorMessage = "Server Error";
             }
         }
-        return new InvalidConsentException(consentRequestJws, errorType, OBRIErrorType.REQUEST_BINDING_FAILED,
+        return new InvalidConsentException(consentRequestContext, errorType, OBRIErrorType.REQUEST_BINDING_FAILED,
                                            errorMessage, apiClientId, intentId);
     }
 
-    private ConsentClientDetailsRequest buildConsentClientRequest(SignedJWT signedJWT) throws ExceptionClient {
-        String intentId = JwtUtil.getIdTokenClaim(signedJWT, Constants.Claims.INTENT_ID);
-        log.debug("Intent Id from the requested claims '{}'", intentId);
-        String clientId = JwtUtil.getClaimValue(signedJWT, Constants.Claims.CLIENT_ID);
+    /**
+     * Builds the request without the User, the User is retrieved by the {@link ConsentStoreDetailsService} concurrently
+     * with the other lookups.
+     */
+    private ConsentClientDetailsRequest buildConsentClientRequest(ConsentRequestContext consentRequestContext) {
+        String clientId = consentRequestContext.getClientId();
         log.debug("Client Id from the JWT claims '{}'", clientId);
-        String userId = JwtUtil.getClaimValue(signedJWT, Constants.Claims.USER_NAME);
-        log.debug("User Id from the JWT claims '{}'", userId);
-        log.debug("Retrieve the user details for user Id '{}'", userId);
-        User user = userServiceClient.getUser(userId);
+        log.debug("User Id from the JWT claims '{}'", consentRequestContext.getUsername());
 
         return ConsentClientDetailsRequest.builder()
-                .intentId(intentId)
-                .consentRequestJwt(signedJWT)
-                .user(user)
+                .intentId(consentRequestContext.getIntentId())
+                .consentRequestContext(consentRequestContext)
                 .clientId(clientId)
                 .build();
     }
@@ -0,0 +1,184 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.MDC;
+
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ErrorType;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ExceptionClient;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ConsentClientDetailsRequest;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
+import com.forgerock.sapi.gateway.uk.common.shared.fapi.FapiInteractionIdContext;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Runs the remote lookups required to build a {@link com.forgerock.sapi.gateway.ob.uk.rcs.api.dto.consent.details.ConsentDetails}
+ * response, allowing independent lookups to be executed concurrently.
+ * <p>
+ * Lookups submitted to the executor run with the MDC and x-fapi-interaction-id of the submitting thread, so that log
+ * lines and outbound requests can be correlated with the inbound request.
+ * <p>
+ * The duration of each lookup is recorded in the {@value #STAGE_TIMER_NAME} timer, tagged with the stage name and the
+ * intent type, this allows the backend dominating the response time to be identified.
+ */
+public class ConsentDetailsLookupExecutor {
+
+    public static final String STAGE_TIMER_NAME = "rcs.consent.details.stage";
+
+    private final Executor executor;
+    private final MeterRegistry meterRegistry;
+    private final Duration lookupTimeout;
+
+    /**
+     * @param executor      the executor to run the lookups on, this should be bounded
+     * @param meterRegistry the registry to record the stage timings in, may be null in which case no timings are recorded
+     * @param lookupTimeout the maximum time to wait for a lookup to complete
+     */
+    public ConsentDetailsLookupExecutor(Executor executor, MeterRegistry meterRegistry, Duration lookupTimeout) {
+        this.executor = Objects.requireNonNull(executor, "executor must be provided");
+        this.meterRegistry = meterRegistry;
+        this.lookupTimeout = Objects.requireNonNull(lookupTimeout, "lookupTimeout must be provided");
+    }
+
+    /**
+     * @return executor which runs the lookups on the calling thread and does not record any timings, suitable for
+     * use when no executor has been configured (such as in unit tests)
+     */
+    public static ConsentDetailsLookupExecutor callerRuns() {
+        return new ConsentDetailsLookupExecutor(Runnable::run, null, Duration.ofMinutes(1));
+    }
+
+    /**
+     * A remote lookup which may fail with an {@link ExceptionClient}
+     */
+    @FunctionalInterface
+    public interface Lookup<V> {
+        V get() throws ExceptionClient;
+    }
+
+    /**
+     * Submits a lookup to run asynchronously
+     *
+     * @param intentType the intent type of the consent the details are being built for, may be null if it is unknown
+     * @param stage      name of the lookup, used to tag the timing metric
+     * @param lookup     the lookup to run
+     * @return future which completes with the result of the lookup, or exceptionally with the exception raised by it
+     */
+    public <V> CompletableFuture<V> submit(IntentType intentType, String stage, Lookup<V> lookup) {
+        final Map<String, String> callerMdc = MDC.getCopyOfContextMap();
+        final Optional<String> callerFapiInteractionId = FapiInteractionIdContext.getFapiInteractionId();
+        return CompletableFuture.supplyAsync(() -> {
+            final Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            final Optional<String> previousFapiInteractionId = FapiInteractionIdContext.getFapiInteractionId();
+            setContext(callerMdc, callerFapiInteractionId);
+            try {
+                return time(intentType, stage, lookup);
+            } catch (ExceptionClient e) {
+                throw new CompletionException(e);
+            } finally {
+                setContext(previousMdc, previousFapiInteractionId);
+            }
+        }, executor);
+    }
+
+    /**
+     * Runs a lookup on the calling thread, recording its duration
+     */
+    public <V> V time(IntentType intentType, String stage, Lookup<V> lookup) throws ExceptionClient {
+        if (meterRegistry == null) {
+            return lookup.get();
+        }
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            final V result = lookup.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(Timer.builder(STAGE_TIMER_NAME)
+                             .description("Time taken by each lookup when building the ConsentDetails")
+                             .tag("stage", stage)
+                             .tag("intentType", intentType != null ? intentType.name() : "UNKNOWN")
+                             .tag("outcome", outcome)
+                             .publishPercentileHistogram()
+                             .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Waits for a lookup to complete, rethrowing the exception raised by the lookup if it failed.
+     *
+     * @param future               the future returned by {@link #submit(IntentType, String, Lookup)}
+     * @param consentClientRequest the request the lookup was made for, used when reporting a timeout
+     * @return the result of the lookup
+     * @throws ExceptionClient if the lookup raised an ExceptionClient, or the lookup did not complete within the
+     *                         configured timeout
+     */
+    public <V> V join(CompletableFuture<V> future, ConsentClientDetailsRequest consentClientRequest) throws ExceptionClient {
+        try {
+            return future.get(lookupTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | CompletionException e) {
+            throw unwrap(e.getCause());
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ExceptionClient(consentClientRequest, ErrorType.TEMPORARILY_UNAVAILABLE,
+                    "Timed out waiting for consent details lookup to complete", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExceptionClient(consentClientRequest, ErrorType.INTERNAL_SERVER_ERROR,
+                    "Interrupted waiting for consent details lookup to complete", e);
+        }
+    }
+
+    private static ExceptionClient unwrap(Throwable cause) {
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            return unwrap(cause.getCause());
+        }
+        if (cause instanceof ExceptionClient exceptionClient) {
+            return exceptionClient;
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        throw new IllegalStateException("Unexpected exception raised by consent details lookup", cause);
+    }
+
+    private static void setContext(Map<String, String> mdc, Optional<String> fapiInteractionId) {
+        if (mdc != null) {
+            MDC.setContextMap(mdc);
+        } else {
+            MDC.clear();
+        }
+        fapiInteractionId.ifPresentOrElse(FapiInteractionIdContext::setFapiInteractionId,
+                                          FapiInteractionIdContext::removeFapiInteractionId);
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.IntSupplier;
+
+import org.joda.time.DateTime;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.forgerock.sapi.gateway.ob.uk.rcs.api.dto.consent.details.ConsentDetails;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * In-memory cache of serialised {@link ConsentDetails} responses, keyed by the intentId and the userId the details were
+ * built for.
+ * <p>
+ * A PSU reloading the consent page would otherwise cause the consent, ApiClient, user and accounts to be retrieved
+ * and the response to be reserialised on every load. Each entry records the entityVersion of the consent and the
+ * clientId it was built from, an entry is only used if the consent still has the same entityVersion, so any change to
+ * the consent (such as its status) invalidates the response. The current entityVersion is only read when there is an
+ * entry for the consent and user, so a miss costs no more than building the response.
+ * <p>
+ * Entries expire once the timeToLive has elapsed since they were created, or once the accounts they contain were
+ * retrieved more than maxAccountsAge ago, this bounds how stale the ApiClient data and balances shown are. The User is
+ * not retrieved again for a hit: the username comes from the consent request JWT which AM issued for the authenticated
+ * PSU, and the consent decision is made using that username without retrieving the User either, so a User deleted in
+ * the meantime can at most be shown the same details again until the entry expires.
+ * <p>
+ * The number of entries is bounded by maxEntries. Cache metrics (hits, misses, evictions) are published to the
+ * {@link MeterRegistry} if one is supplied, entries found for a different entityVersion or clientId count as hits in
+ * those metrics and are also recorded in the {@value #STALE_COUNTER_NAME} counter.
+ */
+public class ConsentDetailsResponseCache {
+
+    static final String CACHE_NAME = "rcs.consent.details.responses";
+
+    public static final String STALE_COUNTER_NAME = "rcs.consent.details.responses.stale";
+
+    /**
+     * @param clientId              the clientId the response was built for
+     * @param consentVersion        the entityVersion of the consent when the response was built
+     * @param response              the serialised response, shared by all hits
+     * @param expireAfterWriteNanos the time after which the response expires
+     */
+    record CachedResponse(String clientId, int consentVersion, SerialisedConsentDetails response, long expireAfterWriteNanos) {
+    }
+
+    private final Duration timeToLive;
+    private final Duration maxAccountsAge;
+    private final Cache<String, CachedResponse> responses;
+
+    /**
+     * Writes the ConsentDetails in the same way as the message converter used for the HTTP responses
+     */
+    private final ObjectWriter consentDetailsWriter;
+
+    private final Counter staleCounter;
+
+    /**
+     * @param timeToLive     the maximum time a response is cached for
+     * @param maxAccountsAge the maximum age of the accounts in a cached response
+     * @param maxEntries     the maximum number of responses cached
+     * @param objectMapper   the ObjectMapper used to write the JSON responses
+     * @param meterRegistry  the registry to record the cache metrics in, may be null in which case no metrics are recorded
+     */
+    public ConsentDetailsResponseCache(Duration timeToLive, Duration maxAccountsAge, int maxEntries, ObjectMapper objectMapper,
+                                       MeterRegistry meterRegistry) {
+        this(timeToLive, maxAccountsAge, maxEntries, objectMapper, meterRegistry, Ticker.systemTicker());
+    }
+
+    ConsentDetailsResponseCache(Duration timeToLive, Duration maxAccountsAge, int maxEntries, ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry, Ticker ticker) {
+        if (timeToLive == null || timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("timeToLive must be greater than 0");
+        }
+        if (maxAccountsAge == null || maxAccountsAge.isNegative()) {
+            throw new IllegalArgumentException("maxAccountsAge must not be negative");
+        }
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.timeToLive = timeToLive;
+        this.maxAccountsAge = maxAccountsAge;
+        this.consentDetailsWriter = objectMapper.writerFor(ConsentDetails.class);
+        this.responses = Caffeine.newBuilder()
+                                 .maximumSize(maxEntries)
+                                 .expireAfter(new CachedResponseExpiry())
+                                 .ticker(ticker)
+                                 .recordStats()
+                                 .build();
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, responses, CACHE_NAME);
+            this.staleCounter = Counter.builder(STALE_COUNTER_NAME).register(meterRegistry);
+        } else {
+            this.staleCounter = null;
+        }
+    }
+
+    /**
+     * @param currentConsentVersion supplies the current entityVersion of the consent, this is only called if there is a
+     *                              response cached for the consent and user
+     * @return the cached response, or an empty Optional if there is no response for the consent and user which is
+     *         still fresh and was built for the clientId and current consentVersion
+     */
+    public Optional<ConsentDetails> get(String intentId, String userId, String clientId, IntSupplier currentConsentVersion) {
+        final String cacheKey = cacheKey(intentId, userId);
+        final CachedResponse cachedResponse = responses.getIfPresent(cacheKey);
+        if (cachedResponse == null) {
+            return Optional.empty();
+        }
+        if (!cachedResponse.clientId().equals(clientId) || cachedResponse.consentVersion() != currentConsentVersion.getAsInt()) {
+            responses.asMap().remove(cacheKey, cachedResponse);
+            if (staleCounter != null) {
+                staleCounter.increment();
+            }
+            return Optional.empty();
+        }
+        return Optional.of(cachedResponse.response());
+    }
+
+    /**
+     * Serialises the consentDetails and caches the response, replacing any response previously cached for the consent
+     * and user.
+     *
+     * @param consentVersion the entityVersion of the consent the consentDetails were built from
+     * @return the serialised response
+     * @throws JsonProcessingException if the consentDetails cannot be serialised
+     */
+    public ConsentDetails put(String intentId, String userId, String clientId, int consentVersion, ConsentDetails consentDetails,
+                              DateTime currentTime) throws JsonProcessingException {
+        final SerialisedConsentDetails response = new SerialisedConsentDetails(consentDetails.getIntentType(),
+                consentDetailsWriter.writeValueAsBytes(consentDetails));
+        final long expireAfterWriteNanos = getExpireAfterWriteNanos(consentDetails.getAccountsRetrievedAt(), currentTime);
+        if (expireAfterWriteNanos > 0) {
+            responses.put(cacheKey(intentId, userId), new CachedResponse(clientId, consentVersion, response, expireAfterWriteNanos));
+        }
+        return response;
+    }
+
+    private long getExpireAfterWriteNanos(DateTime accountsRetrievedAt, DateTime currentTime) {
+        if (accountsRetrievedAt == null) {
+            return timeToLive.toNanos();
+        }
+        final Duration accountsExpireAfter = Duration.ofMillis(accountsRetrievedAt.plus(maxAccountsAge.toMillis()).getMillis()
+                - currentTime.getMillis());
+        return accountsExpireAfter.compareTo(timeToLive) < 0 ? accountsExpireAfter.toNanos() : timeToLive.toNanos();
+    }
+
+    private static String cacheKey(String intentId, String userId) {
+        return intentId + '\n' + userId;
+    }
+
+    /**
+     * Expires each response after the duration calculated when it was cached, the expiry is not extended by reads.
+     */
+    private static class CachedResponseExpiry implements Expiry<String, CachedResponse> {
+
+        @Override
+        public long expireAfterCreate(String cacheKey, CachedResponse cachedResponse, long currentTime) {
+            return cachedResponse.expireAfterWriteNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String cacheKey, CachedResponse cachedResponse, long currentTime, long currentDuration) {
+            return cachedResponse.expireAfterWriteNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String cacheKey, CachedResponse cachedResponse, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -24,6 +24,19 @@ public interface ConsentStoreDetailsService<D extends ConsentDetails> {
 
     D getDetailsFromConsentStore(ConsentClientDetailsRequest consentClientRequest) throws ExceptionClient;
 
+    /**
+     * Builds the ConsentDetails as {@link #getDetailsFromConsentStore} does, also returning the entityVersion of the
+     * consent they were built from
+     */
+    VersionedConsentDetails getVersionedDetailsFromConsentStore(ConsentClientDetailsRequest consentClientRequest) throws ExceptionClient;
+
+    /**
+     * Checks that the consent can be accessed by the client and authorised, without building the ConsentDetails
+     *
+     * @return the entityVersion of the consent, this changes whenever the consent is modified
+     */
+    int getAuthorisableConsentVersion(String intentId, String clientId);
+
     IntentType getSupportedIntentType();
 
 }
@@ -57,4 +57,18 @@ public class ConsentStoreDetailsServiceRegistry {
         }
         return intentTypeDetailsServices.get(intentType).getDetailsFromConsentStore(consentClientRequest);
     }
+
+    public VersionedConsentDetails getVersionedDetailsFromConsentStore(IntentType intentType, ConsentClientDetailsRequest consentClientRequest) throws ExceptionClient {
+        if (!isIntentTypeSupported(intentType)) {
+            throw new IllegalStateException(intentType + " support not currently implemented in Consent Store module");
+        }
+        return intentTypeDetailsServices.get(intentType).getVersionedDetailsFromConsentStore(consentClientRequest);
+    }
+
+    public int getAuthorisableConsentVersion(IntentType intentType, String intentId, String clientId) {
+        if (!isIntentTypeSupported(intentType)) {
+            throw new IllegalStateException(intentType + " support not currently implemented in Consent Store module");
+        }
+        return intentTypeDetailsServices.get(intentType).getAuthorisableConsentVersion(intentId, clientId);
+    }
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details;
+
+import static java.util.Objects.requireNonNull;
+
+import com.forgerock.sapi.gateway.ob.uk.rcs.api.dto.consent.details.ConsentDetails;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
+
+/**
+ * {@link ConsentDetails} response body which has already been serialised as JSON, the JSON is written as is by the
+ * {@link SerialisedConsentDetailsHttpMessageConverter}.
+ * <p>
+ * This allows responses served from the {@link ConsentDetailsResponseCache} to be returned via the typed
+ * {@link com.forgerock.sapi.gateway.ob.uk.rcs.api.ConsentDetailsApi} without being reserialised. Only the JSON is
+ * held, the ConsentDetails fields of this object are not populated.
+ */
+public class SerialisedConsentDetails extends ConsentDetails {
+
+    private final IntentType intentType;
+
+    private final byte[] json;
+
+    /**
+     * @param intentType the IntentType of the ConsentDetails which were serialised
+     * @param json       the serialised ConsentDetails, must not be modified as it may be shared by many responses
+     */
+    public SerialisedConsentDetails(IntentType intentType, byte[] json) {
+        this.intentType = requireNonNull(intentType, "intentType must be provided");
+        this.json = requireNonNull(json, "json must be provided");
+    }
+
+    @Override
+    public IntentType getIntentType() {
+        return intentType;
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+}
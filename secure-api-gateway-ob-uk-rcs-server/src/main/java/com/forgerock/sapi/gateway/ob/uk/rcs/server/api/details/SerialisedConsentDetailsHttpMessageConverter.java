@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * Writes {@link SerialisedConsentDetails} response bodies, the JSON they hold is copied to the response without being
+ * reserialised.
+ */
+public class SerialisedConsentDetailsHttpMessageConverter extends AbstractHttpMessageConverter<SerialisedConsentDetails> {
+
+    public SerialisedConsentDetailsHttpMessageConverter() {
+        super(StandardCharsets.UTF_8, MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return SerialisedConsentDetails.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected SerialisedConsentDetails readInternal(Class<? extends SerialisedConsentDetails> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("SerialisedConsentDetails cannot be read", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(SerialisedConsentDetails serialisedConsentDetails, MediaType contentType) {
+        return (long) serialisedConsentDetails.getJson().length;
+    }
+
+    @Override
+    protected void writeInternal(SerialisedConsentDetails serialisedConsentDetails, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(serialisedConsentDetails.getJson());
+    }
+}
@@ -24,35 +24,50 @@ import com.forgerock.sapi.gateway.ob.uk.rcs.api.dto.consent.details.AccountsCons
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ConsentClientDetailsRequest;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.services.ApiClientServiceClient;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.BaseConsentDetailsService;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.ConsentDetailsLookupExecutor.Lookup;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.AccountService;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.AccountsWithBalance;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.configuration.ApiProviderConfiguration;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.account.AccountAccessConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentProjection;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentService;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 @Component
-@DependsOn({"internalConsentServices"})
+@DependsOn({"consentServices"})
 public class AccountAccessConsentDetailsService extends BaseConsentDetailsService<AccountAccessConsentEntity, AccountsConsentDetails> {
 
+    private static final ConsentProjection CONSENT_DETAILS_PROJECTION = ConsentProjection.of("requestObj.data");
+
     private final AccountService accountService;
 
-    public AccountAccessConsentDetailsService(@Qualifier("internalAccountAccessConsentService") ConsentService<AccountAccessConsentEntity, ?> consentService,
+    public AccountAccessConsentDetailsService(@Qualifier("accountAccessConsentService") ConsentService<AccountAccessConsentEntity, ?> consentService,
             ApiProviderConfiguration apiProviderConfiguration, ApiClientServiceClient apiClientService, AccountService accountService) {
 
-        super(IntentType.ACCOUNT_ACCESS_CONSENT, AccountsConsentDetails::new, consentService,
+        super(IntentType.ACCOUNT_ACCESS_CONSENT, AccountsConsentDetails::new, consentService, CONSENT_DETAILS_PROJECTION,
                 apiProviderConfiguration, apiClientService);
         this.accountService = accountService;
     }
 
+    /**
+     * The accounts displayed only depend on the PSU, so they are fetched concurrently with the consent
+     */
+    @Override
+    protected Lookup<AccountsWithBalance> getAccountsLookup(ConsentClientDetailsRequest consentClientDetailsRequest) {
+        final String userId = getUserId(consentClientDetailsRequest);
+        return () -> accountService.getAccountsWithBalance(userId);
+    }
+
     @Override
     protected void addIntentTypeSpecificData(AccountsConsentDetails consentDetails, AccountAccessConsentEntity consent,
-                                             ConsentClientDetailsRequest consentClientDetailsRequest) {
+                                             ConsentClientDetailsRequest consentClientDetailsRequest, AccountsWithBalance accounts) {
 
         final FRReadConsentData readData = consent.getRequestObj().getData();
         consentDetails.setPermissions(readData.getPermissions());
         consentDetails.setFromTransaction(readData.getTransactionFromDateTime());
         consentDetails.setToTransaction(readData.getTransactionToDateTime());
         consentDetails.setExpiredDate(readData.getExpirationDateTime());
-        consentDetails.setAccounts(accountService.getAccountsWithBalance(consentDetails.getUserId()));
+        consentDetails.setAccounts(accounts.accounts());
+        consentDetails.setAccountsRetrievedAt(accounts.retrievedAt());
     }
 }
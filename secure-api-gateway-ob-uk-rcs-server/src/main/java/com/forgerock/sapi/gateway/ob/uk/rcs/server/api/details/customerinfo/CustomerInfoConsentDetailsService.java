@@ -20,9 +20,11 @@ import com.forgerock.sapi.gateway.ob.uk.rcs.api.dto.consent.details.CustomerInfo
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ConsentClientDetailsRequest;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.services.ApiClientServiceClient;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.BaseConsentDetailsService;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.AccountsWithBalance;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.CustomerInfoService;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.configuration.ApiProviderConfiguration;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.customerinfo.CustomerInfoConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentProjection;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentService;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 import org.joda.time.LocalDate;
@@ -33,18 +35,20 @@ import org.springframework.stereotype.Component;
 import java.util.Optional;
 
 @Component
-@DependsOn({"internalConsentServices"})
+@DependsOn({"consentServices"})
 public class CustomerInfoConsentDetailsService extends BaseConsentDetailsService<CustomerInfoConsentEntity, CustomerInfoConsentDetails> {
 
+    private static final ConsentProjection CONSENT_DETAILS_PROJECTION = ConsentProjection.of("requestObj.data.permissions");
+
     private final CustomerInfoService customerInfoService;
 
     public CustomerInfoConsentDetailsService(
-            @Qualifier("internalCustomerInfoConsentService") ConsentService<CustomerInfoConsentEntity, ?> consentService,
+            @Qualifier("customerInfoConsentService") ConsentService<CustomerInfoConsentEntity, ?> consentService,
             ApiProviderConfiguration apiProviderConfiguration,
             ApiClientServiceClient apiClientService,
             CustomerInfoService customerInfoService
     ) {
-        super(IntentType.CUSTOMER_INFO_CONSENT, CustomerInfoConsentDetails::new, consentService,
+        super(IntentType.CUSTOMER_INFO_CONSENT, CustomerInfoConsentDetails::new, consentService, CONSENT_DETAILS_PROJECTION,
                 apiProviderConfiguration, apiClientService);
         this.customerInfoService = customerInfoService;
     }
@@ -53,7 +57,8 @@ public class CustomerInfoConsentDetailsService extends BaseConsentDetailsService
     protected void addIntentTypeSpecificData(
             CustomerInfoConsentDetails consentDetails,
             CustomerInfoConsentEntity consent,
-            ConsentClientDetailsRequest consentClientDetailsRequest
+            ConsentClientDetailsRequest consentClientDetailsRequest,
+            AccountsWithBalance accounts
     ) {
         consentDetails.setPermissions(consent.getRequestObj().getData().getPermissions());
         Optional<FRCustomerInfo> customerInfo = customerInfoService.getCustomerInformation(
@@ -15,7 +15,6 @@
  */
 package com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.funds;
 
-import java.util.List;
 import java.util.Objects;
 
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -30,9 +29,11 @@ import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ConsentClientDet
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.services.ApiClientServiceClient;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.BaseConsentDetailsService;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.AccountService;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.AccountsWithBalance;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.configuration.ApiProviderConfiguration;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.funds.FundsConfirmationConsentEntity;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentProjection;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentService;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
@@ -40,13 +41,15 @@ import lombok.extern.slf4j.Slf4j;
 
 @Component
 @Slf4j
-@DependsOn({"internalConsentServices"})
+@DependsOn({"consentServices"})
 public class FundsConfirmationConsentDetailsService extends BaseConsentDetailsService<FundsConfirmationConsentEntity, FundsConfirmationConsentDetails> {
 
+    private static final ConsentProjection CONSENT_DETAILS_PROJECTION = ConsentProjection.of("requestObj.data");
+
     private final AccountService accountService;
 
     public FundsConfirmationConsentDetailsService(
-            @Qualifier("internalFundsConfirmationConsentService")ConsentService<FundsConfirmationConsentEntity, ?> consentService,
+            @Qualifier("fundsConfirmationConsentService")ConsentService<FundsConfirmationConsentEntity, ?> consentService,
             ApiProviderConfiguration apiProviderConfiguration,
             ApiClientServiceClient apiClientService,
             AccountService accountService) {
@@ -54,6 +57,7 @@ public class FundsConfirmationConsentDetailsService extends BaseConsentDetailsSe
                 IntentType.FUNDS_CONFIRMATION_CONSENT,
                 FundsConfirmationConsentDetails::new,
                 consentService,
+                CONSENT_DETAILS_PROJECTION,
                 apiProviderConfiguration,
                 apiClientService
         );
@@ -61,7 +65,8 @@ public class FundsConfirmationConsentDetailsService extends BaseConsentDetailsSe
     }
 
     @Override
-    protected void addIntentTypeSpecificData(FundsConfirmationConsentDetails consentDetails, FundsConfirmationConsentEntity consent, ConsentClientDetailsRequest consentClientDetailsRequest) {
+    protected void addIntentTypeSpecificData(FundsConfirmationConsentDetails consentDetails, FundsConfirmationConsentEntity consent, ConsentClientDetailsRequest consentClientDetailsRequest,
+                                             AccountsWithBalance accounts) {
         final FRFundsConfirmationConsentData readData = consent.getRequestObj().getData();
         final FRAccountIdentifier debtorAccount = readData.getDebtorAccount();
 
@@ -74,12 +79,14 @@ public class FundsConfirmationConsentDetailsService extends BaseConsentDetailsSe
     private void addDebtorAccountDetails(FundsConfirmationConsentDetails consentDetails) {
         final FRAccountIdentifier debtorAccount = consentDetails.getDebtorAccount();
         Objects.requireNonNull(debtorAccount, "The debtor account must be not null to check funds availability.");
-        FRAccountWithBalance accountWithBalance = accountService.getAccountWithBalanceByIdentifiers(
+        final AccountsWithBalance debtorAccounts = accountService.getAccountWithBalanceByIdentifiers(
                 consentDetails.getUserId(), debtorAccount.getIdentification(), debtorAccount.getSchemeName());
 
-        if (Objects.nonNull(accountWithBalance)) {
+        if (!debtorAccounts.accounts().isEmpty()) {
+            final FRAccountWithBalance accountWithBalance = debtorAccounts.accounts().get(0);
             debtorAccount.setAccountId(accountWithBalance.getAccount().getAccountId());
-            consentDetails.setAccounts(List.of(accountWithBalance));
+            consentDetails.setAccounts(debtorAccounts.accounts());
+            consentDetails.setAccountsRetrievedAt(debtorAccounts.retrievedAt());
         } else {
             logger.warn("Failed to set debtorAccount details for consentId: {}, " +
                             "no account found for userId: {}, name:{}, identification: {}, schemeName: {}",
@@ -28,10 +28,12 @@ import com.forgerock.sapi.gateway.ob.uk.rcs.api.dto.consent.details.PaymentsCons
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.services.ApiClientServiceClient;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.BaseConsentDetailsService;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.AccountService;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.AccountsWithBalance;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.configuration.ApiProviderConfiguration;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.BasePaymentConsentEntity;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException.ErrorType;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentProjection;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentService;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 import com.google.common.annotations.VisibleForTesting;
@@ -41,9 +43,11 @@ public abstract class BasePaymentConsentDetailsService<T extends BasePaymentCons
     protected final AccountService accountService;
 
     public BasePaymentConsentDetailsService(IntentType supportedIntentType, Supplier<D> consentDetailsObjSupplier,
-                                            ConsentService<T, ?> consentService, ApiProviderConfiguration apiProviderConfiguration,
+                                            ConsentService<T, ?> consentService, ConsentProjection consentProjection,
+                                            ApiProviderConfiguration apiProviderConfiguration,
                                             ApiClientServiceClient apiClientService, AccountService accountService) {
-        super(supportedIntentType, consentDetailsObjSupplier, consentService, apiProviderConfiguration, apiClientService);
+        super(supportedIntentType, consentDetailsObjSupplier, consentService, consentProjection, apiProviderConfiguration,
+                apiClientService);
         this.accountService = accountService;
     }
 
@@ -66,12 +70,14 @@ public abstract class BasePaymentConsentDetailsService<T extends BasePaymentCons
     protected void addDebtorAccountDetails(D consentDetails) {
         final FRAccountIdentifier debtorAccount = consentDetails.getDebtorAccount();
         if (Objects.nonNull(debtorAccount)) {
-            FRAccountWithBalance accountWithBalance = accountService.getAccountWithBalanceByIdentifiers(
+            final AccountsWithBalance debtorAccounts = accountService.getAccountWithBalanceByIdentifiers(
                     consentDetails.getUserId(), debtorAccount.getIdentification(), debtorAccount.getSchemeName());
 
-            if (Objects.nonNull(accountWithBalance)) {
+            if (!debtorAccounts.accounts().isEmpty()) {
+                final FRAccountWithBalance accountWithBalance = debtorAccounts.accounts().get(0);
                 debtorAccount.setAccountId(accountWithBalance.getAccount().getAccountId());
-                consentDetails.setAccounts(List.of(accountWithBalance));
+                consentDetails.setAccounts(debtorAccounts.accounts());
+                consentDetails.setAccountsRetrievedAt(debtorAccounts.retrievedAt());
             } else {
                 logger.warn("Failed to set debtorAccount details for consentId: {}, " +
                                 "no account found for userId: {}, name:{}, identification: {}, schemeName: {}",
@@ -81,7 +87,9 @@ public abstract class BasePaymentConsentDetailsService<T extends BasePaymentCons
             }
 
         } else {
-            consentDetails.setAccounts(accountService.getAccountsWithBalance(consentDetails.getUserId()));
+            final AccountsWithBalance accounts = accountService.getAccountsWithBalance(consentDetails.getUserId());
+            consentDetails.setAccounts(accounts.accounts());
+            consentDetails.setAccountsRetrievedAt(accounts.retrievedAt());
         }
     }
 }
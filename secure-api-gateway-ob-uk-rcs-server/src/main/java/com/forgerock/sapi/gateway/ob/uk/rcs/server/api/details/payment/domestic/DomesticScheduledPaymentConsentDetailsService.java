@@ -27,27 +27,32 @@ import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ConsentClientDet
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.services.ApiClientServiceClient;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.payment.BasePaymentConsentDetailsService;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.AccountService;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.AccountsWithBalance;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.configuration.ApiProviderConfiguration;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.domestic.DomesticScheduledPaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentProjection;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentService;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 @Component
-@DependsOn({"internalConsentServices"})
+@DependsOn({"consentServices"})
 public class DomesticScheduledPaymentConsentDetailsService extends BasePaymentConsentDetailsService<DomesticScheduledPaymentConsentEntity, DomesticScheduledPaymentConsentDetails> {
 
+    private static final ConsentProjection CONSENT_DETAILS_PROJECTION = ConsentProjection.of("charges", "requestObj.data.initiation");
+
     public DomesticScheduledPaymentConsentDetailsService(
-            @Qualifier("internalDomesticScheduledPaymentConsentService") ConsentService<DomesticScheduledPaymentConsentEntity, ?> consentService,
+            @Qualifier("domesticScheduledPaymentConsentService") ConsentService<DomesticScheduledPaymentConsentEntity, ?> consentService,
             ApiProviderConfiguration apiProviderConfiguration,
             ApiClientServiceClient apiClientService,
             AccountService accountService) {
 
-        super(IntentType.PAYMENT_DOMESTIC_SCHEDULED_CONSENT, DomesticScheduledPaymentConsentDetails::new, consentService,
+        super(IntentType.PAYMENT_DOMESTIC_SCHEDULED_CONSENT, DomesticScheduledPaymentConsentDetails::new, consentService, CONSENT_DETAILS_PROJECTION,
               apiProviderConfiguration, apiClientService, accountService);
     }
 
     @Override
-    protected void addIntentTypeSpecificData(DomesticScheduledPaymentConsentDetails consentDetails, DomesticScheduledPaymentConsentEntity consent, ConsentClientDetailsRequest consentClientDetailsRequest) {
+    protected void addIntentTypeSpecificData(DomesticScheduledPaymentConsentDetails consentDetails, DomesticScheduledPaymentConsentEntity consent, ConsentClientDetailsRequest consentClientDetailsRequest,
+                                             AccountsWithBalance accounts) {
         final FRAmount totalChargeAmount = computeTotalChargeAmount(consent.getCharges());
         consentDetails.setCharges(totalChargeAmount);
 
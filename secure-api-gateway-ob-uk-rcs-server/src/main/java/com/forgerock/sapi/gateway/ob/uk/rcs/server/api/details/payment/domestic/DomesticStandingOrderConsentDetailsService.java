@@ -28,28 +28,33 @@ import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ConsentClientDet
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.services.ApiClientServiceClient;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.payment.BasePaymentConsentDetailsService;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.AccountService;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.AccountsWithBalance;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.configuration.ApiProviderConfiguration;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.domestic.DomesticStandingOrderConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentProjection;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentService;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.forgerock.FRFrequency;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 @Component
-@DependsOn({"internalConsentServices"})
+@DependsOn({"consentServices"})
 public class DomesticStandingOrderConsentDetailsService extends BasePaymentConsentDetailsService<DomesticStandingOrderConsentEntity, DomesticStandingOrderConsentDetails> {
 
+    private static final ConsentProjection CONSENT_DETAILS_PROJECTION = ConsentProjection.of("charges", "requestObj.data.initiation");
+
     public DomesticStandingOrderConsentDetailsService(
-            @Qualifier("internalDomesticStandingOrderConsentService") ConsentService<DomesticStandingOrderConsentEntity, ?> consentService,
+            @Qualifier("domesticStandingOrderConsentService") ConsentService<DomesticStandingOrderConsentEntity, ?> consentService,
             ApiProviderConfiguration apiProviderConfiguration,
             ApiClientServiceClient apiClientService,
             AccountService accountService) {
 
-        super(IntentType.PAYMENT_DOMESTIC_STANDING_ORDERS_CONSENT, DomesticStandingOrderConsentDetails::new, consentService,
+        super(IntentType.PAYMENT_DOMESTIC_STANDING_ORDERS_CONSENT, DomesticStandingOrderConsentDetails::new, consentService, CONSENT_DETAILS_PROJECTION,
               apiProviderConfiguration, apiClientService, accountService);
     }
 
     @Override
-    protected void addIntentTypeSpecificData(DomesticStandingOrderConsentDetails consentDetails, DomesticStandingOrderConsentEntity consent, ConsentClientDetailsRequest consentClientDetailsRequest) {
+    protected void addIntentTypeSpecificData(DomesticStandingOrderConsentDetails consentDetails, DomesticStandingOrderConsentEntity consent, ConsentClientDetailsRequest consentClientDetailsRequest,
+                                             AccountsWithBalance accounts) {
         final FRAmount totalChargeAmount = computeTotalChargeAmount(consent.getCharges());
         consentDetails.setCharges(totalChargeAmount);
 
@@ -27,28 +27,34 @@ import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ConsentClientDet
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.services.ApiClientServiceClient;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.payment.BasePaymentConsentDetailsService;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.AccountService;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.AccountsWithBalance;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.configuration.ApiProviderConfiguration;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.international.InternationalPaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentProjection;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentService;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 @Component
-@DependsOn({"internalConsentServices"})
+@DependsOn({"consentServices"})
 public class InternationalPaymentConsentDetailsService extends BasePaymentConsentDetailsService<InternationalPaymentConsentEntity, InternationalPaymentConsentDetails> {
 
+    private static final ConsentProjection CONSENT_DETAILS_PROJECTION = ConsentProjection.of("charges", "requestObj.data.initiation",
+            "exchangeRateInformation");
+
     public InternationalPaymentConsentDetailsService(
-            @Qualifier("internalInternationalPaymentConsentService") ConsentService<InternationalPaymentConsentEntity, ?> consentService,
+            @Qualifier("internationalPaymentConsentService") ConsentService<InternationalPaymentConsentEntity, ?> consentService,
             ApiProviderConfiguration apiProviderConfiguration,
             ApiClientServiceClient apiClientService,
             AccountService accountService) {
 
-        super(IntentType.PAYMENT_INTERNATIONAL_CONSENT, InternationalPaymentConsentDetails::new, consentService,
+        super(IntentType.PAYMENT_INTERNATIONAL_CONSENT, InternationalPaymentConsentDetails::new, consentService, CONSENT_DETAILS_PROJECTION,
                 apiProviderConfiguration, apiClientService, accountService);
     }
 
     @Override
     protected void addIntentTypeSpecificData(InternationalPaymentConsentDetails consentDetails, InternationalPaymentConsentEntity consent,
-                                             ConsentClientDetailsRequest consentClientDetailsRequest) {
+                                             ConsentClientDetailsRequest consentClientDetailsRequest,
+                                             AccountsWithBalance accounts) {
         final FRAmount totalChargeAmount = computeTotalChargeAmount(consent.getCharges());
         consentDetails.setCharges(totalChargeAmount);
 
@@ -27,28 +27,34 @@ import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ConsentClientDet
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.services.ApiClientServiceClient;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.payment.BasePaymentConsentDetailsService;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.AccountService;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.AccountsWithBalance;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.configuration.ApiProviderConfiguration;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.international.InternationalScheduledPaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentProjection;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentService;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 @Component
-@DependsOn({"internalConsentServices"})
+@DependsOn({"consentServices"})
 public class InternationalScheduledPaymentConsentDetailsService extends BasePaymentConsentDetailsService<InternationalScheduledPaymentConsentEntity, InternationalScheduledPaymentConsentDetails> {
 
+    private static final ConsentProjection CONSENT_DETAILS_PROJECTION = ConsentProjection.of("charges", "requestObj.data.initiation",
+            "exchangeRateInformation");
+
     public InternationalScheduledPaymentConsentDetailsService(
-            @Qualifier("internalInternationalScheduledPaymentConsentService")  ConsentService<InternationalScheduledPaymentConsentEntity, ?> consentService,
+            @Qualifier("internationalScheduledPaymentConsentService")  ConsentService<InternationalScheduledPaymentConsentEntity, ?> consentService,
             ApiProviderConfiguration apiProviderConfiguration,
             ApiClientServiceClient apiClientService,
             AccountService accountService) {
 
-        super(IntentType.PAYMENT_INTERNATIONAL_SCHEDULED_CONSENT, InternationalScheduledPaymentConsentDetails::new, consentService,
+        super(IntentType.PAYMENT_INTERNATIONAL_SCHEDULED_CONSENT, InternationalScheduledPaymentConsentDetails::new, consentService, CONSENT_DETAILS_PROJECTION,
                 apiProviderConfiguration, apiClientService, accountService);
     }
 
     @Override
     protected void addIntentTypeSpecificData(InternationalScheduledPaymentConsentDetails consentDetails, InternationalScheduledPaymentConsentEntity consent,
-                                             ConsentClientDetailsRequest consentClientDetailsRequest) {
+                                             ConsentClientDetailsRequest consentClientDetailsRequest,
+                                             AccountsWithBalance accounts) {
         final FRAmount totalChargeAmount = computeTotalChargeAmount(consent.getCharges());
         consentDetails.setCharges(totalChargeAmount);
 
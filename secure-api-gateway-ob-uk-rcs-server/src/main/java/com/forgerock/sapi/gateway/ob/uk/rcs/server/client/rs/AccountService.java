@@ -19,8 +19,13 @@ import static org.springframework.http.HttpMethod.GET;
 import static org.springframework.web.util.UriComponentsBuilder.fromHttpUrl;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 
+import org.joda.time.DateTime;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -29,11 +34,21 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRAccount;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRAccountWithBalance;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.utils.concurrent.SingleFlight;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.configuration.RsBackofficeConfiguration;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.configuration.RsConfiguration;
 
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Client for the RS backoffice accounts API.
+ * <p>
+ * The accounts with balances of each user are cached for a short configurable ttl, see {@link AccountsWithBalanceCache}.
+ * Lookups of an account by its identifiers are served from the cached accounts of the user, the retrievedAt of the
+ * {@link AccountsWithBalance} returned shows how fresh the balances are. Setting the ttl to zero disables the cache.
+ * <p>
+ * Concurrent cache misses for the same user are coalesced into a single request to the RS, see {@link SingleFlight}.
+ */
 @Service
 @Slf4j
 public class AccountService extends BaseRsClient {
@@ -43,13 +58,22 @@ public class AccountService extends BaseRsClient {
 
     private final RsBackofficeConfiguration rsBackofficeConfiguration;
 
+    private final AccountsWithBalanceCache accountsWithBalanceCache;
+
+    private final SingleFlight<String, AccountsWithBalance> accountsWithBalanceRequests;
+
     public AccountService(
-            RestTemplate restTemplate,
+            @Qualifier("rsBackofficeRestTemplate") RestTemplate restTemplate,
             RsConfiguration rsConfiguration,
-            RsBackofficeConfiguration rsBackofficeConfiguration
+            RsBackofficeConfiguration rsBackofficeConfiguration,
+            @Value("${rs.api.accounts-cache.ttl:10s}") Duration accountsCacheTtl,
+            @Value("${rs.api.accounts-cache.max-users:10000}") int accountsCacheMaxUsers,
+            @Value("${rs.api.accounts-single-flight.max-waiters:100}") int accountsSingleFlightMaxWaiters
     ) {
         super(restTemplate, rsConfiguration);
         this.rsBackofficeConfiguration = rsBackofficeConfiguration;
+        this.accountsWithBalanceCache = new AccountsWithBalanceCache(accountsCacheTtl, accountsCacheMaxUsers);
+        this.accountsWithBalanceRequests = new SingleFlight<>(accountsSingleFlightMaxWaiters);
     }
 
     public List<FRAccount> getAccounts(String userID) {
@@ -70,7 +94,39 @@ public class AccountService extends BaseRsClient {
         return entity.getBody();
     }
 
-    public List<FRAccountWithBalance> getAccountsWithBalance(String userID) {
+    /**
+     * @return the accounts with balances of the user, from the cache if they were retrieved within the ttl
+     */
+    public AccountsWithBalance getAccountsWithBalance(String userID) {
+        final Optional<AccountsWithBalance> cachedAccounts = accountsWithBalanceCache.get(userID);
+        if (cachedAccounts.isPresent()) {
+            log.debug("Using accounts with balance for user ID: {} retrieved at: {}", userID, cachedAccounts.get().retrievedAt());
+            return cachedAccounts.get();
+        }
+        return accountsWithBalanceRequests.execute(userID.toLowerCase(), () -> {
+            // Another request for the user may have completed between the cache lookup and this request starting
+            final Optional<AccountsWithBalance> accountsCachedByOtherRequest = accountsWithBalanceCache.get(userID);
+            if (accountsCachedByOtherRequest.isPresent()) {
+                return accountsCachedByOtherRequest.get();
+            }
+            final AccountsWithBalance accounts = new AccountsWithBalance(fetchAccountsWithBalance(userID), DateTime.now());
+            accountsWithBalanceCache.put(userID, accounts);
+            return accounts;
+        });
+    }
+
+    /**
+     * @return the account of the user which has the identifiers, accounts is empty if the user has no such account
+     */
+    public AccountsWithBalance getAccountWithBalanceByIdentifiers(String userID, String identification, String schemeName) {
+        if (accountsWithBalanceCache.isEnabled()) {
+            return getAccountsWithBalance(userID).filterByIdentifiers(identification, schemeName);
+        }
+        final FRAccountWithBalance account = fetchAccountWithBalanceByIdentifiers(userID, identification, schemeName);
+        return new AccountsWithBalance(account != null ? List.of(account) : List.of(), DateTime.now());
+    }
+
+    private List<FRAccountWithBalance> fetchAccountsWithBalance(String userID) {
         // This is necessary as auth server always uses lowercase user id
         String lowercaseUserId = userID.toLowerCase();
         log.debug("Searching for accounts with balance for user ID: {}", lowercaseUserId);
@@ -86,10 +142,10 @@ public class AccountService extends BaseRsClient {
 
         URI uri = builder.build().encode().toUri();
         ResponseEntity<List<FRAccountWithBalance>> entity = restTemplate.exchange(uri, GET, createRequestEntity(), ACCOUNT_WITH_BALANCE_LIST_TYPE);
-        return entity.getBody();
+        return entity.getBody() != null ? entity.getBody() : List.of();
     }
 
-    public FRAccountWithBalance getAccountWithBalanceByIdentifiers(String userID, String identification, String schemeName) {
+    private FRAccountWithBalance fetchAccountWithBalanceByIdentifiers(String userID, String identification, String schemeName) {
         // This is necessary as auth server always uses lowercase user id
         String lowercaseUserId = userID.toLowerCase();
         log.debug("Searching for accounts with balance for user ID: {}", lowercaseUserId);
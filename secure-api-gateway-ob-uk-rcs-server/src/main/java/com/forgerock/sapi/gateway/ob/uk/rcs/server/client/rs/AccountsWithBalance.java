@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.joda.time.DateTime;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRAccountWithBalance;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.util.AccountIdentifierIndex;
+
+/**
+ * Accounts with balances of a user, as retrieved from the RS backoffice at a point in time.
+ *
+ * @param accounts        the accounts, must not be modified as the instance may be shared via the {@link AccountsWithBalanceCache}
+ * @param retrievedAt     the time at which the accounts were retrieved, bounds how stale the balances are
+ * @param identifierIndex index of the accounts by their identifiers, built once when the accounts are retrieved so that
+ *                        it is shared by all lookups made against the same (possibly cached) accounts
+ */
+public record AccountsWithBalance(List<FRAccountWithBalance> accounts, DateTime retrievedAt,
+                                  AccountIdentifierIndex identifierIndex) {
+
+    public AccountsWithBalance {
+        accounts = List.copyOf(requireNonNull(accounts, "accounts must be provided"));
+        requireNonNull(retrievedAt, "retrievedAt must be provided");
+        requireNonNull(identifierIndex, "identifierIndex must be provided");
+    }
+
+    public AccountsWithBalance(List<FRAccountWithBalance> accounts, DateTime retrievedAt) {
+        this(accounts, retrievedAt, AccountIdentifierIndex.of(accounts));
+    }
+
+    /**
+     * @return the first account which has an identifier with the identification and schemeName, or an empty Optional
+     *         if there is no such account
+     */
+    public Optional<FRAccountWithBalance> findByIdentifiers(String identification, String schemeName) {
+        return identifierIndex.findByIdentifiers(identification, schemeName);
+    }
+
+    /**
+     * @return the accounts which have an identifier with the identification and schemeName
+     */
+    public AccountsWithBalance filterByIdentifiers(String identification, String schemeName) {
+        return new AccountsWithBalance(findByIdentifiers(identification, schemeName).stream().toList(), retrievedAt);
+    }
+}
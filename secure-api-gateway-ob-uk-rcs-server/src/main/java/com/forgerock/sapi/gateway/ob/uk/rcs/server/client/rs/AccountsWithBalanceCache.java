@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * In-memory cache of the {@link AccountsWithBalance} of each user, keyed by the lowercase userId.
+ * <p>
+ * A PSU typically reloads the consent page, or moves through several consents, within a few seconds. Caching the
+ * accounts for a short time means that these requests do not each call the RS backoffice. Entries expire once the ttl
+ * has elapsed since they were cached, which is when the accounts were retrieved, so the balances shown are at most ttl
+ * old. The number of users cached is bounded by maxUsers.
+ */
+public class AccountsWithBalanceCache {
+
+    public static final Duration DEFAULT_TTL = Duration.ofSeconds(10);
+    public static final int DEFAULT_MAX_USERS = 10_000;
+
+    private final Duration ttl;
+    private final Cache<String, AccountsWithBalance> accountsByUserId;
+
+    public AccountsWithBalanceCache(Duration ttl, int maxUsers) {
+        this(ttl, maxUsers, Ticker.systemTicker());
+    }
+
+    AccountsWithBalanceCache(Duration ttl, int maxUsers, Ticker ticker) {
+        if (ttl == null || ttl.isNegative()) {
+            throw new IllegalArgumentException("ttl must not be negative");
+        }
+        if (maxUsers <= 0) {
+            throw new IllegalArgumentException("maxUsers must be positive");
+        }
+        this.ttl = ttl;
+        this.accountsByUserId = Caffeine.newBuilder()
+                                        .expireAfterWrite(ttl)
+                                        .maximumSize(maxUsers)
+                                        .ticker(ticker)
+                                        .build();
+    }
+
+    /**
+     * @return whether accounts are cached, a ttl of zero disables the cache
+     */
+    public boolean isEnabled() {
+        return !ttl.isZero();
+    }
+
+    /**
+     * @return the cached accounts of the user, or an empty Optional if they are not cached or the ttl has elapsed
+     */
+    public Optional<AccountsWithBalance> get(String userId) {
+        return Optional.ofNullable(accountsByUserId.getIfPresent(cacheKey(userId)));
+    }
+
+    public void put(String userId, AccountsWithBalance accounts) {
+        if (isEnabled()) {
+            accountsByUserId.put(cacheKey(userId), accounts);
+        }
+    }
+
+    private static String cacheKey(String userId) {
+        return userId.toLowerCase();
+    }
+}
@@ -19,6 +19,7 @@ import com.forgerock.sapi.gateway.ob.uk.common.datamodel.customerinfo.FRCustomer
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.configuration.RsConfiguration;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.configuration.RsResourceApiConfiguration;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
@@ -39,7 +40,7 @@ public class CustomerInfoService extends BaseRsClient {
     private final RsResourceApiConfiguration rsResourceApiConfiguration;
 
     public CustomerInfoService(
-            RestTemplate restTemplate,
+            @Qualifier("rsResourceApiRestTemplate") RestTemplate restTemplate,
             RsConfiguration rsConfiguration,
             RsResourceApiConfiguration rsResourceApiConfiguration
     ) {
@@ -0,0 +1,118 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.server.configuration;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Configuration for the bounded thread pool used to run the ConsentDetails lookups concurrently,
+ * see {@link com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.ConsentDetailsLookupExecutor}
+ */
+@Configuration
+@ConfigurationProperties(prefix = "rcs.consent.details.lookup-executor")
+public class ConsentDetailsLookupExecutorConfiguration {
+
+    /**
+     * Whether the lookups are run concurrently, when disabled the lookups run sequentially on the request thread
+     */
+    private boolean enabled = true;
+
+    private int corePoolSize = 16;
+
+    private int maxPoolSize = 64;
+
+    /**
+     * Number of lookups that may be queued when all core threads are busy, once the queue and pool are full the
+     * lookup runs on the request thread
+     */
+    private int queueCapacity = 256;
+
+    private Duration keepAlive = Duration.ofSeconds(60);
+
+    /**
+     * Maximum time to wait for an individual lookup to complete
+     */
+    private Duration lookupTimeout = Duration.ofSeconds(30);
+
+    @PostConstruct
+    private void validateConfig() {
+        if (corePoolSize <= 0) {
+            throw new IllegalStateException("rcs.consent.details.lookup-executor.corePoolSize must be greater than 0");
+        }
+        if (maxPoolSize < corePoolSize) {
+            throw new IllegalStateException("rcs.consent.details.lookup-executor.maxPoolSize must be greater than or equal to corePoolSize");
+        }
+        if (queueCapacity < 0) {
+            throw new IllegalStateException("rcs.consent.details.lookup-executor.queueCapacity must not be negative");
+        }
+        if (lookupTimeout.isNegative() || lookupTimeout.isZero()) {
+            throw new IllegalStateException("rcs.consent.details.lookup-executor.lookupTimeout must be greater than 0");
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getCorePoolSize() {
+        return corePoolSize;
+    }
+
+    public void setCorePoolSize(int corePoolSize) {
+        this.corePoolSize = corePoolSize;
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public void setMaxPoolSize(int maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Duration getKeepAlive() {
+        return keepAlive;
+    }
+
+    public void setKeepAlive(Duration keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+
+    public Duration getLookupTimeout() {
+        return lookupTimeout;
+    }
+
+    public void setLookupTimeout(Duration lookupTimeout) {
+        this.lookupTimeout = lookupTimeout;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.server.configuration;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Configuration for the cache of serialised ConsentDetails responses,
+ * see {@link com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.ConsentDetailsResponseCache}
+ */
+@Configuration
+@ConfigurationProperties(prefix = "rcs.consent.details.response-cache")
+public class ConsentDetailsResponseCacheConfiguration {
+
+    /**
+     * Whether responses are cached, when disabled the ConsentDetails are built for every request
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum time a response is cached for, this bounds how stale the ApiClient and user data shown is
+     */
+    private Duration timeToLive = Duration.ofSeconds(30);
+
+    /**
+     * Maximum age of the accounts (and their balances) in a cached response, should not be less than the ttl of the
+     * accounts cache, see rs.api.accounts-cache.ttl
+     */
+    private Duration maxAccountsAge = Duration.ofSeconds(10);
+
+    private int maxEntries = 10_000;
+
+    @PostConstruct
+    private void validateConfig() {
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalStateException("rcs.consent.details.response-cache.timeToLive must be greater than 0");
+        }
+        if (maxAccountsAge.isNegative()) {
+            throw new IllegalStateException("rcs.consent.details.response-cache.maxAccountsAge must not be negative");
+        }
+        if (maxEntries <= 0) {
+            throw new IllegalStateException("rcs.consent.details.response-cache.maxEntries must be greater than 0");
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(Duration timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    public Duration getMaxAccountsAge() {
+        return maxAccountsAge;
+    }
+
+    public void setMaxAccountsAge(Duration maxAccountsAge) {
+        this.maxAccountsAge = maxAccountsAge;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+}
@@ -20,36 +20,47 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.text.SimpleDateFormat;
 import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.apache.hc.client5.http.classic.HttpClient;
-import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.joda.time.DateTime;
 import org.joda.time.LocalDate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.datatype.joda.JodaModule;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.configuration.CloudClientConfiguration;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.utils.http.PooledHttpClientFactory;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.ConsentDetailsLookupExecutor;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.ConsentDetailsResponseCache;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.SerialisedConsentDetailsHttpMessageConverter;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.jwt.PooledJcaJwsSigner;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.jwt.RcsJwtSigner;
 import com.forgerock.sapi.gateway.uk.common.shared.spring.web.filter.FapiInteractionIdFilter;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.JWSSigner;
-import com.nimbusds.jose.crypto.RSASSASigner;
 import com.nimbusds.jose.jwk.JWK;
-import com.nimbusds.jose.jwk.RSAKey;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 import uk.org.openbanking.jackson.DateTimeDeserializer;
 import uk.org.openbanking.jackson.DateTimeSerializer;
@@ -61,19 +72,60 @@ public class RcsApplicationConfiguration {
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
+    /**
+     * RestTemplate used to call the Cloud Data repository, this is the primary RestTemplate.
+     */
+    @Bean
+    @Primary
+    public RestTemplate restTemplate(@Qualifier("mappingJacksonHttpMessageConverter") MappingJackson2HttpMessageConverter converter,
+                                     @Qualifier("cloudClientHttpClient") HttpClient httpClient) {
+        RestTemplate restTemplate = new RestTemplate();
+        customiseRestTemplate(converter, restTemplate, httpClient);
+        return restTemplate;
+    }
+
+    @Bean
+    public RestTemplate rsBackofficeRestTemplate(@Qualifier("mappingJacksonHttpMessageConverter") MappingJackson2HttpMessageConverter converter,
+                                                 @Qualifier("rsBackofficeHttpClient") HttpClient httpClient) {
+        RestTemplate restTemplate = new RestTemplate();
+        customiseRestTemplate(converter, restTemplate, httpClient);
+        return restTemplate;
+    }
+
     @Bean
-    public RestTemplate restTemplate(@Qualifier("mappingJacksonHttpMessageConverter") MappingJackson2HttpMessageConverter converter) {
+    public RestTemplate rsResourceApiRestTemplate(@Qualifier("mappingJacksonHttpMessageConverter") MappingJackson2HttpMessageConverter converter,
+                                                  @Qualifier("rsResourceApiHttpClient") HttpClient httpClient) {
         RestTemplate restTemplate = new RestTemplate();
-        customiseRestTemplate(converter, restTemplate);
+        customiseRestTemplate(converter, restTemplate, httpClient);
         return restTemplate;
     }
 
-    private void customiseRestTemplate(@Qualifier("mappingJacksonHttpMessageConverter") MappingJackson2HttpMessageConverter converter, RestTemplate restTemplate) {
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient cloudClientHttpClient(CloudClientConfiguration cloudClientConfiguration,
+                                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        return PooledHttpClientFactory.createHttpClient("cloud-client", cloudClientConfiguration.getConnectionPool(),
+                meterRegistry.getIfAvailable());
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient rsBackofficeHttpClient(RsHttpClientConfiguration rsHttpClientConfiguration,
+                                                      ObjectProvider<MeterRegistry> meterRegistry) {
+        return PooledHttpClientFactory.createHttpClient("rs-backoffice", rsHttpClientConfiguration.getBackoffice(),
+                meterRegistry.getIfAvailable());
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient rsResourceApiHttpClient(RsHttpClientConfiguration rsHttpClientConfiguration,
+                                                       ObjectProvider<MeterRegistry> meterRegistry) {
+        return PooledHttpClientFactory.createHttpClient("rs-resource-api", rsHttpClientConfiguration.getResource(),
+                meterRegistry.getIfAvailable());
+    }
+
+    private void customiseRestTemplate(MappingJackson2HttpMessageConverter converter, RestTemplate restTemplate, HttpClient httpClient) {
         List<HttpMessageConverter<?>> messageConverters = restTemplate.getMessageConverters();
         messageConverters.removeIf(c -> c instanceof MappingJackson2HttpMessageConverter);
         messageConverters.add(converter);
         // support for http PATCH calls
-        HttpClient httpClient = HttpClientBuilder.create().build();
         HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
         restTemplate.setRequestFactory(requestFactory);
     }
@@ -102,18 +154,71 @@ public class RcsApplicationConfiguration {
         };
     }
 
+    /**
+     * Signer for the consent decision response JWTs, the private key may be an RSA key (PS256 etc.) or an EC key (e.g.
+     * ES256 for a P-256 key), the signingAlgorithm must be supported by the key.
+     */
     @Bean
     public RcsJwtSigner rcsJwtSigner(@Value("${rcs.consent.response.jwt.signingKeyId}") String signingKeyId,
                                      @Value("${rcs.consent.response.jwt.signingAlgorithm:PS256}") String signingAlgorithm,
-                                     @Value("${rcs.consent.response.jwt.privateKeyPath}") Path privateKeyPath) throws IOException, JOSEException {
+                                     @Value("${rcs.consent.response.jwt.privateKeyPath}") Path privateKeyPath,
+                                     @Value("${rcs.consent.response.jwt.signaturePoolSize:16}") int signaturePoolSize,
+                                     ObjectProvider<MeterRegistry> meterRegistry) throws IOException, JOSEException {
 
-        logger.info("Configuring JWT Signer - keyId: {}, signingAlgo: {}, privateKeyPath: {}", signingKeyId, signingAlgorithm, privateKeyPath);
+        logger.info("Configuring JWT Signer - keyId: {}, signingAlgo: {}, privateKeyPath: {}, signaturePoolSize: {}",
+                signingKeyId, signingAlgorithm, privateKeyPath, signaturePoolSize);
         final JWK jwk = JWK.parseFromPEMEncodedObjects(Files.readString(privateKeyPath));
-        if (!(jwk instanceof RSAKey)) {
-            throw new IllegalArgumentException("private key file must contain an RSA Private Key");
-        }
-        final JWSSigner signer = new RSASSASigner((RSAKey) jwk);
-        return new RcsJwtSigner(signingKeyId, JWSAlgorithm.parse(signingAlgorithm), signer);
+        final JWSSigner signer = PooledJcaJwsSigner.create(jwk, signaturePoolSize);
+        return new RcsJwtSigner(signingKeyId, JWSAlgorithm.parse(signingAlgorithm), signer, meterRegistry.getIfAvailable());
+    }
+
+    /**
+     * Bounded thread pool used to run the ConsentDetails lookups concurrently. When the pool and queue are full the
+     * lookup is run on the request thread rather than being rejected.
+     * <p>
+     * Spring Boot Actuator publishes the executor.* metrics for this pool, tagged with the bean name.
+     */
+    @Bean(name = "consentDetailsLookupTaskExecutor")
+    @ConditionalOnProperty(name = "rcs.consent.details.lookup-executor.enabled", havingValue = "true", matchIfMissing = true)
+    public ThreadPoolTaskExecutor consentDetailsLookupTaskExecutor(ConsentDetailsLookupExecutorConfiguration config) {
+        final ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(config.getCorePoolSize());
+        taskExecutor.setMaxPoolSize(config.getMaxPoolSize());
+        taskExecutor.setQueueCapacity(config.getQueueCapacity());
+        taskExecutor.setKeepAliveSeconds((int) config.getKeepAlive().toSeconds());
+        taskExecutor.setThreadNamePrefix("consent-details-lookup-");
+        taskExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return taskExecutor;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "rcs.consent.details.lookup-executor.enabled", havingValue = "true", matchIfMissing = true)
+    public ConsentDetailsLookupExecutor consentDetailsLookupExecutor(@Qualifier("consentDetailsLookupTaskExecutor") ThreadPoolTaskExecutor taskExecutor,
+                                                                     ConsentDetailsLookupExecutorConfiguration config,
+                                                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        logger.info("Configuring ConsentDetails lookup executor - corePoolSize: {}, maxPoolSize: {}, queueCapacity: {}",
+                config.getCorePoolSize(), config.getMaxPoolSize(), config.getQueueCapacity());
+        return new ConsentDetailsLookupExecutor(taskExecutor, meterRegistry.getIfAvailable(), config.getLookupTimeout());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "rcs.consent.details.response-cache.enabled", havingValue = "true")
+    public ConsentDetailsResponseCache consentDetailsResponseCache(ConsentDetailsResponseCacheConfiguration config,
+                                                                   @Qualifier("mappingJacksonHttpMessageConverter") MappingJackson2HttpMessageConverter converter,
+                                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        logger.info("Configuring ConsentDetails response cache - timeToLive: {}, maxAccountsAge: {}, maxEntries: {}",
+                config.getTimeToLive(), config.getMaxAccountsAge(), config.getMaxEntries());
+        return new ConsentDetailsResponseCache(config.getTimeToLive(), config.getMaxAccountsAge(), config.getMaxEntries(),
+                converter.getObjectMapper(), meterRegistry.getIfAvailable());
+    }
+
+    /**
+     * Writes the ConsentDetails responses served from the {@link ConsentDetailsResponseCache}, Spring Boot adds
+     * HttpMessageConverter beans ahead of the default converters.
+     */
+    @Bean
+    public SerialisedConsentDetailsHttpMessageConverter serialisedConsentDetailsHttpMessageConverter() {
+        return new SerialisedConsentDetailsHttpMessageConverter();
     }
 
     /**
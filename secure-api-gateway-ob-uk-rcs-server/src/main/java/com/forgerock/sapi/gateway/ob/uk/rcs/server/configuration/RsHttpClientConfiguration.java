@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.server.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.configuration.HttpClientPoolSettings;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Connection pools used for calls to the RS, the backoffice and resource APIs each have their own pool so that a slow
+ * backoffice cannot starve calls to the resource API (and vice versa).
+ */
+@Configuration
+@ConfigurationProperties(prefix = "rs.api.connection-pool")
+public class RsHttpClientConfiguration {
+
+    /**
+     * Pool for the RS backoffice API, used to look up the user's accounts
+     */
+    private HttpClientPoolSettings backoffice = new HttpClientPoolSettings();
+
+    /**
+     * Pool for the RS resource API, used to look up customer information
+     */
+    private HttpClientPoolSettings resource = new HttpClientPoolSettings();
+
+    @PostConstruct
+    private void validateConfig() {
+        backoffice.validate("rs.api.connectionPool.backoffice");
+        resource.validate("rs.api.connectionPool.resource");
+    }
+
+    public HttpClientPoolSettings getBackoffice() {
+        return backoffice;
+    }
+
+    public void setBackoffice(HttpClientPoolSettings backoffice) {
+        this.backoffice = backoffice;
+    }
+
+    public HttpClientPoolSettings getResource() {
+        return resource;
+    }
+
+    public void setResource(HttpClientPoolSettings resource) {
+        this.resource = resource;
+    }
+}
@@ -17,14 +17,63 @@ package com.forgerock.sapi.gateway.ob.uk.rcs.server.exception;
 
 import com.forgerock.sapi.gateway.ob.uk.common.error.OBRIErrorType;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ErrorType;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ConsentRequestContext;
 import lombok.Value;
 
 @Value
 public class InvalidConsentException extends RuntimeException {
     String consentRequestJwt;
+    /**
+     * The parsed consent request, null if the exception was raised before the consent request JWT could be parsed
+     */
+    ConsentRequestContext consentRequestContext;
     ErrorType errorType;
     OBRIErrorType obriErrorType;
     String reason;
     String clientId;
     String consentId;
+
+    public InvalidConsentException(String consentRequestJwt, ErrorType errorType, OBRIErrorType obriErrorType,
+                                   String reason, String clientId, String consentId) {
+        this(consentRequestJwt, null, errorType, obriErrorType, reason, clientId, consentId);
+    }
+
+    /**
+     * @param consentRequestContext the parsed consent request, may be null if the request could not be parsed, in which
+     *                              case the consentRequestJwt is also null. Use
+     *                              {@link #InvalidConsentException(String, ErrorType, OBRIErrorType, String, String, String)}
+     *                              with the raw JWT when it is available.
+     */
+    public InvalidConsentException(ConsentRequestContext consentRequestContext, ErrorType errorType, OBRIErrorType obriErrorType,
+                                   String reason, String clientId, String consentId) {
+        this(consentRequestContext != null ? consentRequestContext.getConsentRequestJws() : null, consentRequestContext,
+             errorType, obriErrorType, reason, clientId, consentId);
+    }
+
+    /**
+     * Creates the exception from the parsed consent request, falling back to the raw consent request JWT if the failure
+     * happened before the request could be parsed.
+     *
+     * @param consentRequestContext the parsed consent request, may be null
+     * @param consentRequestJwt     the raw consent request JWT, used if the consentRequestContext is null
+     */
+    public static InvalidConsentException of(ConsentRequestContext consentRequestContext, String consentRequestJwt,
+                                             ErrorType errorType, OBRIErrorType obriErrorType, String reason,
+                                             String clientId, String consentId) {
+        if (consentRequestContext != null) {
+            return new InvalidConsentException(consentRequestContext, errorType, obriErrorType, reason, clientId, consentId);
+        }
+        return new InvalidConsentException(consentRequestJwt, errorType, obriErrorType, reason, clientId, consentId);
+    }
+
+    private InvalidConsentException(String consentRequestJwt, ConsentRequestContext consentRequestContext, ErrorType errorType,
+                                    OBRIErrorType obriErrorType, String reason, String clientId, String consentId) {
+        this.consentRequestJwt = consentRequestJwt;
+        this.consentRequestContext = consentRequestContext;
+        this.errorType = errorType;
+        this.obriErrorType = obriErrorType;
+        this.reason = reason;
+        this.clientId = clientId;
+        this.consentId = consentId;
+    }
 }
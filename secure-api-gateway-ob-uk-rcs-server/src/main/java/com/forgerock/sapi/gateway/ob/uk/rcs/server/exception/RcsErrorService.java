@@ -19,6 +19,7 @@ import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorException;
 import com.forgerock.sapi.gateway.ob.uk.common.error.OBRIErrorType;
 import com.forgerock.sapi.gateway.ob.uk.rcs.api.dto.RedirectionAction;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ErrorType;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ConsentRequestContext;
 import com.google.common.base.Splitter;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.JWTParser;
@@ -81,7 +82,10 @@ public class RcsErrorService {
         ErrorType errorType = invalidConsentException.getErrorType();
         OBRIErrorType obriErrorType = invalidConsentException.getObriErrorType();
         try {
-            Map<String, String> params = extractParams(consentContextJwt);
+            // Reuse the consent request parsed by the controller where available
+            ConsentRequestContext consentRequestContext = invalidConsentException.getConsentRequestContext();
+            Map<String, String> params = consentRequestContext != null ? extractParams(consentRequestContext)
+                                                                       : extractParams(consentContextJwt);
             log.debug("Consent context JWT {} has error '{}'", consentContextJwt, invalidConsentException.getReason());
 
             // Consent content may come in the form of a 'request' claim (parameter), which is more secure and should
@@ -199,9 +203,16 @@ public class RcsErrorService {
     private Map<String, String> extractParams(String consentContextJwt) throws ParseException {
         log.debug("Parse consent request JWS: {}", consentContextJwt);
         SignedJWT signedJWT = (SignedJWT) JWTParser.parse(consentContextJwt);
-        log.debug("Get claim: {} from JWT: {}", CONSENT_APPROVAL_REDIRECT_URI, signedJWT.getParsedString());
-        String amRedirectUri = signedJWT.getJWTClaimsSet()
-                .getStringClaim(CONSENT_APPROVAL_REDIRECT_URI);
+        return extractParams(signedJWT.getJWTClaimsSet());
+    }
+
+    private Map<String, String> extractParams(ConsentRequestContext consentRequestContext) throws ParseException {
+        return extractParams(consentRequestContext.getClaimsSet());
+    }
+
+    private Map<String, String> extractParams(JWTClaimsSet consentRequestClaims) throws ParseException {
+        log.debug("Get claim: {} from consent request claims", CONSENT_APPROVAL_REDIRECT_URI);
+        String amRedirectUri = consentRequestClaims.getStringClaim(CONSENT_APPROVAL_REDIRECT_URI);
         log.debug("Get TPP callback URL from AM URL: {}", amRedirectUri);
 
         String query = amRedirectUri.split("\\?")[1];
@@ -0,0 +1,152 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.server.jwt;
+
+import java.security.InvalidKeyException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.impl.ECDSA;
+import com.nimbusds.jose.crypto.impl.RSASSA;
+import com.nimbusds.jose.crypto.impl.RSASSAProvider;
+import com.nimbusds.jose.jca.JCAContext;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.util.Base64URL;
+
+/**
+ * {@link JWSSigner} which signs using pooled JCA {@link Signature} instances that have been initialised with the
+ * private key, supporting RSA (RS256, PS256 etc.) and EC (ES256, ES384 and ES512) keys.
+ * <p>
+ * The Nimbus signers create and initialise a new Signature for every JWS, which repeats the private key setup on each
+ * call. Instead, initialised Signatures are kept in a bounded pool per algorithm, a Signature is used by a single
+ * thread at a time and is returned to the pool once the signature has been produced. When the pool is empty a new
+ * Signature is created, when it is full the Signature is discarded, so signing never waits for another thread.
+ */
+public class PooledJcaJwsSigner implements JWSSigner {
+
+    private final PrivateKey privateKey;
+    private final Set<JWSAlgorithm> supportedAlgorithms;
+    private final boolean ecKey;
+    private final int poolSize;
+    private final JCAContext jcaContext = new JCAContext();
+    private final Map<JWSAlgorithm, BlockingQueue<Signature>> signaturePools = new ConcurrentHashMap<>();
+
+    PooledJcaJwsSigner(PrivateKey privateKey, Set<JWSAlgorithm> supportedAlgorithms, boolean ecKey, int poolSize) {
+        this.privateKey = Objects.requireNonNull(privateKey, "privateKey must be supplied");
+        this.supportedAlgorithms = Set.copyOf(supportedAlgorithms);
+        this.ecKey = ecKey;
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("poolSize must be greater than 0");
+        }
+        this.poolSize = poolSize;
+    }
+
+    /**
+     * @param jwk      the RSA or EC key containing the private key to sign with
+     * @param poolSize the maximum number of initialised Signatures to keep per algorithm, this should be at least the
+     *                 number of threads that sign concurrently
+     * @return the signer
+     * @throws JOSEException if the private key cannot be extracted from the jwk
+     * @throws IllegalArgumentException if the jwk is not an RSA or EC private key
+     */
+    public static PooledJcaJwsSigner create(JWK jwk, int poolSize) throws JOSEException {
+        Objects.requireNonNull(jwk, "jwk must be supplied");
+        if (!jwk.isPrivate()) {
+            throw new IllegalArgumentException("jwk must contain a private key");
+        }
+        if (jwk instanceof RSAKey rsaKey) {
+            if (rsaKey.size() < RSAKeyGenerator.MIN_KEY_SIZE_BITS) {
+                throw new IllegalArgumentException("RSA key must be at least " + RSAKeyGenerator.MIN_KEY_SIZE_BITS + " bits");
+            }
+            return new PooledJcaJwsSigner(rsaKey.toPrivateKey(), RSASSAProvider.SUPPORTED_ALGORITHMS, false, poolSize);
+        }
+        if (jwk instanceof ECKey ecKey) {
+            // An EC key can only be used with the algorithm matching its curve
+            return new PooledJcaJwsSigner(ecKey.toPrivateKey(), Set.of(ECDSA.resolveAlgorithm(ecKey.getCurve())), true, poolSize);
+        }
+        throw new IllegalArgumentException("jwk must be an RSA or EC key, found: " + jwk.getKeyType());
+    }
+
+    @Override
+    public Base64URL sign(JWSHeader header, byte[] signingInput) throws JOSEException {
+        final JWSAlgorithm algorithm = header.getAlgorithm();
+        if (!supportedAlgorithms.contains(algorithm)) {
+            throw new JOSEException("Unsupported JWS algorithm: " + algorithm + ", must be one of: " + supportedAlgorithms);
+        }
+        final BlockingQueue<Signature> signaturePool = signaturePools.computeIfAbsent(algorithm,
+                alg -> new ArrayBlockingQueue<>(poolSize));
+        Signature signature = signaturePool.poll();
+        if (signature == null) {
+            signature = createSignature(algorithm);
+        }
+        final byte[] signatureBytes;
+        try {
+            signature.update(signingInput);
+            signatureBytes = signature.sign();
+        } catch (SignatureException e) {
+            // The Signature may be in an unknown state, so it is not returned to the pool
+            throw new JOSEException("Failed to sign JWS: " + e.getMessage(), e);
+        }
+        // sign() resets the Signature ready for reuse with the same private key
+        signaturePool.offer(signature);
+
+        if (ecKey) {
+            // JCA produces DER encoded ECDSA signatures, JWS requires the R and S values to be concatenated
+            return Base64URL.encode(ECDSA.transcodeSignatureToConcat(signatureBytes, ECDSA.getSignatureByteArrayLength(algorithm)));
+        }
+        return Base64URL.encode(signatureBytes);
+    }
+
+    private Signature createSignature(JWSAlgorithm algorithm) throws JOSEException {
+        final Signature signature = ecKey ? ECDSA.getSignerAndVerifier(algorithm, jcaContext.getProvider())
+                                          : RSASSA.getSignerAndVerifier(algorithm, jcaContext.getProvider());
+        try {
+            signature.initSign(privateKey, jcaContext.getSecureRandom());
+        } catch (InvalidKeyException e) {
+            throw new JOSEException("Invalid private key: " + e.getMessage(), e);
+        }
+        return signature;
+    }
+
+    int getPooledSignatureCount(JWSAlgorithm algorithm) {
+        final BlockingQueue<Signature> signaturePool = signaturePools.get(algorithm);
+        return signaturePool != null ? signaturePool.size() : 0;
+    }
+
+    @Override
+    public Set<JWSAlgorithm> supportedJWSAlgorithms() {
+        return supportedAlgorithms;
+    }
+
+    @Override
+    public JCAContext getJCAContext() {
+        return jcaContext;
+    }
+}
@@ -15,7 +15,10 @@
  */
 package com.forgerock.sapi.gateway.ob.uk.rcs.server.jwt;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSAlgorithm;
@@ -25,15 +28,26 @@ import com.nimbusds.jose.JWSSigner;
 import com.nimbusds.jose.Payload;
 import com.nimbusds.jwt.JWTClaimsSet;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 /**
  * Produces signed JWTs for the RCS
+ * <p>
+ * The signing is delegated to the supplied {@link JWSSigner}, see {@link PooledJcaJwsSigner}. If a
+ * {@link MeterRegistry} is supplied then the time taken to sign each JWT is recorded in the
+ * {@value #SIGNING_TIMER_NAME} timer, tagged with the signing algorithm.
  */
 public class RcsJwtSigner {
 
+    public static final String SIGNING_TIMER_NAME = "rcs.jwt.signing";
+
     private final JWSHeader jwsHeader;
 
     private final JWSSigner signer;
 
+    private final Timer signingTimer;
+
     /**
      * @param signingKeyId     String kid of the key that will be used to sign JWTs
      * @param signingAlgorithm JWSAlgorithm the signing algorithm used to sign the JWTs
@@ -41,6 +55,17 @@ public class RcsJwtSigner {
      *                         Must be able to support the signingAlgorithm
      */
     public RcsJwtSigner(String signingKeyId, JWSAlgorithm signingAlgorithm, JWSSigner signer) {
+        this(signingKeyId, signingAlgorithm, signer, null);
+    }
+
+    /**
+     * @param signingKeyId     String kid of the key that will be used to sign JWTs
+     * @param signingAlgorithm JWSAlgorithm the signing algorithm used to sign the JWTs
+     * @param signer           JWSSigner signer that is responsible for doing the signing.
+     *                         Must be able to support the signingAlgorithm
+     * @param meterRegistry    the registry to record the signing times in, may be null in which case no times are recorded
+     */
+    public RcsJwtSigner(String signingKeyId, JWSAlgorithm signingAlgorithm, JWSSigner signer, MeterRegistry meterRegistry) {
         Objects.requireNonNull(signingKeyId, "signingKeyId must be supplied");
         Objects.requireNonNull(signingAlgorithm, "signingAlgorithm must be supplied");
         Objects.requireNonNull(signer, "signer must be supplied");
@@ -50,6 +75,9 @@ public class RcsJwtSigner {
             throw new IllegalStateException("signingAlgorithm: " + signingAlgorithm
                     + " not supported by supplied JWSSigner");
         }
+        this.signingTimer = meterRegistry == null ? null : Timer.builder(SIGNING_TIMER_NAME)
+                                                               .tag("algorithm", signingAlgorithm.getName())
+                                                               .register(meterRegistry);
     }
 
     /**
@@ -63,7 +91,35 @@ public class RcsJwtSigner {
     public String createSignedJwt(JWTClaimsSet jwtClaimsSet) throws JOSEException {
         Objects.requireNonNull(jwtClaimsSet, "jwtClaimsSet must be supplied");
         final JWSObject jwsObject = new JWSObject(jwsHeader, new Payload(jwtClaimsSet.toJSONObject()));
+        final long startTime = System.nanoTime();
         jwsObject.sign(signer);
+        if (signingTimer != null) {
+            signingTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
         return jwsObject.serialize();
     }
+
+    /**
+     * Produces a serialized signed JWT String for each of the supplied claims, in the same order as the claims.
+     * The claims are validated before any are signed, so either all of the JWTs are produced or none are.
+     *
+     * @param jwtClaimsSets List of JWTClaimSet the claims to add to the payload of each JWT
+     * @return List of serialized signed JWT Strings
+     * @throws JOSEException
+     */
+    public List<String> createSignedJwts(List<JWTClaimsSet> jwtClaimsSets) throws JOSEException {
+        Objects.requireNonNull(jwtClaimsSets, "jwtClaimsSets must be supplied");
+        for (JWTClaimsSet jwtClaimsSet : jwtClaimsSets) {
+            Objects.requireNonNull(jwtClaimsSet, "jwtClaimsSet must be supplied");
+        }
+        final List<String> signedJwts = new ArrayList<>(jwtClaimsSets.size());
+        for (JWTClaimsSet jwtClaimsSet : jwtClaimsSets) {
+            signedJwts.add(createSignedJwt(jwtClaimsSet));
+        }
+        return signedJwts;
+    }
+
+    public JWSAlgorithm getSigningAlgorithm() {
+        return jwsHeader.getAlgorithm();
+    }
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.server.util;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRAccountWithBalance;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRAccountIdentifier;
+
+/**
+ * Index of a list of accounts by their {@link FRAccountIdentifier}s, allowing an account to be found by its
+ * identifiers in constant time rather than by scanning every identifier of every account.
+ * <p>
+ * The index is built once per list of accounts retrieved from the RS, and is immutable so it can be shared between
+ * threads. Identifications are normalised before they are indexed or looked up, whitespace is removed and letters are
+ * upper cased, e.g. "gb29 nwbk 6016 1331 9268 19" matches the IBAN "GB29NWBK60161331926819". Where more than one
+ * account has the same identifier, the first account in the list is returned.
+ */
+public final class AccountIdentifierIndex {
+
+    private static final AccountIdentifierIndex EMPTY = new AccountIdentifierIndex(Map.of(), Map.of());
+
+    /**
+     * Accounts keyed by schemeName and normalised identification
+     */
+    private final Map<String, FRAccountWithBalance> accountsByIdentifiers;
+
+    /**
+     * Accounts keyed by normalised identification, regardless of the schemeName
+     */
+    private final Map<String, FRAccountWithBalance> accountsByIdentification;
+
+    private AccountIdentifierIndex(Map<String, FRAccountWithBalance> accountsByIdentifiers,
+                                   Map<String, FRAccountWithBalance> accountsByIdentification) {
+        this.accountsByIdentifiers = accountsByIdentifiers;
+        this.accountsByIdentification = accountsByIdentification;
+    }
+
+    public static AccountIdentifierIndex empty() {
+        return EMPTY;
+    }
+
+    public static AccountIdentifierIndex of(List<FRAccountWithBalance> accounts) {
+        if (accounts == null || accounts.isEmpty()) {
+            return EMPTY;
+        }
+        final Map<String, FRAccountWithBalance> accountsByIdentifiers = new HashMap<>();
+        final Map<String, FRAccountWithBalance> accountsByIdentification = new HashMap<>();
+        for (FRAccountWithBalance account : accounts) {
+            if (account.getAccount() == null || account.getAccount().getAccounts() == null) {
+                continue;
+            }
+            for (FRAccountIdentifier accountIdentifier : account.getAccount().getAccounts()) {
+                final String identification = normaliseIdentification(accountIdentifier.getIdentification());
+                if (identification == null) {
+                    continue;
+                }
+                accountsByIdentification.putIfAbsent(identification, account);
+                if (accountIdentifier.getSchemeName() != null) {
+                    accountsByIdentifiers.putIfAbsent(indexKey(accountIdentifier.getSchemeName(), identification), account);
+                }
+            }
+        }
+        return new AccountIdentifierIndex(Map.copyOf(accountsByIdentifiers), Map.copyOf(accountsByIdentification));
+    }
+
+    /**
+     * @return the account which has an identifier with the identification and schemeName, or an empty Optional if
+     *         there is no such account
+     */
+    public Optional<FRAccountWithBalance> findByIdentifiers(String identification, String schemeName) {
+        final String normalisedIdentification = normaliseIdentification(identification);
+        if (schemeName == null || normalisedIdentification == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(accountsByIdentifiers.get(indexKey(schemeName, normalisedIdentification)));
+    }
+
+    /**
+     * @return the account which has an identifier with the identification, regardless of its schemeName, or an empty
+     *         Optional if there is no such account
+     */
+    public Optional<FRAccountWithBalance> findByIdentification(String identification) {
+        final String normalisedIdentification = normaliseIdentification(identification);
+        if (normalisedIdentification == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(accountsByIdentification.get(normalisedIdentification));
+    }
+
+    static String normaliseIdentification(String identification) {
+        if (identification == null) {
+            return null;
+        }
+        final StringBuilder normalised = new StringBuilder(identification.length());
+        for (int i = 0; i < identification.length(); i++) {
+            final char c = identification.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                normalised.append(c);
+            }
+        }
+        return normalised.isEmpty() ? null : normalised.toString().toUpperCase(Locale.ROOT);
+    }
+
+    private static String indexKey(String schemeName, String normalisedIdentification) {
+        return schemeName + '\n' + normalisedIdentification;
+    }
+}
@@ -16,15 +16,18 @@
 package com.forgerock.sapi.gateway.ob.uk.rcs.server.util;
 
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRAccountWithBalance;
-import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRAccountIdentifier;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.util.CollectionUtils;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.springframework.util.StringUtils.isEmpty;
 
+/**
+ * Matches a debtor account identification against a list of accounts. This builds an {@link AccountIdentifierIndex}
+ * for the accounts on each call, callers which look up more than one account in the same list should build the index
+ * once and use it directly.
+ */
 @Slf4j
 public class AccountWithBalanceMatcher {
 
@@ -34,16 +37,11 @@ public class AccountWithBalanceMatcher {
             log.error("Debtor account has null or empty identification string");
             return Optional.empty();
         }
-        for (FRAccountWithBalance account : accounts) {
-            if (!CollectionUtils.isEmpty(account.getAccount().getAccounts())) {
-                for (FRAccountIdentifier accountIdentifier : account.getAccount().getAccounts()) {
-                    if (identification.equals(accountIdentifier.getIdentification())) {
-                        log.debug("Found matching user account to provided debtor account. Identification: {}. " +
-                                "Account Id: {}", accountIdentifier.getIdentification(), account.getId());
-                        return Optional.of(account);
-                    }
-                }
-            }
+        final Optional<FRAccountWithBalance> matchingAccount = AccountIdentifierIndex.of(accounts).findByIdentification(identification);
+        if (matchingAccount.isPresent()) {
+            log.debug("Found matching user account to provided debtor account. Identification: {}. " +
+                    "Account Id: {}", identification, matchingAccount.get().getId());
+            return matchingAccount;
         }
         log.debug("A user account matching the identification: {} was not found", identification);
         return Optional.empty();
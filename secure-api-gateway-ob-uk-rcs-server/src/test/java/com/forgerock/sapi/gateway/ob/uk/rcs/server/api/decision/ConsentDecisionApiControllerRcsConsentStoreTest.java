@@ -26,7 +26,9 @@ import static org.springframework.boot.test.context.SpringBootTest.WebEnvironmen
 import static org.springframework.http.HttpStatus.OK;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.text.ParseException;
@@ -131,7 +133,7 @@ import uk.org.openbanking.testsupport.v3.vrp.OBDomesticVrpConsentRequestTestData
 @EnableConfigurationProperties
 @ActiveProfiles("test")
 @SpringBootTest(classes = RCSServerApplicationTestSupport.class, webEnvironment = RANDOM_PORT)
-@DependsOn({"internalConsentServices"})
+@DependsOn({"consentServices"})
 public class ConsentDecisionApiControllerRcsConsentStoreTest {
 
     private static final String TEST_API_CLIENT_ID = "test-api-client-1";
@@ -156,43 +158,43 @@ public class ConsentDecisionApiControllerRcsConsentStoreTest {
     private ConsentStoreEnabledIntentTypes consentStoreEnabledIntentTypes;
 
     @Autowired
-    @Qualifier("internalAccountAccessConsentService")
+    @Qualifier("accountAccessConsentService")
     private AccountAccessConsentService accountAccessConsentService;
 
     @Autowired
-    @Qualifier("internalDomesticPaymentConsentService")
+    @Qualifier("domesticPaymentConsentService")
     private DomesticPaymentConsentService domesticPaymentConsentService;
 
     @Autowired
-    @Qualifier("internalDomesticScheduledPaymentConsentService")
+    @Qualifier("domesticScheduledPaymentConsentService")
     private DomesticScheduledPaymentConsentService domesticScheduledPaymentConsentService;
 
     @Autowired
-    @Qualifier("internalDomesticStandingOrderConsentService")
+    @Qualifier("domesticStandingOrderConsentService")
     private DomesticStandingOrderConsentService domesticStandingOrderConsentService;
 
     @Autowired
-    @Qualifier("internalInternationalPaymentConsentService")
+    @Qualifier("internationalPaymentConsentService")
     private InternationalPaymentConsentService internationalPaymentConsentService;
 
     @Autowired
-    @Qualifier("internalInternationalScheduledPaymentConsentService")
+    @Qualifier("internationalScheduledPaymentConsentService")
     private InternationalScheduledPaymentConsentService internationalScheduledPaymentConsentService;
 
     @Autowired
-    @Qualifier("internalInternationalStandingOrderConsentService")
+    @Qualifier("internationalStandingOrderConsentService")
     private InternationalStandingOrderConsentService internationalStandingOrderConsentService;
 
     @Autowired
-    @Qualifier("internalFilePaymentConsentService")
+    @Qualifier("filePaymentConsentService")
     private FilePaymentConsentService filePaymentConsentService;
 
     @Autowired
-    @Qualifier("internalDomesticVRPConsentService")
+    @Qualifier("domesticVRPConsentService")
     private DomesticVRPConsentService domesticVRPConsentService;
 
     @Autowired
-    @Qualifier("internalFundsConfirmationConsentService")
+    @Qualifier("fundsConfirmationConsentService")
     private FundsConfirmationConsentService fundsConfirmationConsentService;
 
     @Autowired
@@ -544,7 +546,7 @@ public class ConsentDecisionApiControllerRcsConsentStoreTest {
         fileUploadArgs.setConsentId(persistedConsent.getId());
         fileUploadArgs.setApiClientId(persistedConsent.getApiClientId());
         fileUploadArgs.setFileUploadIdempotencyKey(UUID.randomUUID().toString());
-        fileUploadArgs.setFileContents("<xml>blah</xml>");
+        fileUploadArgs.setFileContents(new ByteArrayInputStream("<xml>blah</xml>".getBytes(StandardCharsets.UTF_8)));
         return filePaymentConsentService.uploadFile(fileUploadArgs);
     }
 
@@ -20,7 +20,7 @@ import static com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.test.support.Use
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
@@ -186,7 +186,6 @@ public class ConsentDetailsApiControllerRcsConsentStoreTest {
         ConsentClientDetailsRequest consentDetailsRequest = aValidConsentDetailsRequest(consentId);
         User user = aValidUser();
         consentDetailsRequest.setUser(user);
-        given(userServiceClient.getUser(anyString())).willReturn(user);
         given(consentStoreDetailsServiceRegistry.isIntentTypeSupported(eq(intentType))).willReturn(Boolean.TRUE);
 
         final ArgumentCaptor<ConsentClientDetailsRequest> consentDetailsArgCaptor = ArgumentCaptor.forClass(ConsentClientDetailsRequest.class);
@@ -205,9 +204,12 @@ public class ConsentDetailsApiControllerRcsConsentStoreTest {
 
         final ConsentClientDetailsRequest capturedConsentClientDetailsRequest = consentDetailsArgCaptor.getValue();
         assertThat(capturedConsentClientDetailsRequest.getClientId()).isEqualTo(consentDetailsRequest.getClientId());
-        assertThat(capturedConsentClientDetailsRequest.getUser()).isEqualTo(user);
+        // The User is retrieved by the ConsentStoreDetailsService
+        assertThat(capturedConsentClientDetailsRequest.getUser()).isNull();
+        assertThat(capturedConsentClientDetailsRequest.getConsentRequestContext().getUsername()).isEqualTo(user.getId());
         assertThat(capturedConsentClientDetailsRequest.getIntentId()).isEqualTo(consentDetailsRequest.getIntentId());
-        assertThat(capturedConsentClientDetailsRequest.getConsentRequestJwt()).isNotNull();
+        assertThat(capturedConsentClientDetailsRequest.getConsentRequestContext()).isNotNull();
+        assertThat(capturedConsentClientDetailsRequest.getConsentRequestContext().getIntentId()).isEqualTo(consentDetailsRequest.getIntentId());
 
         final C consentDetailsResponse = response.getBody();
         assertThat(consentDetailsResponse).isEqualTo(testConsentDetails);
@@ -215,7 +217,8 @@ public class ConsentDetailsApiControllerRcsConsentStoreTest {
 
     @Test
     public void shouldGetRedirectActionWhenUserNotFound() throws ExceptionClient {
-        ConsentClientDetailsRequest consentDetailsRequest = aValidConsentDetailsRequest("intent-12345454");
+        final IntentType intentType = IntentType.PAYMENT_DOMESTIC_CONSENT;
+        ConsentClientDetailsRequest consentDetailsRequest = aValidConsentDetailsRequest(intentType.generateIntentId());
         User user = aValidUser();
         consentDetailsRequest.setUser(user);
 
@@ -226,8 +229,8 @@ public class ConsentDetailsApiControllerRcsConsentStoreTest {
                         .userId(user.getId())
                         .build(),
                 message);
-        given(userServiceClient.getUser(anyString())).willThrow(exceptionClient);
-
+        given(consentStoreDetailsServiceRegistry.isIntentTypeSupported(eq(intentType))).willReturn(Boolean.TRUE);
+        given(consentStoreDetailsServiceRegistry.getDetailsFromConsentStore(eq(intentType), any())).willThrow(exceptionClient);
 
         String jwtRequest = JwtTestHelper.consentRequestJwt(
                 consentDetailsRequest.getClientId(),
@@ -250,7 +253,6 @@ public class ConsentDetailsApiControllerRcsConsentStoreTest {
         ConsentClientDetailsRequest consentDetailsRequest = aValidConsentDetailsRequest(consentId);
         User user = aValidUser();
         consentDetailsRequest.setUser(user);
-        given(userServiceClient.getUser(anyString())).willReturn(user);
         given(consentStoreDetailsServiceRegistry.isIntentTypeSupported(eq(intentType))).willReturn(Boolean.TRUE);
 
         final ArgumentCaptor<ConsentClientDetailsRequest> consentDetailsArgCaptor = ArgumentCaptor.forClass(ConsentClientDetailsRequest.class);
@@ -281,7 +283,6 @@ public class ConsentDetailsApiControllerRcsConsentStoreTest {
         ConsentClientDetailsRequest consentDetailsRequest = aValidConsentDetailsRequest(consentId);
         User user = aValidUser();
         consentDetailsRequest.setUser(user);
-        given(userServiceClient.getUser(anyString())).willReturn(user);
         given(consentStoreDetailsServiceRegistry.isIntentTypeSupported(eq(intentType))).willReturn(Boolean.TRUE);
 
         final ArgumentCaptor<ConsentClientDetailsRequest> consentDetailsArgCaptor = ArgumentCaptor.forClass(ConsentClientDetailsRequest.class);
@@ -312,7 +313,6 @@ public class ConsentDetailsApiControllerRcsConsentStoreTest {
         ConsentClientDetailsRequest consentDetailsRequest = aValidConsentDetailsRequest(consentId);
         User user = aValidUser();
         consentDetailsRequest.setUser(user);
-        given(userServiceClient.getUser(anyString())).willReturn(user);
         given(consentStoreDetailsServiceRegistry.isIntentTypeSupported(eq(intentType))).willReturn(Boolean.TRUE);
 
         final ArgumentCaptor<ConsentClientDetailsRequest> consentDetailsArgCaptor = ArgumentCaptor.forClass(ConsentClientDetailsRequest.class);
@@ -343,7 +343,6 @@ public class ConsentDetailsApiControllerRcsConsentStoreTest {
         ConsentClientDetailsRequest consentDetailsRequest = aValidConsentDetailsRequest(consentId);
         User user = aValidUser();
         consentDetailsRequest.setUser(user);
-        given(userServiceClient.getUser(anyString())).willReturn(user);
         given(consentStoreDetailsServiceRegistry.isIntentTypeSupported(eq(intentType))).willReturn(Boolean.TRUE);
 
         final ArgumentCaptor<ConsentClientDetailsRequest> consentDetailsArgCaptor = ArgumentCaptor.forClass(ConsentClientDetailsRequest.class);
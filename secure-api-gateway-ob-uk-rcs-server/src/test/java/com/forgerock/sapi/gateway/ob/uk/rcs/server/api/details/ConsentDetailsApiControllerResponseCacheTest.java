@@ -0,0 +1,179 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details;
+
+import static com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.test.support.ApiClientTestDataFactory.aValidApiClient;
+import static com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.test.support.UserTestDataFactory.aValidUser;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+import java.util.List;
+
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRReadConsent;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FRReadConsentConverter;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.testsupport.account.FRAccountWithBalanceTestDataFactory;
+import com.forgerock.sapi.gateway.ob.uk.rcs.api.dto.consent.details.AccountsConsentDetails;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.User;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.services.ApiClientServiceClient;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.services.UserServiceClient;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.RCSServerApplicationTestSupport;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.AccountService;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.AccountsWithBalance;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.testsupport.JwtTestHelper;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.account.AccountAccessConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.account.AccountAccessAuthoriseConsentArgs;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.account.AccountAccessConsentService;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.account.AccountAccessConsentStateModel;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBVersion;
+
+import uk.org.openbanking.datamodel.v3.account.OBReadConsent1;
+import uk.org.openbanking.datamodel.v3.account.OBReadConsent1Data;
+import uk.org.openbanking.datamodel.v3.account.OBRisk2;
+import uk.org.openbanking.datamodel.v3.common.OBExternalPermissions1Code;
+
+/**
+ * Tests for the {@link ConsentDetailsApiController} with the {@link ConsentDetailsResponseCache} enabled, using the
+ * RCS Consent Store.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(classes = RCSServerApplicationTestSupport.class, webEnvironment = RANDOM_PORT,
+                properties = "rcs.consent.details.response-cache.enabled=true")
+class ConsentDetailsApiControllerResponseCacheTest {
+
+    private static final String TEST_API_CLIENT_ID = "test-api-client-1";
+
+    @LocalServerPort
+    private int port;
+
+    private String consentDetailsUri;
+
+    @MockBean
+    private UserServiceClient userServiceClient;
+
+    @MockBean
+    private ApiClientServiceClient apiClientServiceClient;
+
+    @MockBean
+    private AccountService accountService;
+
+    @Autowired
+    private AccountAccessConsentService accountAccessConsentService;
+
+    @Autowired
+    @Qualifier("mappingJacksonHttpMessageConverter")
+    private MappingJackson2HttpMessageConverter converter;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private final User user = aValidUser();
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        consentDetailsUri = "http://localhost:" + port + "/rcs/api/consent/details";
+
+        given(userServiceClient.getUser(user.getId())).willReturn(user);
+        given(apiClientServiceClient.getApiClient(anyString())).willReturn(aValidApiClient(TEST_API_CLIENT_ID));
+        // Each retrieval returns new instances, so that a response built from a second retrieval is not the same object
+        given(accountService.getAccountsWithBalance(user.getId())).willAnswer(invocation -> new AccountsWithBalance(
+                List.of(FRAccountWithBalanceTestDataFactory.aValidFRAccountWithBalance()), DateTime.now()));
+    }
+
+    @Test
+    void shouldReturnCachedResponseUntilConsentChanges() throws Exception {
+        final AccountAccessConsentEntity consent = createAccountAccessConsent();
+        final HttpEntity<String> request = new HttpEntity<>(
+                JwtTestHelper.consentRequestJwt(TEST_API_CLIENT_ID, consent.getId(), user.getId()), headers());
+
+        final ResponseEntity<byte[]> firstResponse = restTemplate.postForEntity(consentDetailsUri, request, byte[].class);
+        assertThat(firstResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        final AccountsConsentDetails consentDetails = converter.getObjectMapper().readValue(firstResponse.getBody(), AccountsConsentDetails.class);
+        assertThat(consentDetails.getConsentId()).isEqualTo(consent.getId());
+        assertThat(consentDetails.getClientId()).isEqualTo(TEST_API_CLIENT_ID);
+        assertThat(consentDetails.getAccounts()).hasSize(1);
+
+        // Cache hit: the same bytes are returned without retrieving the user, ApiClient or accounts
+        final ResponseEntity<byte[]> secondResponse = restTemplate.postForEntity(consentDetailsUri, request, byte[].class);
+        assertThat(secondResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(secondResponse.getHeaders().getContentType()).isEqualTo(firstResponse.getHeaders().getContentType());
+        assertThat(secondResponse.getBody()).isEqualTo(firstResponse.getBody());
+        verifyLookups(1);
+
+        // Authorising the consent increments its entityVersion, which invalidates the cached response
+        accountAccessConsentService.authoriseConsent(new AccountAccessAuthoriseConsentArgs(consent.getId(),
+                TEST_API_CLIENT_ID, user.getId(), List.of("account-1")));
+
+        final ResponseEntity<byte[]> thirdResponse = restTemplate.postForEntity(consentDetailsUri, request, byte[].class);
+        assertThat(thirdResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(converter.getObjectMapper().readValue(thirdResponse.getBody(), AccountsConsentDetails.class).getConsentId())
+                .isEqualTo(consent.getId());
+        verifyLookups(2);
+
+        // The response built for the new entityVersion is cached
+        assertThat(restTemplate.postForEntity(consentDetailsUri, request, byte[].class).getBody())
+                .isEqualTo(thirdResponse.getBody());
+        verifyLookups(2);
+    }
+
+    private void verifyLookups(int expectedLookups) throws Exception {
+        verify(userServiceClient, times(expectedLookups)).getUser(user.getId());
+        verify(apiClientServiceClient, times(expectedLookups)).getApiClient(TEST_API_CLIENT_ID);
+        verify(accountService, times(expectedLookups)).getAccountsWithBalance(user.getId());
+    }
+
+    private AccountAccessConsentEntity createAccountAccessConsent() {
+        final AccountAccessConsentEntity consent = new AccountAccessConsentEntity();
+        consent.setApiClientId(TEST_API_CLIENT_ID);
+        consent.setRequestVersion(OBVersion.v3_1_10);
+        consent.setStatus(AccountAccessConsentStateModel.AWAITING_AUTHORISATION);
+        consent.setRequestObj(createConsentRequestObj());
+        return accountAccessConsentService.createConsent(consent);
+    }
+
+    private static FRReadConsent createConsentRequestObj() {
+        return FRReadConsentConverter.toFRReadConsent(new OBReadConsent1().data(new OBReadConsent1Data().permissions(
+                List.of(OBExternalPermissions1Code.READACCOUNTSBASIC))).risk(new OBRisk2()));
+    }
+
+    private HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(singletonList(APPLICATION_JSON));
+        headers.setContentType(APPLICATION_JSON);
+        return headers;
+    }
+}
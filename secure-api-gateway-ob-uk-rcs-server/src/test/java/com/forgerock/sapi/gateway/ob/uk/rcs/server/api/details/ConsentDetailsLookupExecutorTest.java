@@ -0,0 +1,180 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ErrorClient;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ErrorType;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ExceptionClient;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ConsentClientDetailsRequest;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
+import com.forgerock.sapi.gateway.uk.common.shared.fapi.FapiInteractionIdContext;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ConsentDetailsLookupExecutorTest {
+
+    private static final IntentType INTENT_TYPE = IntentType.PAYMENT_DOMESTIC_CONSENT;
+
+    private final ConsentClientDetailsRequest consentClientRequest =
+            new ConsentClientDetailsRequest(INTENT_TYPE.generateIntentId(), null, null, "client-1");
+
+    private ExecutorService executorService;
+    private SimpleMeterRegistry meterRegistry;
+    private ConsentDetailsLookupExecutor lookupExecutor;
+
+    @BeforeEach
+    void setUp() {
+        executorService = Executors.newFixedThreadPool(2);
+        meterRegistry = new SimpleMeterRegistry();
+        lookupExecutor = new ConsentDetailsLookupExecutor(executorService, meterRegistry, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+        MDC.clear();
+        FapiInteractionIdContext.removeFapiInteractionId();
+    }
+
+    @Test
+    void lookupsRunConcurrently() throws Exception {
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+        final ConsentDetailsLookupExecutor.Lookup<String> lookup = () -> {
+            bothStarted.countDown();
+            try {
+                return bothStarted.await(5, TimeUnit.SECONDS) ? "done" : "timed out";
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+
+        final CompletableFuture<String> first = lookupExecutor.submit(INTENT_TYPE, "first", lookup);
+        final CompletableFuture<String> second = lookupExecutor.submit(INTENT_TYPE, "second", lookup);
+
+        assertThat(lookupExecutor.join(first, consentClientRequest)).isEqualTo("done");
+        assertThat(lookupExecutor.join(second, consentClientRequest)).isEqualTo("done");
+    }
+
+    @Test
+    void propagatesCallerContext() throws Exception {
+        MDC.put("x-fapi-interaction-id", "fapi-id-123");
+        FapiInteractionIdContext.setFapiInteractionId("fapi-id-123");
+        final Thread callerThread = Thread.currentThread();
+
+        final CompletableFuture<String[]> future = lookupExecutor.submit(INTENT_TYPE, "context", () -> new String[] {
+                MDC.get("x-fapi-interaction-id"),
+                FapiInteractionIdContext.getFapiInteractionId().orElse(null),
+                Thread.currentThread() == callerThread ? "caller" : "pool"
+        });
+
+        assertThat(lookupExecutor.join(future, consentClientRequest)).containsExactly("fapi-id-123", "fapi-id-123", "pool");
+
+        // Pool thread must not retain the context once the lookup has completed
+        MDC.clear();
+        FapiInteractionIdContext.removeFapiInteractionId();
+        final CompletableFuture<String> afterwards = lookupExecutor.submit(INTENT_TYPE, "context",
+                () -> FapiInteractionIdContext.getFapiInteractionId().orElse("none"));
+        assertThat(lookupExecutor.join(afterwards, consentClientRequest)).isEqualTo("none");
+    }
+
+    @Test
+    void rethrowsExceptionClient() {
+        final ExceptionClient exceptionClient = new ExceptionClient(ErrorClient.builder().errorType(ErrorType.NOT_FOUND).build());
+        final CompletableFuture<Object> future = lookupExecutor.submit(INTENT_TYPE, "apiClient", () -> {
+            throw exceptionClient;
+        });
+
+        assertThatThrownBy(() -> lookupExecutor.join(future, consentClientRequest)).isSameAs(exceptionClient);
+    }
+
+    @Test
+    void rethrowsRuntimeException() {
+        final ConsentStoreException consentStoreException = new ConsentStoreException(ConsentStoreException.ErrorType.NOT_FOUND, "consent-1");
+        final CompletableFuture<Object> future = lookupExecutor.submit(INTENT_TYPE, "consent", () -> {
+            throw consentStoreException;
+        });
+
+        assertThatThrownBy(() -> lookupExecutor.join(future, consentClientRequest)).isSameAs(consentStoreException);
+    }
+
+    @Test
+    void failsWhenLookupTimesOut() {
+        lookupExecutor = new ConsentDetailsLookupExecutor(executorService, meterRegistry, Duration.ofMillis(50));
+        final CompletableFuture<Object> future = lookupExecutor.submit(INTENT_TYPE, "slow", () -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+
+        assertThatThrownBy(() -> lookupExecutor.join(future, consentClientRequest))
+                .isInstanceOfSatisfying(ExceptionClient.class, ex -> {
+                    assertThat(ex.getErrorClient().getErrorType()).isEqualTo(ErrorType.TEMPORARILY_UNAVAILABLE);
+                    assertThat(ex.getErrorClient().getClientId()).isEqualTo("client-1");
+                });
+    }
+
+    @Test
+    void recordsStageTimings() throws Exception {
+        lookupExecutor.join(lookupExecutor.submit(INTENT_TYPE, "consent", () -> "consent"), consentClientRequest);
+        lookupExecutor.time(INTENT_TYPE, "user", () -> "user");
+        assertThatThrownBy(() -> lookupExecutor.time(INTENT_TYPE, "user", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(getTimer("consent", "success").count()).isEqualTo(1);
+        assertThat(getTimer("user", "success").count()).isEqualTo(1);
+        assertThat(getTimer("user", "error").count()).isEqualTo(1);
+    }
+
+    @Test
+    void callerRunsExecutesOnCallingThread() throws Exception {
+        final ConsentDetailsLookupExecutor callerRuns = ConsentDetailsLookupExecutor.callerRuns();
+        final Thread callerThread = Thread.currentThread();
+
+        final CompletableFuture<Boolean> future = callerRuns.submit(INTENT_TYPE, "consent", () -> Thread.currentThread() == callerThread);
+
+        assertThat(future).isDone();
+        assertThat(callerRuns.join(future, consentClientRequest)).isTrue();
+    }
+
+    private Timer getTimer(String stage, String outcome) {
+        return meterRegistry.get(ConsentDetailsLookupExecutor.STAGE_TIMER_NAME)
+                            .tag("stage", stage)
+                            .tag("intentType", INTENT_TYPE.name())
+                            .tag("outcome", outcome)
+                            .timer();
+    }
+}
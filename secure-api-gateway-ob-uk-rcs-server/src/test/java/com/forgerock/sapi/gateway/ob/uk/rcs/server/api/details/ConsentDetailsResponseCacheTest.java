@@ -0,0 +1,155 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.joda.JodaModule;
+import com.forgerock.sapi.gateway.ob.uk.rcs.api.dto.consent.details.AccountsConsentDetails;
+import com.forgerock.sapi.gateway.ob.uk.rcs.api.dto.consent.details.ConsentDetails;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit test for {@link ConsentDetailsResponseCache}
+ */
+class ConsentDetailsResponseCacheTest {
+
+    private static final String INTENT_ID = "AAC_123";
+    private static final String USER_ID = "user1";
+    private static final String CLIENT_ID = "client1";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JodaModule());
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicLong tickerNanos = new AtomicLong();
+
+    private final ConsentDetailsResponseCache cache = new ConsentDetailsResponseCache(Duration.ofSeconds(30),
+            Duration.ofSeconds(10), 10, objectMapper, meterRegistry, tickerNanos::get);
+
+    /**
+     * Counts the reads of the current consentVersion
+     */
+    private final AtomicInteger consentVersionReads = new AtomicInteger();
+
+    @Test
+    void shouldReturnCachedResponseForSameConsentVersion() throws Exception {
+        final ConsentDetails consentDetails = createConsentDetails(null);
+        final ConsentDetails response = cache.put(INTENT_ID, USER_ID, CLIENT_ID, 2, consentDetails, DateTime.now());
+
+        assertThat(response).isInstanceOf(SerialisedConsentDetails.class);
+        assertThat(((SerialisedConsentDetails) response).getJson()).isEqualTo(objectMapper.writerFor(ConsentDetails.class)
+                                                                                          .writeValueAsBytes(consentDetails));
+        assertThat(cache.get(INTENT_ID, USER_ID, CLIENT_ID, consentVersion(2))).containsSame(response);
+        assertThat(consentVersionReads).hasValue(1);
+    }
+
+    @Test
+    void shouldNotReadConsentVersionWhenNoResponseIsCached() throws Exception {
+        cache.put(INTENT_ID, USER_ID, CLIENT_ID, 2, createConsentDetails(null), DateTime.now());
+
+        assertThat(cache.get(INTENT_ID, "user2", CLIENT_ID, consentVersion(2))).isEmpty();
+        assertThat(cache.get("AAC_456", USER_ID, CLIENT_ID, consentVersion(2))).isEmpty();
+        assertThat(consentVersionReads).hasValue(0);
+    }
+
+    @Test
+    void shouldNotReturnResponseForDifferentConsentVersion() throws Exception {
+        cache.put(INTENT_ID, USER_ID, CLIENT_ID, 2, createConsentDetails(null), DateTime.now());
+
+        assertThat(cache.get(INTENT_ID, USER_ID, CLIENT_ID, consentVersion(3))).isEmpty();
+        // Stale entries are removed
+        assertThat(cache.get(INTENT_ID, USER_ID, CLIENT_ID, consentVersion(2))).isEmpty();
+        assertThat(meterRegistry.get(ConsentDetailsResponseCache.STALE_COUNTER_NAME).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotReturnResponseForDifferentClient() throws Exception {
+        cache.put(INTENT_ID, USER_ID, CLIENT_ID, 2, createConsentDetails(null), DateTime.now());
+
+        assertThat(cache.get(INTENT_ID, USER_ID, "client2", consentVersion(2))).isEmpty();
+        assertThat(consentVersionReads).hasValue(0);
+    }
+
+    @Test
+    void shouldNotReturnResponseOnceTimeToLiveHasElapsed() throws Exception {
+        cache.put(INTENT_ID, USER_ID, CLIENT_ID, 2, createConsentDetails(null), DateTime.now());
+
+        advanceTicker(Duration.ofSeconds(29));
+        assertThat(cache.get(INTENT_ID, USER_ID, CLIENT_ID, consentVersion(2))).isPresent();
+        advanceTicker(Duration.ofSeconds(1));
+        assertThat(cache.get(INTENT_ID, USER_ID, CLIENT_ID, consentVersion(2))).isEmpty();
+    }
+
+    @Test
+    void shouldNotReturnResponseOnceAccountsAreTooOld() throws Exception {
+        final DateTime createdAt = DateTime.now();
+        cache.put(INTENT_ID, USER_ID, CLIENT_ID, 2, createConsentDetails(createdAt.minusSeconds(5)), createdAt);
+
+        advanceTicker(Duration.ofSeconds(4));
+        assertThat(cache.get(INTENT_ID, USER_ID, CLIENT_ID, consentVersion(2))).isPresent();
+        advanceTicker(Duration.ofSeconds(1));
+        assertThat(cache.get(INTENT_ID, USER_ID, CLIENT_ID, consentVersion(2))).isEmpty();
+    }
+
+    @Test
+    void shouldNotCacheResponseWhenAccountsAreTooOld() throws Exception {
+        final DateTime createdAt = DateTime.now();
+        final ConsentDetails response = cache.put(INTENT_ID, USER_ID, CLIENT_ID, 2,
+                createConsentDetails(createdAt.minusSeconds(10)), createdAt);
+
+        assertThat(response).isInstanceOf(SerialisedConsentDetails.class);
+        assertThat(cache.get(INTENT_ID, USER_ID, CLIENT_ID, consentVersion(2))).isEmpty();
+    }
+
+    @Test
+    void shouldFailToCreateWithInvalidConfig() {
+        assertThrows(IllegalArgumentException.class, () -> new ConsentDetailsResponseCache(Duration.ZERO, Duration.ofSeconds(10), 10, objectMapper, null));
+        assertThrows(IllegalArgumentException.class, () -> new ConsentDetailsResponseCache(Duration.ofSeconds(30), Duration.ofSeconds(-1), 10, objectMapper, null));
+        assertThrows(IllegalArgumentException.class, () -> new ConsentDetailsResponseCache(Duration.ofSeconds(30), Duration.ofSeconds(10), 0, objectMapper, null));
+    }
+
+    private IntSupplier consentVersion(int consentVersion) {
+        return () -> {
+            consentVersionReads.incrementAndGet();
+            return consentVersion;
+        };
+    }
+
+    private void advanceTicker(Duration duration) {
+        tickerNanos.addAndGet(duration.toNanos());
+    }
+
+    private static ConsentDetails createConsentDetails(DateTime accountsRetrievedAt) {
+        final AccountsConsentDetails consentDetails = new AccountsConsentDetails();
+        consentDetails.setConsentId(INTENT_ID);
+        consentDetails.setClientId(CLIENT_ID);
+        consentDetails.setUserId(USER_ID);
+        consentDetails.setAccountsRetrievedAt(accountsRetrievedAt);
+        return consentDetails;
+    }
+}
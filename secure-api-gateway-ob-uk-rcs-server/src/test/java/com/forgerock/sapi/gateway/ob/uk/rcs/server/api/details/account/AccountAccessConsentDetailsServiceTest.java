@@ -17,11 +17,20 @@ package com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.account;
 
 import static com.forgerock.sapi.gateway.rcs.consent.store.repo.service.account.DefaultAccountAccessConsentServiceTest.createValidConsentEntity;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
+import org.joda.time.DateTime;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -39,9 +48,12 @@ import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ApiClient;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ConsentClientDetailsRequest;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.User;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.services.ApiClientServiceClient;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.ConsentDetailsLookupExecutor;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.AccountService;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.AccountsWithBalance;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.configuration.ApiProviderConfiguration;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.account.AccountAccessConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentProjection;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.account.AccountAccessConsentService;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.account.AccountAccessConsentStateModel;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
@@ -103,12 +115,44 @@ class AccountAccessConsentDetailsServiceTest {
         testCreateAccountAccessDetails(consentEntity);
     }
 
+    @Test
+    void testFetchesAccountsConcurrentlyWithConsent() throws Exception {
+        final String intentId = IntentType.ACCOUNT_ACCESS_CONSENT.generateIntentId();
+        final AccountAccessConsentEntity consentEntity = createValidConsentEntity(testApiClient.getId());
+        consentEntity.setId(intentId);
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(3);
+        try {
+            consentDetailsService.setLookupExecutor(new ConsentDetailsLookupExecutor(executorService, null, Duration.ofSeconds(5)));
+            // The consent lookup only completes once the accounts lookup has started
+            final CountDownLatch accountsLookupStarted = new CountDownLatch(1);
+            given(accountService.getAccountsWithBalance(testUser.getId())).willAnswer(invocation -> {
+                accountsLookupStarted.countDown();
+                return new AccountsWithBalance(testUserBankAccounts, DateTime.now());
+            });
+            given(accountAccessConsentService.getConsent(eq(intentId), eq(testApiClient.getId()), any(ConsentProjection.class))).willAnswer(invocation -> {
+                assertThat(accountsLookupStarted.await(5, TimeUnit.SECONDS)).isTrue();
+                return consentEntity;
+            });
+            given(accountAccessConsentService.canTransitionToAuthorisedState(eq(consentEntity))).willReturn(Boolean.TRUE);
+            given(apiClientServiceClient.getApiClient(eq(testApiClient.getId()))).willReturn(testApiClient);
+
+            final AccountsConsentDetails consentDetails = (AccountsConsentDetails) consentDetailsService.getDetailsFromConsentStore(
+                    new ConsentClientDetailsRequest(intentId, null, testUser, testApiClient.getId()));
+
+            assertThat(consentDetails.getAccounts()).isEqualTo(testUserBankAccounts);
+            verify(accountService, times(1)).getAccountsWithBalance(testUser.getId());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
     private void testCreateAccountAccessDetails(AccountAccessConsentEntity consentEntity) throws ExceptionClient {
         final String intentId = consentEntity.getId();
         given(apiClientServiceClient.getApiClient(eq(testApiClient.getId()))).willReturn(testApiClient);
-        given(accountService.getAccountsWithBalance(testUser.getId())).willReturn(testUserBankAccounts);
+        given(accountService.getAccountsWithBalance(testUser.getId())).willReturn(new AccountsWithBalance(testUserBankAccounts, DateTime.now()));
         given(apiProviderConfiguration.getName()).willReturn(TEST_API_PROVIDER);
-        given(accountAccessConsentService.getConsent(intentId, testApiClient.getId())).willReturn(consentEntity);
+        given(accountAccessConsentService.getConsent(eq(intentId), eq(testApiClient.getId()), any(ConsentProjection.class))).willReturn(consentEntity);
         given(accountAccessConsentService.canTransitionToAuthorisedState(eq(consentEntity))).willReturn(Boolean.TRUE);
 
         final ConsentDetails consentDetails = consentDetailsService.getDetailsFromConsentStore(
@@ -120,6 +164,7 @@ class AccountAccessConsentDetailsServiceTest {
         assertThat(accountsConsentDetails.getClientName()).isEqualTo(testApiClient.getName());
         assertThat(accountsConsentDetails.getUsername()).isEqualTo(testUser.getUserName());
         assertThat(accountsConsentDetails.getAccounts()).isEqualTo(testUserBankAccounts);
+        assertThat(accountsConsentDetails.getAccountsRetrievedAt()).isNotNull();
         assertThat(accountsConsentDetails.getLogo()).isEqualTo(testApiClient.getLogoUri());
         assertThat(accountsConsentDetails.getServiceProviderName()).isEqualTo(TEST_API_PROVIDER);
         assertThat(accountsConsentDetails.getUserId()).isEqualTo(testUser.getId());
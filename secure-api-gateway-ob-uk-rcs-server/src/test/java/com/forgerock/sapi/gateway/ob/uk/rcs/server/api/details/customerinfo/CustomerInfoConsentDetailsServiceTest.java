@@ -18,6 +18,7 @@ package com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.customerinfo;
 import static com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.FRCustomerInfoTestHelper.aValidFRCustomerInfo;
 import static com.forgerock.sapi.gateway.rcs.consent.store.repo.service.customerinfo.DefaultCustomerInfoAccessConsentServiceTest.createValidConsentEntity;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 
@@ -42,6 +43,7 @@ import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.services.ApiClientServi
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.CustomerInfoService;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.configuration.ApiProviderConfiguration;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.customerinfo.CustomerInfoConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentProjection;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.customerinfo.CustomerInfoConsentService;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.customerinfo.CustomerInfoConsentStateModel;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
@@ -109,7 +111,7 @@ public class CustomerInfoConsentDetailsServiceTest {
         given(apiClientServiceClient.getApiClient(eq(testApiClient.getId()))).willReturn(testApiClient);
         given(customerInfoService.getCustomerInformation(testUser.getId())).willReturn(optionalFRCustomerInfo);
         given(apiProviderConfiguration.getName()).willReturn(TEST_API_PROVIDER);
-        given(customerInfoConsentService.getConsent(intentId, testApiClient.getId())).willReturn(consentEntity);
+        given(customerInfoConsentService.getConsent(eq(intentId), eq(testApiClient.getId()), any(ConsentProjection.class))).willReturn(consentEntity);
         given(customerInfoConsentService.canTransitionToAuthorisedState(eq(consentEntity))).willReturn(Boolean.TRUE);
 
         final ConsentDetails consentDetails = consentDetailsService.getDetailsFromConsentStore(
@@ -18,9 +18,13 @@ package com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.funds;
 import static com.forgerock.sapi.gateway.rcs.consent.store.repo.service.funds.DefaultFundsConfirmationAccessConsentServiceTest.createValidConsentEntity;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 
+import java.util.List;
+
+import org.joda.time.DateTime;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -39,10 +43,12 @@ import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ConsentClientDet
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.User;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.services.ApiClientServiceClient;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.AccountService;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.AccountsWithBalance;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.configuration.ApiProviderConfiguration;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.funds.FundsConfirmationConsentEntity;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException.ErrorType;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentProjection;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.funds.FundsConfirmationConsentService;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.funds.FundsConfirmationConsentStateModel;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
@@ -137,7 +143,7 @@ public class FundsConfirmationConsentDetailsServiceTest {
         given(apiClientServiceClient.getApiClient(eq(testApiClient.getId()))).willReturn(testApiClient);
         given(apiProviderConfiguration.getName()).willReturn(TEST_API_PROVIDER);
 
-        given(fundsConfirmationConsentService.getConsent(intentId, testApiClient.getId())).willReturn(consentEntity);
+        given(fundsConfirmationConsentService.getConsent(eq(intentId), eq(testApiClient.getId()), any(ConsentProjection.class))).willReturn(consentEntity);
         given(fundsConfirmationConsentService.canTransitionToAuthorisedState(eq(consentEntity))).willReturn(Boolean.TRUE);
 
         final ConsentDetails consentDetails = consentDetailsService.getDetailsFromConsentStore(
@@ -153,6 +159,7 @@ public class FundsConfirmationConsentDetailsServiceTest {
         assertThat(fundsConfirmationConsentDetails.getServiceProviderName()).isEqualTo(TEST_API_PROVIDER);
         assertThat(fundsConfirmationConsentDetails.getUserId()).isEqualTo(testUser.getId());
         assertThat(fundsConfirmationConsentDetails.getAccounts()).isNotNull().isNotEmpty();
+        assertThat(fundsConfirmationConsentDetails.getAccountsRetrievedAt()).isNotNull();
 
         final FRFundsConfirmationConsentData consentData = consentEntity.getRequestObj().getData();
         assertThat(fundsConfirmationConsentDetails.getExpirationDateTime()).isEqualTo(consentData.getExpirationDateTime());
@@ -162,6 +169,6 @@ public class FundsConfirmationConsentDetailsServiceTest {
     private void mockAccountService(String userId, FRAccountWithBalance willReturn) {
         given(accountService.getAccountWithBalanceByIdentifiers(eq(userId), eq(accountIdentifier.getIdentification()),
                 eq(accountIdentifier.getSchemeName()))
-        ).willReturn(willReturn);
+        ).willReturn(new AccountsWithBalance(willReturn != null ? List.of(willReturn) : List.of(), DateTime.now()));
     }
 }
@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.joda.time.DateTime;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -41,6 +42,7 @@ import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ApiClient;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.User;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.services.ApiClientServiceClient;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.AccountService;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.AccountsWithBalance;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.configuration.ApiProviderConfiguration;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentService;
 
@@ -126,7 +128,7 @@ public class BasePaymentConsentDetailsServiceTest {
     }
 
     protected void mockAccountServiceGetAccountsWithBalanceResponse() {
-        given(accountService.getAccountsWithBalance(testUser.getId())).willReturn(testUserBankAccounts);
+        given(accountService.getAccountsWithBalance(testUser.getId())).willReturn(new AccountsWithBalance(testUserBankAccounts, DateTime.now()));
     }
 
     protected void mockApiClientServiceResponse() throws ExceptionClient {
@@ -138,7 +140,7 @@ public class BasePaymentConsentDetailsServiceTest {
         given(accountService.getAccountWithBalanceByIdentifiers(eq(testUser.getId()),
                                                                 eq(debtorAccount.getIdentification()),
                                                                 eq(debtorAccount.getSchemeName()))).willReturn(
-                accountWithBalance);
+                new AccountsWithBalance(List.of(accountWithBalance), DateTime.now()));
     }
 
     protected void mockAccountServiceGetByIdentifiersResponseV4(uk.org.openbanking.datamodel.v4.payment.OBWriteDomestic2DataInitiationDebtorAccount debtorAccount,
@@ -146,6 +148,6 @@ public class BasePaymentConsentDetailsServiceTest {
         given(accountService.getAccountWithBalanceByIdentifiers(eq(testUser.getId()),
                                                                 eq(debtorAccount.getIdentification()),
                                                                 eq(debtorAccount.getSchemeName()))).willReturn(
-                accountWithBalance);
+                new AccountsWithBalance(List.of(accountWithBalance), DateTime.now()));
     }
 }
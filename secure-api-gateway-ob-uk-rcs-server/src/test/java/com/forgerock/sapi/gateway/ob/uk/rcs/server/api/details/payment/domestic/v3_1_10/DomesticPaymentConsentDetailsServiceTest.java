@@ -18,6 +18,7 @@ package com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.payment.domestic
 import static com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.domestic.v3_1_10.DefaultDomesticPaymentConsentServiceTest.createValidConsentEntity;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 
 import java.util.List;
@@ -44,6 +45,7 @@ import com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.payment.BasePayme
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.domestic.DomesticPaymentConsentEntity;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.exception.ConsentStoreException.ErrorType;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentProjection;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.domestic.DomesticPaymentConsentService;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 import com.nimbusds.jwt.SignedJWT;
@@ -69,7 +71,7 @@ class DomesticPaymentConsentDetailsServiceTest extends BasePaymentConsentDetails
 
         final DomesticPaymentConsentEntity consentEntity = createValidConsentEntity(testApiClient.getId());
         consentEntity.setId(intentId);
-        given(domesticPaymentConsentService.getConsent(intentId, testApiClient.getId())).willReturn(consentEntity);
+        given(domesticPaymentConsentService.getConsent(eq(intentId), eq(testApiClient.getId()), any(ConsentProjection.class))).willReturn(consentEntity);
         mockConsentServiceCanAuthorise(domesticPaymentConsentService);
 
         final ConsentDetails consentDetails = consentDetailsService.getDetailsFromConsentStore(
@@ -106,7 +108,7 @@ class DomesticPaymentConsentDetailsServiceTest extends BasePaymentConsentDetails
 
         consentEntity.getRequestObj().getData().getInitiation().setDebtorAccount(FRAccountIdentifierConverter.toFRAccountIdentifier(debtorAccount));
         consentEntity.setId(intentId);
-        given(domesticPaymentConsentService.getConsent(intentId, testApiClient.getId())).willReturn(consentEntity);
+        given(domesticPaymentConsentService.getConsent(eq(intentId), eq(testApiClient.getId()), any(ConsentProjection.class))).willReturn(consentEntity);
         mockConsentServiceCanAuthorise(domesticPaymentConsentService);
 
         final ConsentDetails consentDetails = consentDetailsService.getDetailsFromConsentStore(
@@ -136,7 +138,7 @@ class DomesticPaymentConsentDetailsServiceTest extends BasePaymentConsentDetails
     @Test
     void testConsentReAuthenticationNotSupported() {
         final String intentId = IntentType.PAYMENT_DOMESTIC_CONSENT.generateIntentId();
-        given(domesticPaymentConsentService.getConsent(intentId, testApiClient.getId())).willReturn(createValidConsentEntity(testApiClient.getId()));
+        given(domesticPaymentConsentService.getConsent(eq(intentId), eq(testApiClient.getId()), any(ConsentProjection.class))).willReturn(createValidConsentEntity(testApiClient.getId()));
 
         given(domesticPaymentConsentService.canTransitionToAuthorisedState(any())).willReturn(Boolean.FALSE);
 
@@ -157,7 +159,7 @@ class DomesticPaymentConsentDetailsServiceTest extends BasePaymentConsentDetails
 
         consentEntity.getRequestObj().getData().getInitiation().setDebtorAccount(FRAccountIdentifierConverter.toFRAccountIdentifier(debtorAccount));
         consentEntity.setId(intentId);
-        given(domesticPaymentConsentService.getConsent(intentId, testApiClient.getId())).willReturn(consentEntity);
+        given(domesticPaymentConsentService.getConsent(eq(intentId), eq(testApiClient.getId()), any(ConsentProjection.class))).willReturn(consentEntity);
         mockConsentServiceCanAuthorise(domesticPaymentConsentService);
 
         final ConsentStoreException consentStoreException = Assertions.assertThrows(ConsentStoreException.class,
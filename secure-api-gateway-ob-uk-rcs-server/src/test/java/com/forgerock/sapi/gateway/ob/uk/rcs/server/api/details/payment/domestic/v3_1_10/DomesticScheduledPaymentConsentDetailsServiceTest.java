@@ -17,11 +17,13 @@ package com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.payment.domestic
 
 import static com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.domestic.v3_1_10.DefaultDomesticScheduledPaymentConsentServiceTest.createValidConsentEntity;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 
 import java.util.List;
 
+import org.joda.time.DateTime;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -40,7 +42,9 @@ import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ExceptionCli
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ConsentClientDetailsRequest;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.payment.BasePaymentConsentDetailsServiceTest;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.payment.domestic.DomesticScheduledPaymentConsentDetailsService;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.AccountsWithBalance;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.domestic.DomesticScheduledPaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentProjection;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.domestic.DomesticScheduledPaymentConsentService;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 import com.nimbusds.jwt.SignedJWT;
@@ -66,7 +70,7 @@ class DomesticScheduledPaymentConsentDetailsServiceTest extends BasePaymentConse
 
         final DomesticScheduledPaymentConsentEntity consentEntity = createValidConsentEntity(testApiClient.getId());
         consentEntity.setId(intentId);
-        given(domesticScheduledPaymentConsentService.getConsent(intentId, testApiClient.getId())).willReturn(
+        given(domesticScheduledPaymentConsentService.getConsent(eq(intentId), eq(testApiClient.getId()), any(ConsentProjection.class))).willReturn(
                 consentEntity);
         mockConsentServiceCanAuthorise(domesticScheduledPaymentConsentService);
 
@@ -108,7 +112,7 @@ class DomesticScheduledPaymentConsentDetailsServiceTest extends BasePaymentConse
         given(accountService.getAccountWithBalanceByIdentifiers(eq(testUser.getId()),
                                                                 eq(debtorAccount.getIdentification()),
                                                                 eq(debtorAccount.getSchemeName()))).willReturn(
-                accountWithBalance);
+                new AccountsWithBalance(List.of(accountWithBalance), DateTime.now()));
         mockApiProviderConfigurationGetName();
 
         final String intentId = IntentType.PAYMENT_DOMESTIC_CONSENT.generateIntentId();
@@ -120,7 +124,7 @@ class DomesticScheduledPaymentConsentDetailsServiceTest extends BasePaymentConse
                      .getInitiation()
                      .setDebtorAccount(FRAccountIdentifierConverter.toFRAccountIdentifier(debtorAccount));
         consentEntity.setId(intentId);
-        given(domesticScheduledPaymentConsentService.getConsent(intentId, testApiClient.getId())).willReturn(
+        given(domesticScheduledPaymentConsentService.getConsent(eq(intentId), eq(testApiClient.getId()), any(ConsentProjection.class))).willReturn(
                 consentEntity);
         mockConsentServiceCanAuthorise(domesticScheduledPaymentConsentService);
 
@@ -17,12 +17,14 @@ package com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.payment.domestic
 
 import static com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.domestic.v3_1_10.DefaultDomesticStandingOrderConsentServiceTest.createValidConsentEntity;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 
 import java.util.List;
 
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.payment.domestic.DomesticStandingOrderConsentDetailsService;
+import org.joda.time.DateTime;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -40,7 +42,9 @@ import com.forgerock.sapi.gateway.ob.uk.rcs.api.dto.consent.details.DomesticStan
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ExceptionClient;
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ConsentClientDetailsRequest;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.payment.BasePaymentConsentDetailsServiceTest;
+import com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs.AccountsWithBalance;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.domestic.DomesticStandingOrderConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentProjection;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.domestic.DomesticStandingOrderConsentService;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 import com.nimbusds.jwt.SignedJWT;
@@ -66,7 +70,7 @@ class DomesticStandingOrderConsentDetailsServiceTest extends BasePaymentConsentD
 
         final DomesticStandingOrderConsentEntity consentEntity = createValidConsentEntity(testApiClient.getId());
         consentEntity.setId(intentId);
-        given(consentService.getConsent(intentId, testApiClient.getId())).willReturn(consentEntity);
+        given(consentService.getConsent(eq(intentId), eq(testApiClient.getId()), any(ConsentProjection.class))).willReturn(consentEntity);
         mockConsentServiceCanAuthorise(consentService);
 
         final ConsentDetails consentDetails = consentDetailsService.getDetailsFromConsentStore(
@@ -94,7 +98,8 @@ class DomesticStandingOrderConsentDetailsServiceTest extends BasePaymentConsentD
         mockApiClientServiceResponse();
         final FRAccountWithBalance accountWithBalance = FRAccountWithBalanceTestDataFactory.aValidFRAccountWithBalance();
         given(accountService.getAccountWithBalanceByIdentifiers(eq(testUser.getId()),
-                eq(debtorAccount.getIdentification()), eq(debtorAccount.getSchemeName()))).willReturn(accountWithBalance);
+                eq(debtorAccount.getIdentification()), eq(debtorAccount.getSchemeName())))
+                .willReturn(new AccountsWithBalance(List.of(accountWithBalance), DateTime.now()));
         mockApiProviderConfigurationGetName();
 
         final String intentId = IntentType.PAYMENT_DOMESTIC_CONSENT.generateIntentId();
@@ -103,7 +108,7 @@ class DomesticStandingOrderConsentDetailsServiceTest extends BasePaymentConsentD
 
         consentEntity.getRequestObj().getData().getInitiation().setDebtorAccount(FRAccountIdentifierConverter.toFRAccountIdentifier(debtorAccount));
         consentEntity.setId(intentId);
-        given(consentService.getConsent(intentId, testApiClient.getId())).willReturn(consentEntity);
+        given(consentService.getConsent(eq(intentId), eq(testApiClient.getId()), any(ConsentProjection.class))).willReturn(consentEntity);
         mockConsentServiceCanAuthorise(consentService);
 
         final ConsentDetails consentDetails = consentDetailsService.getDetailsFromConsentStore(
@@ -17,6 +17,8 @@ package com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.payment.file;
 
 import static com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.file.DefaultFilePaymentConsentServiceTest.createValidConsentEntity;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 
 import java.math.BigDecimal;
@@ -40,6 +42,7 @@ import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ExceptionCli
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ConsentClientDetailsRequest;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.payment.BasePaymentConsentDetailsServiceTest;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.file.FilePaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentProjection;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.file.FilePaymentConsentService;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 import com.nimbusds.jwt.SignedJWT;
@@ -66,7 +69,7 @@ class FilePaymentConsentDetailsServiceTest extends BasePaymentConsentDetailsServ
 
         final FilePaymentConsentEntity consentEntity = createValidConsentEntity(testApiClient.getId());
         consentEntity.setId(intentId);
-        given(filePaymentConsentService.getConsent(intentId, testApiClient.getId())).willReturn(consentEntity);
+        given(filePaymentConsentService.getConsent(eq(intentId), eq(testApiClient.getId()), any(ConsentProjection.class))).willReturn(consentEntity);
         mockConsentServiceCanAuthorise(filePaymentConsentService);
 
         final ConsentDetails consentDetails = consentDetailsService.getDetailsFromConsentStore(
@@ -105,7 +108,7 @@ class FilePaymentConsentDetailsServiceTest extends BasePaymentConsentDetailsServ
 
         consentEntity.getRequestObj().getData().getInitiation().setDebtorAccount(FRAccountIdentifierConverter.toFRAccountIdentifier(debtorAccount));
         consentEntity.setId(intentId);
-        given(filePaymentConsentService.getConsent(intentId, testApiClient.getId())).willReturn(consentEntity);
+        given(filePaymentConsentService.getConsent(eq(intentId), eq(testApiClient.getId()), any(ConsentProjection.class))).willReturn(consentEntity);
         mockConsentServiceCanAuthorise(filePaymentConsentService);
 
         final ConsentDetails consentDetails = consentDetailsService.getDetailsFromConsentStore(
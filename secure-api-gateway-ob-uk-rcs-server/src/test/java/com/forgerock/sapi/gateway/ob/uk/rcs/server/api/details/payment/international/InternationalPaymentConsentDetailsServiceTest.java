@@ -17,6 +17,8 @@ package com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.payment.internat
 
 import static com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.international.v3_1_10.DefaultInternationalPaymentConsentServiceTest.createValidConsentEntity;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 
 import java.util.List;
@@ -39,6 +41,7 @@ import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ExceptionCli
 import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ConsentClientDetailsRequest;
 import com.forgerock.sapi.gateway.ob.uk.rcs.server.api.details.payment.BasePaymentConsentDetailsServiceTest;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.entity.payment.international.InternationalPaymentConsentEntity;
+import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.ConsentProjection;
 import com.forgerock.sapi.gateway.rcs.consent.store.repo.service.payment.international.InternationalPaymentConsentService;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 import com.nimbusds.jwt.SignedJWT;
@@ -64,7 +67,7 @@ class InternationalPaymentConsentDetailsServiceTest extends BasePaymentConsentDe
 
         final InternationalPaymentConsentEntity consentEntity = createValidConsentEntity(testApiClient.getId());
         consentEntity.setId(intentId);
-        given(internationalPaymentConsentService.getConsent(intentId, testApiClient.getId())).willReturn(consentEntity);
+        given(internationalPaymentConsentService.getConsent(eq(intentId), eq(testApiClient.getId()), any(ConsentProjection.class))).willReturn(consentEntity);
         mockConsentServiceCanAuthorise(internationalPaymentConsentService);
 
         final ConsentDetails consentDetails = consentDetailsService.getDetailsFromConsentStore(
@@ -103,7 +106,7 @@ class InternationalPaymentConsentDetailsServiceTest extends BasePaymentConsentDe
 
         consentEntity.getRequestObj().getData().getInitiation().setDebtorAccount(FRAccountIdentifierConverter.toFRAccountIdentifier(debtorAccount));
         consentEntity.setId(intentId);
-        given(internationalPaymentConsentService.getConsent(intentId, testApiClient.getId())).willReturn(consentEntity);
+        given(internationalPaymentConsentService.getConsent(eq(intentId), eq(testApiClient.getId()), any(ConsentProjection.class))).willReturn(consentEntity);
         mockConsentServiceCanAuthorise(internationalPaymentConsentService);
 
         final ConsentDetails consentDetails = consentDetailsService.getDetailsFromConsentStore(
@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.server.client.rs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.Test;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRAccountWithBalance;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRAccountIdentifier;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.testsupport.account.FRAccountWithBalanceTestDataFactory;
+
+/**
+ * Unit test for {@link AccountsWithBalanceCache} and {@link AccountsWithBalance}
+ */
+class AccountsWithBalanceCacheTest {
+
+    private static AccountsWithBalance createAccounts(DateTime retrievedAt) {
+        return new AccountsWithBalance(List.of(FRAccountWithBalanceTestDataFactory.aValidFRAccountWithBalance(),
+                                               FRAccountWithBalanceTestDataFactory.aValidFRAccountWithBalance()), retrievedAt);
+    }
+
+    @Test
+    void shouldReturnCachedAccountsUntilTtlHasElapsed() {
+        final AtomicLong tickerNanos = new AtomicLong();
+        final AccountsWithBalanceCache cache = new AccountsWithBalanceCache(Duration.ofSeconds(10), 10, tickerNanos::get);
+        final AccountsWithBalance accounts = createAccounts(DateTime.now());
+        cache.put("User1", accounts);
+
+        tickerNanos.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertThat(cache.get("user1")).containsSame(accounts);
+        assertThat(cache.get("USER1")).containsSame(accounts);
+        assertThat(cache.get("user2")).isEmpty();
+        tickerNanos.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(cache.get("user1")).isEmpty();
+    }
+
+    @Test
+    void shouldNotCacheWhenTtlIsZero() {
+        final AccountsWithBalanceCache cache = new AccountsWithBalanceCache(Duration.ZERO, 10);
+        final DateTime retrievedAt = DateTime.now();
+        cache.put("user1", createAccounts(retrievedAt));
+
+        assertThat(cache.isEnabled()).isFalse();
+        assertThat(cache.get("user1")).isEmpty();
+    }
+
+    @Test
+    void failToCreateCacheWithInvalidConfig() {
+        assertThrows(IllegalArgumentException.class, () -> new AccountsWithBalanceCache(Duration.ofSeconds(-1), 10));
+        assertThrows(IllegalArgumentException.class, () -> new AccountsWithBalanceCache(Duration.ofSeconds(10), 0));
+    }
+
+    @Test
+    void shouldFindAccountByIdentifiers() {
+        final AccountsWithBalance accounts = createAccounts(DateTime.now());
+        final FRAccountWithBalance secondAccount = accounts.accounts().get(1);
+        final FRAccountIdentifier identifier = secondAccount.getAccount().getAccounts().get(0);
+        // Ensure that the identification is unique to the second account
+        identifier.setIdentification("40400412345678");
+
+        assertThat(accounts.findByIdentifiers(identifier.getIdentification(), identifier.getSchemeName())).containsSame(secondAccount);
+        assertThat(accounts.findByIdentifiers(identifier.getIdentification(), "unknown-scheme")).isEmpty();
+        assertThat(accounts.findByIdentifiers("unknown", identifier.getSchemeName())).isEmpty();
+
+        final AccountsWithBalance filteredAccounts = accounts.filterByIdentifiers(identifier.getIdentification(), identifier.getSchemeName());
+        assertThat(filteredAccounts.accounts()).containsExactly(secondAccount);
+        assertThat(filteredAccounts.retrievedAt()).isEqualTo(accounts.retrievedAt());
+    }
+}
@@ -31,6 +31,7 @@ import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -55,6 +56,7 @@ import com.forgerock.sapi.gateway.ob.uk.rcs.server.configuration.RsResourceApiCo
 public class CustomerInfoServiceTest {
 
     @Autowired
+    @Qualifier("rsResourceApiRestTemplate")
     private RestTemplate restTemplate;
 
     @Autowired
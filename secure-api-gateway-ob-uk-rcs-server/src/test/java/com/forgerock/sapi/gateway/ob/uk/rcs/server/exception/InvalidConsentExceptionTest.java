@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.server.exception;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.forgerock.sapi.gateway.ob.uk.common.error.OBRIErrorType;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.exceptions.ErrorType;
+import com.forgerock.sapi.gateway.ob.uk.rcs.cloud.client.models.ConsentRequestContext;
+
+class InvalidConsentExceptionTest {
+
+    @Test
+    void constructWithoutConsentRequestContext() {
+        final InvalidConsentException exception = new InvalidConsentException((ConsentRequestContext) null,
+                ErrorType.JWT_INVALID, OBRIErrorType.REQUEST_BINDING_FAILED, "failed to parse", null, null);
+
+        assertThat(exception.getConsentRequestContext()).isNull();
+        assertThat(exception.getConsentRequestJwt()).isNull();
+        assertThat(exception.getErrorType()).isEqualTo(ErrorType.JWT_INVALID);
+        assertThat(exception.getReason()).isEqualTo("failed to parse");
+    }
+
+    @Test
+    void ofShouldFallBackToRawJwtWithoutConsentRequestContext() {
+        final InvalidConsentException exception = InvalidConsentException.of(null, "raw.consent.jwt",
+                ErrorType.JWT_INVALID, OBRIErrorType.REQUEST_BINDING_FAILED, "failed to parse", "client-1", "consent-1");
+
+        assertThat(exception.getConsentRequestContext()).isNull();
+        assertThat(exception.getConsentRequestJwt()).isEqualTo("raw.consent.jwt");
+        assertThat(exception.getClientId()).isEqualTo("client-1");
+        assertThat(exception.getConsentId()).isEqualTo("consent-1");
+    }
+}
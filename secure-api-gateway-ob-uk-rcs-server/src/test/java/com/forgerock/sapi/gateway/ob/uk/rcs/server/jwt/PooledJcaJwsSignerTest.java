@@ -0,0 +1,98 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.server.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.Payload;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.OctetSequenceKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+
+class PooledJcaJwsSignerTest {
+
+    @Test
+    void signsWithRsaKey() throws Exception {
+        final RSAKey rsaKey = new RSAKeyGenerator(2048).generate();
+        final PooledJcaJwsSigner signer = PooledJcaJwsSigner.create(rsaKey, 4);
+        assertTrue(signer.supportedJWSAlgorithms().containsAll(Set.of(JWSAlgorithm.PS256, JWSAlgorithm.RS256)));
+
+        for (JWSAlgorithm algorithm : Set.of(JWSAlgorithm.PS256, JWSAlgorithm.RS256)) {
+            final JWSObject jwsObject = signJws(signer, algorithm);
+            assertTrue(JWSObject.parse(jwsObject.serialize()).verify(new RSASSAVerifier(rsaKey)));
+        }
+    }
+
+    @Test
+    void signsWithEcKey() throws Exception {
+        final ECKey ecKey = new ECKeyGenerator(Curve.P_256).generate();
+        final PooledJcaJwsSigner signer = PooledJcaJwsSigner.create(ecKey, 4);
+        assertEquals(Set.of(JWSAlgorithm.ES256), signer.supportedJWSAlgorithms());
+
+        final JWSObject jwsObject = signJws(signer, JWSAlgorithm.ES256);
+        assertTrue(JWSObject.parse(jwsObject.serialize()).verify(new ECDSAVerifier(ecKey)));
+    }
+
+    @Test
+    void reusesPooledSignatures() throws Exception {
+        final PooledJcaJwsSigner signer = PooledJcaJwsSigner.create(new ECKeyGenerator(Curve.P_256).generate(), 4);
+        assertEquals(0, signer.getPooledSignatureCount(JWSAlgorithm.ES256));
+
+        for (int i = 0; i < 10; i++) {
+            signJws(signer, JWSAlgorithm.ES256);
+            // Signing on a single thread only ever needs one Signature
+            assertEquals(1, signer.getPooledSignatureCount(JWSAlgorithm.ES256));
+        }
+    }
+
+    @Test
+    void failToSignWithUnsupportedAlgorithm() throws Exception {
+        final PooledJcaJwsSigner signer = PooledJcaJwsSigner.create(new ECKeyGenerator(Curve.P_256).generate(), 4);
+        assertThrows(JOSEException.class, () -> signJws(signer, JWSAlgorithm.ES384));
+    }
+
+    @Test
+    void failToCreateWithInvalidParams() throws Exception {
+        final RSAKey rsaKey = new RSAKeyGenerator(2048).generate();
+        assertEquals("poolSize must be greater than 0", assertThrows(IllegalArgumentException.class,
+                () -> PooledJcaJwsSigner.create(rsaKey, 0)).getMessage());
+        assertEquals("jwk must contain a private key", assertThrows(IllegalArgumentException.class,
+                () -> PooledJcaJwsSigner.create(rsaKey.toPublicJWK(), 4)).getMessage());
+        assertEquals("jwk must be an RSA or EC key, found: oct", assertThrows(IllegalArgumentException.class,
+                () -> PooledJcaJwsSigner.create(new OctetSequenceKeyGenerator(256).generate(), 4)).getMessage());
+    }
+
+    private static JWSObject signJws(PooledJcaJwsSigner signer, JWSAlgorithm algorithm) throws JOSEException {
+        final JWSObject jwsObject = new JWSObject(new JWSHeader(algorithm), new Payload("{\"claim1\":\"value1\"}"));
+        jwsObject.sign(signer);
+        return jwsObject;
+    }
+}
@@ -19,8 +19,10 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -31,13 +33,20 @@ import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.JWSObject;
 import com.nimbusds.jose.JWSVerifier;
 import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
 import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
 import com.nimbusds.jose.jwk.KeyUse;
 import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
 import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.JWTClaimsSet.Builder;
 
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 class RcsJwtSignerTest {
 
     @Test
@@ -101,4 +110,47 @@ class RcsJwtSignerTest {
         JWSVerifier verifier = new RSASSAVerifier(signingKey);
         assertTrue(decodedPayload.verify(verifier));
     }
+
+    @Test
+    void producesValidSignedJwtsUsingPooledSigner() throws Exception {
+        final String kid = UUID.randomUUID().toString();
+        final ECKey signingKey = new ECKeyGenerator(Curve.P_256).keyUse(KeyUse.SIGNATURE)
+                                                                  .keyID(kid)
+                                                                  .generate();
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final RcsJwtSigner jwtSigner = new RcsJwtSigner(kid, JWSAlgorithm.ES256,
+                PooledJcaJwsSigner.create(signingKey, 2), meterRegistry);
+        assertEquals(JWSAlgorithm.ES256, jwtSigner.getSigningAlgorithm());
+
+        final List<JWTClaimsSet> claimsSets = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            claimsSets.add(new Builder().jwtID("jti-" + i).build());
+        }
+        final List<String> signedJwts = jwtSigner.createSignedJwts(claimsSets);
+        assertEquals(3, signedJwts.size());
+
+        final JWSVerifier verifier = new ECDSAVerifier(signingKey);
+        for (int i = 0; i < signedJwts.size(); i++) {
+            final JWSObject decodedPayload = JWSObject.parse(signedJwts.get(i));
+            assertEquals(kid, decodedPayload.getHeader().getKeyID());
+            assertEquals("jti-" + i, JWTClaimsSet.parse(decodedPayload.getPayload().toJSONObject()).getJWTID());
+            assertTrue(decodedPayload.verify(verifier));
+        }
+
+        final Timer signingTimer = meterRegistry.get(RcsJwtSigner.SIGNING_TIMER_NAME).tag("algorithm", "ES256").timer();
+        assertEquals(3, signingTimer.count());
+    }
+
+    @Test
+    void failToSignBatchContainingNullClaims() {
+        final RSASSASigner mockSigner = mock(RSASSASigner.class);
+        when(mockSigner.supportedJWSAlgorithms()).thenReturn(Set.of(JWSAlgorithm.PS256));
+        final RcsJwtSigner jwtSigner = new RcsJwtSigner("signingKid", JWSAlgorithm.PS256, mockSigner);
+        final List<JWTClaimsSet> claimsSets = new ArrayList<>();
+        claimsSets.add(new Builder().jwtID("jti").build());
+        claimsSets.add(null);
+        assertEquals("jwtClaimsSet must be supplied", assertThrows(NullPointerException.class,
+                () -> jwtSigner.createSignedJwts(claimsSets)).getMessage());
+        verifyNoInteractions(mockSigner);
+    }
 }
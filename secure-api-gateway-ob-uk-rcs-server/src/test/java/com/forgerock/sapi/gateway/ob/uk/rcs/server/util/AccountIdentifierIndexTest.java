@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2020-2026 Ping Identity Corporation (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rcs.server.util;
+
+import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.testsupport.FRAccountIdentifierTestDataFactory.aValidFRAccountIdentifierBuilder;
+import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.testsupport.account.FRCashBalanceTestDataFactory.aValidFRCashBalance;
+import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.testsupport.account.FRFinancialAccountTestDataFactory.aValidFRFinancialAccountBuilder;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRAccount;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRAccountWithBalance;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRFinancialAccount;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRAccountIdentifier;
+
+/**
+ * Unit test for {@link AccountIdentifierIndex}.
+ */
+class AccountIdentifierIndexTest {
+
+    private static final String SORT_CODE_SCHEME = "UK.OBIE.SortCodeAccountNumber";
+    private static final String IBAN_SCHEME = "UK.OBIE.IBAN";
+
+    @Test
+    void shouldFindAccountByIdentifiers() {
+        final FRAccountWithBalance account1 = aValidFRAccountWithBalance(
+                anAccountIdentifier(SORT_CODE_SCHEME, "40400412345678"),
+                anAccountIdentifier(IBAN_SCHEME, "GB29NWBK60161331926819"));
+        final FRAccountWithBalance account2 = aValidFRAccountWithBalance(
+                anAccountIdentifier(SORT_CODE_SCHEME, "40400487654321"));
+
+        final AccountIdentifierIndex index = AccountIdentifierIndex.of(List.of(account1, account2));
+
+        assertThat(index.findByIdentifiers("40400412345678", SORT_CODE_SCHEME)).containsSame(account1);
+        assertThat(index.findByIdentifiers("GB29NWBK60161331926819", IBAN_SCHEME)).containsSame(account1);
+        assertThat(index.findByIdentifiers("40400487654321", SORT_CODE_SCHEME)).containsSame(account2);
+        assertThat(index.findByIdentifiers("40400487654321", IBAN_SCHEME)).isEmpty();
+        assertThat(index.findByIdentifiers("40400400000000", SORT_CODE_SCHEME)).isEmpty();
+    }
+
+    @Test
+    void shouldFindAccountByIdentification() {
+        final FRAccountWithBalance account1 = aValidFRAccountWithBalance(anAccountIdentifier(SORT_CODE_SCHEME, "40400412345678"));
+        final FRAccountWithBalance account2 = aValidFRAccountWithBalance(anAccountIdentifier(IBAN_SCHEME, "GB29NWBK60161331926819"));
+
+        final AccountIdentifierIndex index = AccountIdentifierIndex.of(List.of(account1, account2));
+
+        assertThat(index.findByIdentification("40400412345678")).containsSame(account1);
+        assertThat(index.findByIdentification("GB29NWBK60161331926819")).containsSame(account2);
+        assertThat(index.findByIdentification("40400400000000")).isEmpty();
+    }
+
+    @Test
+    void shouldNormaliseIdentification() {
+        final FRAccountWithBalance account = aValidFRAccountWithBalance(anAccountIdentifier(IBAN_SCHEME, "GB29NWBK60161331926819"));
+
+        final AccountIdentifierIndex index = AccountIdentifierIndex.of(List.of(account));
+
+        assertThat(index.findByIdentifiers("gb29 nwbk 6016 1331 9268 19", IBAN_SCHEME)).containsSame(account);
+        assertThat(index.findByIdentification(" GB29NWBK60161331926819\t")).containsSame(account);
+    }
+
+    @Test
+    void shouldReturnFirstAccountGivenDuplicateIdentifiers() {
+        final FRAccountWithBalance account1 = aValidFRAccountWithBalance(anAccountIdentifier(SORT_CODE_SCHEME, "40400412345678"));
+        final FRAccountWithBalance account2 = aValidFRAccountWithBalance(anAccountIdentifier(SORT_CODE_SCHEME, "40400412345678"));
+
+        final AccountIdentifierIndex index = AccountIdentifierIndex.of(List.of(account1, account2));
+
+        assertThat(index.findByIdentifiers("40400412345678", SORT_CODE_SCHEME)).containsSame(account1);
+        assertThat(index.findByIdentification("40400412345678")).containsSame(account1);
+    }
+
+    @Test
+    void shouldNotFindAccountGivenMissingIdentifiers() {
+        final AccountIdentifierIndex index = AccountIdentifierIndex.of(List.of(
+                aValidFRAccountWithBalance(anAccountIdentifier(SORT_CODE_SCHEME, "40400412345678"))));
+
+        assertThat(index.findByIdentifiers(null, SORT_CODE_SCHEME)).isEmpty();
+        assertThat(index.findByIdentifiers("40400412345678", null)).isEmpty();
+        assertThat(index.findByIdentification(" ")).isEmpty();
+        assertThat(AccountIdentifierIndex.of(List.of()).findByIdentification("40400412345678")).isEmpty();
+        assertThat(AccountIdentifierIndex.of(null)).isSameAs(AccountIdentifierIndex.empty());
+    }
+
+    private static FRAccountIdentifier anAccountIdentifier(String schemeName, String identification) {
+        return aValidFRAccountIdentifierBuilder().schemeName(schemeName).identification(identification).build();
+    }
+
+    private static FRAccountWithBalance aValidFRAccountWithBalance(FRAccountIdentifier... accountIdentifiers) {
+        final FRFinancialAccount financialAccount = aValidFRFinancialAccountBuilder()
+                .accounts(List.of(accountIdentifiers))
+                .build();
+        final FRAccount bankAccount = FRAccount.builder()
+                .id(UUID.randomUUID().toString())
+                .account(financialAccount)
+                .build();
+        return new FRAccountWithBalance(bankAccount, List.of(aValidFRCashBalance()));
+    }
+}